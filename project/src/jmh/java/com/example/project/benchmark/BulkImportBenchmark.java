@@ -0,0 +1,85 @@
+package com.example.project.benchmark;
+
+import com.example.project.ProjectApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Player creation through the single-row endpoint against the bulk endpoint, through the full MVC stack
+ * and the embedded H2 database. Both score in rows per second: the single-row benchmark posts
+ * {@link #ROWS} requests per operation, the bulk one posts the same rows as one NDJSON body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    // Personal codes are unique, so every row gets a new one
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProjectApplication.class)
+            .properties("server.port=0", "logging.level.root=WARN", "springdoc.api-docs.enabled=false",
+                "app.metrics.statement-budget=0", "app.metrics.repeated-statement-threshold=0")
+            .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleRow() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            mockMvc.perform(post("/api/players").contentType(MediaType.APPLICATION_JSON).content(player(next++)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public byte[] bulk() throws Exception {
+        StringJoiner ndjson = new StringJoiner("\n");
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.add(player(next++));
+        }
+        return mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson.toString()))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static String player(long i) {
+        return "{\"name\":\"Player" + i + "\",\"surname\":\"Wilson\",\"dateOfBirth\":\"1995-05-15\",\"personalCode\":\"PC-"
+            + i + "\"}";
+    }
+}
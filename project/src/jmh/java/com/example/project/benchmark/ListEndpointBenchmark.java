@@ -0,0 +1,134 @@
+package com.example.project.benchmark;
+
+import com.example.project.ProjectApplication;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * List and single-team endpoints against the embedded H2 database, through the full MVC stack
+ * (filters, controller, service, repository, JSON). The HTTP connector itself is not exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListEndpointBenchmark {
+
+    private static final int PLAYERS = 2_000;
+    private static final int COACHES = 100;
+    private static final int TEAMS = 200;
+    private static final int ROSTER_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private int teamId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProjectApplication.class)
+            .properties("server.port=0", "logging.level.root=WARN", "springdoc.api-docs.enabled=false")
+            .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        teamId = seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] players() throws Exception {
+        return perform("/api/players?limit=50");
+    }
+
+    @Benchmark
+    public byte[] coaches() throws Exception {
+        return perform("/api/coaches?limit=50");
+    }
+
+    @Benchmark
+    public byte[] teams() throws Exception {
+        return perform("/api/teams?limit=50");
+    }
+
+    @Benchmark
+    public byte[] team() throws Exception {
+        return perform("/api/teams/" + teamId);
+    }
+
+    private byte[] perform(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private int seed() {
+        PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+        CoachRepository coachRepository = context.getBean(CoachRepository.class);
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.setName("Player" + i);
+            player.setSurname("Surname" + i);
+            player.setDateOfBirth(LocalDate.of(2000, 1, 1).plusDays(i));
+            player.setPersonalCode("P-" + i);
+            players.add(player);
+        }
+        players = playerRepository.saveAll(players);
+
+        List<Coach> coaches = new ArrayList<>();
+        for (int i = 0; i < COACHES; i++) {
+            Coach coach = new Coach();
+            coach.setName("Coach" + i);
+            coach.setSurname("Coachson" + i);
+            coach.setCoachingFrom(LocalDate.of(2010, 1, 1));
+            coach.setLicenseId("LIC-" + i);
+            coach.setPersonalCode("C-" + i);
+            coaches.add(coach);
+        }
+        coaches = coachRepository.saveAll(coaches);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team();
+            team.setTeamName("Team" + i);
+            team.setYearCreated(2000 + i % 25);
+            team.setCoach(coaches.get(i % COACHES));
+            for (int j = 0; j < ROSTER_SIZE; j++) {
+                team.addPlayer(players.get((i * ROSTER_SIZE + j) % PLAYERS));
+            }
+            teams.add(team);
+        }
+        return teamRepository.saveAll(teams).get(0).getTeamId();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.project.benchmark;
+
+import com.example.project.dto.TeamDto;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding a realistic GET /api/teams page (50 teams of 20 players) as JSON, Smile or CBOR, with and
+ * without gzip. The mappers are built the way Spring MVC builds those of its converters. The encoded size
+ * of each combination is printed after its run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final int TEAMS = 50;
+    private static final int PLAYERS_PER_TEAM = 20;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<TeamDto.Response> page;
+    private int size;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        EntityMapper mapper = new EntityMapper();
+        page = new ArrayList<>();
+        for (int t = 1; t <= TEAMS; t++) {
+            Coach coach = new Coach();
+            coach.setId(t);
+            coach.setName("Coach" + t);
+            coach.setSurname("Coachson" + t);
+            coach.setCoachingFrom(LocalDate.of(2010, 1, 1).plusDays(t));
+            coach.setLicenseId("LIC-" + t);
+            coach.setPersonalCode("C-" + t);
+
+            Team team = new Team();
+            team.setTeamId(t);
+            team.setTeamName("Team" + t);
+            team.setYearCreated(2000 + t);
+            team.setCoach(coach);
+            for (int i = 1; i <= PLAYERS_PER_TEAM; i++) {
+                int id = (t - 1) * PLAYERS_PER_TEAM + i;
+                Player player = new Player();
+                player.setId(id);
+                player.setName("Player" + id);
+                player.setSurname("Surname" + id);
+                player.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(id));
+                player.setPersonalCode("P-" + id);
+                team.addPlayer(player);
+            }
+            page.add(mapper.toDto(team));
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, page);
+        }
+        size = bytes.size();
+        return bytes.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() {
+        System.out.printf("%n%s%s: %d bytes%n", format, gzip ? "+gzip" : "", size);
+    }
+}
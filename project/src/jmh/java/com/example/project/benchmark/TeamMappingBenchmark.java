@@ -0,0 +1,99 @@
+package com.example.project.benchmark;
+
+import com.example.project.dto.TeamDto;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.view.TeamView;
+import com.example.project.view.TeamViewProperties;
+import com.example.project.view.TeamViewStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and JSON serialization of a single team, without Spring or a database, and a
+ * lookup of the same team already materialized in the {@link TeamViewStore}. The object mapper is built
+ * the same way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamMappingBenchmark {
+
+    @Param({"0", "10", "50", "200"})
+    int players;
+
+    private final EntityMapper mapper = new EntityMapper();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Team team;
+    private TeamDto.Response response;
+    private TeamViewStore views;
+
+    @Setup
+    public void setUp() {
+        Coach coach = new Coach();
+        coach.setId(1);
+        coach.setName("Coach");
+        coach.setSurname("Coachson");
+        coach.setCoachingFrom(LocalDate.of(2010, 1, 1));
+        coach.setLicenseId("LIC-1");
+        coach.setPersonalCode("C-1");
+
+        team = new Team();
+        team.setTeamId(1);
+        team.setTeamName("Eagles");
+        team.setYearCreated(2024);
+        team.setCoach(coach);
+        for (int i = 1; i <= players; i++) {
+            Player player = new Player();
+            player.setId(i);
+            player.setName("Player" + i);
+            player.setSurname("Surname" + i);
+            player.setDateOfBirth(LocalDate.of(2000, 1, 1).plusDays(i));
+            player.setPersonalCode("P-" + i);
+            team.addPlayer(player);
+        }
+        response = mapper.toDto(team);
+        views = new TeamViewStore(objectMapper, new TeamViewProperties());
+        views.get(team.getTeamId(), id -> mapper.toDto(team));
+    }
+
+    @Benchmark
+    public TeamDto.Response map() {
+        return mapper.toDto(team);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.toDto(team));
+    }
+
+    @Benchmark
+    public TeamView viewLookup() {
+        return views.get(team.getTeamId(), id -> response).orElseThrow();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.project.benchmark;
+
+import com.example.project.search.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead and filter lookups against a {@link TrigramIndex} of one million generated names, without
+ * Spring or a database. Names repeat a small set of first names so that short queries match many rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TypeaheadBenchmark {
+
+    private static final String[] NAMES = {"James", "Anna", "Johan", "Maria", "Lukas", "Sofia", "Oliver", "Emma",
+        "Jonas", "Greta", "Matas", "Ieva", "Tomas", "Ruta", "Paulius", "Ugne"};
+    private static final String[] SYLLABLES = {"ka", "ru", "be", "lis", "mon", "tas", "vi", "dar", "kus", "le", "na", "jon"};
+
+    @Param({"jo", "joh", "anna kar", "lukas be", "ieva ruk"})
+    String query;
+
+    private TrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TrigramIndex();
+        Random random = new Random(42);
+        for (int id = 1; id <= 1_000_000; id++) {
+            index.put(id, NAMES[random.nextInt(NAMES.length)], surname(random));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> search() {
+        return index.search(query, 10);
+    }
+
+    @Benchmark
+    public int[] surnamePrefix() {
+        return index.filter(null, "kar", true, 1000);
+    }
+
+    private static String surname(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int parts = 2 + random.nextInt(3);
+        for (int i = 0; i < parts; i++) {
+            sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+}
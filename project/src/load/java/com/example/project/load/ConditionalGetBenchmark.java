@@ -0,0 +1,236 @@
+package com.example.project.load;
+
+import com.example.project.ProjectApplication;
+import com.example.project.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Polling benchmark for conditional GETs: boots the application, generates a dataset and has every
+ * client poll the same small set of resources (a few teams and players, the first page of the team and
+ * player lists), first plainly and then sending back the last {@code ETag} in {@code If-None-Match}.
+ * Writes at {@code load.write-ratio} update the polled players, so some polls do see changes.
+ *
+ * <p>Reports throughput, latency, response body bytes and the share of 304s per mode, and the process
+ * CPU time per request. Clients run in the same JVM, so their CPU is included; both modes pay it alike.
+ */
+@Slf4j
+public final class ConditionalGetBenchmark {
+
+    private static final DateTimeFormatter REPORT_NAME =
+        DateTimeFormatter.ofPattern("'conditional-get-'yyyyMMdd'T'HHmmss'.json'").withZone(ZoneOffset.UTC);
+    private static final int WATCHED = 20;
+
+    private final LoadSettings settings;
+    private final URI baseUri;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final List<String> polled = new ArrayList<>();
+    private final List<Integer> watchedPlayers = new ArrayList<>();
+    private final com.sun.management.OperatingSystemMXBean os =
+        (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private ConditionalGetBenchmark(LoadSettings settings, DatasetGenerator.Dataset dataset, URI baseUri) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+
+        Random random = new Random(settings.seed());
+        polled.add("/api/players?limit=50");
+        for (int i = 0; i < WATCHED; i++) {
+            int player = dataset.players().random(random);
+            watchedPlayers.add(player);
+            polled.add("/api/players/" + player);
+        }
+        if (!dataset.teams().isEmpty()) {
+            polled.add("/api/teams?limit=50");
+            for (int i = 0; i < WATCHED; i++) {
+                polled.add("/api/teams/" + dataset.teams().random(random));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectApplication.class)
+            .properties(
+                "server.port=0",
+                "load.write-ratio=0.01",
+                "logging.level.root=WARN",
+                "logging.level.com.example.project.load=INFO",
+                "spring.jpa.properties.hibernate.generate_statistics=false")
+            .run(args);
+        try {
+            LoadSettings settings = Binder.get(context.getEnvironment()).bindOrCreate("load", LoadSettings.class);
+            DatasetGenerator.Dataset dataset =
+                new DatasetGenerator(context.getBean(JdbcTemplate.class), settings.seed()).generate(settings);
+            // The generator writes behind the application's back
+            context.getBeansOfType(NameSearchIndex.class).values().forEach(NameSearchIndex::rebuild);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ConditionalGetBenchmark benchmark =
+                new ConditionalGetBenchmark(settings, dataset, URI.create("http://localhost:" + port));
+            Report report = new Report(Instant.now(), settings,
+                context.getEnvironment().getProperty("spring.datasource.url"),
+                List.of(benchmark.run(false), benchmark.run(true)));
+
+            Path file = Path.of(settings.reportDir()).resolve(REPORT_NAME.format(report.startedAt()));
+            Files.createDirectories(file.getParent());
+            context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            print(report);
+            log.info("Report written to {}", file.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private Mode run(boolean conditional) throws Exception {
+        String name = conditional ? "if-none-match" : "plain";
+        log.info("Polling {} resources from {} clients, {}, for {} (after {} warmup)",
+            polled.size(), settings.concurrency(), name, settings.duration(), settings.warmup());
+        long measureStart = System.nanoTime() + settings.warmup().toNanos();
+        long end = measureStart + settings.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        List<Future<Client>> clients = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Random random = new Random(settings.seed() + i);
+            clients.add(executor.submit(() -> drive(random, conditional, measureStart, end)));
+        }
+
+        // CPU is sampled around the measured window only; the warmup is spent before it
+        Thread.sleep(Math.max(0, (measureStart - System.nanoTime()) / 1_000_000));
+        long cpuStart = os.getProcessCpuTime();
+        Client total = new Client();
+        for (Future<Client> client : clients) {
+            total.merge(client.get());
+        }
+        long cpu = os.getProcessCpuTime() - cpuStart;
+        executor.shutdown();
+
+        double seconds = settings.duration().toNanos() / 1e9;
+        LoadReport.EndpointResult polls = total.latencies.result(name, seconds);
+        return new Mode(name, polls, total.bodyBytes, total.notModified,
+            polls.requests() == 0 ? 0 : (double) total.notModified / polls.requests(),
+            cpu / 1e9, polls.requests() == 0 ? 0 : cpu / 1e3 / polls.requests());
+    }
+
+    private Client drive(Random random, boolean conditional, long measureStart, long end) {
+        Client recorded = new Client();
+        // Each client remembers the tags it was sent, as a browser or HTTP cache would
+        Map<String, String> eTags = new HashMap<>();
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            boolean write = random.nextDouble() < settings.writeRatio();
+            HttpRequest request;
+            String path = null;
+            if (write) {
+                int id = watchedPlayers.get(random.nextInt(watchedPlayers.size()));
+                request = HttpRequest.newBuilder(baseUri.resolve("/api/players/" + id))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(LoadTest.player(random, "P" + settings.seed() + "-" + id)))
+                    .build();
+            } else {
+                path = polled.get(random.nextInt(polled.size()));
+                HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).GET();
+                String eTag = conditional ? eTags.get(path) : null;
+                if (eTag != null) {
+                    builder.header("If-None-Match", eTag);
+                }
+                request = builder.build();
+            }
+
+            start = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                if (!write && start >= measureStart) {
+                    recorded.latencies.record(System.nanoTime() - start, true);
+                }
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (write) {
+                continue;
+            }
+            String polledPath = path;
+            response.headers().firstValue("ETag").ifPresent(eTag -> eTags.put(polledPath, eTag));
+            if (start >= measureStart) {
+                recorded.latencies.record(elapsed, response.statusCode() >= 400);
+                recorded.bodyBytes += response.body().length;
+                if (response.statusCode() == 304) {
+                    recorded.notModified++;
+                }
+            }
+        }
+        return recorded;
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-14s %9s %9s %9s %9s %12s %8s %12s%n", "mode", "polls", "req/s", "p50 ms", "p99 ms",
+            "body MB", "304 %", "cpu us/req");
+        for (Mode mode : report.modes()) {
+            System.out.printf("%-14s %9d %9.1f %9.3f %9.3f %12.2f %8.1f %12.1f%n", mode.mode(),
+                mode.polls().requests(), mode.polls().throughput(), mode.polls().p50(), mode.polls().p99(),
+                mode.bodyBytes() / 1e6, mode.notModifiedShare() * 100, mode.cpuMicrosPerRequest());
+        }
+    }
+
+    private static final class Client {
+
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private long bodyBytes;
+        private long notModified;
+
+        private void merge(Client other) {
+            latencies.merge(other.latencies);
+            bodyBytes += other.bodyBytes;
+            notModified += other.notModified;
+        }
+    }
+
+    /**
+     * Serialized as JSON; latencies in milliseconds. Writes are not counted as polls.
+     */
+    record Report(Instant startedAt, LoadSettings settings, String database, List<Mode> modes) {
+    }
+
+    record Mode(
+        String mode,
+        LoadReport.EndpointResult polls,
+        long bodyBytes,
+        long notModified,
+        double notModifiedShare,
+        double cpuSeconds,
+        double cpuMicrosPerRequest) {
+    }
+}
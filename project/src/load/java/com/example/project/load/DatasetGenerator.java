@@ -0,0 +1,119 @@
+package com.example.project.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a synthetic dataset with plain JDBC batches, which is fast enough for a million players
+ * on H2 or a local MySQL. Names come from small pools, so filters and searches hit many rows.
+ */
+@Slf4j
+class DatasetGenerator {
+
+    static final String[] NAMES = {
+        "Anna", "Jonas", "Lukas", "Marta", "Tomas", "Greta", "Matas", "Ieva", "Paulius", "Ugne",
+        "Mantas", "Rasa", "Darius", "Egle", "Karolis", "Laura", "Andrius", "Simona", "Rokas", "Agne"
+    };
+
+    static final String[] SURNAMES = {
+        "Kazlauskas", "Petrauskas", "Jankauskas", "Stankevicius", "Vasiliauskas", "Zukauskas",
+        "Butkus", "Paulauskas", "Urbonas", "Kavaliauskas", "Baranauskas", "Pociute", "Lukosevicius",
+        "Balciunas", "Navickas", "Ramanauskas", "Sakalauskas", "Mockus", "Adomaitis", "Vaitkus"
+    };
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    DatasetGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    Dataset generate(LoadSettings settings) {
+        long start = System.nanoTime();
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.players(); i++) {
+            rows.add(new Object[] {pick(NAMES), pick(SURNAMES),
+                Date.valueOf(LocalDate.of(1980, 1, 1).plusDays(random.nextInt(10_000))), "P" + i});
+            flush(rows, "INSERT INTO player (name, surname, date_of_birth, personal_code) VALUES (?, ?, ?, ?)", false);
+        }
+        flush(rows, "INSERT INTO player (name, surname, date_of_birth, personal_code) VALUES (?, ?, ?, ?)", true);
+        IdRange players = range("player", "id");
+
+        for (int i = 0; i < settings.coaches(); i++) {
+            rows.add(new Object[] {pick(NAMES), pick(SURNAMES),
+                Date.valueOf(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(8_000))), "L" + i, "C" + i});
+            flush(rows, "INSERT INTO coach (name, surname, coaching_from, license_id, personal_code) VALUES (?, ?, ?, ?, ?)", false);
+        }
+        flush(rows, "INSERT INTO coach (name, surname, coaching_from, license_id, personal_code) VALUES (?, ?, ?, ?, ?)", true);
+        IdRange coaches = range("coach", "id");
+
+        for (int i = 0; i < settings.teams(); i++) {
+            rows.add(new Object[] {"Team " + pick(SURNAMES) + " " + i, 1950 + random.nextInt(75), coaches.random(random)});
+            flush(rows, "INSERT INTO team (team_name, year_created, coach_id) VALUES (?, ?, ?)", false);
+        }
+        flush(rows, "INSERT INTO team (team_name, year_created, coach_id) VALUES (?, ?, ?)", true);
+        IdRange teams = range("team", "team_id");
+
+        if (!teams.isEmpty()) {
+            for (int teamId = teams.min(); teamId <= teams.max(); teamId++) {
+                Set<Integer> roster = new LinkedHashSet<>();
+                while (roster.size() < settings.rosterSize()) {
+                    roster.add(players.random(random));
+                }
+                for (Integer playerId : roster) {
+                    rows.add(new Object[] {teamId, playerId});
+                    flush(rows, "INSERT INTO team_players (team_id, player_id) VALUES (?, ?)", false);
+                }
+            }
+            flush(rows, "INSERT INTO team_players (team_id, player_id) VALUES (?, ?)", true);
+        }
+
+        log.info("Generated {} players, {} coaches and {} teams in {} ms", settings.players(), settings.coaches(),
+            settings.teams(), (System.nanoTime() - start) / 1_000_000);
+        return new Dataset(players, coaches, teams);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private void flush(List<Object[]> rows, String sql, boolean force) {
+        if (rows.size() >= BATCH_SIZE || (force && !rows.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private IdRange range(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT MIN(" + column + "), MAX(" + column + ") FROM " + table,
+            (rs, rowNum) -> new IdRange(rs.getInt(1), rs.getInt(2)));
+    }
+
+    record Dataset(IdRange players, IdRange coaches, IdRange teams) {
+    }
+
+    /**
+     * Ids of a freshly generated table; identity columns hand them out without gaps.
+     */
+    record IdRange(int min, int max) {
+
+        boolean isEmpty() {
+            return max < min || max == 0;
+        }
+
+        int random(Random random) {
+            return min + random.nextInt(max - min + 1);
+        }
+    }
+}
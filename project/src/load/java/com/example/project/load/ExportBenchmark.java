@@ -0,0 +1,154 @@
+package com.example.project.load;
+
+import com.example.project.ProjectApplication;
+import com.example.project.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Volume test for the NDJSON player export: generates {@code load.players} players (a million unless
+ * given) and exports them into a stream that discards the output. Every tenth of the way it forces a GC
+ * and samples the heap in use, and times each tenth, so a buffered result set or a slowing cursor shows
+ * up as heap growth or as later tenths taking longer than the first.
+ *
+ * <p>On the embedded H2 database the export runs against {@code LAZY_QUERY_EXECUTION}, without which H2
+ * reads the whole result before returning the first row. Pass {@code --spring.datasource.url} to export
+ * from another database.
+ */
+@Slf4j
+public final class ExportBenchmark {
+
+    private static final DateTimeFormatter REPORT_NAME =
+        DateTimeFormatter.ofPattern("'export-'yyyyMMdd'T'HHmmss'.json'").withZone(ZoneOffset.UTC);
+    private static final String LAZY_H2_URL =
+        "--spring.datasource.url=jdbc:h2:mem:export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;LAZY_QUERY_EXECUTION=TRUE";
+    private static final int CHECKPOINTS = 10;
+
+    private ExportBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // The test resources set an H2 URL, which only a command-line argument overrides
+        String[] arguments = Arrays.stream(args).anyMatch(arg -> arg.startsWith("--spring.datasource.url="))
+            ? args
+            : Stream.concat(Stream.of(LAZY_H2_URL), Arrays.stream(args)).toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectApplication.class)
+            .properties(
+                "server.port=0",
+                "load.players=1000000",
+                "load.coaches=1",
+                "load.teams=0",
+                "logging.level.root=WARN",
+                "logging.level.com.example.project.load=INFO",
+                "spring.jpa.properties.hibernate.generate_statistics=false")
+            .run(arguments);
+        try {
+            LoadSettings settings = Binder.get(context.getEnvironment()).bindOrCreate("load", LoadSettings.class);
+            new DatasetGenerator(context.getBean(JdbcTemplate.class), settings.seed()).generate(settings);
+
+            CheckpointStream out = new CheckpointStream(Math.max(1, settings.players() / CHECKPOINTS));
+            long started = System.nanoTime();
+            long exported = context.getBean(ExportService.class).exportPlayers(out);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            long baseline = out.heapUsed.isEmpty() ? 0 : out.heapUsed.get(0);
+            long peak = out.heapUsed.stream().mapToLong(Long::longValue).max().orElse(baseline);
+            List<Long> chunks = out.chunkNanos.stream().sorted().toList();
+            double slowestToMedian = chunks.isEmpty() ? 1 : (double) chunks.get(chunks.size() - 1) / chunks.get(chunks.size() / 2);
+            Report report = new Report(Instant.now(), settings.players(),
+                context.getEnvironment().getProperty("spring.datasource.url"), exported, out.bytes, seconds,
+                exported / seconds, (peak - baseline) >> 10, out.heapUsed, slowestToMedian);
+
+            Path file = Path.of(settings.reportDir()).resolve(REPORT_NAME.format(report.startedAt()));
+            Files.createDirectories(file.getParent());
+            context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            print(report);
+            log.info("Report written to {}", file.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%12s %10s %9s %12s %14s %16s%n", "rows", "MB", "seconds", "rows/s", "heap growth KB",
+            "slowest/median");
+        System.out.printf("%12d %10.1f %9.1f %12.0f %14d %16.2f%n", report.exported(), report.bytes() / 1e6,
+            report.seconds(), report.rowsPerSecond(), report.heapGrowthKb(), report.slowestToMedianChunk());
+    }
+
+    /**
+     * Discards the export while sampling retained heap and elapsed time every {@code interval} lines.
+     */
+    private static final class CheckpointStream extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long interval;
+        private final List<Long> heapUsed = new ArrayList<>();
+        private final List<Long> chunkNanos = new ArrayList<>();
+        private long lines;
+        private long bytes;
+        private long chunkStart = System.nanoTime();
+
+        CheckpointStream(long interval) {
+            this.interval = interval;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n' && ++lines % interval == 0) {
+                checkpoint();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        // The GC is not timed, so it does not count against the chunk that follows
+        private void checkpoint() {
+            long now = System.nanoTime();
+            if (lines > interval) {
+                chunkNanos.add(now - chunkStart);
+            }
+            System.gc();
+            heapUsed.add(memory.getHeapMemoryUsage().getUsed());
+            chunkStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Serialized as JSON. The first tenth is not timed, since it includes the query start.
+     */
+    record Report(
+        Instant startedAt,
+        int players,
+        String database,
+        long exported,
+        long bytes,
+        double seconds,
+        double rowsPerSecond,
+        long heapGrowthKb,
+        List<Long> heapUsed,
+        double slowestToMedianChunk) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.project.load;
+
+import com.example.project.ProjectApplication;
+import com.example.project.reactive.ReactiveApiServer;
+import com.example.project.reactive.ReactiveReadRepository;
+import com.example.project.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fan-out comparison of the blocking MVC API and the reactive read API: boots the application with
+ * both servers, generates a dataset and drives the same read-only mix against each port in turn from
+ * {@code load.concurrency} clients (10,000 unless given), each holding its own connection.
+ *
+ * <p>Besides latency it records how many JVM threads were added over the idle baseline at the peak,
+ * and the peak number of database connections in use, sampled from the Hikari and R2DBC pools. Clients
+ * are non-blocking and share two event-loop threads, so the thread numbers are dominated by the server.
+ *
+ * <p>Every client needs a socket on both ends, so raise the open file limit above twice the client
+ * count first, e.g. {@code ulimit -n 32768}.
+ */
+@Slf4j
+public final class FanOutBenchmark {
+
+    private static final DateTimeFormatter REPORT_NAME =
+        DateTimeFormatter.ofPattern("'fan-out-'yyyyMMdd'T'HHmmss'.json'").withZone(ZoneOffset.UTC);
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(20);
+
+    private final LoadSettings settings;
+    private final HikariDataSource dataSource;
+    private final ReactiveReadRepository reactiveRepository;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<Function<Random, String>> reads = new ArrayList<>();
+
+    private FanOutBenchmark(LoadSettings settings, DatasetGenerator.Dataset dataset, HikariDataSource dataSource,
+                            ReactiveReadRepository reactiveRepository) {
+        this.settings = settings;
+        this.dataSource = dataSource;
+        this.reactiveRepository = reactiveRepository;
+
+        reads.add(random -> "/api/players?limit=50");
+        reads.add(random -> "/api/players/" + dataset.players().random(random));
+        reads.add(random -> "/api/coaches/" + dataset.coaches().random(random));
+        if (!dataset.teams().isEmpty()) {
+            reads.add(random -> "/api/teams?limit=50");
+            reads.add(random -> "/api/teams/" + dataset.teams().random(random));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectApplication.class)
+            .properties(
+                "server.port=0",
+                "app.reactive.enabled=true",
+                "app.reactive.port=0",
+                "load.concurrency=10000",
+                // Without these Tomcat caps open connections at 8192 and the comparison measures the cap
+                "server.tomcat.max-connections=-1",
+                "server.tomcat.accept-count=1000",
+                "logging.level.root=WARN",
+                "logging.level.com.example.project.load=INFO",
+                "spring.jpa.properties.hibernate.generate_statistics=false")
+            .run(args);
+        try {
+            LoadSettings settings = Binder.get(context.getEnvironment()).bindOrCreate("load", LoadSettings.class);
+            DatasetGenerator.Dataset dataset =
+                new DatasetGenerator(context.getBean(JdbcTemplate.class), settings.seed()).generate(settings);
+            // The generator writes behind the application's back
+            context.getBeansOfType(NameSearchIndex.class).values().forEach(NameSearchIndex::rebuild);
+
+            FanOutBenchmark benchmark = new FanOutBenchmark(settings, dataset,
+                context.getBean(DataSource.class).unwrap(HikariDataSource.class),
+                context.getBean(ReactiveReadRepository.class));
+            int mvcPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int reactivePort = context.getBean(ReactiveApiServer.class).port();
+
+            Report report = new Report(Instant.now(), settings,
+                context.getEnvironment().getProperty("spring.datasource.url"), List.of(
+                    // Reactive first: Tomcat keeps its worker threads once started, which would inflate the peak
+                    benchmark.run("reactive", reactivePort),
+                    benchmark.run("mvc", mvcPort)));
+
+            Path file = Path.of(settings.reportDir()).resolve(REPORT_NAME.format(report.startedAt()));
+            Files.createDirectories(file.getParent());
+            context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            print(report);
+            log.info("Report written to {}", file.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private Target run(String name, int port) {
+        log.info("Driving {} clients against {} on port {} for {} (after {} warmup)",
+            settings.concurrency(), name, port, settings.duration(), settings.warmup());
+        LoopResources loops = LoopResources.create("fan-out-client", 2, true);
+        ConnectionProvider connections = ConnectionProvider.builder("fan-out")
+            .maxConnections(settings.concurrency())
+            .pendingAcquireMaxCount(-1)
+            .pendingAcquireTimeout(Duration.ofMinutes(1))
+            .build();
+        HttpClient client = HttpClient.create(connections)
+            .runOn(loops)
+            .baseUrl("http://localhost:" + port)
+            .responseTimeout(Duration.ofSeconds(60));
+
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        AtomicInteger peakJdbc = new AtomicInteger();
+        AtomicInteger peakR2dbc = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakJdbc.accumulateAndGet(dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max);
+            peakR2dbc.accumulateAndGet(reactiveRepository.acquiredConnections(), Math::max);
+        }, 0, SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+        long measureStart = System.nanoTime() + settings.warmup().toNanos();
+        long end = measureStart + settings.duration().toNanos();
+        LatencyRecorder recorder = new LatencyRecorder();
+        try {
+            Flux.range(0, settings.concurrency())
+                .flatMap(i -> drive(client, new Random(settings.seed() + i), recorder, measureStart, end),
+                    settings.concurrency())
+                .blockLast();
+        } finally {
+            sampler.shutdownNow();
+            connections.disposeLater().block();
+            loops.disposeLater().block();
+        }
+
+        return new Target(name, baselineThreads, threads.getPeakThreadCount(), peakJdbc.get(), peakR2dbc.get(),
+            recorder.result(name, settings.duration().toNanos() / 1e9));
+    }
+
+    // One closed-loop client: the next request goes out once the previous response has been read
+    private Mono<Void> drive(HttpClient client, Random random, LatencyRecorder recorder, long measureStart, long end) {
+        return Mono.defer(() -> {
+                String path = reads.get(random.nextInt(reads.size())).apply(random);
+                long start = System.nanoTime();
+                return client.get().uri(path)
+                    .responseSingle((response, body) -> body.asByteArray().thenReturn(response.status().code()))
+                    .map(status -> status >= 400)
+                    .onErrorReturn(true)
+                    .doOnNext(error -> {
+                        if (start >= measureStart) {
+                            // Clients share a handful of event-loop threads
+                            synchronized (recorder) {
+                                recorder.record(System.nanoTime() - start, error);
+                            }
+                        }
+                    });
+            })
+            .repeat(() -> System.nanoTime() < end)
+            .then();
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n", "server", "requests", "errors",
+            "req/s", "p50 ms", "p99 ms", "max ms", "+threads", "jdbc", "r2dbc");
+        for (Target target : report.targets()) {
+            LoadReport.EndpointResult total = target.total();
+            System.out.printf("%-10s %9d %7d %9.1f %9.3f %9.3f %9.3f %9d %9d %9d%n", target.server(),
+                total.requests(), total.errors(), total.throughput(), total.p50(), total.p99(), total.max(),
+                target.peakThreads() - target.baselineThreads(), target.peakJdbcConnections(), target.peakR2dbcConnections());
+        }
+    }
+
+    /**
+     * Serialized as JSON; latencies in milliseconds, thread counts for the whole JVM.
+     */
+    record Report(Instant startedAt, LoadSettings settings, String database, List<Target> targets) {
+    }
+
+    record Target(
+        String server,
+        int baselineThreads,
+        int peakThreads,
+        int peakJdbcConnections,
+        int peakR2dbcConnections,
+        LoadReport.EndpointResult total) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project.load;
+
+import java.util.Arrays;
+
+/**
+ * Raw latency samples for one endpoint. Each client thread owns its recorders, which are merged
+ * once the run is over, so recording takes no locks.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    LoadReport.EndpointResult result(String endpoint, double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new LoadReport.EndpointResult(endpoint, count, errors, count / seconds,
+            millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+            millis(percentile(sorted, 0.99)), millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    // Nearest-rank percentile
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.project.load;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One run, serialized as JSON. Latencies are in milliseconds and throughput is in requests per second
+ * over the measured window; {@code threads} says whether requests were served on platform or virtual threads.
+ */
+record LoadReport(
+    Instant startedAt,
+    LoadSettings settings,
+    String database,
+    String threads,
+    double measuredSeconds,
+    EndpointResult total,
+    List<EndpointResult> endpoints) {
+
+    record EndpointResult(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughput,
+        double p50,
+        double p95,
+        double p99,
+        double max) {
+    }
+}
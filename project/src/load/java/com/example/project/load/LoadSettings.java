@@ -0,0 +1,43 @@
+package com.example.project.load;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+/**
+ * Run parameters, bound from {@code load.*} command-line arguments or system properties.
+ *
+ * @param players     players to generate
+ * @param coaches     coaches to generate
+ * @param teams       teams to generate, each with a coach
+ * @param rosterSize  players per generated team
+ * @param concurrency closed-loop client threads
+ * @param warmup      time spent driving load before latencies are recorded
+ * @param duration    measured time
+ * @param writeRatio  share of requests that write, from 0 to 1
+ * @param seed        seed for the dataset and the request mix, so runs are repeatable
+ * @param reportDir   directory the JSON report is written to
+ */
+public record LoadSettings(
+    @DefaultValue("10000") int players,
+    @DefaultValue("1000") int coaches,
+    @DefaultValue("1000") int teams,
+    @DefaultValue("15") int rosterSize,
+    @DefaultValue("8") int concurrency,
+    @DefaultValue("10s") Duration warmup,
+    @DefaultValue("60s") Duration duration,
+    @DefaultValue("0.1") double writeRatio,
+    @DefaultValue("42") long seed,
+    @DefaultValue("target/load-reports") String reportDir) {
+
+    public LoadSettings {
+        if (players < 1 || coaches < 1 || teams < 0 || rosterSize < 0 || rosterSize > players) {
+            throw new IllegalArgumentException("Invalid dataset size");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("load.concurrency must be positive");
+        }
+        if (writeRatio < 0 || writeRatio > 1) {
+            throw new IllegalArgumentException("load.write-ratio must be between 0 and 1");
+        }
+    }
+}
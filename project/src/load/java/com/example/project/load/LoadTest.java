@@ -0,0 +1,243 @@
+package com.example.project.load;
+
+import com.example.project.ProjectApplication;
+import com.example.project.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * End-to-end load test: boots the application on a random port, generates a dataset and drives
+ * the player, coach and team endpoints over HTTP with a read/write mix.
+ *
+ * <p>Clients run a closed loop, each sending its next request once the previous one has completed,
+ * so the reported latencies do not include queueing that a fixed arrival rate would add. Settings
+ * are {@code load.*} arguments (see {@link LoadSettings}); any other argument goes to Spring, e.g.
+ * {@code --spring.datasource.url=...} to run against a local MySQL instead of the embedded H2.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final DateTimeFormatter REPORT_NAME =
+        DateTimeFormatter.ofPattern("'load-'yyyyMMdd'T'HHmmss'.json'").withZone(ZoneOffset.UTC);
+
+    private final LoadSettings settings;
+    private final DatasetGenerator.Dataset dataset;
+    private final URI baseUri;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final AtomicLong createdPlayers = new AtomicLong();
+    private final List<Operation> reads = new ArrayList<>();
+    private final List<Operation> writes = new ArrayList<>();
+    private final List<Operation> operations = new ArrayList<>();
+
+    private LoadTest(LoadSettings settings, DatasetGenerator.Dataset dataset, URI baseUri) {
+        this.settings = settings;
+        this.dataset = dataset;
+        this.baseUri = baseUri;
+
+        read("GET /api/players", random -> get("/api/players?limit=50"));
+        read("GET /api/players/{id}", random -> get("/api/players/" + dataset.players().random(random)));
+        read("GET /api/players?name", random -> get("/api/players?match=PREFIX&limit=50&name="
+            + pick(random, DatasetGenerator.NAMES).substring(0, 3)));
+        read("GET /api/coaches", random -> get("/api/coaches?limit=50"));
+        read("GET /api/coaches/{id}", random -> get("/api/coaches/" + dataset.coaches().random(random)));
+        if (!dataset.teams().isEmpty()) {
+            read("GET /api/teams", random -> get("/api/teams?limit=50"));
+            read("GET /api/teams/{id}", random -> get("/api/teams/" + dataset.teams().random(random)));
+        }
+
+        write("POST /api/players", random -> send("POST", "/api/players",
+            player(random, "W" + settings.seed() + "-" + createdPlayers.incrementAndGet())));
+        write("PUT /api/players/{id}", random -> {
+            int id = dataset.players().random(random);
+            return send("PUT", "/api/players/" + id, player(random, "U" + id));
+        });
+        if (!dataset.teams().isEmpty()) {
+            write("PATCH /api/teams/{id}/players", random -> send("PATCH",
+                "/api/teams/" + dataset.teams().random(random) + "/players",
+                "{\"add\":[" + dataset.players().random(random) + "],\"remove\":[" + dataset.players().random(random) + "]}"));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        execute(args);
+    }
+
+    /**
+     * Runs one load test in a fresh application context and writes its report.
+     */
+    static LoadReport execute(String... args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectApplication.class)
+            .properties(
+                "server.port=0",
+                "logging.level.root=WARN",
+                "logging.level.com.example.project.load=INFO",
+                "spring.jpa.properties.hibernate.generate_statistics=false")
+            .run(args);
+        try {
+            LoadSettings settings = Binder.get(context.getEnvironment()).bindOrCreate("load", LoadSettings.class);
+            DatasetGenerator.Dataset dataset =
+                new DatasetGenerator(context.getBean(JdbcTemplate.class), settings.seed()).generate(settings);
+            // The generator writes behind the application's back
+            context.getBeansOfType(NameSearchIndex.class).values().forEach(NameSearchIndex::rebuild);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String threads = Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtual" : "platform";
+            LoadReport report = new LoadTest(settings, dataset, URI.create("http://localhost:" + port))
+                .run(context.getEnvironment().getProperty("spring.datasource.url"), threads);
+
+            Path file = Path.of(settings.reportDir()).resolve(REPORT_NAME.format(report.startedAt()));
+            Files.createDirectories(file.getParent());
+            context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            print(report);
+            log.info("Report written to {}", file.toAbsolutePath());
+            return report;
+        } finally {
+            context.close();
+        }
+    }
+
+    private LoadReport run(String database, String threads) throws Exception {
+        Instant startedAt = Instant.now();
+        long measureStart = System.nanoTime() + settings.warmup().toNanos();
+        long end = measureStart + settings.duration().toNanos();
+        log.info("Driving {} clients for {} (after {} warmup), write ratio {}, {} server threads",
+            settings.concurrency(), settings.duration(), settings.warmup(), settings.writeRatio(), threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        List<Future<LatencyRecorder[]>> clients = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Random random = new Random(settings.seed() + i);
+            clients.add(executor.submit(() -> drive(random, measureStart, end)));
+        }
+
+        LatencyRecorder[] merged = recorders();
+        for (Future<LatencyRecorder[]> client : clients) {
+            LatencyRecorder[] recorded = client.get();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i].merge(recorded[i]);
+            }
+        }
+        executor.shutdown();
+
+        double seconds = settings.duration().toNanos() / 1e9;
+        LatencyRecorder total = new LatencyRecorder();
+        List<LoadReport.EndpointResult> endpoints = new ArrayList<>();
+        for (int i = 0; i < merged.length; i++) {
+            endpoints.add(merged[i].result(operations.get(i).endpoint(), seconds));
+            total.merge(merged[i]);
+        }
+        return new LoadReport(startedAt, settings, database, threads, seconds, total.result("total", seconds), endpoints);
+    }
+
+    private LatencyRecorder[] drive(Random random, long measureStart, long end) {
+        LatencyRecorder[] recorders = recorders();
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            Operation operation = random.nextDouble() < settings.writeRatio()
+                ? writes.get(random.nextInt(writes.size()))
+                : reads.get(random.nextInt(reads.size()));
+            HttpRequest request = operation.request().apply(random);
+
+            start = System.nanoTime();
+            boolean error;
+            try {
+                error = client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (start >= measureStart) {
+                recorders[operation.index()].record(elapsed, error);
+            }
+        }
+        return recorders;
+    }
+
+    private LatencyRecorder[] recorders() {
+        LatencyRecorder[] recorders = new LatencyRecorder[operations.size()];
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new LatencyRecorder();
+        }
+        return recorders;
+    }
+
+    private void read(String endpoint, Function<Random, HttpRequest> request) {
+        Operation operation = new Operation(operations.size(), endpoint, request);
+        operations.add(operation);
+        reads.add(operation);
+    }
+
+    private void write(String endpoint, Function<Random, HttpRequest> request) {
+        Operation operation = new Operation(operations.size(), endpoint, request);
+        operations.add(operation);
+        writes.add(operation);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    static String player(Random random, String personalCode) {
+        return "{\"name\":\"" + pick(random, DatasetGenerator.NAMES)
+            + "\",\"surname\":\"" + pick(random, DatasetGenerator.SURNAMES)
+            + "\",\"dateOfBirth\":\"" + LocalDate.of(1980, 1, 1).plusDays(random.nextInt(10_000))
+            + "\",\"personalCode\":\"" + personalCode + "\"}";
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    static void print(LoadReport report) {
+        System.out.printf("%n%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        List<LoadReport.EndpointResult> rows = new ArrayList<>(report.endpoints());
+        rows.add(report.total());
+        for (LoadReport.EndpointResult row : rows) {
+            System.out.printf("%-32s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f%n", row.endpoint(), row.requests(),
+                row.errors(), row.throughput(), row.p50(), row.p95(), row.p99(), row.max());
+        }
+    }
+
+    private record Operation(int index, String endpoint, Function<Random, HttpRequest> request) {
+    }
+}
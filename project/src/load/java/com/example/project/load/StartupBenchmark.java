@@ -0,0 +1,449 @@
+package com.example.project.load;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark for the packaged application: starts it in a fresh JVM per run, once per mode, and
+ * measures the time from launching the process to the first successful response to {@code startup.probe}.
+ * Each fast-startup technique is measured on its own against the plain jar, then all of them together.
+ *
+ * <p>The jar is extracted with Spring Boot's jar tools first, the layout class-data sharing needs; every
+ * mode runs from it, so the layout is not what is being compared. Runs go round-robin over the modes so
+ * that drift on the machine spreads evenly. The schema is migrated by an unmeasured first start, as it
+ * would be by an earlier deployment.
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    private static final DateTimeFormatter REPORT_NAME =
+        DateTimeFormatter.ofPattern("'startup-'yyyyMMdd'T'HHmmss'.json'").withZone(ZoneOffset.UTC);
+    private static final Pattern PROCESS_UPTIME = Pattern.compile("process running for ([0-9.]+)");
+    private static final String AOT_INITIALIZER = "com/example/project/ProjectApplication__ApplicationContextInitializer.class";
+
+    private final Settings settings;
+    private final Path workDir;
+    private final Path h2Jar;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(1))
+        .build();
+    private Path appJar;
+
+    private StartupBenchmark(Settings settings) throws Exception {
+        this.settings = settings;
+        this.workDir = Path.of(settings.workDir()).toAbsolutePath();
+        // The driver comes from this benchmark's classpath; the packaged jar does not ship it
+        this.h2Jar = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    /**
+     * One way of starting the application.
+     *
+     * @param lazy         {@code spring.main.lazy-initialization=true}
+     * @param deferOpenApi {@code app.openapi.defer=true}
+     * @param cds          class-data sharing from an archive recorded by a training run of the same mode
+     * @param aot          the ahead-of-time generated bean definitions ({@code -Dspring.aot.enabled=true})
+     */
+    enum Mode {
+        BASELINE(false, false, false, false),
+        LAZY(true, false, false, false),
+        DEFERRED_OPENAPI(false, true, false, false),
+        CDS(false, false, true, false),
+        AOT(false, false, false, true),
+        ALL(true, true, true, true);
+
+        private final boolean lazy;
+        private final boolean deferOpenApi;
+        private final boolean cds;
+        private final boolean aot;
+
+        Mode(boolean lazy, boolean deferOpenApi, boolean cds, boolean aot) {
+            this.lazy = lazy;
+            this.deferOpenApi = deferOpenApi;
+            this.cds = cds;
+            this.aot = aot;
+        }
+
+        String key() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    /**
+     * Run parameters, bound from {@code startup.*} command-line arguments or system properties.
+     *
+     * @param jar                the packaged application; found in {@code target} if empty
+     * @param modes              modes to measure
+     * @param runs               measured starts per mode
+     * @param timeout            limit for one start, or one CDS training run
+     * @param probe              path that must answer 200 for the application to count as serving
+     * @param jvmArgs            extra JVM options for the application, space separated
+     * @param appArgs            extra application arguments, space separated
+     * @param datasourceUrl      database to start against; a file-based H2 database in the work directory if empty
+     * @param datasourceUsername database user
+     * @param datasourcePassword database password
+     * @param workDir            where the jar is extracted and the CDS archives, logs and H2 database go
+     * @param reportDir          directory the JSON report is written to
+     */
+    public record Settings(
+        @DefaultValue("") String jar,
+        @DefaultValue({"baseline", "lazy", "deferred-openapi", "cds", "aot", "all"}) List<Mode> modes,
+        @DefaultValue("5") int runs,
+        @DefaultValue("120s") Duration timeout,
+        @DefaultValue("/api/players?limit=1") String probe,
+        @DefaultValue("") String jvmArgs,
+        @DefaultValue("") String appArgs,
+        @DefaultValue("") String datasourceUrl,
+        @DefaultValue("sa") String datasourceUsername,
+        @DefaultValue("") String datasourcePassword,
+        @DefaultValue("target/startup") String workDir,
+        @DefaultValue("target/load-reports") String reportDir) {
+
+        public Settings {
+            if (runs < 1) {
+                throw new IllegalArgumentException("startup.runs must be positive");
+            }
+            if (modes.isEmpty()) {
+                throw new IllegalArgumentException("startup.modes must name at least one mode");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        Settings settings = Binder.get(environment).bindOrCreate("startup", Settings.class);
+
+        Report report = new StartupBenchmark(settings).run();
+        Path file = Path.of(settings.reportDir()).resolve(REPORT_NAME.format(report.startedAt()));
+        Files.createDirectories(file.getParent());
+        JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()
+            .writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        print(report);
+        log.info("Report written to {}", file.toAbsolutePath());
+    }
+
+    private Report run() throws Exception {
+        Instant startedAt = Instant.now();
+        Path jar = settings.jar().isEmpty() ? findJar() : Path.of(settings.jar());
+        extract(jar);
+
+        List<Mode> modes = new ArrayList<>(settings.modes());
+        if (!hasAotInitializer()) {
+            log.warn("{} was built without -Paot; skipping the modes that need it", jar);
+            modes.removeIf(mode -> mode.aot);
+        }
+
+        log.info("Migrating the schema with an unmeasured start");
+        start(Mode.BASELINE, "setup");
+        for (Mode mode : modes) {
+            if (mode.cds) {
+                train(mode);
+            }
+        }
+
+        Map<Mode, List<Start>> starts = new EnumMap<>(Mode.class);
+        for (int i = 1; i <= settings.runs(); i++) {
+            for (Mode mode : modes) {
+                Start start = start(mode, String.valueOf(i));
+                log.info("{} run {}: first response after {} ms", mode.key(), i, Math.round(start.timeToFirstResponse()));
+                starts.computeIfAbsent(mode, key -> new ArrayList<>()).add(start);
+            }
+        }
+
+        Double baseline = starts.containsKey(Mode.BASELINE) ? median(starts.get(Mode.BASELINE), Start::timeToFirstResponse) : null;
+        List<Result> results = modes.stream()
+            .map(mode -> Result.of(mode, starts.get(mode), baseline))
+            .toList();
+        return new Report(startedAt, settings, jar.toAbsolutePath().toString(), datasourceUrl(),
+            System.getProperty("java.version"), results);
+    }
+
+    private Path findJar() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of("target"))) {
+            List<Path> jars = files
+                .filter(file -> file.getFileName().toString().endsWith(".jar"))
+                .filter(file -> !file.getFileName().toString().matches(".*-(sources|javadoc|tests)\\.jar"))
+                .toList();
+            if (jars.size() != 1) {
+                throw new IllegalStateException("Expected one application jar in target, found " + jars
+                    + "; build it with mvn package or pass --startup.jar");
+            }
+            return jars.get(0);
+        }
+    }
+
+    private void extract(Path jar) throws Exception {
+        Path destination = workDir.resolve("app");
+        log.info("Extracting {} to {}", jar, destination);
+        Process process = new ProcessBuilder(java(), "-Djarmode=tools", "-jar", jar.toAbsolutePath().toString(),
+                "extract", "--destination", destination.toString(), "--force")
+            .redirectErrorStream(true)
+            .redirectOutput(log("extract").toFile())
+            .start();
+        await(process, "Extracting the jar");
+        appJar = destination.resolve(jar.getFileName());
+    }
+
+    private boolean hasAotInitializer() throws IOException {
+        try (JarFile jar = new JarFile(appJar.toFile())) {
+            return jar.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    /**
+     * Records the classes a start of this mode loads: Spring exits as soon as the context is refreshed,
+     * and the JVM writes them to the mode's archive on the way out.
+     */
+    private void train(Mode mode) throws Exception {
+        Path archive = archive(mode);
+        Files.deleteIfExists(archive);
+        log.info("Recording the CDS archive for {}", mode.key());
+        List<String> command = command(mode, freePort(), List.of(
+            "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh"));
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log(mode.key() + "-training").toFile())
+            .start();
+        await(process, "The CDS training run of " + mode.key());
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("No CDS archive was written for " + mode.key() + ", see "
+                + log(mode.key() + "-training"));
+        }
+    }
+
+    private Start start(Mode mode, String run) throws Exception {
+        int port = freePort();
+        List<String> command = command(mode, port, mode.cds ? List.of("-XX:SharedArchiveFile=" + archive(mode)) : List.of());
+        Path log = log(mode.key() + "-" + run);
+        URI base = URI.create("http://localhost:" + port);
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = launched + settings.timeout().toNanos();
+            long firstRequest;
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.key() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.key() + " did not answer within " + settings.timeout() + ", see " + log);
+                }
+                long sent = System.nanoTime();
+                if (status(base.resolve(settings.probe())) == 200) {
+                    firstRequest = System.nanoTime() - sent;
+                    break;
+                }
+                Thread.sleep(10);
+            }
+            long ready = System.nanoTime() - launched;
+            // With deferred OpenAPI generation, this is where springdoc's share of the startup went
+            long docsSent = System.nanoTime();
+            int docsStatus = status(base.resolve("/v3/api-docs"));
+            long docs = System.nanoTime() - docsSent;
+            if (docsStatus != 200) {
+                throw new IllegalStateException(mode.key() + " answered " + docsStatus + " for /v3/api-docs, see " + log);
+            }
+            stop(process);
+            return new Start(millis(ready), processUptime(log), millis(firstRequest), millis(docs));
+        } finally {
+            if (process.isAlive()) {
+                stop(process);
+            }
+        }
+    }
+
+    private List<String> command(Mode mode, int port, List<String> cdsOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(split(settings.jvmArgs()));
+        command.addAll(cdsOptions);
+        if (mode.aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-cp");
+        command.add(appJar + File.pathSeparator + h2Jar);
+        command.add("com.example.project.ProjectApplication");
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=" + datasourceUrl());
+        command.add("--spring.datasource.username=" + settings.datasourceUsername());
+        command.add("--spring.datasource.password=" + settings.datasourcePassword());
+        command.add("--spring.jpa.show-sql=false");
+        if (mode.lazy) {
+            command.add("--spring.main.lazy-initialization=true");
+        }
+        if (mode.deferOpenApi) {
+            command.add("--app.openapi.defer=true");
+        }
+        command.addAll(split(settings.appArgs()));
+        return command;
+    }
+
+    private String datasourceUrl() {
+        if (!settings.datasourceUrl().isEmpty()) {
+            return settings.datasourceUrl();
+        }
+        return "jdbc:h2:file:" + workDir.resolve("db").resolve("startup") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE";
+    }
+
+    private int status(URI uri) throws InterruptedException {
+        try {
+            return client.send(HttpRequest.newBuilder(uri).timeout(settings.timeout()).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            // Not listening yet
+            return 0;
+        }
+    }
+
+    private void await(Process process, String what) throws InterruptedException {
+        if (!process.waitFor(settings.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(what + " did not finish within " + settings.timeout());
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(what + " failed with exit code " + process.exitValue());
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * What the JVM reported when Spring logged that the application had started; the web server may
+     * already answer before that line is written.
+     */
+    private static Double processUptime(Path log) throws IOException {
+        Matcher matcher = PROCESS_UPTIME.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) * 1000 : null;
+    }
+
+    private Path archive(Mode mode) {
+        return workDir.resolve(mode.key() + ".jsa");
+    }
+
+    private Path log(String name) throws IOException {
+        Path logs = workDir.resolve("logs");
+        Files.createDirectories(logs);
+        return logs.resolve(name + ".log");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static List<String> split(String arguments) {
+        return arguments.isBlank() ? List.of() : Arrays.asList(arguments.trim().split("\\s+"));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double median(List<Start> starts, ToDoubleFunction<Start> value) {
+        double[] values = starts.stream().mapToDouble(value).sorted().toArray();
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-17s %12s %9s %9s %14s %14s %11s %8s%n", "mode", "first resp", "min", "max",
+            "started (jvm)", "first req ms", "api-docs ms", "saved");
+        for (Result result : report.modes()) {
+            System.out.printf("%-17s %12.0f %9.0f %9.0f %14s %14.1f %11.1f %8s%n", result.mode(),
+                result.timeToFirstResponse(), result.min(), result.max(),
+                result.processUptime() == null ? "-" : String.format("%.0f", result.processUptime()),
+                result.firstRequest(), result.apiDocs(),
+                result.savedShare() == null ? "-" : String.format("%.1f%%", result.savedShare() * 100));
+        }
+    }
+
+    /**
+     * One measured start; all times in milliseconds.
+     *
+     * @param timeToFirstResponse from launching the JVM to the first 200 from the probe
+     * @param processUptime       JVM uptime when the application logged that it had started, if it did
+     * @param firstRequest        latency of that first successful probe request
+     * @param apiDocs             latency of the first {@code /v3/api-docs} request, made right after
+     */
+    record Start(double timeToFirstResponse, Double processUptime, double firstRequest, double apiDocs) {
+    }
+
+    /**
+     * Medians over a mode's starts, except {@code min} and {@code max} of the time to first response;
+     * {@code savedShare} is the fraction of the baseline's median saved, when the baseline was measured.
+     */
+    record Result(
+        String mode,
+        int runs,
+        double timeToFirstResponse,
+        double min,
+        double max,
+        Double processUptime,
+        double firstRequest,
+        double apiDocs,
+        Double savedShare,
+        List<Start> starts) {
+
+        static Result of(Mode mode, List<Start> starts, Double baseline) {
+            double time = median(starts, Start::timeToFirstResponse);
+            List<Start> logged = starts.stream().filter(start -> start.processUptime() != null).toList();
+            return new Result(mode.key(), starts.size(), time,
+                starts.stream().mapToDouble(Start::timeToFirstResponse).min().orElseThrow(),
+                starts.stream().mapToDouble(Start::timeToFirstResponse).max().orElseThrow(),
+                logged.isEmpty() ? null : median(logged, Start::processUptime),
+                median(starts, Start::firstRequest),
+                median(starts, Start::apiDocs),
+                baseline == null ? null : 1 - time / baseline,
+                starts);
+        }
+    }
+
+    /**
+     * Serialized as JSON; times in milliseconds.
+     */
+    record Report(Instant startedAt, Settings settings, String jar, String database, String javaVersion,
+                  List<Result> modes) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.project.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the load test twice with the same arguments, serving requests on platform threads and then
+ * on virtual threads, and writes a side-by-side summary next to the two reports. Needs Java 21.
+ *
+ * <p>Use a concurrency well above the Tomcat thread pool (200) to see the difference, e.g.
+ * {@code --load.concurrency=400}. The virtual thread run also turns on the request bulkhead, which caps
+ * database work at the pool size as it would in a virtual thread deployment.
+ */
+@Slf4j
+public final class ThreadModeComparison {
+
+    private static final DateTimeFormatter REPORT_NAME =
+        DateTimeFormatter.ofPattern("'thread-modes-'yyyyMMdd'T'HHmmss'.json'").withZone(ZoneOffset.UTC);
+
+    private ThreadModeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later, running on " + Runtime.version());
+        }
+
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            String[] modeArgs = Arrays.copyOf(args, args.length + 2);
+            modeArgs[args.length] = "--spring.threads.virtual.enabled=" + virtual;
+            modeArgs[args.length + 1] = "--app.bulkhead.enabled=" + virtual;
+            LoadReport report = LoadTest.execute(modeArgs);
+            reports.put(report.threads(), report);
+        }
+
+        System.out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s%n",
+            "threads", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Map<String, LoadReport.EndpointResult> totals = new LinkedHashMap<>();
+        reports.forEach((threads, report) -> {
+            LoadReport.EndpointResult total = report.total();
+            totals.put(threads, total);
+            System.out.printf("%-10s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f%n", threads, total.requests(),
+                total.errors(), total.throughput(), total.p50(), total.p95(), total.p99(), total.max());
+        });
+
+        LoadReport first = reports.values().iterator().next();
+        Path file = Path.of(first.settings().reportDir()).resolve(REPORT_NAME.format(first.startedAt()));
+        Files.createDirectories(file.getParent());
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper.writerWithDefaultPrettyPrinter()
+            .writeValue(file.toFile(), Map.of("settings", first.settings(), "totals", totals));
+        log.info("Comparison written to {}", file.toAbsolutePath());
+    }
+}
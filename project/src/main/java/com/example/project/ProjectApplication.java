@@ -2,8 +2,11 @@ package com.example.project;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive read API, which owns its pool; a ConnectionFactory bean
+// would make Spring Boot skip the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ProjectApplication {
 
 	public static void main(String[] args) {
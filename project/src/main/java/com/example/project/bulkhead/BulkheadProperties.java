@@ -0,0 +1,21 @@
+package com.example.project.bulkhead;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /** Cap the number of API requests running at once; meant to be turned on with virtual threads. */
+    private boolean enabled = false;
+
+    /** API requests allowed to run at once; 0 uses the maximum size of the connection pool. */
+    private int maxConcurrent = 0;
+
+    /** How long a request waits for a free slot before it is rejected with 503. */
+    private Duration maxWait = Duration.ofSeconds(5);
+}
@@ -0,0 +1,112 @@
+package com.example.project.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many API requests run at once, by default to the size of the connection pool.
+ *
+ * <p>With virtual threads nothing else bounds request concurrency, and every request beyond the pool
+ * size would queue inside the pool holding its memory until the connection timeout. Here excess
+ * requests wait in a fair queue for at most {@link BulkheadProperties#getMaxWait()} and are then
+ * answered 503 with {@code Retry-After}. Requests answered from memory are limited too; that is the
+ * price of deciding before the handler runs. Streaming exports hold their slot only for the initial
+ * dispatch. Off unless {@code app.bulkhead.enabled} is set: on platform threads Tomcat's thread pool
+ * already bounds concurrency, and capping it at the pool size would also queue requests that never
+ * need a connection.
+ */
+@Slf4j
+@Component
+public class RequestBulkhead extends OncePerRequestFilter {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final boolean enabled;
+    private final int limit;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Timer waits;
+    private final Counter rejections;
+
+    public RequestBulkhead(BulkheadProperties properties, DataSource dataSource, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.limit = properties.getMaxConcurrent() > 0 ? properties.getMaxConcurrent() : poolSize(dataSource);
+        this.maxWait = properties.getMaxWait();
+        this.permits = new Semaphore(limit, true);
+        this.waits = Timer.builder("app.bulkhead.wait")
+            .description("Time API requests waited for a bulkhead slot")
+            .register(registry);
+        this.rejections = Counter.builder("app.bulkhead.rejections")
+            .description("API requests rejected with 503 after waiting for a slot")
+            .register(registry);
+        Gauge.builder("app.bulkhead.available", permits, Semaphore::availablePermits)
+            .description("Free bulkhead slots")
+            .register(registry);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejections.increment();
+            log.warn("Rejecting {} {}: {} requests already running", request.getMethod(), request.getRequestURI(), limit);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            // An unstarted pool reports -1 until it applies its own default
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return size > 0 ? size : DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size: {}", e.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.project.cache;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ReadThroughCache<Integer, PlayerDto.Response> playerCache(CacheProperties properties) {
+        return create("players", properties);
+    }
+
+    @Bean
+    public ReadThroughCache<Integer, CoachDto.Response> coachCache(CacheProperties properties) {
+        return create("coaches", properties);
+    }
+
+    private static <V> ReadThroughCache<Integer, V> create(String name, CacheProperties properties) {
+        return switch (properties.getProvider()) {
+            case CAFFEINE -> new CaffeineReadThroughCache<>(name, properties.getMaximumSize(), properties.getTtl());
+            case NONE -> new NoOpReadThroughCache<>(name);
+        };
+    }
+}
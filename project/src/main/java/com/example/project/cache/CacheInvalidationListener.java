@@ -0,0 +1,36 @@
+package com.example.project.cache;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.Set;
+
+/**
+ * Keeps the player and coach caches in step with writes. Teams are maintained by
+ * {@link com.example.project.view.TeamViewUpdater}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private final ReadThroughCache<Integer, PlayerDto.Response> playerCache;
+    private final ReadThroughCache<Integer, CoachDto.Response> coachCache;
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        if (event.change() == ChangeType.CREATED) {
+            return;
+        }
+        Set<Integer> ids = event.ids();
+        switch (event.entity()) {
+            case PLAYER -> ids.forEach(playerCache::invalidate);
+            case COACH -> ids.forEach(coachCache::invalidate);
+            case TEAM -> {
+            }
+        }
+    }
+}
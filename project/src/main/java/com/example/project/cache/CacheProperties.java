@@ -0,0 +1,26 @@
+package com.example.project.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    public enum Provider {
+        CAFFEINE,
+        NONE
+    }
+
+    /** Cache implementation; NONE sends every read to the database. */
+    private Provider provider = Provider.CAFFEINE;
+
+    /** Maximum number of entries per cached entity type. */
+    private long maximumSize = 10_000;
+
+    /** Entries are dropped this long after being loaded, bounding staleness from writes made outside this application. */
+    private Duration ttl = Duration.ofMinutes(10);
+}
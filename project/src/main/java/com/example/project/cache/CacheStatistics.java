@@ -0,0 +1,9 @@
+package com.example.project.cache;
+
+public record CacheStatistics(String name, long size, long hits, long misses, long bypasses, long evictions) {
+
+    public double hitRatio() {
+        long requests = hits + misses + bypasses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.project.cache;
+
+import com.example.project.routing.ReadYourWrites;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size- and TTL-bounded cache backed by Caffeine.
+ *
+ * <p>Keys are spread over lock stripes, each with a generation counter and a count of in-flight
+ * invalidations. A loaded value is only stored if no invalidation touched its stripe while it was being
+ * loaded, which stops a reader that saw pre-commit data from re-populating the cache after the commit.
+ * While an invalidation is in flight, reads of its stripe go straight to the loader.
+ */
+public class CaffeineReadThroughCache<K, V> implements ReadThroughCache<K, V> {
+
+    private static final int STRIPES = 64;
+
+    private final String name;
+    private final Cache<K, V> cache;
+    private final Object[] locks = new Object[STRIPES];
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicIntegerArray pending = new AtomicIntegerArray(STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final AtomicInteger globalPending = new AtomicInteger();
+    private final LongAdder bypasses = new LongAdder();
+
+    public CaffeineReadThroughCache(String name, long maximumSize, Duration ttl) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public V get(K key, Function<K, V> loader) {
+        int stripe = stripe(key);
+        if (globalPending.get() > 0 || pending.get(stripe) > 0) {
+            bypasses.increment();
+            return loader.apply(key);
+        }
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.get(stripe);
+        long global = globalGeneration.get();
+        // Cached values outlive the replication lag, so they are read from the primary
+        V loaded = ReadYourWrites.onPrimary(() -> loader.apply(key));
+        if (loaded != null) {
+            synchronized (locks[stripe]) {
+                if (pending.get(stripe) == 0 && globalPending.get() == 0
+                        && generations.get(stripe) == generation && globalGeneration.get() == global) {
+                    cache.put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        int stripe = stripe(key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            finishInvalidation(stripe, key);
+            return;
+        }
+        synchronized (locks[stripe]) {
+            pending.incrementAndGet(stripe);
+            cache.invalidate(key);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                finishInvalidation(stripe, key);
+                pending.decrementAndGet(stripe);
+            }
+        });
+    }
+
+    @Override
+    public void invalidateMatching(Predicate<V> predicate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            globalGeneration.incrementAndGet();
+            cache.asMap().values().removeIf(predicate);
+            return;
+        }
+        globalPending.incrementAndGet();
+        cache.asMap().values().removeIf(predicate);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                globalGeneration.incrementAndGet();
+                // A load that passed its checks just before the invalidation started may have been stored since
+                cache.asMap().values().removeIf(predicate);
+                globalPending.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidateMatching(value -> true);
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        var stats = cache.stats();
+        return new CacheStatistics(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                bypasses.sum(), stats.evictionCount());
+    }
+
+    private void finishInvalidation(int stripe, K key) {
+        synchronized (locks[stripe]) {
+            generations.incrementAndGet(stripe);
+            cache.invalidate(key);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % STRIPES;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.project.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache provider used when caching is disabled; every read goes to the loader.
+ */
+public class NoOpReadThroughCache<K, V> implements ReadThroughCache<K, V> {
+
+    private final String name;
+    private final LongAdder misses = new LongAdder();
+
+    public NoOpReadThroughCache(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public V get(K key, Function<K, V> loader) {
+        misses.increment();
+        return loader.apply(key);
+    }
+
+    @Override
+    public void invalidate(K key) {
+    }
+
+    @Override
+    public void invalidateMatching(Predicate<V> predicate) {
+    }
+
+    @Override
+    public void invalidateAll() {
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        return new CacheStatistics(name, 0, 0, misses.sum(), 0, 0);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.project.cache;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process cache in front of a repository read.
+ *
+ * <p>Invalidations called inside a transaction take effect when it completes; until then reads of the
+ * affected entries bypass the cache, so a committed change is never followed by a stale read.
+ */
+public interface ReadThroughCache<K, V> {
+
+    String name();
+
+    /**
+     * Returns the cached value or loads it. {@code null} results are returned but not cached.
+     */
+    V get(K key, Function<K, V> loader);
+
+    void invalidate(K key);
+
+    /**
+     * Invalidates every cached value matching the predicate, and treats all keys as changed so loads
+     * racing with the invalidation are not cached either.
+     */
+    void invalidateMatching(Predicate<V> predicate);
+
+    void invalidateAll();
+
+    CacheStatistics statistics();
+}
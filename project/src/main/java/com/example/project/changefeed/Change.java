@@ -0,0 +1,27 @@
+package com.example.project.changefeed;
+
+import com.example.project.event.EntityType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A change as delivered by the feed. {@code type} is {@code CREATED}, {@code UPDATED}, {@code DELETED}
+ * or, for teams, {@link #ROSTER_CHANGED}; a roster change names the players that joined and left when
+ * it knows them.
+ *
+ * @param offset     position in the feed; pass it back as {@code after} or {@code Last-Event-ID} to resume
+ * @param ids        the players, coaches or teams that changed
+ * @param version    the team's version after a roster change
+ * @param recordedAt when the writing transaction recorded the change
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Change(Long offset, EntityType entity, String type, List<Integer> ids, List<Integer> added,
+                     List<Integer> removed, Long version, Instant recordedAt) {
+
+    public static final String ROSTER_CHANGED = "ROSTER_CHANGED";
+
+    Change at(long offset, Instant recordedAt) {
+        return new Change(offset, entity, type, ids, added, removed, version, recordedAt);
+    }
+}
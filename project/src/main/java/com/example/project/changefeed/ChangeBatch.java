@@ -0,0 +1,10 @@
+package com.example.project.changefeed;
+
+import java.util.List;
+
+/**
+ * Changes read from the feed, and the offset to read on from. {@code next} can move past the last
+ * change when later ones were filtered out.
+ */
+public record ChangeBatch(List<Change> changes, long next) {
+}
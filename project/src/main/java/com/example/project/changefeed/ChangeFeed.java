@@ -0,0 +1,176 @@
+package com.example.project.changefeed;
+
+import com.example.project.event.EntityType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads published changes by offset, for polling clients and for server-sent event streams.
+ *
+ * <p>Each stream has its own thread, which reads one batch, sends it and only then reads the next. A
+ * client that reads slowly blocks its own thread on the socket and falls behind in the outbox; nothing
+ * is queued for it in memory. Idle streams wait for the relay to publish instead of polling.
+ */
+@Slf4j
+@Service
+public class ChangeFeed {
+
+    private static final String SELECT = "SELECT feed_position, payload, recorded_at FROM change_outbox "
+        + "WHERE feed_position > :after AND feed_position <= :upTo";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+    private final ChangeFeedProperties properties;
+    private final ThreadPoolExecutor streams;
+
+    public ChangeFeed(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxRelay relay,
+                      ChangeFeedProperties properties) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+        this.relay = relay;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.streams = new ThreadPoolExecutor(0, properties.getMaxSubscribers(), 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), task -> {
+                Thread thread = new Thread(task, "change-stream-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void close() {
+        streams.shutdownNow();
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code after}, oldest first.
+     *
+     * @param entities only changes to these, or all if null or empty
+     * @throws IllegalArgumentException if the offset is negative or the limit out of range
+     * @throws OffsetExpiredException   if changes after {@code after} have been pruned
+     */
+    public ChangeBatch read(long after, Collection<EntityType> entities, Integer limit) {
+        int size = limit == null ? properties.getBatchSize() : limit;
+        if (size < 1 || size > properties.getBatchSize()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + properties.getBatchSize());
+        }
+        checkRetained(after);
+        return fetch(after, relay.head(), entities, size);
+    }
+
+    /**
+     * Streams changes after {@code after}, or from now if it is null, as {@code changes} events of up to
+     * {@link ChangeFeedProperties#getBatchSize()} changes. Each event's id is the offset of its last change.
+     *
+     * @throws IllegalArgumentException   if the offset is negative
+     * @throws OffsetExpiredException     if changes after {@code after} have been pruned
+     * @throws RejectedExecutionException if {@link ChangeFeedProperties#getMaxSubscribers()} streams are open
+     */
+    public SseEmitter subscribe(Long after, Collection<EntityType> entities) {
+        long start = after == null ? relay.head() : after;
+        checkRetained(start);
+        // Times out with spring.mvc.async.request-timeout; EventSource clients reconnect with Last-Event-ID
+        SseEmitter emitter = new SseEmitter();
+        AtomicBoolean open = new AtomicBoolean(true);
+        Runnable close = () -> {
+            open.set(false);
+            relay.wakeStreams();
+        };
+        emitter.onCompletion(close);
+        emitter.onError(error -> close.run());
+        emitter.onTimeout(() -> {
+            close.run();
+            emitter.complete();
+        });
+        streams.execute(() -> stream(emitter, start, entities, open));
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, long after, Collection<EntityType> entities, AtomicBoolean open) {
+        long cursor = after;
+        try {
+            while (open.get()) {
+                long head = relay.awaitBeyond(cursor, properties.getHeartbeat());
+                if (head <= cursor) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                ChangeBatch batch = fetch(cursor, head, entities, properties.getBatchSize());
+                if (!batch.changes().isEmpty()) {
+                    Change last = batch.changes().get(batch.changes().size() - 1);
+                    emitter.send(SseEmitter.event()
+                        .id(String.valueOf(last.offset()))
+                        .name("changes")
+                        .data(batch.changes(), MediaType.APPLICATION_JSON));
+                }
+                cursor = batch.next();
+            }
+        } catch (InterruptedException e) {
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream timed out
+            log.debug("Change stream closed: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Change stream failed", e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private ChangeBatch fetch(long after, long upTo, Collection<EntityType> entities, int limit) {
+        if (upTo <= after) {
+            return new ChangeBatch(List.of(), after);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("after", after)
+            .addValue("upTo", upTo)
+            .addValue("limit", limit);
+        String sql = SELECT;
+        if (entities != null && !entities.isEmpty()) {
+            sql += " AND entity IN (:entities)";
+            parameters.addValue("entities", entities.stream().map(Enum::name).toList());
+        }
+        List<Change> changes = jdbcTemplate.query(sql + " ORDER BY feed_position LIMIT :limit", parameters,
+            (rs, row) -> parse(rs.getString(2)).at(rs.getLong(1), rs.getTimestamp(3).toInstant()));
+        long next = changes.size() < limit ? upTo : changes.get(changes.size() - 1).offset();
+        return new ChangeBatch(changes, next);
+    }
+
+    private void checkRetained(long after) {
+        if (after < 0) {
+            throw new IllegalArgumentException("Offsets start at 0");
+        }
+        Long oldest = jdbcTemplate.getJdbcTemplate()
+            .queryForObject("SELECT MIN(feed_position) FROM change_outbox", Long.class);
+        if (oldest != null && after < oldest - 1) {
+            throw new OffsetExpiredException(after, oldest - 1);
+        }
+    }
+
+    private Change parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, Change.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
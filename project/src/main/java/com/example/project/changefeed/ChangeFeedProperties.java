@@ -0,0 +1,27 @@
+package com.example.project.changefeed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+    /** Most changes returned by one poll or sent in one stream event. */
+    private int batchSize = 500;
+
+    /** Streams open at once; further subscribers get 503. */
+    private int maxSubscribers = 50;
+
+    /** Comment sent on an idle stream so that proxies keep it open and dead clients are noticed. */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /** How often the relay looks for changes committed by other instances when not woken by a commit here. */
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    /** How long published changes are kept; older offsets can no longer be resumed from. */
+    private Duration retention = Duration.ofDays(7);
+}
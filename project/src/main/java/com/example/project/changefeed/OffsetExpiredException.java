@@ -0,0 +1,22 @@
+package com.example.project.changefeed;
+
+/**
+ * Raised when a client resumes from an offset whose successors have been pruned, so it cannot be given
+ * every change it missed.
+ */
+public class OffsetExpiredException extends RuntimeException {
+
+    private final long oldestResumable;
+
+    public OffsetExpiredException(long offset, long oldestResumable) {
+        super("Changes after offset " + offset + " are no longer retained");
+        this.oldestResumable = oldestResumable;
+    }
+
+    /**
+     * The lowest offset that can still be resumed from; a client must re-read current state first.
+     */
+    public long getOldestResumable() {
+        return oldestResumable;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.project.changefeed;
+
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.EntityType;
+import com.example.project.event.MembershipsRemovedEvent;
+import com.example.project.event.RosterChangeEvent;
+import com.example.project.service.Chunks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes every change event to {@code change_outbox} in the writing transaction, so a change is in the
+ * feed exactly when it commits. Ids are stored at most {@link Chunks#SIZE} to a row. The relay is woken
+ * once the transaction commits, so subscribers hear about the change without waiting for its next pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private static final String INSERT = "INSERT INTO change_outbox (entity, change_type, payload, recorded_at) "
+        + "VALUES (:entity, :changeType, :payload, :recordedAt)";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        for (List<Integer> ids : Chunks.of(event.ids())) {
+            record(new Change(null, event.entity(), event.change().name(), sorted(ids), null, null, null, null));
+        }
+    }
+
+    @EventListener
+    public void onRosterChange(RosterChangeEvent event) {
+        record(new Change(null, EntityType.TEAM, Change.ROSTER_CHANGED, List.of(event.teamId()),
+            sorted(event.addedPlayerIds()), sorted(event.removedPlayerIds()), event.teamVersion(), null));
+    }
+
+    // The deleted players follow in their own change
+    @EventListener
+    public void onMembershipsRemoved(MembershipsRemovedEvent event) {
+        for (List<Integer> ids : Chunks.of(event.teamIds())) {
+            record(new Change(null, EntityType.TEAM, Change.ROSTER_CHANGED, sorted(ids), null, null, null, null));
+        }
+    }
+
+    private void record(Change change) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + change, e);
+        }
+        entityManager.createNativeQuery(INSERT)
+            .setParameter("entity", change.entity().name())
+            .setParameter("changeType", change.type())
+            .setParameter("payload", payload)
+            .setParameter("recordedAt", Instant.now())
+            .executeUpdate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wake();
+                }
+            });
+        }
+    }
+
+    private static List<Integer> sorted(Collection<Integer> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
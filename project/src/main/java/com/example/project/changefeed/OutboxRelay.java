@@ -0,0 +1,198 @@
+package com.example.project.changefeed;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives committed outbox rows their feed offsets, in the order the relay first sees them.
+ *
+ * <p>Row ids are handed out when a writing transaction inserts, not when it commits, so a reader going
+ * by id could pass over a row that commits late. The relay numbers rows only once they are visible,
+ * with offsets that follow on from the highest one so far, and commits each batch at once: a reader
+ * that has seen an offset has seen every lower one. Relays of several instances are kept apart by the
+ * unique index on the offset; a pass that collides is rolled back and retried.
+ *
+ * <p>The relay also tracks the highest offset, which streams wait on, and drops rows older than
+ * {@link ChangeFeedProperties#getRetention()}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final Duration PRUNE_EVERY = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeFeedProperties properties;
+
+    private final Object wakeups = new Object();
+    private boolean woken;
+    private final Object published = new Object();
+    private volatile long head;
+    private volatile boolean running;
+    private Thread thread;
+    private long nextPrune = System.nanoTime();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       ChangeFeedProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        head = readHead();
+        running = true;
+        thread = new Thread(this::run, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * The highest offset published so far.
+     */
+    public long head() {
+        return head;
+    }
+
+    /**
+     * Asks for a pass now rather than at the next interval; called after a change commits.
+     */
+    public void wake() {
+        synchronized (wakeups) {
+            woken = true;
+            wakeups.notify();
+        }
+    }
+
+    /**
+     * Waits until an offset beyond {@code offset} is published, at most for {@code timeout}.
+     *
+     * @return the highest offset published, which is not beyond {@code offset} if the wait timed out
+     */
+    public long awaitBeyond(long offset, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (published) {
+            while (head <= offset) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(published, left);
+            }
+            return head;
+        }
+    }
+
+    /**
+     * Releases every waiting stream so that closed ones can notice.
+     */
+    public void wakeStreams() {
+        synchronized (published) {
+            published.notifyAll();
+        }
+    }
+
+    /**
+     * Publishes every committed row, returning how many there were.
+     */
+    public int publishPending() {
+        int total = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> publishBatch());
+            total += count;
+        } while (count == properties.getBatchSize());
+        advanceHead(readHead());
+        return total;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                publishPending();
+                pruneIfDue();
+            } catch (DataAccessException e) {
+                log.warn("Outbox relay pass failed, retrying: {}", e.getMessage());
+            }
+            synchronized (wakeups) {
+                if (!woken) {
+                    try {
+                        wakeups.wait(properties.getRelayInterval().toMillis());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                woken = false;
+            }
+        }
+    }
+
+    private int publishBatch() {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM change_outbox WHERE feed_position IS NULL ORDER BY id LIMIT ? FOR UPDATE",
+            Long.class, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long next = readHead();
+        List<Object[]> positions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            positions.add(new Object[] {++next, id});
+        }
+        jdbcTemplate.batchUpdate("UPDATE change_outbox SET feed_position = ? WHERE id = ?", positions);
+        return ids.size();
+    }
+
+    private long readHead() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(feed_position), 0) FROM change_outbox", Long.class);
+    }
+
+    // Pruning keeps the newest row, so the head only moves back if the table was emptied by hand
+    private void advanceHead(long latest) {
+        synchronized (published) {
+            if (latest != head) {
+                head = latest;
+                published.notifyAll();
+            }
+        }
+    }
+
+    // Keeps the newest row, so the oldest retained offset still tells resuming clients what they missed
+    private void pruneIfDue() {
+        if (System.nanoTime() - nextPrune < 0) {
+            return;
+        }
+        nextPrune = System.nanoTime() + PRUNE_EVERY.toNanos();
+        int pruned = jdbcTemplate.update("DELETE FROM change_outbox WHERE feed_position < ? AND recorded_at < ?",
+            head, Timestamp.from(Instant.now().minus(properties.getRetention())));
+        if (pruned > 0) {
+            log.info("Pruned {} changes older than {}", pruned, properties.getRetention());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.project.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import javax.sql.DataSource;
+
+/**
+ * Beans created at startup even with {@code spring.main.lazy-initialization=true}: the connection pool,
+ * the migrations and the JPA bootstrap. A replica that has started can reach its database with the
+ * schema it expects, and the first request does not pay for Hibernate. Controllers, services and the
+ * rest are created when first used.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter persistenceStaysEager() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, FlywayMigrationInitializer.class,
+            EntityManagerFactory.class, AbstractEntityManagerFactoryBean.class);
+    }
+}
@@ -4,12 +4,19 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 @Configuration
 public class OpenApiConfig {
 
+    private static final String SPRINGDOC = "org.springdoc.";
+
     @Bean
     public OpenAPI customOpenAPI() {
         return new OpenAPI()
@@ -24,4 +31,40 @@ public class OpenApiConfig {
                                 .name("Apache 2.0")
                                 .url("http://www.apache.org/licenses/LICENSE-2.0.html")));
     }
-} 
\ No newline at end of file
+
+    /**
+     * With {@code app.openapi.defer=true}, springdoc's beans and the model above are created on the first
+     * request for the documentation instead of at startup. Springdoc declares its configuration
+     * {@code @Lazy(false)}, so {@code spring.main.lazy-initialization} leaves it eager. Beans that others
+     * depend on at startup, such as its MVC configurer, are still created then.
+     */
+    @Bean
+    static BeanFactoryPostProcessor deferOpenApi(Environment environment) {
+        // Read directly: post-processors run before configuration properties can be bound
+        return beanFactory -> {
+            if (!environment.getProperty("app.openapi.defer", Boolean.class, false)) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                if (isOpenApi(beanFactory, name)) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isOpenApi(ConfigurableListableBeanFactory beanFactory, String name) {
+        BeanDefinition definition = beanFactory.getBeanDefinition(name);
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null
+                && OpenAPI.class.getName().equals(annotated.getFactoryMethodMetadata().getReturnTypeName())) {
+            return true;
+        }
+        String type = definition.getBeanClassName();
+        String factory = definition.getFactoryBeanName();
+        if (type == null && factory != null && beanFactory.containsBeanDefinition(factory)) {
+            // Declared by a @Bean method: springdoc's if its configuration class is
+            type = beanFactory.getBeanDefinition(factory).getBeanClassName();
+        }
+        return type != null && type.startsWith(SPRINGDOC);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.project.controller;
+
+import com.example.project.dto.BulkDto;
+import com.example.project.service.BulkImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.io.InputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Bulk import", description = "Batched creation and upsert of players and coaches")
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @Operation(summary = "Bulk create or update players",
+        description = "Accepts a JSON array or newline-delimited JSON of player requests, matched by personal code")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed; see per-row results and stoppedAt"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/players/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkDto.Response> importPlayers(
+            @Parameter(description = "Handling of rows whose personal code already exists")
+            @RequestParam(defaultValue = "UPSERT") BulkDto.Mode mode,
+            InputStream body) {
+        log.info("Bulk importing players with mode: {}", mode);
+        try {
+            return ResponseEntity.ok(bulkImportService.importPlayers(body, mode));
+        } catch (Exception e) {
+            log.error("Error importing players: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(summary = "Bulk create or update coaches",
+        description = "Accepts a JSON array or newline-delimited JSON of coach requests, matched by personal code")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed; see per-row results and stoppedAt"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/coaches/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkDto.Response> importCoaches(
+            @Parameter(description = "Handling of rows whose personal code already exists")
+            @RequestParam(defaultValue = "UPSERT") BulkDto.Mode mode,
+            InputStream body) {
+        log.info("Bulk importing coaches with mode: {}", mode);
+        try {
+            return ResponseEntity.ok(bulkImportService.importCoaches(body, mode));
+        } catch (Exception e) {
+            log.error("Error importing coaches: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
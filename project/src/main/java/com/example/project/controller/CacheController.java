@@ -0,0 +1,31 @@
+package com.example.project.controller;
+
+import com.example.project.cache.CacheStatistics;
+import com.example.project.cache.ReadThroughCache;
+import com.example.project.view.TeamViewStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Entity cache diagnostics")
+public class CacheController {
+
+    private final List<ReadThroughCache<?, ?>> caches;
+    private final TeamViewStore teamViews;
+
+    @Operation(summary = "Cache statistics", description = "Hit, miss, bypass and eviction counts per cached entity type")
+    @GetMapping("/stats")
+    public List<CacheStatistics> statistics() {
+        List<CacheStatistics> statistics = new ArrayList<>(caches.stream().map(ReadThroughCache::statistics).toList());
+        statistics.add(teamViews.statistics());
+        return statistics;
+    }
+}
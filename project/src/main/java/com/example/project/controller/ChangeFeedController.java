@@ -0,0 +1,94 @@
+package com.example.project.controller;
+
+import com.example.project.changefeed.Change;
+import com.example.project.changefeed.ChangeBatch;
+import com.example.project.changefeed.ChangeFeed;
+import com.example.project.changefeed.OffsetExpiredException;
+import com.example.project.event.EntityType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Changes", description = "Feed of committed changes to players, coaches, teams and rosters")
+public class ChangeFeedController {
+
+    static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+
+    private final ChangeFeed changeFeed;
+
+    @Operation(summary = "Read changes", description = "Changes after an offset, oldest first; continue from X-Next-Offset")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes after the offset, possibly none"),
+        @ApiResponse(responseCode = "400", description = "Invalid offset, limit or entity"),
+        @ApiResponse(responseCode = "410", description = "Changes after the offset have been pruned; re-read current state")
+    })
+    @GetMapping
+    public ResponseEntity<List<Change>> getChanges(
+            @Parameter(description = "Offset of the last change already seen; 0 for the oldest retained") @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Only changes to these entity types, e.g. PLAYER,TEAM") @RequestParam(required = false) Set<EntityType> entities,
+            @Parameter(description = "Most changes to return") @RequestParam(required = false) Integer limit) {
+        log.debug("Reading changes after {} for {}, limit: {}", after, entities, limit);
+        try {
+            ChangeBatch batch = changeFeed.read(after, entities, limit);
+            return ResponseEntity.ok()
+                .header(NEXT_OFFSET_HEADER, String.valueOf(batch.next()))
+                .body(batch.changes());
+        } catch (OffsetExpiredException e) {
+            log.warn("Rejecting change read: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Stream changes", description = "Server-sent 'changes' events, each a JSON array of changes whose "
+        + "id is the offset of the last one. Starts after 'after' or Last-Event-ID, or from now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream started"),
+        @ApiResponse(responseCode = "400", description = "Invalid offset or entity"),
+        @ApiResponse(responseCode = "410", description = "Changes after the offset have been pruned; re-read current state"),
+        @ApiResponse(responseCode = "503", description = "Too many open streams; retry after the Retry-After delay")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @Parameter(description = "Offset of the last change already seen") @RequestParam(required = false) Long after,
+            @Parameter(description = "Sent by EventSource when reconnecting") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Only changes to these entity types, e.g. PLAYER,TEAM") @RequestParam(required = false) Set<EntityType> entities) {
+        Long from = lastEventId != null ? lastEventId : after;
+        log.info("Streaming changes after {} for {}", from, entities);
+        try {
+            return ResponseEntity.ok(changeFeed.subscribe(from, entities));
+        } catch (OffsetExpiredException e) {
+            log.warn("Rejecting change stream: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Rejecting change stream: all stream threads busy");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
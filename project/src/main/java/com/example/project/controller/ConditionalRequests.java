@@ -0,0 +1,52 @@
+package com.example.project.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import java.time.Instant;
+
+/**
+ * Conditional GET support for handlers that can check a resource's validators before loading it.
+ * Responses that carry an ETag or Last-Modified are also checked by Spring MVC after the handler, so
+ * a handler that has the full resource at hand anyway only needs to set them.
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    public static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+            || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Evaluates If-None-Match, or If-Modified-Since when there is no If-None-Match, as Spring MVC would.
+     */
+    public static boolean isNotModified(HttpServletRequest request, String eTag, Instant lastModified) {
+        // Without a response Spring only evaluates the preconditions and leaves the headers to us
+        return new ServletWebRequest(request).checkNotModified(eTag, lastModified == null ? -1 : lastModified.toEpochMilli());
+    }
+
+    public static ResponseEntity.BodyBuilder ok(String eTag, Instant lastModified) {
+        return withValidators(ResponseEntity.ok(), eTag, lastModified);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String eTag, Instant lastModified) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response, String eTag,
+                                                             Instant lastModified) {
+        if (eTag != null) {
+            // JSON, CBOR and Smile share one tag, so caches must not answer one format with another
+            response.eTag(eTag).varyBy(HttpHeaders.ACCEPT);
+        }
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response;
+    }
+}
@@ -3,24 +3,48 @@ package com.example.project.controller;
 import com.example.project.dto.PlayerDto;
 import com.example.project.dto.CoachDto;
 import com.example.project.dto.TeamDto;
+import com.example.project.dto.BulkDto;
+import com.example.project.dto.RosterDto;
 import com.example.project.mapper.EntityMapper;
-import com.example.project.model.Player;
 import com.example.project.model.Coach;
+import com.example.project.model.Player;
 import com.example.project.model.Team;
-import com.example.project.repository.PlayerRepository;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.pagination.KeysetPaginator;
+import com.example.project.repository.PlayerStore;
 import com.example.project.repository.CoachRepository;
-import com.example.project.repository.TeamRepository;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.TeamRevision;
+import com.example.project.repository.specification.TeamSpecifications;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.service.CoachService;
+import com.example.project.service.PlayerService;
+import com.example.project.service.RequestValidation;
+import com.example.project.service.TeamQueryService;
+import com.example.project.service.TeamService;
+import com.example.project.service.VersionConflictException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Set;
 
@@ -31,36 +55,62 @@ import java.util.Set;
 @Tag(name = "Sports Team Management", description = "API for managing sports teams, players, and coaches")
 public class DatabaseViewController {
     
-    private final PlayerRepository playerRepository;
+    private final PlayerStore playerStore;
     private final CoachRepository coachRepository;
-    private final TeamRepository teamRepository;
     private final EntityMapper mapper;
+    private final KeysetPaginator paginator;
+    private final TeamQueryService teamQueryService;
+    private final PlayerService playerService;
+    private final CoachService coachService;
+    private final TeamService teamService;
+
+    static final Set<String> PLAYER_SORT_KEYS = Set.of("name", "surname", "dateOfBirth", "personalCode");
+    static final Set<String> COACH_SORT_KEYS = Set.of("name", "surname", "coachingFrom", "licenseId", "personalCode");
+    private static final int MAX_SEARCH_LIMIT = 100;
     
     // Player operations
     @Operation(summary = "Get all players", description = "Retrieve a list of all players with optional filtering")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of players"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or sort"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/players")
-    public List<PlayerDto.Response> getAllPlayers(
+    public ResponseEntity<List<PlayerDto.Response>> getAllPlayers(
             @Parameter(description = "Filter by player name") @RequestParam(required = false) String name,
             @Parameter(description = "Filter by player surname") @RequestParam(required = false) String surname,
-            @Parameter(description = "Filter by player personal code") @RequestParam(required = false) String personalCode) {
-        log.info("Fetching players with filters - name: {}, surname: {}, personalCode: {}", name, surname, personalCode);
-        
-        return playerRepository.findAll().stream()
-            .filter(player -> name == null || player.getName().toLowerCase().contains(name.toLowerCase()))
-            .filter(player -> surname == null || player.getSurname().toLowerCase().contains(surname.toLowerCase()))
-            .filter(player -> personalCode == null || player.getPersonalCode().equals(personalCode))
-            .map(mapper::toDto)
-            .collect(Collectors.toList());
+            @Parameter(description = "Filter by player personal code") @RequestParam(required = false) String personalCode,
+            @Parameter(description = "Matching mode for name and surname filters") @RequestParam(defaultValue = "CONTAINS") TextMatch match,
+            @Parameter(description = "Page size; enables cursor pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key with optional direction, e.g. surname,desc") @RequestParam(required = false) String sort,
+            HttpServletRequest request) {
+        log.info("Fetching players with filters - name: {}, surname: {}, personalCode: {}, match: {}, limit: {}, sort: {}",
+                name, surname, personalCode, match, limit, sort);
+        try {
+            Specification<Player> filter = playerService.filter(name, surname, personalCode, match);
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                String eTag = pageTag(playerStore.findRevisions(filter, PLAYER_SORT_KEYS, limit, cursor, sort),
+                    EntityRevision::id, EntityRevision::version);
+                if (ConditionalRequests.isNotModified(request, eTag, null)) {
+                    return ConditionalRequests.notModified(eTag, null);
+                }
+            }
+            KeysetPage<PlayerDto.Response> page = playerStore.findAll(filter, PLAYER_SORT_KEYS, limit, cursor, sort)
+                .map(mapper::toDto);
+            return paginator.toResponse(page, pageTag(page, PlayerDto.Response::getId, PlayerDto.Response::getVersion));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Create a new player", description = "Create a new player with the provided details")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully created the player"),
         @ApiResponse(responseCode = "400", description = "Invalid request - missing required fields"),
+        @ApiResponse(responseCode = "409", description = "Personal code already used by another player"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/players")
@@ -77,31 +127,47 @@ public class DatabaseViewController {
         log.info("Creating player: {}", request);
         try {
             // Validate required fields
-            if (request.getName() == null || request.getSurname() == null || 
-                request.getDateOfBirth() == null || request.getPersonalCode() == null) {
+            if (!RequestValidation.isValid(request)) {
                 return ResponseEntity.badRequest().build();
             }
 
-            Player player = mapper.toEntity(request);
-            player = playerRepository.save(player);
-            return ResponseEntity.ok(mapper.toDto(player));
+            return ResponseEntity.ok(playerService.create(request));
+        } catch (DataIntegrityViolationException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Error creating player: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @Operation(summary = "Search players by name", description = "Typeahead search over name and surname, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully searched the players"),
+        @ApiResponse(responseCode = "400", description = "Missing query or invalid limit")
+    })
+    @GetMapping("/players/search")
+    public ResponseEntity<List<PlayerDto.Response>> searchPlayers(
+            @Parameter(description = "Search text; each word must match the name or surname") @RequestParam String q,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Searching players - q: {}, limit: {}", q, limit);
+        if (q.isBlank() || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(playerService.search(q, limit));
+    }
+
     @Operation(summary = "Get a player by ID", description = "Retrieve a player by their ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the player"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent"),
         @ApiResponse(responseCode = "404", description = "Player not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/players/{id}")
     public ResponseEntity<PlayerDto.Response> getPlayer(@Parameter(description = "Player ID") @PathVariable Integer id) {
         log.info("Fetching player with id: {}", id);
-        return playerRepository.findById(id)
-            .map(player -> ResponseEntity.ok(mapper.toDto(player)))
+        return playerService.findById(id)
+            .map(player -> ConditionalRequests.ok(EntityTags.of(player.getVersion()), player.getModifiedAt()).body(player))
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -109,21 +175,25 @@ public class DatabaseViewController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully updated the player"),
         @ApiResponse(responseCode = "404", description = "Player not found"),
+        @ApiResponse(responseCode = "409", description = "Personal code already used by another player"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not name the current version"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/players/{id}")
     public ResponseEntity<PlayerDto.Response> updatePlayer(
             @Parameter(description = "Player ID") @PathVariable Integer id,
-            @RequestBody PlayerDto.Request request) {
+            @RequestBody PlayerDto.Request request,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating player with id: {}", id);
-        return playerRepository.findById(id)
-            .map(existingPlayer -> {
-                Player player = mapper.toEntity(request);
-                player.setId(id);
-                Player updatedPlayer = playerRepository.save(player);
-                return ResponseEntity.ok(mapper.toDto(updatedPlayer));
-            })
-            .orElse(ResponseEntity.notFound().build());
+        try {
+            return playerService.update(id, request, EntityTags.parseIfMatch(ifMatch))
+                .map(player -> ConditionalRequests.ok(EntityTags.of(player.getVersion()), player.getModifiedAt()).body(player))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (VersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (DataIntegrityViolationException e) {
+            return conflict(e);
+        }
     }
 
     @Operation(summary = "Delete a player", description = "Delete a player by their ID")
@@ -136,58 +206,78 @@ public class DatabaseViewController {
     public ResponseEntity<Void> deletePlayer(@Parameter(description = "Player ID") @PathVariable Integer id) {
         log.info("Deleting player with id: {}", id);
         try {
-            if (!playerRepository.existsById(id)) {
+            if (playerService.delete(List.of(id)).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-
-            List<Team> teamsWithPlayer = teamRepository.findAll().stream()
-                .filter(team -> team.getPlayers().stream()
-                    .anyMatch(player -> player.getId().equals(id)))
-                .collect(Collectors.toList());
-
-            if (!teamsWithPlayer.isEmpty()) {
-                for (Team team : teamsWithPlayer) {
-                    team.getPlayers().removeIf(player -> player.getId().equals(id));
-                    teamRepository.save(team);
-                }
-            }
-
-            playerRepository.deleteById(id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             log.error("Error deleting player: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @Operation(summary = "Delete many players", description = "Delete players by ID and remove them from every team roster")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Deletion processed; see deleted and notFound IDs"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping(value = "/players", params = "ids")
+    public ResponseEntity<BulkDto.DeleteResponse> deletePlayers(
+            @Parameter(description = "Player IDs") @RequestParam List<Integer> ids) {
+        log.info("Deleting {} players", ids.size());
+        try {
+            return ResponseEntity.ok(deleteResponse(ids, playerService.delete(ids)));
+        } catch (Exception e) {
+            log.error("Error deleting players: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
     
     // Coach operations
     @Operation(summary = "Get all coaches", description = "Retrieve a list of all coaches with optional filtering")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of coaches"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or sort"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/coaches")
-    public List<CoachDto.Response> getAllCoaches(
+    public ResponseEntity<List<CoachDto.Response>> getAllCoaches(
             @Parameter(description = "Filter by coach name") @RequestParam(required = false) String name,
             @Parameter(description = "Filter by coach surname") @RequestParam(required = false) String surname,
             @Parameter(description = "Filter by coach license ID") @RequestParam(required = false) String licenseId,
-            @Parameter(description = "Filter by coach personal code") @RequestParam(required = false) String personalCode) {
-        log.info("Fetching coaches with filters - name: {}, surname: {}, licenseId: {}, personalCode: {}", 
-                name, surname, licenseId, personalCode);
-        
-        return coachRepository.findAll().stream()
-            .filter(coach -> name == null || coach.getName().toLowerCase().contains(name.toLowerCase()))
-            .filter(coach -> surname == null || coach.getSurname().toLowerCase().contains(surname.toLowerCase()))
-            .filter(coach -> licenseId == null || coach.getLicenseId().equals(licenseId))
-            .filter(coach -> personalCode == null || coach.getPersonalCode().equals(personalCode))
-            .map(mapper::toDto)
-            .collect(Collectors.toList());
+            @Parameter(description = "Filter by coach personal code") @RequestParam(required = false) String personalCode,
+            @Parameter(description = "Matching mode for name and surname filters") @RequestParam(defaultValue = "CONTAINS") TextMatch match,
+            @Parameter(description = "Page size; enables cursor pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key with optional direction, e.g. coachingFrom,desc") @RequestParam(required = false) String sort,
+            HttpServletRequest request) {
+        log.info("Fetching coaches with filters - name: {}, surname: {}, licenseId: {}, personalCode: {}, match: {}, limit: {}, sort: {}", 
+                name, surname, licenseId, personalCode, match, limit, sort);
+        try {
+            Specification<Coach> filter = coachService.filter(name, surname, licenseId, personalCode, match);
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                String eTag = pageTag(revisions(Coach.class, filter, COACH_SORT_KEYS, limit, cursor, sort,
+                    coachRepository::findRevisions), EntityRevision::id, EntityRevision::version);
+                if (ConditionalRequests.isNotModified(request, eTag, null)) {
+                    return ConditionalRequests.notModified(eTag, null);
+                }
+            }
+            KeysetPage<CoachDto.Response> page = paginator.fetch(coachRepository, filter,
+                    "id", COACH_SORT_KEYS, limit, cursor, sort)
+                .map(mapper::toDto);
+            return paginator.toResponse(page, pageTag(page, CoachDto.Response::getId, CoachDto.Response::getVersion));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Create a new coach", description = "Create a new coach with the provided details")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully created the coach"),
         @ApiResponse(responseCode = "400", description = "Invalid request - missing required fields"),
+        @ApiResponse(responseCode = "409", description = "Personal code or license ID already used by another coach"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/coaches")
@@ -204,32 +294,47 @@ public class DatabaseViewController {
         log.info("Creating coach: {}", request);
         try {
             // Validate required fields
-            if (request.getName() == null || request.getSurname() == null || 
-                request.getCoachingFrom() == null || request.getLicenseId() == null || 
-                request.getPersonalCode() == null) {
+            if (!RequestValidation.isValid(request)) {
                 return ResponseEntity.badRequest().build();
             }
 
-            Coach coach = mapper.toEntity(request);
-            coach = coachRepository.save(coach);
-            return ResponseEntity.ok(mapper.toDto(coach));
+            return ResponseEntity.ok(coachService.create(request));
+        } catch (DataIntegrityViolationException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Error creating coach: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @Operation(summary = "Search coaches by name", description = "Typeahead search over name and surname, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully searched the coaches"),
+        @ApiResponse(responseCode = "400", description = "Missing query or invalid limit")
+    })
+    @GetMapping("/coaches/search")
+    public ResponseEntity<List<CoachDto.Response>> searchCoaches(
+            @Parameter(description = "Search text; each word must match the name or surname") @RequestParam String q,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Searching coaches - q: {}, limit: {}", q, limit);
+        if (q.isBlank() || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(coachService.search(q, limit));
+    }
+
     @Operation(summary = "Get a coach by ID", description = "Retrieve a coach by their ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the coach"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent"),
         @ApiResponse(responseCode = "404", description = "Coach not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/coaches/{id}")
     public ResponseEntity<CoachDto.Response> getCoach(@Parameter(description = "Coach ID") @PathVariable Integer id) {
         log.info("Fetching coach with id: {}", id);
-        return coachRepository.findById(id)
-            .map(coach -> ResponseEntity.ok(mapper.toDto(coach)))
+        return coachService.findById(id)
+            .map(coach -> ConditionalRequests.ok(EntityTags.of(coach.getVersion()), coach.getModifiedAt()).body(coach))
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -237,21 +342,25 @@ public class DatabaseViewController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully updated the coach"),
         @ApiResponse(responseCode = "404", description = "Coach not found"),
+        @ApiResponse(responseCode = "409", description = "Personal code or license ID already used by another coach"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not name the current version"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/coaches/{id}")
     public ResponseEntity<CoachDto.Response> updateCoach(
             @Parameter(description = "Coach ID") @PathVariable Integer id,
-            @RequestBody CoachDto.Request request) {
+            @RequestBody CoachDto.Request request,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating coach with id: {}", id);
-        return coachRepository.findById(id)
-            .map(existingCoach -> {
-                Coach coach = mapper.toEntity(request);
-                coach.setId(id);
-                Coach updatedCoach = coachRepository.save(coach);
-                return ResponseEntity.ok(mapper.toDto(updatedCoach));
-            })
-            .orElse(ResponseEntity.notFound().build());
+        try {
+            return coachService.update(id, request, EntityTags.parseIfMatch(ifMatch))
+                .map(coach -> ConditionalRequests.ok(EntityTags.of(coach.getVersion()), coach.getModifiedAt()).body(coach))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (VersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (DataIntegrityViolationException e) {
+            return conflict(e);
+        }
     }
 
     @Operation(summary = "Delete a coach", description = "Delete a coach by their ID")
@@ -264,52 +373,70 @@ public class DatabaseViewController {
     public ResponseEntity<Void> deleteCoach(@Parameter(description = "Coach ID") @PathVariable Integer id) {
         log.info("Deleting coach with id: {}", id);
         try {
-            if (!coachRepository.existsById(id)) {
+            if (coachService.delete(List.of(id)).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-
-            List<Team> teamsWithCoach = teamRepository.findAll().stream()
-                .filter(team -> team.getCoach() != null && team.getCoach().getId().equals(id))
-                .collect(Collectors.toList());
-
-            if (!teamsWithCoach.isEmpty()) {
-                for (Team team : teamsWithCoach) {
-                    team.setCoach(null);
-                    teamRepository.save(team);
-                }
-            }
-
-            coachRepository.deleteById(id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             log.error("Error deleting coach: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @Operation(summary = "Delete many coaches", description = "Delete coaches by ID and detach them from their teams")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Deletion processed; see deleted and notFound IDs"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping(value = "/coaches", params = "ids")
+    public ResponseEntity<BulkDto.DeleteResponse> deleteCoaches(
+            @Parameter(description = "Coach IDs") @RequestParam List<Integer> ids) {
+        log.info("Deleting {} coaches", ids.size());
+        try {
+            return ResponseEntity.ok(deleteResponse(ids, coachService.delete(ids)));
+        } catch (Exception e) {
+            log.error("Error deleting coaches: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
     
     // Team operations
     @Operation(summary = "Get all teams", description = "Retrieve a list of all teams with optional filtering")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of teams"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or sort"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/teams")
-    public List<TeamDto.Response> getAllTeams(
+    public ResponseEntity<List<TeamDto.Response>> getAllTeams(
             @Parameter(description = "Filter by team name") @RequestParam(required = false) String teamName,
             @Parameter(description = "Filter by year created") @RequestParam(required = false) Integer yearCreated,
             @Parameter(description = "Filter by coach ID") @RequestParam(required = false) Integer coachId,
-            @Parameter(description = "Filter by player ID") @RequestParam(required = false) Integer playerId) {
-        log.info("Fetching teams with filters - teamName: {}, yearCreated: {}, coachId: {}, playerId: {}", 
-                teamName, yearCreated, coachId, playerId);
-        
-        return teamRepository.findAll().stream()
-            .filter(team -> teamName == null || team.getTeamName().toLowerCase().contains(teamName.toLowerCase()))
-            .filter(team -> yearCreated == null || team.getYearCreated().equals(yearCreated))
-            .filter(team -> coachId == null || (team.getCoach() != null && team.getCoach().getId().equals(coachId)))
-            .filter(team -> playerId == null || team.getPlayers().stream()
-                .anyMatch(player -> player.getId().equals(playerId)))
-            .map(mapper::toDto)
-            .collect(Collectors.toList());
+            @Parameter(description = "Filter by player ID") @RequestParam(required = false) Integer playerId,
+            @Parameter(description = "Matching mode for the team name filter") @RequestParam(defaultValue = "CONTAINS") TextMatch match,
+            @Parameter(description = "Page size; enables cursor pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key with optional direction, e.g. yearCreated,desc") @RequestParam(required = false) String sort,
+            HttpServletRequest request) {
+        log.info("Fetching teams with filters - teamName: {}, yearCreated: {}, coachId: {}, playerId: {}, match: {}, limit: {}, sort: {}", 
+                teamName, yearCreated, coachId, playerId, match, limit, sort);
+        try {
+            Specification<Team> filter = TeamSpecifications.filter(teamName, yearCreated, coachId, playerId, match);
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                String eTag = EntityTags.ofPage(teamQueryService.findRevisions(filter, limit, cursor, sort),
+                    team -> team.teamId() + ":" + EntityTags.of(team));
+                if (ConditionalRequests.isNotModified(request, eTag, null)) {
+                    return ConditionalRequests.notModified(eTag, null);
+                }
+            }
+            KeysetPage<TeamDto.Response> page = teamQueryService.findAll(filter, limit, cursor, sort);
+            return paginator.toResponse(page,
+                EntityTags.ofPage(page, team -> team.getTeamId() + ":" + EntityTags.of(team)));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Create a new team", description = "Create a new team with the provided details")
@@ -326,25 +453,8 @@ public class DatabaseViewController {
             if (request.getTeamName() == null || request.getYearCreated() == null) {
                 return ResponseEntity.badRequest().build();
             }
-            
-            Team team = mapper.toEntity(request);
-            
-            if (request.getCoachId() != null) {
-                Coach coach = coachRepository.findById(request.getCoachId())
-                    .orElseThrow(() -> new IllegalArgumentException("Coach not found with id: " + request.getCoachId()));
-                team.setCoach(coach);
-            }
-            
-            if (request.getPlayerIds() != null && !request.getPlayerIds().isEmpty()) {
-                Set<Player> players = request.getPlayerIds().stream()
-                    .map(id -> playerRepository.findById(id)
-                        .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + id)))
-                    .collect(Collectors.toSet());
-                team.getPlayers().addAll(players);
-            }
-            
-            team = teamRepository.save(team);
-            return ResponseEntity.ok(mapper.toDto(team));
+
+            return ResponseEntity.ok(teamService.create(request));
         } catch (IllegalArgumentException e) {
             log.error("Invalid request: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -356,15 +466,35 @@ public class DatabaseViewController {
 
     @Operation(summary = "Get a team by ID", description = "Retrieve a team by their ID")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved the team"),
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the team",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TeamDto.Response.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag or date sent"),
         @ApiResponse(responseCode = "404", description = "Team not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/teams/{id}")
-    public ResponseEntity<TeamDto.Response> getTeam(@Parameter(description = "Team ID") @PathVariable Integer id) {
-        log.info("Fetching team with id: {}", id);
-        return teamRepository.findById(id)
-            .map(team -> ResponseEntity.ok(mapper.toDto(team)))
+    public ResponseEntity<Object> getTeam(@Parameter(description = "Team ID") @PathVariable Integer id,
+                                          HttpServletRequest request) {
+        log.debug("Fetching team with id: {}", id);
+        // A stored view is checked as cheaply as a lookup; otherwise look before loading the whole team
+        if (ConditionalRequests.isConditional(request) && !teamQueryService.isMaterialized(id)) {
+            Optional<TeamRevision> revision = teamQueryService.findRevision(id);
+            if (revision.isPresent()) {
+                String eTag = EntityTags.of(revision.get());
+                if (ConditionalRequests.isNotModified(request, eTag, EntityTags.lastModified(revision.get()))) {
+                    return ConditionalRequests.notModified(eTag, EntityTags.lastModified(revision.get()));
+                }
+            }
+        }
+        // Served from the materialized view store as pre-serialized JSON, or encoded on the way out as CBOR or Smile
+        return teamQueryService.findView(id)
+            .map(view -> {
+                ResponseEntity.BodyBuilder response =
+                    ConditionalRequests.ok(EntityTags.of(view.response()), EntityTags.lastModified(view.response()));
+                return ResponseFormats.prefersBinary(request)
+                    ? response.<Object>body(view.response())
+                    : response.contentType(MediaType.APPLICATION_JSON).<Object>body(view.json());
+            })
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -372,36 +502,22 @@ public class DatabaseViewController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully updated the team"),
         @ApiResponse(responseCode = "404", description = "Team not found"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not name the current version"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/teams/{id}")
     public ResponseEntity<TeamDto.Response> updateTeam(
             @Parameter(description = "Team ID") @PathVariable Integer id,
-            @RequestBody TeamDto.Request request) {
+            @RequestBody TeamDto.Request request,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating team with id: {}", id);
-        return teamRepository.findById(id)
-            .map(existingTeam -> {
-                Team team = mapper.toEntity(request);
-                team.setTeamId(id);
-                
-                if (request.getCoachId() != null) {
-                    Coach coach = coachRepository.findById(request.getCoachId())
-                        .orElseThrow(() -> new IllegalArgumentException("Coach not found with id: " + request.getCoachId()));
-                    team.setCoach(coach);
-                }
-                
-                if (request.getPlayerIds() != null) {
-                    Set<Player> players = request.getPlayerIds().stream()
-                        .map(playerId -> playerRepository.findById(playerId)
-                            .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId)))
-                        .collect(Collectors.toSet());
-                    team.setPlayers(players);
-                }
-                
-                Team updatedTeam = teamRepository.save(team);
-                return ResponseEntity.ok(mapper.toDto(updatedTeam));
-            })
-            .orElse(ResponseEntity.notFound().build());
+        try {
+            return teamService.update(id, request, EntityTags.parseIfMatch(ifMatch))
+                .map(team -> ConditionalRequests.ok(EntityTags.of(team), EntityTags.lastModified(team)).body(team))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (VersionConflictException e) {
+            return preconditionFailed(e);
+        }
     }
 
     @Operation(summary = "Delete a team", description = "Delete a team by their ID")
@@ -414,11 +530,9 @@ public class DatabaseViewController {
     public ResponseEntity<Void> deleteTeam(@Parameter(description = "Team ID") @PathVariable Integer id) {
         log.info("Deleting team with id: {}", id);
         try {
-            if (!teamRepository.existsById(id)) {
+            if (!teamService.delete(id)) {
                 return ResponseEntity.notFound().build();
             }
-
-            teamRepository.deleteById(id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             log.error("Error deleting team: {}", e.getMessage(), e);
@@ -432,14 +546,7 @@ public class DatabaseViewController {
             @PathVariable Integer teamId,
             @PathVariable Integer playerId) {
         try {
-            Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new IllegalArgumentException("Team not found"));
-            Player player = playerRepository.findById(playerId)
-                .orElseThrow(() -> new IllegalArgumentException("Player not found"));
-            
-            team.addPlayer(player);
-            team = teamRepository.save(team);
-            return ResponseEntity.ok(mapper.toDto(team));
+            return ResponseEntity.ok(teamService.addPlayer(teamId, playerId));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -450,16 +557,74 @@ public class DatabaseViewController {
             @PathVariable Integer teamId,
             @PathVariable Integer playerId) {
         try {
-            Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new IllegalArgumentException("Team not found"));
-            Player player = playerRepository.findById(playerId)
-                .orElseThrow(() -> new IllegalArgumentException("Player not found"));
-            
-            team.removePlayer(player);
-            team = teamRepository.save(team);
-            return ResponseEntity.ok(mapper.toDto(team));
+            return ResponseEntity.ok(teamService.removePlayer(teamId, playerId));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Change a team's roster",
+        description = "Add and remove players in one request. The change is applied as a diff; ids that are "
+            + "already in the requested state are reported as unchanged and ids that are not players as notFound")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Roster changed"),
+        @ApiResponse(responseCode = "400", description = "A player is both added and removed"),
+        @ApiResponse(responseCode = "404", description = "Team not found"),
+        @ApiResponse(responseCode = "412", description = "If-Match does not name the team's current version"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping("/teams/{teamId}/players")
+    public ResponseEntity<RosterDto.Response> patchTeamPlayers(
+            @Parameter(description = "Team ID") @PathVariable Integer teamId,
+            @RequestBody RosterDto.Request request,
+            @Parameter(description = "ETag of the team version being changed") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Changing roster of team {} - add: {}, remove: {}", teamId, request.getAdd(), request.getRemove());
+        try {
+            return teamService.patchRoster(teamId, request.getAdd(), request.getRemove(), EntityTags.parseIfMatch(ifMatch))
+                .map(roster -> ResponseEntity.ok().eTag(EntityTags.of(roster.getVersion())).body(roster))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (VersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error changing roster: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Versions of the rows a list request would return, read without loading them
+    private <T> KeysetPage<EntityRevision> revisions(Class<T> type, Specification<T> filter, Set<String> sortKeys,
+                                                     Integer limit, String cursor, String sort,
+                                                     Function<List<Integer>, List<EntityRevision>> loader) {
+        KeysetPage<Integer> ids = paginator.fetchIds(type, filter, "id", sortKeys, limit, cursor, sort);
+        Map<Integer, EntityRevision> byId = new HashMap<>();
+        loader.apply(ids.items()).forEach(revision -> byId.put(revision.id(), revision));
+        return new KeysetPage<>(ids.items().stream().map(byId::get).filter(Objects::nonNull).toList(), ids.nextCursor());
+    }
+
+    private static <T> String pageTag(KeysetPage<T> page, Function<T, Integer> id, Function<T, Long> version) {
+        return EntityTags.ofPage(page, item -> id.apply(item) + ":" + version.apply(item));
+    }
+
+    private static <T> ResponseEntity<T> preconditionFailed(VersionConflictException e) {
+        log.info("Rejected conditional write: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .eTag(EntityTags.of(e.getCurrentVersion()))
+            .build();
+    }
+
+    private static <T> ResponseEntity<T> conflict(DataIntegrityViolationException e) {
+        log.info("Rejected write breaking a unique key: {}", e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private static BulkDto.DeleteResponse deleteResponse(List<Integer> requested, List<Integer> deleted) {
+        BulkDto.DeleteResponse response = new BulkDto.DeleteResponse();
+        response.setDeleted(deleted);
+        Set<Integer> deletedIds = Set.copyOf(deleted);
+        response.setNotFound(requested.stream().distinct().filter(id -> !deletedIds.contains(id)).toList());
+        return response;
+    }
+}
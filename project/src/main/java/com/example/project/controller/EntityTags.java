@@ -0,0 +1,114 @@
+package com.example.project.controller;
+
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.repository.projection.TeamRevision;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Validators for API resources. Players and coaches are tagged with their version ({@code "3"}). A team
+ * embeds its coach and players, so its tag adds their versions ({@code "3.1.40"}: team, coach, sum of
+ * players); writes to a team are conditional on the first part only. A list is tagged with a weak digest
+ * of its items' tags. Tags can be built from a loaded response or from a revision read without loading it,
+ * and both give the same value.
+ */
+public final class EntityTags {
+
+    /** No stored version is negative, so this never matches */
+    private static final long NO_MATCH = -1;
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    public static String of(TeamDto.Response team) {
+        long playerVersions = 0;
+        for (PlayerDto.Response player : team.getPlayers()) {
+            playerVersions += player.getVersion();
+        }
+        return team(team.getVersion(), team.getCoach() == null ? null : team.getCoach().getVersion(), playerVersions);
+    }
+
+    public static String of(TeamRevision revision) {
+        return team(revision.version(), revision.coachVersion(), revision.playerVersions());
+    }
+
+    /**
+     * Tag of a page of a list, covering whether a next page exists, since that changes the response headers.
+     * It is weak: lists are only ever compared by If-None-Match, and Tomcat will not gzip a response that
+     * has a strong tag.
+     */
+    public static <T> String ofPage(KeysetPage<T> page, Function<T, String> itemTag) {
+        MessageDigest digest = sha256();
+        for (T item : page.items()) {
+            digest.update(itemTag.apply(item).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ',');
+        }
+        digest.update((byte) (page.nextCursor() == null ? '.' : '+'));
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    /**
+     * The latest modification of a team or anything it embeds. Deleting an embedded player or coach
+     * bumps the team itself, so the time never goes backwards.
+     */
+    public static Instant lastModified(TeamDto.Response team) {
+        return latest(Stream.concat(
+            Stream.of(team.getModifiedAt(), team.getCoach() == null ? null : team.getCoach().getModifiedAt()),
+            team.getPlayers().stream().map(PlayerDto.Response::getModifiedAt)));
+    }
+
+    public static Instant lastModified(TeamRevision revision) {
+        return latest(Stream.of(revision.modifiedAt(), revision.coachModifiedAt(), revision.playersModifiedAt()));
+    }
+
+    /**
+     * Reads the version an {@code If-Match} header asks for; for a team tag, the team's own version.
+     *
+     * @return null if the header is absent or {@code *}; a version that never matches if the header is a
+     *         weak, malformed or list value, since updates use strong comparison against a single version
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_MATCH;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int dot = value.indexOf('.');
+        try {
+            return Long.parseLong(dot < 0 ? value : value.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    private static String team(long version, Long coachVersion, long playerVersions) {
+        return "\"" + version + "." + (coachVersion == null ? "-" : coachVersion) + "." + playerVersions + "\"";
+    }
+
+    private static Instant latest(Stream<Instant> times) {
+        return times.filter(Objects::nonNull).max(Instant::compareTo).orElse(null);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
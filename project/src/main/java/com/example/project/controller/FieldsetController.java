@@ -0,0 +1,180 @@
+package com.example.project.controller;
+
+import com.example.project.fieldset.Fieldset;
+import com.example.project.pagination.KeysetPaginator;
+import com.example.project.repository.specification.TeamSpecifications;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.service.CoachService;
+import com.example.project.service.FieldsetQueryService;
+import com.example.project.service.PlayerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The read endpoints of {@link DatabaseViewController} for requests that carry {@code fields=}. Only the
+ * selected columns are read from the database; a team's roster is not queried unless a player field is
+ * selected. Responses carry no ETag, since they are cut from the resource the tag describes.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Sparse fieldsets", description = "Player, coach and team reads limited to the fields asked for")
+public class FieldsetController {
+
+    private static final String FIELDS = "Comma-separated fields to return besides the id, e.g. "
+        + "teamName,coach.surname,players.id; an embedded resource on its own returns all its fields";
+
+    private final FieldsetQueryService fieldsetQueryService;
+    private final KeysetPaginator paginator;
+    private final PlayerService playerService;
+    private final CoachService coachService;
+
+    @Operation(summary = "Get selected fields of all players", description = "Like GET /api/players, returning only the given fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of players"),
+        @ApiResponse(responseCode = "400", description = "Unknown field, or invalid cursor, limit or sort"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/players", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getPlayerFields(
+            @Parameter(description = FIELDS) @RequestParam String fields,
+            @Parameter(description = "Filter by player name") @RequestParam(required = false) String name,
+            @Parameter(description = "Filter by player surname") @RequestParam(required = false) String surname,
+            @Parameter(description = "Filter by player personal code") @RequestParam(required = false) String personalCode,
+            @Parameter(description = "Matching mode for name and surname filters") @RequestParam(defaultValue = "CONTAINS") TextMatch match,
+            @Parameter(description = "Page size; enables cursor pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key with optional direction, e.g. surname,desc") @RequestParam(required = false) String sort) {
+        log.info("Fetching player fields {} with filters - name: {}, surname: {}, personalCode: {}, match: {}, limit: {}, sort: {}",
+                fields, name, surname, personalCode, match, limit, sort);
+        try {
+            return paginator.toResponse(fieldsetQueryService.findPlayers(playerService.filter(name, surname, personalCode, match),
+                Fieldset.parse(fields, Fieldset.PLAYER), DatabaseViewController.PLAYER_SORT_KEYS, limit, cursor, sort));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get selected fields of a player", description = "Like GET /api/players/{id}, returning only the given fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the player"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
+        @ApiResponse(responseCode = "404", description = "Player not found")
+    })
+    @GetMapping(value = "/players/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getPlayerFields(@Parameter(description = "Player ID") @PathVariable Integer id,
+                                                               @Parameter(description = FIELDS) @RequestParam String fields) {
+        log.info("Fetching fields {} of player with id: {}", fields, id);
+        return one(() -> fieldsetQueryService.findPlayer(id, Fieldset.parse(fields, Fieldset.PLAYER)));
+    }
+
+    @Operation(summary = "Get selected fields of all coaches", description = "Like GET /api/coaches, returning only the given fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of coaches"),
+        @ApiResponse(responseCode = "400", description = "Unknown field, or invalid cursor, limit or sort"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/coaches", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getCoachFields(
+            @Parameter(description = FIELDS) @RequestParam String fields,
+            @Parameter(description = "Filter by coach name") @RequestParam(required = false) String name,
+            @Parameter(description = "Filter by coach surname") @RequestParam(required = false) String surname,
+            @Parameter(description = "Filter by license ID") @RequestParam(required = false) String licenseId,
+            @Parameter(description = "Filter by personal code") @RequestParam(required = false) String personalCode,
+            @Parameter(description = "Matching mode for name and surname filters") @RequestParam(defaultValue = "CONTAINS") TextMatch match,
+            @Parameter(description = "Page size; enables cursor pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key with optional direction, e.g. coachingFrom,desc") @RequestParam(required = false) String sort) {
+        log.info("Fetching coach fields {} with filters - name: {}, surname: {}, licenseId: {}, personalCode: {}, match: {}, limit: {}, sort: {}",
+                fields, name, surname, licenseId, personalCode, match, limit, sort);
+        try {
+            return paginator.toResponse(fieldsetQueryService.findCoaches(
+                coachService.filter(name, surname, licenseId, personalCode, match),
+                Fieldset.parse(fields, Fieldset.COACH), DatabaseViewController.COACH_SORT_KEYS, limit, cursor, sort));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get selected fields of a coach", description = "Like GET /api/coaches/{id}, returning only the given fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the coach"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
+        @ApiResponse(responseCode = "404", description = "Coach not found")
+    })
+    @GetMapping(value = "/coaches/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getCoachFields(@Parameter(description = "Coach ID") @PathVariable Integer id,
+                                                              @Parameter(description = FIELDS) @RequestParam String fields) {
+        log.info("Fetching fields {} of coach with id: {}", fields, id);
+        return one(() -> fieldsetQueryService.findCoach(id, Fieldset.parse(fields, Fieldset.COACH)));
+    }
+
+    @Operation(summary = "Get selected fields of all teams", description = "Like GET /api/teams, returning only the given fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of teams"),
+        @ApiResponse(responseCode = "400", description = "Unknown field, or invalid cursor, limit or sort"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/teams", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTeamFields(
+            @Parameter(description = FIELDS) @RequestParam String fields,
+            @Parameter(description = "Filter by team name") @RequestParam(required = false) String teamName,
+            @Parameter(description = "Filter by year created") @RequestParam(required = false) Integer yearCreated,
+            @Parameter(description = "Filter by coach ID") @RequestParam(required = false) Integer coachId,
+            @Parameter(description = "Filter by player ID") @RequestParam(required = false) Integer playerId,
+            @Parameter(description = "Matching mode for the team name filter") @RequestParam(defaultValue = "CONTAINS") TextMatch match,
+            @Parameter(description = "Page size; enables cursor pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key with optional direction, e.g. yearCreated,desc") @RequestParam(required = false) String sort) {
+        log.info("Fetching team fields {} with filters - teamName: {}, yearCreated: {}, coachId: {}, playerId: {}, match: {}, limit: {}, sort: {}",
+                fields, teamName, yearCreated, coachId, playerId, match, limit, sort);
+        try {
+            return paginator.toResponse(fieldsetQueryService.findTeams(
+                TeamSpecifications.filter(teamName, yearCreated, coachId, playerId, match),
+                Fieldset.parse(fields, Fieldset.TEAM), limit, cursor, sort));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get selected fields of a team", description = "Like GET /api/teams/{id}, returning only the given fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the team"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
+        @ApiResponse(responseCode = "404", description = "Team not found")
+    })
+    @GetMapping(value = "/teams/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getTeamFields(@Parameter(description = "Team ID") @PathVariable Integer id,
+                                                             @Parameter(description = FIELDS) @RequestParam String fields) {
+        log.info("Fetching fields {} of team with id: {}", fields, id);
+        return one(() -> fieldsetQueryService.findTeam(id, Fieldset.parse(fields, Fieldset.TEAM)));
+    }
+
+    private static ResponseEntity<Map<String, Object>> one(Supplier<Optional<Map<String, Object>>> lookup) {
+        try {
+            return lookup.get().map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
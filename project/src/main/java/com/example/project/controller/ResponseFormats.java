@@ -0,0 +1,45 @@
+package com.example.project.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Picks between the pre-serialized JSON some handlers hold and the binary encodings, which Spring MVC
+ * negotiates from the response object.
+ */
+final class ResponseFormats {
+
+    static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private ResponseFormats() {
+    }
+
+    /**
+     * Whether the highest-quality type in {@code Accept} that the API can produce is CBOR or Smile.
+     * Wildcards and a missing or malformed header mean JSON; equal qualities go by header order.
+     */
+    static boolean prefersBinary(HttpServletRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.isCompatibleWith(CBOR) || type.isCompatibleWith(SMILE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
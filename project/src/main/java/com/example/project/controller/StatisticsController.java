@@ -0,0 +1,70 @@
+package com.example.project.controller;
+
+import com.example.project.dto.StatisticsDto;
+import com.example.project.service.StatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Aggregates answered from summary tables that every write keeps up to date, so none of these reads
+ * scans players, coaches or rosters. Sharded players are the exception: their ages are counted on the shards.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+@Tag(name = "Statistics", description = "Aggregates over players, coaches and teams")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @Operation(summary = "Team sizes", description = "Number of teams per roster size")
+    @GetMapping("/team-sizes")
+    public StatisticsDto.Distribution teamSizes() {
+        return statisticsService.teamSizes();
+    }
+
+    @Operation(summary = "Teams per year", description = "Number of teams per year created")
+    @GetMapping("/teams-per-year")
+    public StatisticsDto.Distribution teamsPerYear() {
+        return statisticsService.teamsPerYear();
+    }
+
+    @Operation(summary = "Player ages", description = "Number of players per age reached this calendar year")
+    @GetMapping("/player-ages")
+    public StatisticsDto.Distribution playerAges() {
+        return statisticsService.playerAges();
+    }
+
+    @Operation(summary = "Coach tenure", description = "Number of coaches per years coaching as of this calendar year")
+    @GetMapping("/coach-tenure")
+    public StatisticsDto.Distribution coachTenure() {
+        return statisticsService.coachTenure();
+    }
+
+    @Operation(summary = "Check summary tables", description = "Recounts every aggregate from the tables and lists the counts that differ")
+    @GetMapping("/consistency")
+    public StatisticsDto.Consistency consistency() {
+        return statisticsService.check();
+    }
+
+    @Operation(summary = "Rebuild summary tables", description = "Replaces every stored count with a recount from the tables")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Summary tables rebuilt")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        log.info("Rebuilding summary tables");
+        statisticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.project.dto;
+
+import lombok.Data;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Bulk import data transfer object")
+public class BulkDto {
+
+    @Schema(description = "How rows whose personal code already exists are handled")
+    public enum Mode {
+        /** Update the existing row with the submitted values */
+        UPSERT,
+        /** Leave the existing row untouched and report the row as a duplicate */
+        INSERT
+    }
+
+    @Schema(description = "Outcome of a single submitted row")
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    @Data
+    @Schema(description = "Bulk import summary", name = "BulkResponse")
+    public static class Response {
+        @Schema(description = "Number of rows inserted")
+        private int created;
+
+        @Schema(description = "Number of existing rows updated")
+        private int updated;
+
+        @Schema(description = "Number of rows not written")
+        private int rejected;
+
+        @Schema(description = "Set when the database failed mid-import: the index of the first row not written. Later rows were not read")
+        private Integer stoppedAt;
+
+        @Schema(description = "Per-row results in submission order")
+        private List<RowResult> results = new ArrayList<>();
+    }
+
+    @Data
+    @Schema(description = "Bulk delete summary", name = "BulkDeleteResponse")
+    public static class DeleteResponse {
+        @Schema(description = "IDs that were deleted")
+        private List<Integer> deleted = new ArrayList<>();
+
+        @Schema(description = "Requested IDs that did not exist")
+        private List<Integer> notFound = new ArrayList<>();
+    }
+
+    @Data
+    @Schema(description = "Result of one submitted row", name = "BulkRowResult")
+    public static class RowResult {
+        @Schema(description = "Zero-based position of the row in the submitted payload")
+        private int index;
+
+        @Schema(description = "Outcome of the row")
+        private Status status;
+
+        @Schema(description = "ID of the created or updated row")
+        private Integer id;
+
+        @Schema(description = "Reason the row was rejected")
+        private String error;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.project.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import java.time.Instant;
 import java.time.LocalDate;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -45,5 +47,12 @@ public class CoachDto {
         
         @Schema(description = "Coach's personal code")
         private String personalCode;
+
+        @Schema(description = "Incremented by every update; sent as the ETag")
+        private Long version;
+
+        // Sent as Last-Modified rather than in the body
+        @JsonIgnore
+        private Instant modifiedAt;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.project.dto;
+
+import lombok.Data;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Schema(description = "Roster change data transfer object")
+public class RosterDto {
+
+    @Data
+    @Schema(description = "Players to add to and remove from a team", name = "RosterPatchRequest")
+    public static class Request {
+        @Schema(description = "IDs of players to add", example = "[4, 5]")
+        private Set<Integer> add = new LinkedHashSet<>();
+
+        @Schema(description = "IDs of players to remove", example = "[1]")
+        private Set<Integer> remove = new LinkedHashSet<>();
+    }
+
+    @Data
+    @Schema(description = "Outcome of a roster change", name = "RosterPatchResponse")
+    public static class Response {
+        @Schema(description = "Team's unique identifier")
+        private Integer teamId;
+
+        @Schema(description = "IDs that joined the team")
+        private List<Integer> added = new ArrayList<>();
+
+        @Schema(description = "IDs that left the team")
+        private List<Integer> removed = new ArrayList<>();
+
+        @Schema(description = "Requested IDs that were already in the requested state")
+        private List<Integer> unchanged = new ArrayList<>();
+
+        @Schema(description = "Requested IDs that are not players")
+        private List<Integer> notFound = new ArrayList<>();
+
+        @Schema(description = "Team version after the change; sent as the ETag")
+        private Long version;
+    }
+}
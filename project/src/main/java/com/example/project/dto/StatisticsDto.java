@@ -0,0 +1,51 @@
+package com.example.project.dto;
+
+import lombok.Data;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Schema(description = "Aggregate statistics data transfer object")
+public class StatisticsDto {
+
+    @Data
+    @Schema(description = "Number of players, coaches or teams per value", name = "Distribution")
+    public static class Distribution {
+        @Schema(description = "Number of rows counted")
+        private long total;
+
+        @Schema(description = "Mean of the counted values, or null if nothing was counted")
+        private Double mean;
+
+        @Schema(description = "Number of rows per value, in ascending order of value", example = "{\"18\": 4, \"20\": 2}")
+        private SortedMap<Integer, Long> counts = new TreeMap<>();
+    }
+
+    @Data
+    @Schema(description = "Stored counts compared with a recount from the tables", name = "SummaryConsistency")
+    public static class Consistency {
+        @Schema(description = "Whether every stored count matches the recount")
+        private boolean consistent;
+
+        @Schema(description = "Buckets whose stored count differs from the recount")
+        private List<Difference> differences = new ArrayList<>();
+    }
+
+    @Data
+    @Schema(description = "A bucket whose stored count differs from the recount", name = "SummaryDifference")
+    public static class Difference {
+        @Schema(description = "Counted property", example = "PLAYER_BIRTH_YEAR")
+        private String metric;
+
+        @Schema(description = "Bucket of the property, e.g. a year or a roster size", example = "1995")
+        private Integer bucket;
+
+        @Schema(description = "Count in the summary tables")
+        private long stored;
+
+        @Schema(description = "Count from the recount")
+        private long recounted;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.project.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import java.time.Instant;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Set;
 
@@ -40,5 +42,12 @@ public class TeamDto {
         
         @Schema(description = "Year when the team was created")
         private Integer yearCreated;
+
+        @Schema(description = "Incremented by every update and roster change; sent as the ETag")
+        private Long version;
+
+        // Sent as Last-Modified rather than in the body
+        @JsonIgnore
+        private Instant modifiedAt;
     }
 } 
\ No newline at end of file
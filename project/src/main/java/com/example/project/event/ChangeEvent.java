@@ -0,0 +1,19 @@
+package com.example.project.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published inside the writing transaction whenever players, coaches or teams are created, updated or deleted.
+ * Listeners that must only act on committed data register transaction synchronizations themselves.
+ */
+public record ChangeEvent(EntityType entity, ChangeType change, Set<Integer> ids) {
+
+    public static ChangeEvent of(EntityType entity, ChangeType change, Integer id) {
+        return new ChangeEvent(entity, change, Set.of(id));
+    }
+
+    public static ChangeEvent of(EntityType entity, ChangeType change, Collection<Integer> ids) {
+        return new ChangeEvent(entity, change, Set.copyOf(ids));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.project.event;
+
+public enum EntityType {
+    PLAYER,
+    COACH,
+    TEAM
+}
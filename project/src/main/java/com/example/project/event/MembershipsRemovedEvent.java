@@ -0,0 +1,11 @@
+package com.example.project.event;
+
+import java.util.Set;
+
+/**
+ * Published inside the writing transaction when deleting players takes them off teams, ahead of the
+ * players' {@link ChangeEvent}. Names the teams that lost members, which can no longer be found from
+ * {@code team_players} once the memberships are gone.
+ */
+public record MembershipsRemovedEvent(Set<Integer> teamIds) {
+}
@@ -0,0 +1,12 @@
+package com.example.project.event;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Published inside the writing transaction when players join or leave a team. {@code teamVersion} and
+ * {@code teamModifiedAt} describe the team after the change.
+ */
+public record RosterChangeEvent(Integer teamId, Set<Integer> addedPlayerIds, Set<Integer> removedPlayerIds,
+                                Long teamVersion, Instant teamModifiedAt) {
+}
@@ -0,0 +1,72 @@
+package com.example.project.fieldset;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code fields=} selection such as {@code teamName,coach.surname,players.id}: the properties to return
+ * and, per embedded resource, its own selection. Naming an embedded resource on its own selects all of
+ * its properties. The id is always returned and need not be named.
+ *
+ * @param properties columns of the resource, in the order they were asked for
+ * @param embedded   selections of the embedded resources that were asked for, by name
+ */
+public record Fieldset(List<String> properties, Map<String, Fieldset> embedded) {
+
+    public static final Schema PLAYER = new Schema("id",
+        List.of("name", "surname", "dateOfBirth", "personalCode", "version"), Map.of());
+
+    public static final Schema COACH = new Schema("id",
+        List.of("name", "surname", "coachingFrom", "licenseId", "personalCode", "version"), Map.of());
+
+    public static final Schema TEAM = new Schema("teamId",
+        List.of("teamName", "yearCreated", "version"), Map.of("coach", COACH, "players", PLAYER));
+
+    /**
+     * @throws IllegalArgumentException if a field is not a property or embedded resource of the schema
+     */
+    public static Fieldset parse(String fields, Schema schema) {
+        Set<String> properties = new LinkedHashSet<>();
+        Map<String, List<String>> nested = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            field = field.trim();
+            if (field.isEmpty() || field.equals(schema.idProperty())) {
+                continue;
+            }
+            int dot = field.indexOf('.');
+            String head = dot < 0 ? field : field.substring(0, dot);
+            if (dot < 0 && schema.properties().contains(field)) {
+                properties.add(field);
+            } else if (schema.embeddable().containsKey(head)) {
+                List<String> tails = nested.computeIfAbsent(head, name -> new ArrayList<>());
+                // A bare name selects everything, which no later field can narrow
+                tails.add(dot < 0 ? null : field.substring(dot + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        Map<String, Fieldset> embedded = new LinkedHashMap<>();
+        nested.forEach((name, tails) -> {
+            Schema embeddedSchema = schema.embeddable().get(name);
+            embedded.put(name, tails.contains(null)
+                ? all(embeddedSchema)
+                : parse(String.join(",", tails), embeddedSchema));
+        });
+        return new Fieldset(List.copyOf(properties), embedded);
+    }
+
+    private static Fieldset all(Schema schema) {
+        return new Fieldset(schema.properties(), Map.of());
+    }
+
+    /**
+     * The selectable fields of a resource. Property names are those of both the response and the entity.
+     */
+    public record Schema(String idProperty, List<String> properties, Map<String, Schema> embeddable) {
+    }
+}
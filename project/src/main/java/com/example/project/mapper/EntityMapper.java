@@ -6,7 +6,9 @@ import com.example.project.dto.TeamDto;
 import com.example.project.model.Player;
 import com.example.project.model.Coach;
 import com.example.project.model.Team;
+import com.example.project.repository.projection.RosterEntry;
 import org.springframework.stereotype.Component;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -28,6 +30,20 @@ public class EntityMapper {
         dto.setSurname(entity.getSurname());
         dto.setDateOfBirth(entity.getDateOfBirth());
         dto.setPersonalCode(entity.getPersonalCode());
+        dto.setVersion(entity.getVersion());
+        dto.setModifiedAt(entity.getModifiedAt());
+        return dto;
+    }
+
+    public PlayerDto.Response toDto(RosterEntry entry) {
+        PlayerDto.Response dto = new PlayerDto.Response();
+        dto.setId(entry.playerId());
+        dto.setName(entry.name());
+        dto.setSurname(entry.surname());
+        dto.setDateOfBirth(entry.dateOfBirth());
+        dto.setPersonalCode(entry.personalCode());
+        dto.setVersion(entry.version());
+        dto.setModifiedAt(entry.modifiedAt());
         return dto;
     }
 
@@ -49,6 +65,8 @@ public class EntityMapper {
         dto.setCoachingFrom(entity.getCoachingFrom());
         dto.setLicenseId(entity.getLicenseId());
         dto.setPersonalCode(entity.getPersonalCode());
+        dto.setVersion(entity.getVersion());
+        dto.setModifiedAt(entity.getModifiedAt());
         return dto;
     }
 
@@ -64,6 +82,8 @@ public class EntityMapper {
         dto.setTeamId(entity.getTeamId());
         dto.setTeamName(entity.getTeamName());
         dto.setYearCreated(entity.getYearCreated());
+        dto.setVersion(entity.getVersion());
+        dto.setModifiedAt(entity.getModifiedAt());
         if (entity.getCoach() != null) {
             dto.setCoach(toDto(entity.getCoach()));
         }
@@ -74,4 +94,18 @@ public class EntityMapper {
         }
         return dto;
     }
+
+    public TeamDto.Response toDto(Team entity, Set<PlayerDto.Response> players) {
+        TeamDto.Response dto = new TeamDto.Response();
+        dto.setTeamId(entity.getTeamId());
+        dto.setTeamName(entity.getTeamName());
+        dto.setYearCreated(entity.getYearCreated());
+        dto.setVersion(entity.getVersion());
+        dto.setModifiedAt(entity.getModifiedAt());
+        if (entity.getCoach() != null) {
+            dto.setCoach(toDto(entity.getCoach()));
+        }
+        dto.setPlayers(players);
+        return dto;
+    }
 } 
\ No newline at end of file
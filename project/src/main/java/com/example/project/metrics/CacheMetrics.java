@@ -0,0 +1,56 @@
+package com.example.project.metrics;
+
+import com.example.project.cache.CacheStatistics;
+import com.example.project.cache.ReadThroughCache;
+import com.example.project.view.TeamViewStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the entity caches and the team view store with the same numbers as {@code /api/cache/stats}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics implements MeterBinder {
+
+    private final List<ReadThroughCache<?, ?>> caches;
+    private final TeamViewStore teamViews;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ReadThroughCache<?, ?> cache : caches) {
+            bind(registry, cache.statistics().name(), cache::statistics);
+        }
+        bind(registry, teamViews.statistics().name(), teamViews::statistics);
+    }
+
+    private static void bind(MeterRegistry registry, String name, Supplier<CacheStatistics> statistics) {
+        counter(registry, name, "hit", statistics, CacheStatistics::hits);
+        counter(registry, name, "miss", statistics, CacheStatistics::misses);
+        counter(registry, name, "bypass", statistics, CacheStatistics::bypasses);
+        FunctionCounter.builder("app.cache.evictions", statistics, s -> s.get().evictions())
+            .tag("cache", name)
+            .register(registry);
+        Gauge.builder("app.cache.size", statistics, s -> s.get().size())
+            .tag("cache", name)
+            .register(registry);
+        Gauge.builder("app.cache.hit.ratio", statistics, s -> s.get().hitRatio())
+            .tag("cache", name)
+            .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String result,
+                                Supplier<CacheStatistics> statistics, ToDoubleFunction<CacheStatistics> value) {
+        FunctionCounter.builder("app.cache.requests", statistics, s -> value.applyAsDouble(s.get()))
+            .tag("cache", name)
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.project.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.metrics")
+public class MetricsProperties {
+
+    /** SQL statements a single request may issue before it is reported; 0 turns the check off. */
+    private int statementBudget = 0;
+
+    /** Executions of the same SQL within one request that are reported as a likely N+1; 0 turns the check off. */
+    private int repeatedStatementThreshold = 10;
+
+    /** Fail the request instead of logging a warning when a check trips. Meant for the test suite. */
+    private boolean failOnViolation = false;
+}
@@ -0,0 +1,79 @@
+package com.example.project.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records statements and entity loads per request, tagged like {@code http.server.requests}, and
+ * checks each request against the statement budget and the repeated-statement (N+1) threshold.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final MetricsProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statistics.stop();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+            "status", Integer.toString(response.getStatus()));
+        DistributionSummary.builder("app.request.statements")
+            .description("SQL statements issued through Hibernate per request")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(registry)
+            .record(statistics.statements());
+        DistributionSummary.builder("app.request.entities.loaded")
+            .description("Entities loaded by Hibernate per request")
+            .tags(tags)
+            .register(registry)
+            .record(statistics.entitiesLoaded());
+
+        check(endpoint, statistics);
+    }
+
+    private void check(String endpoint, RequestStatistics statistics) {
+        String violation = null;
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        if (properties.getStatementBudget() > 0 && statistics.statements() > properties.getStatementBudget()) {
+            violation = endpoint + " issued " + statistics.statements() + " statements, budget is "
+                + properties.getStatementBudget();
+        } else if (properties.getRepeatedStatementThreshold() > 0 && repeated != null
+                && repeated.getValue() > properties.getRepeatedStatementThreshold()) {
+            violation = endpoint + " ran the same statement " + repeated.getValue() + " times (likely N+1): "
+                + repeated.getKey();
+        }
+        if (violation == null) {
+            return;
+        }
+        registry.counter("app.request.statement.violations", "endpoint", endpoint).increment();
+        if (properties.isFailOnViolation()) {
+            throw new StatementBudgetExceededException(violation);
+        }
+        log.warn(violation);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.project.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements and entity loads issued through Hibernate by the request running on the current thread.
+ * Work outside a request (startup, background index builds) and plain JDBC paths are not counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final RequestStatistics previous;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private int entitiesLoaded;
+
+    private RequestStatistics(RequestStatistics previous) {
+        this.previous = previous;
+    }
+
+    static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    void stop() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static void statementPrepared(String sql) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entitiesLoaded++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    /**
+     * The statement executed most often, or {@code null} if there were none.
+     */
+    Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> most = null;
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (most == null || entry.getValue() > most.getValue()) {
+                most = entry;
+            }
+        }
+        return most;
+    }
+}
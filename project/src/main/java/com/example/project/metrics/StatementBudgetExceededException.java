@@ -0,0 +1,12 @@
+package com.example.project.metrics;
+
+/**
+ * Raised at the end of a request that broke the statement budget while
+ * {@link MetricsProperties#isFailOnViolation()} is set.
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
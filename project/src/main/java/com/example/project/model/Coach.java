@@ -1,16 +1,25 @@
 package com.example.project.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "coach")
+@Table(name = "coach", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_coach_license_id", columnNames = "license_id"),
+    @UniqueConstraint(name = "uk_coach_personal_code", columnNames = "personal_code")
+})
 public class Coach {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,4 +30,16 @@ public class Coach {
     private String licenseId;
     private String personalCode;
     private String email;
+
+    // Defaulted so that rows inserted over plain JDBC start at version 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Set on insert and by every update, including the bulk statements; sent as Last-Modified
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(nullable = false)
+    private Instant modifiedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The next unreserved id of a sequence whose rows are not kept in this database, such as players when
+ * they are sharded. Instances reserve ids in blocks with SQL in the {@code sharding} package; mapped so
+ * the schema is generated with the rest.
+ */
+@Data
+@Entity
+@Table(name = "id_block")
+public class IdBlock {
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,43 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * One committed change for the change feed, written in the same transaction as the change itself.
+ * Written and read with SQL by the {@code changefeed} package; mapped so the schema is generated with
+ * the rest.
+ */
+@Data
+@Entity
+@Table(name = "change_outbox", indexes = {
+    @Index(name = "idx_change_outbox_feed_position", columnList = "feed_position", unique = true),
+    @Index(name = "idx_change_outbox_recorded_at", columnList = "recorded_at")
+})
+public class OutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Offset in the feed; null until the relay publishes the row after its transaction commits
+    private Long feedPosition;
+
+    @Column(length = 16, nullable = false)
+    private String entity;
+
+    @Column(length = 16, nullable = false)
+    private String changeType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+}
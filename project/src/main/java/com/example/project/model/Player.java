@@ -1,16 +1,24 @@
 package com.example.project.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "player")
+@Table(name = "player", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_player_personal_code", columnNames = "personal_code")
+})
 public class Player {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,4 +27,16 @@ public class Player {
     private String surname;
     private LocalDate dateOfBirth;
     private String personalCode;
+
+    // Defaulted so that rows inserted over plain JDBC start at version 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Set on insert and by every update, including the bulk statements; sent as Last-Modified
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(nullable = false)
+    private Instant modifiedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.io.Serializable;
+
+/**
+ * Number of rows counted in one bucket of a summary metric, e.g. players born in 1995. Maintained with
+ * set-based SQL by {@link com.example.project.summary.SummaryStore}; mapped so the schema is generated
+ * with the rest.
+ */
+@Data
+@Entity
+@Table(name = "summary_bucket")
+@IdClass(SummaryBucket.Key.class)
+public class SummaryBucket {
+    @Id
+    @Column(length = 32)
+    private String metric;
+
+    @Id
+    private Integer bucket;
+
+    @Column(nullable = false)
+    private Long entries;
+
+    @Data
+    public static class Key implements Serializable {
+        private String metric;
+        private Integer bucket;
+    }
+}
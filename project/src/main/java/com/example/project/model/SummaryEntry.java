@@ -0,0 +1,36 @@
+package com.example.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.io.Serializable;
+
+/**
+ * The bucket a player, coach or team is currently counted in for one summary metric, so that a change
+ * can take the row out of its old bucket without knowing its previous values. Maintained with
+ * set-based SQL by {@link com.example.project.summary.SummaryStore}.
+ */
+@Data
+@Entity
+@Table(name = "summary_entry")
+@IdClass(SummaryEntry.Key.class)
+public class SummaryEntry {
+    @Id
+    @Column(length = 32)
+    private String metric;
+
+    @Id
+    private Integer entityId;
+
+    @Column(nullable = false)
+    private Integer bucket;
+
+    @Data
+    public static class Key implements Serializable {
+        private String metric;
+        private Integer entityId;
+    }
+}
@@ -2,32 +2,55 @@ package com.example.project.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
 @Entity
-@Table(name = "team")
+@Table(name = "team", indexes = {
+    @Index(name = "idx_team_coach_id", columnList = "coach_id"),
+    @Index(name = "idx_team_year_created", columnList = "year_created")
+})
 public class Team {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer teamId;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coach_id")
     private Coach coach;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    // With app.sharding the players live in other databases, and the db/migration-sharded location drops
+    // the foreign key to player. Deleting a player removes its memberships explicitly (PlayerService.delete)
     @JoinTable(
         name = "team_players",
         joinColumns = @JoinColumn(name = "team_id"),
-        inverseJoinColumns = @JoinColumn(name = "player_id")
+        inverseJoinColumns = @JoinColumn(name = "player_id"),
+        indexes = @Index(name = "idx_team_players_player_id", columnList = "player_id")
     )
     private Set<Player> players = new HashSet<>();
     
     private String teamName;
     private Integer yearCreated;
 
+    // Also bumped by roster changes, which are written to team_players directly
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Set on insert and by every update, including the bulk statements; sent as Last-Modified
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(nullable = false)
+    private Instant modifiedAt;
+
     // Helper methods for managing players
     public void addPlayer(Player player) {
         players.add(player);
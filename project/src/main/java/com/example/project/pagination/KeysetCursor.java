@@ -0,0 +1,33 @@
+package com.example.project.pagination;
+
+import org.springframework.data.domain.Sort;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token: the sort order of the page plus the sort value and id of its last row.
+ */
+public record KeysetCursor(String property, Sort.Direction direction, Integer lastId, String lastValue) {
+
+    private static final String VERSION = "k1";
+
+    public String encode() {
+        String raw = String.join("|", VERSION, property, direction.name(), String.valueOf(lastId),
+                lastValue == null ? "0" : "1", lastValue == null ? "" : lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String value = "1".equals(parts[4]) ? parts[5] : null;
+            return new KeysetCursor(parts[1], Sort.Direction.valueOf(parts[2]), Integer.valueOf(parts[3]), value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.project.pagination;
+
+import com.example.project.repository.specification.TextMatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Seek-method pagination: each page continues strictly after the (sort value, id) of the previous
+ * page's last row, so page N costs the same index range scan as page 1.
+ * NULL sort values are treated as the lowest values, matching MySQL and H2 ordering.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final PaginationProperties properties;
+    private final EntityManager entityManager;
+
+    public <T> KeysetPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                   String idProperty, Set<String> sortableProperties,
+                                   Integer limit, String cursor, String sort) {
+        PageQuery<T> page = plan(filter, idProperty, sortableProperties, limit, cursor, sort);
+        if (page.pageSize() == null) {
+            return new KeysetPage<>(repository.findAll(page.spec(), page.sort()), null);
+        }
+
+        int pageSize = page.pageSize();
+        List<T> rows = repository.findBy(page.spec(), q -> q.sortBy(page.sort()).limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        var accessor = PropertyAccessorFactory.forBeanPropertyAccess(items.get(pageSize - 1));
+        return new KeysetPage<>(items, cursorAfter((Integer) accessor.getPropertyValue(idProperty),
+            accessor.getPropertyValue(page.order().property()), page.order()));
+    }
+
+    /**
+     * Runs the same page query as {@link #fetch} but selects only the ids (and the sort column), so
+     * callers can tell which rows a page holds without loading them. The filter must not fetch joins.
+     */
+    public <T> KeysetPage<Integer> fetchIds(Class<T> type, Specification<T> filter, String idProperty,
+                                            Set<String> sortableProperties, Integer limit, String cursor, String sort) {
+        return fetchColumns(type, filter, idProperty, sortableProperties, List.of(), limit, cursor, sort)
+            .map(row -> row.get(0, Integer.class));
+    }
+
+    /**
+     * Runs the same page query as {@link #fetch} but selects only the id, the sort column and then the
+     * given properties, in that order. A dotted property ({@code coach.name}) is read through a left
+     * join. The filter must not fetch joins.
+     */
+    public <T> KeysetPage<Tuple> fetchColumns(Class<T> type, Specification<T> filter, String idProperty,
+                                              Set<String> sortableProperties, Collection<String> properties,
+                                              Integer limit, String cursor, String sort) {
+        PageQuery<T> page = plan(filter, idProperty, sortableProperties, limit, cursor, sort);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Predicate predicate = page.spec().toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(idProperty));
+        selections.add(root.get(page.order().property()));
+        Map<String, Join<T, ?>> joins = new HashMap<>();
+        for (String property : properties) {
+            int dot = property.indexOf('.');
+            Path<?> column = dot < 0
+                ? root.get(property)
+                : joins.computeIfAbsent(property.substring(0, dot), name -> root.join(name, JoinType.LEFT))
+                    .get(property.substring(dot + 1));
+            selections.add(column);
+        }
+        query.multiselect(selections);
+        query.orderBy(QueryUtils.toOrders(page.sort(), root, cb));
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (page.pageSize() != null) {
+            typed.setMaxResults(page.pageSize() + 1);
+        }
+
+        List<Tuple> rows = typed.getResultList();
+        if (page.pageSize() == null || rows.size() <= page.pageSize()) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Tuple> items = rows.subList(0, page.pageSize());
+        Tuple last = items.get(items.size() - 1);
+        return new KeysetPage<>(items, cursorAfter(last.get(0, Integer.class), last.get(1), page.order()));
+    }
+
+    /**
+     * Combines the pages {@link #fetch} returned for one request from databases holding disjoint rows
+     * into the page one database holding all of them would have returned. The arguments are those each
+     * page was fetched with. String sort keys are compared as {@link TextMatch#fold} sees them, as the
+     * databases' case- and accent-insensitive collation does; rows whose keys fold alike keep id order.
+     */
+    public <T> KeysetPage<T> mergeEntities(List<KeysetPage<T>> pages, String idProperty,
+                                           Set<String> sortableProperties, Integer limit, String cursor, String sort) {
+        Order order = parseSort(sort, idProperty, sortableProperties);
+        return merge(pages, order, pageSize(limit, cursor),
+            row -> (Integer) PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(idProperty),
+            row -> PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(order.property()));
+    }
+
+    /**
+     * As {@link #mergeEntities}, for pages returned by {@link #fetchColumns}.
+     */
+    public KeysetPage<Tuple> mergeColumns(List<KeysetPage<Tuple>> pages, String idProperty,
+                                          Set<String> sortableProperties, Integer limit, String cursor, String sort) {
+        return merge(pages, parseSort(sort, idProperty, sortableProperties), pageSize(limit, cursor),
+            row -> row.get(0, Integer.class), row -> row.get(1));
+    }
+
+    public <T> ResponseEntity<List<T>> toResponse(KeysetPage<T> page) {
+        return toResponse(page, null);
+    }
+
+    /**
+     * As {@link #toResponse(KeysetPage)}, with an ETag if one is given.
+     */
+    public <T> ResponseEntity<List<T>> toResponse(KeysetPage<T> page, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            // The tag is shared by every response format the Accept header can select
+            response.eTag(eTag).varyBy(HttpHeaders.ACCEPT);
+        }
+        if (page.nextCursor() == null) {
+            return response.body(page.items());
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("cursor", page.nextCursor())
+            .build()
+            .toUriString();
+        return response
+            .header(NEXT_CURSOR_HEADER, page.nextCursor())
+            .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+            .body(page.items());
+    }
+
+    private <T> PageQuery<T> plan(Specification<T> filter, String idProperty, Set<String> sortableProperties,
+                                  Integer limit, String cursor, String sort) {
+        Order order = parseSort(sort, idProperty, sortableProperties);
+        KeysetCursor after = cursor == null ? null : KeysetCursor.decode(cursor);
+        if (after != null && (!after.property().equals(order.property()) || after.direction() != order.direction())) {
+            throw new IllegalArgumentException("Cursor does not match sort " + order.property() + "," + order.direction());
+        }
+
+        Sort dbSort = Sort.by(order.direction(), order.property());
+        if (!order.property().equals(idProperty)) {
+            dbSort = dbSort.and(Sort.by(order.direction(), idProperty));
+        }
+        Specification<T> spec = after == null ? filter : filter.and(seek(idProperty, after));
+        return new PageQuery<>(spec, dbSort, order, pageSize(limit, cursor));
+    }
+
+    // null for an unpaged request
+    private Integer pageSize(Integer limit, String cursor) {
+        if (limit == null && cursor == null && properties.isUnpagedByDefault()) {
+            return null;
+        }
+        int pageSize = Math.min(limit == null ? properties.getDefaultPageSize() : limit, properties.getMaxPageSize());
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return pageSize;
+    }
+
+    /**
+     * Rows of the pages in sort order, cut to the page size. Each page holds its database's first rows
+     * after the cursor, so the first page size of them all are the rows a single table would have returned.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> KeysetPage<T> merge(List<KeysetPage<T>> pages, Order order, Integer pageSize,
+                                           Function<T, Integer> id, Function<T, Object> value) {
+        Comparator<Comparable> values = Comparator.nullsFirst(Comparator.naturalOrder());
+        Comparator<Keyed<T>> comparator = Comparator.<Keyed<T>, Comparable>comparing(Keyed::key, values)
+            .thenComparing(Keyed::id);
+        if (!order.direction().isAscending()) {
+            comparator = comparator.reversed();
+        }
+        List<Keyed<T>> rows = pages.stream()
+            .flatMap(page -> page.items().stream())
+            .map(row -> Keyed.of(row, id.apply(row), value.apply(row)))
+            .sorted(comparator)
+            .toList();
+        // A page with more rows behind it is full, so the merged rows then fill the page too
+        boolean more = pages.stream().anyMatch(page -> page.nextCursor() != null);
+        if (pageSize == null || (!more && rows.size() <= pageSize)) {
+            return new KeysetPage<>(rows.stream().map(Keyed::row).toList(), null);
+        }
+        List<Keyed<T>> items = rows.subList(0, pageSize);
+        Keyed<T> last = items.get(items.size() - 1);
+        return new KeysetPage<>(items.stream().map(Keyed::row).toList(), cursorAfter(last.id(), last.value(), order));
+    }
+
+    private static Order parseSort(String sort, String idProperty, Set<String> sortableProperties) {
+        if (sort == null || sort.isBlank()) {
+            return new Order(idProperty, Sort.Direction.ASC);
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!property.equals(idProperty) && !sortableProperties.contains(property)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        return new Order(property, direction);
+    }
+
+    private static String cursorAfter(Integer id, Object value, Order order) {
+        return new KeysetCursor(order.property(), order.direction(), id, value == null ? null : value.toString()).encode();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Specification<T> seek(String idProperty, KeysetCursor after) {
+        return (root, query, cb) -> {
+            boolean ascending = after.direction().isAscending();
+            Path<Integer> id = root.get(idProperty);
+            Predicate idAfter = ascending ? cb.greaterThan(id, after.lastId()) : cb.lessThan(id, after.lastId());
+            if (after.property().equals(idProperty)) {
+                return idAfter;
+            }
+
+            Path<Comparable> column = root.get(after.property());
+            if (after.lastValue() == null) {
+                return ascending
+                    ? cb.or(cb.isNotNull(column), cb.and(cb.isNull(column), idAfter))
+                    : cb.and(cb.isNull(column), idAfter);
+            }
+            Comparable value = parseValue(after.lastValue(), column.getJavaType());
+            Predicate beyond = ascending
+                ? cb.greaterThan(column, value)
+                : cb.or(cb.lessThan(column, value), cb.isNull(column));
+            return cb.or(beyond, cb.and(cb.equal(column, value), idAfter));
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parseValue(String value, Class<?> type) {
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        return value;
+    }
+
+    private record Order(String property, Sort.Direction direction) {
+    }
+
+    // pageSize is null for an unpaged request
+    private record PageQuery<T>(Specification<T> spec, Sort sort, Order order, Integer pageSize) {
+    }
+
+    // key is the value as the collation orders it: Java string order differs from it on case and accents
+    @SuppressWarnings("rawtypes")
+    private record Keyed<T>(T row, Integer id, Object value, Comparable key) {
+
+        static <T> Keyed<T> of(T row, Integer id, Object value) {
+            return new Keyed<>(row, id, value, value instanceof String text ? TextMatch.fold(text) : (Comparable) value);
+        }
+    }
+}
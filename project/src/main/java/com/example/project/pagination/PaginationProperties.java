@@ -0,0 +1,22 @@
+package com.example.project.pagination;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+    /** Page size used when a client asks for a page without giving a limit. */
+    private int defaultPageSize = 50;
+
+    /** Upper bound applied to any client supplied limit. */
+    private int maxPageSize = 500;
+
+    /**
+     * Compatibility flag: when enabled, list requests without limit or cursor
+     * return the whole filtered result like before pagination existed.
+     */
+    private boolean unpagedByDefault = true;
+}
@@ -0,0 +1,31 @@
+package com.example.project.reactive;
+
+import com.example.project.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveApiConfig {
+
+    @Bean
+    public ReactiveReadRepository reactiveReadRepository(ReactiveApiProperties properties, MeterRegistry registry) {
+        ReactiveReadRepository repository = new ReactiveReadRepository(properties);
+        Gauge.builder("app.reactive.connections.acquired", repository, ReactiveReadRepository::acquiredConnections)
+            .description("R2DBC connections in use by the reactive API")
+            .register(registry);
+        return repository;
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(ReactiveReadRepository repository, NameSearchIndex playerSearchIndex,
+                                               NameSearchIndex coachSearchIndex, ObjectMapper objectMapper,
+                                               ReactiveApiProperties properties) {
+        ReactiveReadHandler handler = new ReactiveReadHandler(repository, playerSearchIndex, coachSearchIndex);
+        return new ReactiveApiServer(handler.routes(), objectMapper, properties);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.project.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveApiProperties {
+
+    /** Serve the read-only reactive API on its own port, next to the MVC API. */
+    private boolean enabled = false;
+
+    /** Port of the reactive API; 0 picks a free one. */
+    private int port = 8081;
+
+    /** Event-loop threads accepting and serving reactive API connections. */
+    private int eventLoopThreads = 2;
+
+    /** R2DBC URL of the database the MVC API uses, e.g. r2dbc:mysql://localhost:3306/database. */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /** Maximum R2DBC connections held by the reactive API. */
+    private int maxConnections = 10;
+
+    /** Teams whose rosters are fetched with one query while a team list streams. */
+    private int teamBatchSize = 100;
+}
@@ -0,0 +1,73 @@
+package com.example.project.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty server for the reactive API, running beside the servlet container on its own port and
+ * its own small event-loop group. JSON goes through the application's {@link ObjectMapper}, so
+ * responses look the same as the MVC ones.
+ */
+@Slf4j
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private final RouterFunction<ServerResponse> routes;
+    private final ObjectMapper objectMapper;
+    private final ReactiveApiProperties properties;
+
+    private LoopResources loops;
+    private DisposableServer server;
+
+    public ReactiveApiServer(RouterFunction<ServerResponse> routes, ObjectMapper objectMapper,
+                             ReactiveApiProperties properties) {
+        this.routes = routes;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .build();
+        loops = LoopResources.create("reactive-api", 1, properties.getEventLoopThreads(), true);
+        server = HttpServer.create()
+            .port(properties.getPort())
+            .runOn(loops)
+            .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies)))
+            .bindNow();
+        log.info("Reactive API listening on port {} with {} event-loop threads", port(), properties.getEventLoopThreads());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow();
+            loops.disposeLater().block();
+            server = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public int port() {
+        return server.port();
+    }
+}
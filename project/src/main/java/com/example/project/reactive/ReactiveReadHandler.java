@@ -0,0 +1,154 @@
+package com.example.project.reactive;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.search.NameSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-only mirror of the GET endpoints of the MVC API. Lists stream as a JSON array, or as NDJSON
+ * when the client accepts {@code application/x-ndjson}; instead of cursor pages they take an optional
+ * {@code limit} and rely on backpressure.
+ */
+@RequiredArgsConstructor
+public class ReactiveReadHandler {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    private final ReactiveReadRepository repository;
+    private final NameSearchIndex playerSearchIndex;
+    private final NameSearchIndex coachSearchIndex;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+            .path("/api", api -> api
+                .GET("/players/search", this::searchPlayers)
+                .GET("/players/{id}", request -> one(request, repository::player, PlayerDto.Response.class))
+                .GET("/players", this::players)
+                .GET("/coaches/search", this::searchCoaches)
+                .GET("/coaches/{id}", request -> one(request, repository::coach, CoachDto.Response.class))
+                .GET("/coaches", this::coaches)
+                .GET("/teams/{id}", request -> one(request, repository::team, TeamDto.Response.class))
+                .GET("/teams", this::teams))
+            .build();
+    }
+
+    private Mono<ServerResponse> players(ServerRequest request) {
+        return list(request, PlayerDto.Response.class, () -> repository.players(
+            param(request, "name"), param(request, "surname"), param(request, "personalCode"),
+            match(request), limit(request)));
+    }
+
+    private Mono<ServerResponse> coaches(ServerRequest request) {
+        return list(request, CoachDto.Response.class, () -> repository.coaches(
+            param(request, "name"), param(request, "surname"), param(request, "licenseId"),
+            param(request, "personalCode"), match(request), limit(request)));
+    }
+
+    private Mono<ServerResponse> teams(ServerRequest request) {
+        return list(request, TeamDto.Response.class, () -> repository.teams(
+            param(request, "teamName"), integer(request, "yearCreated"), integer(request, "coachId"),
+            integer(request, "playerId"), match(request), limit(request)));
+    }
+
+    private Mono<ServerResponse> searchPlayers(ServerRequest request) {
+        return search(request, PlayerDto.Response.class, playerSearchIndex, repository::players,
+            repository::searchPlayers);
+    }
+
+    private Mono<ServerResponse> searchCoaches(ServerRequest request) {
+        return search(request, CoachDto.Response.class, coachSearchIndex, repository::coaches,
+            repository::searchCoaches);
+    }
+
+    private <T> Mono<ServerResponse> search(ServerRequest request, Class<T> type, NameSearchIndex index,
+                                            Function<List<Integer>, Flux<T>> byIds,
+                                            SqlSearch<T> fallback) {
+        String query = param(request, "q");
+        Integer limit;
+        try {
+            limit = Optional.ofNullable(integer(request, "limit")).orElse(DEFAULT_SEARCH_LIMIT);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        if (query == null || query.isBlank() || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return ServerResponse.badRequest().build();
+        }
+        // The index lookup is in-memory; only the row fetch touches the database
+        Flux<T> results = index.search(query, limit)
+            .map(byIds)
+            .orElseGet(() -> fallback.search(query, limit));
+        return ServerResponse.ok().contentType(listType(request)).body(results, type);
+    }
+
+    private <T> Mono<ServerResponse> list(ServerRequest request, Class<T> type, Supplier<Flux<T>> query) {
+        Flux<T> results;
+        try {
+            results = query.get();
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return ServerResponse.ok().contentType(listType(request)).body(results, type);
+    }
+
+    private static <T> Mono<ServerResponse> one(ServerRequest request, Function<Integer, Mono<T>> lookup, Class<T> type) {
+        int id;
+        try {
+            id = Integer.parseInt(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return lookup.apply(id)
+            .flatMap(value -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(value))
+            .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private static MediaType listType(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+            ? MediaType.APPLICATION_NDJSON
+            : MediaType.APPLICATION_JSON;
+    }
+
+    private static String param(ServerRequest request, String name) {
+        return request.queryParam(name).orElse(null);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the parameter is present but not a number
+     */
+    private static Integer integer(ServerRequest request, String name) {
+        String value = param(request, name);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private static TextMatch match(ServerRequest request) {
+        return TextMatch.valueOf(request.queryParam("match").orElse(TextMatch.CONTAINS.name()));
+    }
+
+    private static Integer limit(ServerRequest request) {
+        Integer limit = integer(request, "limit");
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return limit;
+    }
+
+    @FunctionalInterface
+    private interface SqlSearch<T> {
+        Flux<T> search(String query, int limit);
+    }
+}
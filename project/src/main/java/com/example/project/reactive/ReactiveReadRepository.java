@@ -0,0 +1,314 @@
+package com.example.project.reactive;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.repository.specification.TextMatch;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only queries over R2DBC returning the same response DTOs as the MVC services. Lists are
+ * ordered by id and emitted as rows arrive, so a slow client slows the query down instead of
+ * buffering the result.
+ *
+ * <p>The connection pool is owned here rather than exposed as a {@code ConnectionFactory} bean, which
+ * would make Spring Boot switch off the JDBC {@code DataSource} the rest of the application uses.
+ */
+public class ReactiveReadRepository implements DisposableBean {
+
+    private static final char ESCAPE = '!';
+    private static final String PLAYER_COLUMNS = "p.id, p.name, p.surname, p.date_of_birth, p.personal_code, p.version";
+    private static final String COACH_COLUMNS = "c.id, c.name, c.surname, c.coaching_from, c.license_id, c.personal_code, c.version";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final int teamBatchSize;
+
+    public ReactiveReadRepository(ReactiveApiProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+            .initialSize(0)
+            .maxSize(properties.getMaxConnections())
+            .build());
+        this.client = DatabaseClient.create(pool);
+        this.teamBatchSize = properties.getTeamBatchSize();
+    }
+
+    public Flux<PlayerDto.Response> players(String name, String surname, String personalCode, TextMatch match,
+                                            Integer limit) {
+        Where where = new Where()
+            .like("p.name", name, match)
+            .like("p.surname", surname, match)
+            .equal("p.personal_code", personalCode);
+        return where.query(client, "SELECT " + PLAYER_COLUMNS + " FROM player p", "p.id", limit)
+            .map(row -> player(row))
+            .all();
+    }
+
+    public Mono<PlayerDto.Response> player(int id) {
+        return client.sql("SELECT " + PLAYER_COLUMNS + " FROM player p WHERE p.id = :id")
+            .bind("id", id)
+            .map(row -> player(row))
+            .one();
+    }
+
+    /**
+     * Players in the order of {@code ids}, skipping ids that no longer exist.
+     */
+    public Flux<PlayerDto.Response> players(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return client.sql("SELECT " + PLAYER_COLUMNS + " FROM player p WHERE p.id IN (:ids)")
+            .bind("ids", ids)
+            .map(row -> player(row))
+            .all()
+            .collectMap(PlayerDto.Response::getId)
+            .flatMapIterable(byId -> inOrder(ids, byId));
+    }
+
+    /**
+     * Typeahead without the name index: every whitespace-separated token must occur in the name or surname.
+     */
+    public Flux<PlayerDto.Response> searchPlayers(String text, int limit) {
+        return new Where().tokens("p.name", "p.surname", text)
+            .query(client, "SELECT " + PLAYER_COLUMNS + " FROM player p", "p.id", limit)
+            .map(row -> player(row))
+            .all();
+    }
+
+    public Flux<CoachDto.Response> coaches(String name, String surname, String licenseId, String personalCode,
+                                           TextMatch match, Integer limit) {
+        Where where = new Where()
+            .like("c.name", name, match)
+            .like("c.surname", surname, match)
+            .equal("c.license_id", licenseId)
+            .equal("c.personal_code", personalCode);
+        return where.query(client, "SELECT " + COACH_COLUMNS + " FROM coach c", "c.id", limit)
+            .map(row -> coach(row))
+            .all();
+    }
+
+    public Mono<CoachDto.Response> coach(int id) {
+        return client.sql("SELECT " + COACH_COLUMNS + " FROM coach c WHERE c.id = :id")
+            .bind("id", id)
+            .map(row -> coach(row))
+            .one();
+    }
+
+    /**
+     * Coaches in the order of {@code ids}, skipping ids that no longer exist.
+     */
+    public Flux<CoachDto.Response> coaches(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return client.sql("SELECT " + COACH_COLUMNS + " FROM coach c WHERE c.id IN (:ids)")
+            .bind("ids", ids)
+            .map(row -> coach(row))
+            .all()
+            .collectMap(CoachDto.Response::getId)
+            .flatMapIterable(byId -> inOrder(ids, byId));
+    }
+
+    public Flux<CoachDto.Response> searchCoaches(String text, int limit) {
+        return new Where().tokens("c.name", "c.surname", text)
+            .query(client, "SELECT " + COACH_COLUMNS + " FROM coach c", "c.id", limit)
+            .map(row -> coach(row))
+            .all();
+    }
+
+    /**
+     * Teams with their coach, streamed in batches of {@code teamBatchSize}; each batch costs one roster query.
+     */
+    public Flux<TeamDto.Response> teams(String teamName, Integer yearCreated, Integer coachId, Integer playerId,
+                                        TextMatch match, Integer limit) {
+        Where where = new Where()
+            .like("t.team_name", teamName, match)
+            .equal("t.year_created", yearCreated)
+            .equal("t.coach_id", coachId);
+        if (playerId != null) {
+            where.clause("EXISTS (SELECT 1 FROM team_players tp WHERE tp.team_id = t.team_id AND tp.player_id = :playerId)",
+                "playerId", playerId);
+        }
+        return where.query(client, teamSelect(), "t.team_id", limit)
+            .map(row -> team(row))
+            .all()
+            .buffer(teamBatchSize)
+            .concatMap(this::withRosters);
+    }
+
+    public Mono<TeamDto.Response> team(int id) {
+        return client.sql(teamSelect() + " WHERE t.team_id = :id")
+            .bind("id", id)
+            .map(row -> team(row))
+            .one()
+            .flatMap(team -> withRosters(List.of(team)).next());
+    }
+
+    /**
+     * Connections currently checked out of the R2DBC pool.
+     */
+    public int acquiredConnections() {
+        return pool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private Flux<TeamDto.Response> withRosters(List<TeamDto.Response> teams) {
+        Map<Integer, TeamDto.Response> byId = new LinkedHashMap<>();
+        for (TeamDto.Response team : teams) {
+            team.setPlayers(new LinkedHashSet<>());
+            byId.put(team.getTeamId(), team);
+        }
+        return client.sql("SELECT tp.team_id, " + PLAYER_COLUMNS + " FROM team_players tp"
+                + " JOIN player p ON p.id = tp.player_id WHERE tp.team_id IN (:teamIds) ORDER BY tp.team_id, p.id")
+            .bind("teamIds", byId.keySet())
+            .map(row -> Map.entry(row.get("team_id", Integer.class), player(row)))
+            .all()
+            .doOnNext(entry -> byId.get(entry.getKey()).getPlayers().add(entry.getValue()))
+            .thenMany(Flux.fromIterable(byId.values()));
+    }
+
+    private static String teamSelect() {
+        return "SELECT t.team_id, t.team_name, t.year_created, t.version, c.id AS coach_id, c.name AS coach_name,"
+            + " c.surname AS coach_surname, c.coaching_from, c.license_id, c.personal_code AS coach_personal_code,"
+            + " c.version AS coach_version"
+            + " FROM team t LEFT JOIN coach c ON c.id = t.coach_id";
+    }
+
+    private static PlayerDto.Response player(Readable row) {
+        PlayerDto.Response dto = new PlayerDto.Response();
+        dto.setId(row.get("id", Integer.class));
+        dto.setName(row.get("name", String.class));
+        dto.setSurname(row.get("surname", String.class));
+        dto.setDateOfBirth(row.get("date_of_birth", LocalDate.class));
+        dto.setPersonalCode(row.get("personal_code", String.class));
+        dto.setVersion(row.get("version", Long.class));
+        return dto;
+    }
+
+    private static CoachDto.Response coach(Readable row) {
+        CoachDto.Response dto = new CoachDto.Response();
+        dto.setId(row.get("id", Integer.class));
+        dto.setName(row.get("name", String.class));
+        dto.setSurname(row.get("surname", String.class));
+        dto.setCoachingFrom(row.get("coaching_from", LocalDate.class));
+        dto.setLicenseId(row.get("license_id", String.class));
+        dto.setPersonalCode(row.get("personal_code", String.class));
+        dto.setVersion(row.get("version", Long.class));
+        return dto;
+    }
+
+    private static TeamDto.Response team(Readable row) {
+        TeamDto.Response dto = new TeamDto.Response();
+        dto.setTeamId(row.get("team_id", Integer.class));
+        dto.setTeamName(row.get("team_name", String.class));
+        dto.setYearCreated(row.get("year_created", Integer.class));
+        dto.setVersion(row.get("version", Long.class));
+        Integer coachId = row.get("coach_id", Integer.class);
+        if (coachId != null) {
+            CoachDto.Response coach = new CoachDto.Response();
+            coach.setId(coachId);
+            coach.setName(row.get("coach_name", String.class));
+            coach.setSurname(row.get("coach_surname", String.class));
+            coach.setCoachingFrom(row.get("coaching_from", LocalDate.class));
+            coach.setLicenseId(row.get("license_id", String.class));
+            coach.setPersonalCode(row.get("coach_personal_code", String.class));
+            coach.setVersion(row.get("coach_version", Long.class));
+            dto.setCoach(coach);
+        }
+        return dto;
+    }
+
+    private static <T> List<T> inOrder(Collection<Integer> ids, Map<Integer, T> byId) {
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (Integer id : ids) {
+            T value = byId.get(id);
+            if (value != null) {
+                ordered.add(value);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * WHERE clause with named binds, mirroring the JPA specifications of the MVC list endpoints.
+     */
+    private static final class Where {
+
+        private final List<String> clauses = new ArrayList<>();
+        private final Map<String, Object> binds = new HashMap<>();
+
+        Where like(String column, String value, TextMatch match) {
+            return value == null ? this : clause(column + " LIKE :" + bindName(column)
+                + " ESCAPE '" + ESCAPE + "'", bindName(column), match.pattern(value, ESCAPE));
+        }
+
+        Where equal(String column, Object value) {
+            return value == null ? this : clause(column + " = :" + bindName(column), bindName(column), value);
+        }
+
+        Where tokens(String nameColumn, String surnameColumn, String text) {
+            String[] tokens = text.trim().split("\\s+");
+            for (int i = 0; i < tokens.length; i++) {
+                clause("(" + nameColumn + " LIKE :token" + i + " ESCAPE '" + ESCAPE + "' OR "
+                    + surnameColumn + " LIKE :token" + i + " ESCAPE '" + ESCAPE + "')",
+                    "token" + i, TextMatch.CONTAINS.pattern(tokens[i], ESCAPE));
+            }
+            return this;
+        }
+
+        Where clause(String clause, String bindName, Object value) {
+            clauses.add(clause);
+            binds.put(bindName, value);
+            return this;
+        }
+
+        DatabaseClient.GenericExecuteSpec query(DatabaseClient client, String select, String orderBy, Integer limit) {
+            StringBuilder sql = new StringBuilder(select);
+            if (!clauses.isEmpty()) {
+                sql.append(" WHERE ").append(String.join(" AND ", clauses));
+            }
+            sql.append(" ORDER BY ").append(orderBy);
+            if (limit != null) {
+                sql.append(" LIMIT ").append(limit);
+            }
+            DatabaseClient.GenericExecuteSpec spec = client.sql(sql.toString());
+            for (Map.Entry<String, Object> bind : binds.entrySet()) {
+                spec = spec.bind(bind.getKey(), bind.getValue());
+            }
+            return spec;
+        }
+
+        private static String bindName(String column) {
+            return column.substring(column.indexOf('.') + 1).replace("_", "");
+        }
+    }
+}
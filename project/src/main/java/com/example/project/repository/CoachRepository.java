@@ -1,7 +1,48 @@
 package com.example.project.repository;
 
 import com.example.project.model.Coach;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.NameEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface CoachRepository extends JpaRepository<Coach, Integer> {
-} 
\ No newline at end of file
+public interface CoachRepository extends JpaRepository<Coach, Integer>, JpaSpecificationExecutor<Coach> {
+
+    @Query("select c.id from Coach c where c.id in :ids")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+
+    @Query("select new com.example.project.repository.projection.NameEntry(c.id, c.name, c.surname) "
+        + "from Coach c where c.id in :ids")
+    List<NameEntry> findNames(Collection<Integer> ids);
+
+    @Query("select c.version from Coach c where c.id = :id")
+    Optional<Long> findVersion(Integer id);
+
+    @Query("select new com.example.project.repository.projection.EntityRevision(c.id, c.version, c.modifiedAt) "
+        + "from Coach c where c.id in :ids")
+    List<EntityRevision> findRevisions(Collection<Integer> ids);
+
+    /**
+     * Overwrites the coach and bumps its version in one statement, provided the stored version is
+     * {@code expectedVersion}; a null {@code expectedVersion} matches any.
+     *
+     * @return 1, or 0 if the coach does not exist or its version differs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Coach c set c.name = :name, c.surname = :surname, c.coachingFrom = :coachingFrom, "
+        + "c.licenseId = :licenseId, c.personalCode = :personalCode, c.version = c.version + 1, c.modifiedAt = :modifiedAt "
+        + "where c.id = :id and (:expectedVersion is null or c.version = :expectedVersion)")
+    int update(Integer id, Long expectedVersion, String name, String surname, LocalDate coachingFrom,
+               String licenseId, String personalCode, Instant modifiedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Coach c where c.id in :ids")
+    int deleteByIds(Collection<Integer> ids);
+}
@@ -0,0 +1,243 @@
+package com.example.project.repository;
+
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.pagination.KeysetPaginator;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.NameEntry;
+import com.example.project.repository.projection.RosterEntry;
+import com.example.project.repository.projection.TeamRevision;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.search.NameSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Players in the application database, next to the teams they belong to, so roster reads and writes
+ * join {@code team_players} to {@code player} in one statement.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class JpaPlayerStore implements PlayerStore {
+
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final KeysetPaginator paginator;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Player> findById(Integer id) {
+        return playerRepository.findById(id);
+    }
+
+    @Override
+    public List<Player> findAllById(Collection<Integer> ids) {
+        return playerRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Integer> findExistingIds(Collection<Integer> ids) {
+        return playerRepository.findExistingIds(ids);
+    }
+
+    @Override
+    public List<NameEntry> findNames(Collection<Integer> ids) {
+        return playerRepository.findNames(ids);
+    }
+
+    @Override
+    public void scanNames(int fetchSize, Consumer<NameEntry> action) {
+        NameSearchIndex.table(jdbcTemplate, "player").scan(fetchSize, action);
+    }
+
+    @Override
+    public void scanPlayers(int fetchSize, Consumer<Player> action) {
+        scan(jdbcTemplate, fetchSize, action);
+    }
+
+    @Override
+    public SortedMap<Integer, Long> countByBirthYear() {
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        playerRepository.countByBirthYear().forEach(row ->
+            counts.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue()));
+        return counts;
+    }
+
+    @Override
+    public Optional<Long> findVersion(Integer id) {
+        return playerRepository.findVersion(id);
+    }
+
+    @Override
+    public Map<String, Integer> findIdsByPersonalCode(Collection<String> codes) {
+        Map<String, Integer> ids = new HashMap<>();
+        playerRepository.findIdsByPersonalCode(codes).forEach(row ->
+            ids.merge(TextMatch.fold((String) row[1]), ((Number) row[0]).intValue(), Math::min));
+        return ids;
+    }
+
+    @Override
+    public List<Player> findFirst(Specification<Player> filter, int limit) {
+        return playerRepository.findBy(filter, q -> q.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    @Override
+    public KeysetPage<Player> findAll(Specification<Player> filter, Set<String> sortKeys, Integer limit,
+                                      String cursor, String sort) {
+        return paginator.fetch(playerRepository, filter, "id", sortKeys, limit, cursor, sort);
+    }
+
+    @Override
+    public KeysetPage<Tuple> findColumns(Specification<Player> filter, Set<String> sortKeys, List<String> properties,
+                                         Integer limit, String cursor, String sort) {
+        return paginator.fetchColumns(Player.class, filter, "id", sortKeys, properties, limit, cursor, sort);
+    }
+
+    @Override
+    public KeysetPage<EntityRevision> findRevisions(Specification<Player> filter, Set<String> sortKeys,
+                                                    Integer limit, String cursor, String sort) {
+        KeysetPage<Integer> ids = paginator.fetchIds(Player.class, filter, "id", sortKeys, limit, cursor, sort);
+        Map<Integer, EntityRevision> byId = new HashMap<>();
+        playerRepository.findRevisions(ids.items()).forEach(revision -> byId.put(revision.id(), revision));
+        return new KeysetPage<>(ids.items().stream().map(byId::get).filter(Objects::nonNull).toList(), ids.nextCursor());
+    }
+
+    @Override
+    public Player insert(Player player) {
+        return playerRepository.save(player);
+    }
+
+    // IDENTITY ids stop Hibernate from batching inserts, so the batch is written with JDBC
+    @Override
+    public List<Integer> insertAll(List<Player> players) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(
+                "INSERT INTO player (name, surname, date_of_birth, personal_code) VALUES (?, ?, ?, ?)", new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, players.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return players.size();
+                }
+            }, keys);
+        return keys.getKeyList().stream().map(key -> ((Number) key.values().iterator().next()).intValue()).toList();
+    }
+
+    @Override
+    public void updateAll(List<Player> players) {
+        jdbcTemplate.batchUpdate("UPDATE player SET name = ?, surname = ?, date_of_birth = ?, personal_code = ?, "
+                + "version = version + 1, modified_at = CURRENT_TIMESTAMP(6) WHERE id = ?", players, players.size(),
+            (ps, player) -> {
+                bind(ps, player);
+                ps.setInt(5, player.getId());
+            });
+    }
+
+    @Override
+    public int update(Integer id, Long expectedVersion, String name, String surname, LocalDate dateOfBirth,
+                      String personalCode, Instant modifiedAt) {
+        return playerRepository.update(id, expectedVersion, name, surname, dateOfBirth, personalCode, modifiedAt);
+    }
+
+    @Override
+    public int deleteByIds(Collection<Integer> ids) {
+        return playerRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public List<RosterEntry> findRosters(Collection<Integer> teamIds) {
+        return teamRepository.findRosters(teamIds);
+    }
+
+    @Override
+    public List<Object[]> findRosterColumns(Collection<Integer> teamIds, List<String> properties) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Team> team = query.from(Team.class);
+        Join<Team, Player> player = team.join("players");
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(team.get("teamId"));
+        selections.add(player.get("id"));
+        properties.forEach(property -> selections.add(player.get(property)));
+        query.multiselect(selections)
+            .where(team.get("teamId").in(teamIds))
+            .orderBy(cb.asc(player.get("id")));
+        return entityManager.createQuery(query).getResultList().stream().map(Tuple::toArray).toList();
+    }
+
+    @Override
+    public List<TeamRevision> findTeamRevisions(Collection<Integer> teamIds) {
+        return teamRepository.findRevisions(teamIds);
+    }
+
+    @Override
+    public int addToTeam(Integer teamId, Collection<Integer> playerIds) {
+        return teamRepository.addPlayers(teamId, playerIds);
+    }
+
+    /**
+     * Reads every row of the player table {@code jdbcTemplate} is connected to, in id order.
+     */
+    public static void scan(JdbcTemplate jdbcTemplate, int fetchSize, Consumer<Player> action) {
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("SELECT id, name, surname, date_of_birth, personal_code, version, "
+                + "modified_at FROM player ORDER BY id");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            Player player = new Player();
+            player.setId(rs.getInt(1));
+            player.setName(rs.getString(2));
+            player.setSurname(rs.getString(3));
+            player.setDateOfBirth(rs.getObject(4, LocalDate.class));
+            player.setPersonalCode(rs.getString(5));
+            player.setVersion(rs.getLong(6));
+            Timestamp modifiedAt = rs.getTimestamp(7);
+            player.setModifiedAt(modifiedAt == null ? null : modifiedAt.toInstant());
+            action.accept(player);
+        });
+    }
+
+    private static void bind(PreparedStatement ps, Player player) throws SQLException {
+        ps.setString(1, player.getName());
+        ps.setString(2, player.getSurname());
+        ps.setObject(3, player.getDateOfBirth());
+        ps.setString(4, player.getPersonalCode());
+    }
+}
@@ -1,7 +1,67 @@
 package com.example.project.repository;
 
 import com.example.project.model.Player;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.NameEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface PlayerRepository extends JpaRepository<Player, Integer> {
-} 
\ No newline at end of file
+public interface PlayerRepository extends JpaRepository<Player, Integer>, JpaSpecificationExecutor<Player> {
+
+    @Query("select p.id from Player p where p.id in :ids")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+
+    @Query("select new com.example.project.repository.projection.NameEntry(p.id, p.name, p.surname) "
+        + "from Player p where p.id in :ids")
+    List<NameEntry> findNames(Collection<Integer> ids);
+
+    /**
+     * Id and personal code of the players holding the given codes, as the collation matches them.
+     */
+    @Query(value = "SELECT id, personal_code FROM player WHERE personal_code IN (:codes)", nativeQuery = true)
+    List<Object[]> findIdsByPersonalCode(Collection<String> codes);
+
+    @Query(value = "SELECT YEAR(date_of_birth), COUNT(*) FROM player WHERE date_of_birth IS NOT NULL "
+        + "GROUP BY YEAR(date_of_birth)", nativeQuery = true)
+    List<Object[]> countByBirthYear();
+
+    @Query("select p.version from Player p where p.id = :id")
+    Optional<Long> findVersion(Integer id);
+
+    @Query("select new com.example.project.repository.projection.EntityRevision(p.id, p.version, p.modifiedAt) "
+        + "from Player p where p.id in :ids")
+    List<EntityRevision> findRevisions(Collection<Integer> ids);
+
+    /**
+     * Overwrites the player and bumps its version in one statement, provided the stored version is
+     * {@code expectedVersion}; a null {@code expectedVersion} matches any.
+     *
+     * @return 1, or 0 if the player does not exist or its version differs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Player p set p.name = :name, p.surname = :surname, p.dateOfBirth = :dateOfBirth, "
+        + "p.personalCode = :personalCode, p.version = p.version + 1, p.modifiedAt = :modifiedAt "
+        + "where p.id = :id and (:expectedVersion is null or p.version = :expectedVersion)")
+    int update(Integer id, Long expectedVersion, String name, String surname, LocalDate dateOfBirth,
+               String personalCode, Instant modifiedAt);
+
+    /**
+     * Inserts a player under an id allocated by the caller, for tables without an identity column.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO player (id, name, surname, date_of_birth, personal_code, version, modified_at) "
+        + "VALUES (:id, :name, :surname, :dateOfBirth, :personalCode, 0, :modifiedAt)", nativeQuery = true)
+    int insert(Integer id, String name, String surname, LocalDate dateOfBirth, String personalCode,
+               Instant modifiedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Player p where p.id in :ids")
+    int deleteByIds(Collection<Integer> ids);
+}
@@ -0,0 +1,136 @@
+package com.example.project.repository;
+
+import com.example.project.model.Player;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.NameEntry;
+import com.example.project.repository.projection.RosterEntry;
+import com.example.project.repository.projection.TeamRevision;
+import com.example.project.repository.specification.TextMatch;
+import jakarta.persistence.Tuple;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+/**
+ * Every read and write of player rows, including the parts of roster queries that read them. Players
+ * live in the application database ({@link JpaPlayerStore}) or, with {@code app.sharding.enabled}, are
+ * spread over several databases by id; callers do not need to know which.
+ *
+ * <p>List methods take the arguments of {@link com.example.project.pagination.KeysetPaginator} and
+ * return the same page it would for a single table.
+ */
+public interface PlayerStore {
+
+    Optional<Player> findById(Integer id);
+
+    /**
+     * Players with the given ids, in no particular order; ids that are not players are skipped.
+     */
+    List<Player> findAllById(Collection<Integer> ids);
+
+    List<Integer> findExistingIds(Collection<Integer> ids);
+
+    List<NameEntry> findNames(Collection<Integer> ids);
+
+    /**
+     * Passes the names of every player to {@code action}, one at a time, reading {@code fetchSize} rows
+     * per round trip.
+     */
+    void scanNames(int fetchSize, Consumer<NameEntry> action);
+
+    /**
+     * Passes every player to {@code action}, one at a time, reading {@code fetchSize} rows per round trip.
+     * The players come in id order from each database holding them, one database after another.
+     */
+    void scanPlayers(int fetchSize, Consumer<Player> action);
+
+    /**
+     * The number of players born in each year, counted from the player rows; players without a date of
+     * birth are left out.
+     */
+    SortedMap<Integer, Long> countByBirthYear();
+
+    Optional<Long> findVersion(Integer id);
+
+    /**
+     * Ids of the players holding the given personal codes, keyed by the code {@link TextMatch#fold folded}
+     * as the collation compares it. Where several players match one code the lowest id is given.
+     */
+    Map<String, Integer> findIdsByPersonalCode(Collection<String> codes);
+
+    /**
+     * The first {@code limit} matching players by id.
+     */
+    List<Player> findFirst(Specification<Player> filter, int limit);
+
+    KeysetPage<Player> findAll(Specification<Player> filter, Set<String> sortKeys, Integer limit, String cursor,
+                               String sort);
+
+    /**
+     * As {@link #findAll}, selecting the id, the sort column and then the given properties.
+     */
+    KeysetPage<Tuple> findColumns(Specification<Player> filter, Set<String> sortKeys, List<String> properties,
+                                  Integer limit, String cursor, String sort);
+
+    /**
+     * Versions of the players on the page {@link #findAll} would return, read without loading them.
+     */
+    KeysetPage<EntityRevision> findRevisions(Specification<Player> filter, Set<String> sortKeys, Integer limit,
+                                             String cursor, String sort);
+
+    /**
+     * Stores a new player and assigns its id, version and modification time.
+     */
+    Player insert(Player player);
+
+    /**
+     * Stores new players in one batch per database and returns their ids, in the order given.
+     */
+    List<Integer> insertAll(List<Player> players);
+
+    /**
+     * Overwrites the fields of the given players by id in one batch per database, whatever version they
+     * are at, and bumps their versions.
+     */
+    void updateAll(List<Player> players);
+
+    /**
+     * @see PlayerRepository#update
+     */
+    int update(Integer id, Long expectedVersion, String name, String surname, LocalDate dateOfBirth,
+               String personalCode, Instant modifiedAt);
+
+    int deleteByIds(Collection<Integer> ids);
+
+    /**
+     * The players of the given teams, one entry per membership.
+     */
+    List<RosterEntry> findRosters(Collection<Integer> teamIds);
+
+    /**
+     * The given properties of the players of the given teams, one row per membership holding the team id,
+     * the player id and then the properties, ordered by player id.
+     */
+    List<Object[]> findRosterColumns(Collection<Integer> teamIds, List<String> properties);
+
+    /**
+     * @see TeamRepository#findRevisions
+     */
+    List<TeamRevision> findTeamRevisions(Collection<Integer> teamIds);
+
+    /**
+     * Adds the given players to the team's roster, skipping ids that are members already or not players.
+     * The caller holds the team's row lock.
+     *
+     * @return the number of memberships added
+     */
+    int addToTeam(Integer teamId, Collection<Integer> playerIds);
+}
@@ -1,7 +1,115 @@
 package com.example.project.repository;
 
+import com.example.project.model.Coach;
 import com.example.project.model.Team;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.RosterEntry;
+import com.example.project.repository.projection.TeamRevision;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface TeamRepository extends JpaRepository<Team, Integer> {
-} 
\ No newline at end of file
+public interface TeamRepository extends JpaRepository<Team, Integer>, JpaSpecificationExecutor<Team> {
+
+    @EntityGraph(attributePaths = "coach")
+    Optional<Team> findWithCoachByTeamId(Integer teamId);
+
+    @Query("select new com.example.project.repository.projection.RosterEntry("
+        + "t.teamId, p.id, p.name, p.surname, p.dateOfBirth, p.personalCode, p.version, p.modifiedAt) "
+        + "from Team t join t.players p where t.teamId in :teamIds")
+    List<RosterEntry> findRosters(Collection<Integer> teamIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM team_players WHERE player_id IN (:playerIds)", nativeQuery = true)
+    int removePlayersFromAllTeams(Collection<Integer> playerIds);
+
+    /**
+     * Bumps the version of every team the given players belong to. Run before their memberships are
+     * removed, which changes those teams without touching their rows.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE team SET version = version + 1, modified_at = :modifiedAt "
+        + "WHERE team_id IN (SELECT team_id FROM team_players WHERE player_id IN (:playerIds))", nativeQuery = true)
+    int touchTeamsWithPlayers(Collection<Integer> playerIds, Instant modifiedAt);
+
+    @Query(value = "SELECT DISTINCT team_id FROM team_players WHERE player_id IN (:playerIds)", nativeQuery = true)
+    List<Integer> findTeamIdsWithPlayers(Collection<Integer> playerIds);
+
+    @Query(value = "SELECT player_id FROM team_players WHERE team_id = :teamId", nativeQuery = true)
+    List<Integer> findAllMemberIds(Integer teamId);
+
+    @Query(value = "SELECT player_id FROM team_players WHERE team_id = :teamId AND player_id IN (:playerIds)",
+        nativeQuery = true)
+    List<Integer> findMemberIds(Integer teamId, Collection<Integer> playerIds);
+
+    /**
+     * Team and player id of each membership of the given teams, without reading the players.
+     */
+    @Query(value = "SELECT team_id, player_id FROM team_players WHERE team_id IN (:teamIds)", nativeQuery = true)
+    List<Object[]> findMemberships(Collection<Integer> teamIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO team_players (team_id, player_id) "
+        + "SELECT :teamId, p.id FROM player p WHERE p.id IN (:playerIds) "
+        + "AND NOT EXISTS (SELECT 1 FROM team_players tp WHERE tp.team_id = :teamId AND tp.player_id = p.id)",
+        nativeQuery = true)
+    int addPlayers(Integer teamId, Collection<Integer> playerIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM team_players WHERE team_id = :teamId AND player_id IN (:playerIds)", nativeQuery = true)
+    int removePlayers(Integer teamId, Collection<Integer> playerIds);
+
+    @Query("select t.version from Team t where t.teamId = :id")
+    Optional<Long> findVersion(Integer id);
+
+    @Query("select new com.example.project.repository.projection.EntityRevision(t.teamId, t.version, t.modifiedAt) "
+        + "from Team t where t.teamId in :ids")
+    List<EntityRevision> findVersions(Collection<Integer> ids);
+
+    /**
+     * Aggregates over each team's coach and roster in one statement, without loading any of them.
+     */
+    @Query("select new com.example.project.repository.projection.TeamRevision(t.teamId, t.version, t.modifiedAt, "
+        + "c.version, c.modifiedAt, coalesce(sum(p.version), 0L), max(p.modifiedAt)) "
+        + "from Team t left join t.coach c left join t.players p where t.teamId in :ids "
+        + "group by t.teamId, t.version, t.modifiedAt, c.version, c.modifiedAt")
+    List<TeamRevision> findRevisions(Collection<Integer> ids);
+
+    /**
+     * Reads the team's version and locks its row until the transaction ends, so roster changes to one
+     * team run one after another.
+     */
+    @Query(value = "SELECT version FROM team WHERE team_id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockVersion(Integer id);
+
+    /**
+     * Overwrites the team's own columns and bumps its version in one statement, provided the stored
+     * version is {@code expectedVersion}; a null {@code expectedVersion} matches any.
+     *
+     * @return 1, or 0 if the team does not exist or its version differs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Team t set t.teamName = :teamName, t.yearCreated = :yearCreated, t.coach = :coach, "
+        + "t.version = t.version + 1, t.modifiedAt = :modifiedAt "
+        + "where t.teamId = :id and (:expectedVersion is null or t.version = :expectedVersion)")
+    int update(Integer id, Long expectedVersion, String teamName, Integer yearCreated, Coach coach,
+               Instant modifiedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Team t set t.version = t.version + 1, t.modifiedAt = :modifiedAt where t.teamId = :id")
+    int incrementVersion(Integer id, Instant modifiedAt);
+
+    @Query(value = "SELECT team_id FROM team WHERE coach_id IN (:coachIds)", nativeQuery = true)
+    List<Integer> findTeamIdsWithCoaches(Collection<Integer> coachIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Team t set t.coach = null, t.version = t.version + 1, t.modifiedAt = :modifiedAt "
+        + "where t.coach.id in :coachIds")
+    int clearCoach(Collection<Integer> coachIds, Instant modifiedAt);
+}
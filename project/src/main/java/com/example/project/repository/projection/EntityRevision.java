@@ -0,0 +1,9 @@
+package com.example.project.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Version and modification time of one row, read without loading the entity.
+ */
+public record EntityRevision(Integer id, Long version, Instant modifiedAt) {
+}
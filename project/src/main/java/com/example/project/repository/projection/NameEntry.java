@@ -0,0 +1,7 @@
+package com.example.project.repository.projection;
+
+/**
+ * Id and name columns of a player or coach, as indexed for name search.
+ */
+public record NameEntry(Integer id, String name, String surname) {
+}
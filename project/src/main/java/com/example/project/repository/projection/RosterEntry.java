@@ -0,0 +1,11 @@
+package com.example.project.repository.projection;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One team_players row joined with its player, projected without creating managed entities.
+ */
+public record RosterEntry(Integer teamId, Integer playerId, String name, String surname,
+                          LocalDate dateOfBirth, String personalCode, Long version, Instant modifiedAt) {
+}
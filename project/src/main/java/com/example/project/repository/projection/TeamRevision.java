@@ -0,0 +1,16 @@
+package com.example.project.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Everything a team's representation depends on, read without loading the team: its own version, its
+ * coach's, and the sum of its players' versions. Player versions only grow and membership changes bump
+ * the team's version, so the sum changes whenever any embedded player does.
+ *
+ * @param coachVersion       null if the team has no coach
+ * @param playerVersions     0 if the roster is empty
+ * @param playersModifiedAt  null if the roster is empty
+ */
+public record TeamRevision(Integer teamId, Long version, Instant modifiedAt, Long coachVersion,
+                           Instant coachModifiedAt, Long playerVersions, Instant playersModifiedAt) {
+}
@@ -0,0 +1,52 @@
+package com.example.project.repository.specification;
+
+import com.example.project.model.Coach;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class CoachSpecifications {
+
+    private CoachSpecifications() {
+    }
+
+    /**
+     * @param candidateIds ids already known to satisfy the name filters, from the name index, or {@code null}
+     */
+    public static Specification<Coach> filter(String name, String surname, String licenseId, String personalCode,
+                                              TextMatch match, Collection<Integer> candidateIds) {
+        List<Specification<Coach>> specs = new ArrayList<>();
+        if (candidateIds != null) {
+            // Narrows the scan to primary-key lookups; the LIKE predicates below still guard against a stale index
+            specs.add((root, query, cb) -> candidateIds.isEmpty() ? cb.disjunction() : root.get("id").in(candidateIds));
+        }
+        if (name != null) {
+            specs.add((root, query, cb) -> match.toPredicate(cb, root.get("name"), name));
+        }
+        if (surname != null) {
+            specs.add((root, query, cb) -> match.toPredicate(cb, root.get("surname"), surname));
+        }
+        if (licenseId != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("licenseId"), licenseId));
+        }
+        if (personalCode != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("personalCode"), personalCode));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Typeahead fallback used while the name index is unavailable: every whitespace-separated token must
+     * occur in the name or surname.
+     */
+    public static Specification<Coach> search(String text) {
+        List<Specification<Coach>> specs = new ArrayList<>();
+        for (String token : text.trim().split("\\s+")) {
+            specs.add((root, query, cb) -> cb.or(
+                TextMatch.CONTAINS.toPredicate(cb, root.get("name"), token),
+                TextMatch.CONTAINS.toPredicate(cb, root.get("surname"), token)));
+        }
+        return Specification.allOf(specs);
+    }
+}
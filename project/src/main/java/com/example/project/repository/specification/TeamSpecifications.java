@@ -0,0 +1,53 @@
+package com.example.project.repository.specification;
+
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TeamSpecifications {
+
+    private TeamSpecifications() {
+    }
+
+    public static Specification<Team> filter(String teamName, Integer yearCreated, Integer coachId, Integer playerId,
+                                             TextMatch match) {
+        List<Specification<Team>> specs = new ArrayList<>();
+        if (teamName != null) {
+            specs.add((root, query, cb) -> match.toPredicate(cb, root.get("teamName"), teamName));
+        }
+        if (yearCreated != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("yearCreated"), yearCreated));
+        }
+        if (coachId != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("coach").get("id"), coachId));
+        }
+        if (playerId != null) {
+            // A subquery rather than a join: the database can start from team_players(player_id) and read
+            // only the matching teams, where a join ahead of the coach fetch would be walked team by team
+            specs.add((root, query, cb) -> {
+                Subquery<Integer> teams = query.subquery(Integer.class);
+                Join<Team, Player> players = teams.from(Team.class).join("players");
+                teams.select(players.getParent().get("teamId")).where(cb.equal(players.get("id"), playerId));
+                return root.get("teamId").in(teams);
+            });
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Loads the coach in the same statement as the team. Skipped for count queries, which cannot fetch.
+     */
+    public static Specification<Team> fetchCoach() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("coach", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.project.repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive text matching modes for list filters. The column is compared as stored, so case is
+ * ignored by its collation, and a PREFIX pattern stays anchored so the name indexes can serve it by a
+ * range scan.
+ */
+public enum TextMatch {
+    CONTAINS,
+    PREFIX;
+
+    private static final char ESCAPE = '\\';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    public Predicate toPredicate(CriteriaBuilder cb, Expression<String> column, String value) {
+        return cb.like(column, pattern(value, ESCAPE), ESCAPE);
+    }
+
+    /**
+     * LIKE pattern for {@code value}, with wildcards in the value escaped by {@code escape}.
+     */
+    public String pattern(String value, char escape) {
+        String escaped = escape(value, escape);
+        return this == PREFIX ? escaped + "%" : "%" + escaped + "%";
+    }
+
+    /**
+     * {@code value} as the case- and accent-insensitive collation compares it: lower case, with each letter
+     * decomposed and its combining marks dropped. Two values the database finds equal fold to the same string.
+     */
+    public static String fold(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) >= '\u0080') {
+                return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return lower;
+    }
+
+    private static String escape(String value, char escape) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == escape) {
+                sb.append(escape);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.project.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else,
+ * including reads pinned by {@link ReadYourWrites}. Replicas are used round-robin; one that fails to
+ * hand out a connection is skipped for {@code retryAfter} and the read goes to the primary instead.
+ *
+ * <p>The read-only flag is only known once the transaction has started, after Hibernate has asked for
+ * its connection, so this must sit behind a {@link LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<String, Replica> replicasByName = new HashMap<>();
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter failovers;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration retryAfter,
+                                      MeterRegistry registry) {
+        this.primary = primary;
+        this.retryAfterNanos = retryAfter.toNanos();
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            replicasByName.put(name, replica);
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryConnections = connections(registry, PRIMARY);
+        this.replicaConnections = connections(registry, "replica");
+        this.failovers = Counter.builder("app.datasource.replica.failovers")
+            .description("Reads sent to the primary because a replica could not hand out a connection")
+            .register(registry);
+        Gauge.builder("app.datasource.replicas.available", this, ReadWriteRoutingDataSource::availableReplicas)
+            .description("Replicas currently taking reads")
+            .register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinned()
+                || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        long now = System.nanoTime();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable(now)) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = replicasByName.get(determineCurrentLookupKey());
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntil = System.nanoTime() + retryAfterNanos;
+                failovers.increment();
+                log.warn("Replica {} unavailable, reading from the primary for {} s: {}",
+                    replica.name, retryAfterNanos / 1_000_000_000L, e.getMessage());
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+
+    int availableReplicas() {
+        long now = System.nanoTime();
+        return (int) replicas.stream().filter(replica -> replica.isAvailable(now)).count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Object target : getResolvedDataSources().values()) {
+            if (target instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter connections(MeterRegistry registry, String target) {
+        return Counter.builder("app.datasource.connections")
+            .description("Connections handed out, by the database they came from")
+            .tag("target", target)
+            .register(registry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.downUntil = System.nanoTime();
+        }
+
+        private boolean isAvailable(long now) {
+            return now - downUntil >= 0;
+        }
+    }
+}
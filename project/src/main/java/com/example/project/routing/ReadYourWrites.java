@@ -0,0 +1,43 @@
+package com.example.project.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the database reads of the current thread to the primary, so a client sees its own writes
+ * before they reach the replicas. Only connections acquired while pinned are affected.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Runs {@code reads} against the primary, for results that outlive the replication lag, such as
+     * values put into a cache.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        if (isPinned()) {
+            return reads.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.project.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.replicas")
+public class ReplicaProperties {
+
+    /** Send read-only transactions to the replicas below and everything else to spring.datasource. */
+    private boolean enabled = false;
+
+    /** Read replicas, used in turn. */
+    private List<Node> nodes = new ArrayList<>();
+
+    /** How long a client's reads stay on the primary after it wrote; should exceed the replication lag. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** How long a read waits for a replica connection before it falls back to the primary. */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /** How long a replica that failed to hand out a connection is skipped. */
+    private Duration retryAfter = Duration.ofSeconds(30);
+
+    @Data
+    public static class Node {
+
+        /** JDBC URL of the replica. */
+        private String url;
+
+        /** Defaults to spring.datasource.username. */
+        private String username;
+
+        /** Defaults to spring.datasource.password. */
+        private String password;
+
+        /** Maximum connections held to this replica. */
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.project.search;
+
+import com.example.project.event.ChangeType;
+import com.example.project.repository.projection.NameEntry;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.routing.ReadYourWrites;
+import com.example.project.service.Chunks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps a {@link TrigramIndex} over one table's names in step with the database.
+ *
+ * <p>The index is built from a full scan and then maintained from change events: once the writing
+ * transaction commits, the changed rows are re-read and applied. Re-reads and their application are
+ * serialized, so one that started before a later commit cannot overwrite what that commit applied.
+ * Changes committed while a build is running are replayed when it finishes. Until the first build
+ * completes, callers fall back to SQL.
+ */
+@Slf4j
+public class NameSearchIndex {
+
+    private final String name;
+    private final Scan scan;
+    private final Function<Collection<Integer>, List<NameEntry>> loader;
+    private final SearchProperties properties;
+
+    private final Object state = new Object();
+    private final Object refresh = new Object();
+    private volatile TrigramIndex index;
+    private boolean building;
+    private final Set<Integer> dirty = new HashSet<>();
+
+    public NameSearchIndex(String name, Scan scan, Function<Collection<Integer>, List<NameEntry>> loader,
+                           SearchProperties properties) {
+        this.name = name;
+        this.scan = scan;
+        this.loader = loader;
+        this.properties = properties;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isReady() {
+        return properties.isEnabled() && index != null;
+    }
+
+    /**
+     * Rebuilds the index from a full table scan, replacing the current one when done.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (state) {
+            building = true;
+            dirty.clear();
+        }
+        TrigramIndex fresh = new TrigramIndex();
+        try {
+            scan.scan(properties.getBuildFetchSize(), entry -> fresh.put(entry.id(), entry.name(), entry.surname()));
+
+            while (true) {
+                List<Integer> replay;
+                synchronized (state) {
+                    if (dirty.isEmpty()) {
+                        index = fresh;
+                        building = false;
+                        break;
+                    }
+                    replay = new ArrayList<>(dirty);
+                    dirty.clear();
+                }
+                apply(fresh, replay, load(replay));
+            }
+        } finally {
+            synchronized (state) {
+                building = false;
+            }
+        }
+        log.info("Built {} name index with {} entries in {} ms", name, fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Records a change made in the current transaction, to be applied once it commits.
+     */
+    public void changed(ChangeType change, Set<Integer> ids) {
+        if (!properties.isEnabled() || change == null || ids.isEmpty()) {
+            return;
+        }
+        // Ids are never reused, so a deleted row needs no re-read
+        boolean deleted = change == ChangeType.DELETED;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(ids, deleted);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(ids, deleted);
+            }
+        });
+    }
+
+    /**
+     * Ids whose name and surname match the given filters, or empty if the index cannot answer: it is not
+     * built yet, no name filter is set, a {@code CONTAINS} filter is shorter than three characters, or
+     * more than {@code app.search.max-filter-candidates} rows match.
+     */
+    public Optional<List<Integer>> filter(String nameFilter, String surnameFilter, TextMatch match) {
+        TrigramIndex current = index;
+        boolean prefix = match == TextMatch.PREFIX;
+        if (!isReady() || (nameFilter == null && surnameFilter == null)
+                || (nameFilter != null && !TrigramIndex.supports(nameFilter, prefix))
+                || (surnameFilter != null && !TrigramIndex.supports(surnameFilter, prefix))) {
+            return Optional.empty();
+        }
+        int[] ids = current.filter(nameFilter, surnameFilter, prefix, properties.getMaxFilterCandidates());
+        return Optional.ofNullable(ids).map(matches -> Arrays.stream(matches).boxed().toList());
+    }
+
+    /**
+     * Ranked typeahead ids, or empty if the index is not built yet.
+     */
+    public Optional<List<Integer>> search(String query, int limit) {
+        TrigramIndex current = index;
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        return Optional.of(current.search(query, limit));
+    }
+
+    private void committed(Set<Integer> ids, boolean deleted) {
+        synchronized (state) {
+            if (building) {
+                dirty.addAll(ids);
+                return;
+            }
+        }
+        TrigramIndex current = index;
+        if (current == null) {
+            return;
+        }
+        // The writing thread still holds its connection here, so waiting for the lock takes none from the pool
+        synchronized (refresh) {
+            apply(current, ids, deleted ? List.of() : ReadYourWrites.onPrimary(() -> load(ids)));
+        }
+    }
+
+    private List<NameEntry> load(Collection<Integer> ids) {
+        List<NameEntry> entries = new ArrayList<>();
+        for (List<Integer> chunk : Chunks.of(ids)) {
+            entries.addAll(loader.apply(chunk));
+        }
+        return entries;
+    }
+
+    private static void apply(TrigramIndex target, Collection<Integer> ids, List<NameEntry> entries) {
+        Set<Integer> found = new HashSet<>();
+        for (NameEntry entry : entries) {
+            target.put(entry.id(), entry.name(), entry.surname());
+            found.add(entry.id());
+        }
+        for (Integer id : ids) {
+            if (!found.contains(id)) {
+                target.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Scans a table with {@code id}, {@code name} and {@code surname} columns.
+     */
+    public static Scan table(JdbcTemplate jdbcTemplate, String table) {
+        String sql = "SELECT id, name, surname FROM " + table;
+        return (fetchSize, action) -> jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            action.accept(new NameEntry(rs.getInt(1), rs.getString(2), rs.getString(3)));
+        });
+    }
+
+    /**
+     * Reads the names of every row the index covers, {@code fetchSize} rows per round trip.
+     */
+    @FunctionalInterface
+    public interface Scan {
+        void scan(int fetchSize, Consumer<NameEntry> action);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.project.search;
+
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public NameSearchIndex playerSearchIndex(PlayerStore playerStore, SearchProperties properties) {
+        return new NameSearchIndex("players", playerStore::scanNames, playerStore::findNames, properties);
+    }
+
+    @Bean
+    public NameSearchIndex coachSearchIndex(JdbcTemplate jdbcTemplate, CoachRepository coachRepository,
+                                            SearchProperties properties) {
+        return new NameSearchIndex("coaches", NameSearchIndex.table(jdbcTemplate, "coach"), coachRepository::findNames,
+            properties);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.project.search;
+
+import com.example.project.event.ChangeEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the name indexes in the background once the application is up, and feeds them write events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final NameSearchIndex playerSearchIndex;
+    private final NameSearchIndex coachSearchIndex;
+    private final SearchProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (NameSearchIndex index : new NameSearchIndex[] {playerSearchIndex, coachSearchIndex}) {
+            Thread builder = new Thread(() -> {
+                try {
+                    index.rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Could not build {} name index; name filters will use the database", index.name(), e);
+                }
+            }, index.name() + "-index-builder");
+            builder.setDaemon(true);
+            builder.start();
+        }
+    }
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        switch (event.entity()) {
+            case PLAYER -> playerSearchIndex.changed(event.change(), event.ids());
+            case COACH -> coachSearchIndex.changed(event.change(), event.ids());
+            case TEAM -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.project.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /** Build the name indexes at startup and use them for name/surname filters and typeahead. */
+    private boolean enabled = true;
+
+    /** Name filters matching more rows than this are left to the database instead of becoming an id list. */
+    private int maxFilterCandidates = 1000;
+
+    /** Rows fetched per round trip while building an index. */
+    private int buildFetchSize = 1000;
+}
@@ -0,0 +1,502 @@
+package com.example.project.search;
+
+import com.example.project.repository.specification.TextMatch;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted trigram index over the normalized name and surname of one entity type. Values and queries are
+ * lower-cased and stripped of accents, as the database's case- and accent-insensitive collation compares
+ * them, so the index matches the rows a {@code LIKE} would.
+ *
+ * <p>Names repeat heavily, so trigrams index the distinct values of each field (terms) rather than rows,
+ * and each term keeps the sorted ids of the rows that carry it. A query first resolves its tokens to
+ * matching terms, verified against the term text, and only then walks the rows of the most selective
+ * token. Each term is indexed with two leading boundary characters, so prefixes of any length and
+ * substrings of three or more characters can be answered from posting lists.
+ */
+public class TrigramIndex {
+
+    private enum Field {
+        NAME,
+        SURNAME
+    }
+
+    /** Typeahead queries use at most this many words; 2 score bits per word fit in a {@code short}. */
+    public static final int MAX_TOKENS = 8;
+
+    private static final char BOUNDARY = '\u0001';
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int CONTAINS = 1;
+
+    private final Terms[] terms = {new Terms(), new Terms()};
+    // Term id + 1 per row and field; 0 when the row is absent or the value is null
+    private final int[][] rowTerms = {new int[1024], new int[1024]};
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    /**
+     * Adds or replaces the entry for {@code id}.
+     */
+    public void put(int id, String name, String surname) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            ensureCapacity(id);
+            set(Field.NAME, id, name);
+            set(Field.SURNAME, id, surname);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a filter value can be answered from the index: prefixes need one character, substrings three.
+     */
+    public static boolean supports(String value, boolean prefix) {
+        return value != null && value.length() >= (prefix ? 1 : 3);
+    }
+
+    /**
+     * Ids, in ascending order, whose name and surname contain (or start with) the given values,
+     * case-insensitively. A {@code null} value does not constrain its field, but at least one must be set.
+     *
+     * @return the ids, or {@code null} if more than {@code limit} rows match
+     */
+    public int[] filter(String name, String surname, boolean prefix, int limit) {
+        if (name == null && surname == null) {
+            throw new IllegalArgumentException("At least one of name and surname is required");
+        }
+        for (String value : new String[] {name, surname}) {
+            if (value != null && !supports(value, prefix)) {
+                throw new IllegalArgumentException("Filter too short for the trigram index: " + value);
+            }
+        }
+        lock.readLock().lock();
+        try {
+            boolean[][] accepted = new boolean[2][];
+            long[] rowCounts = {Long.MAX_VALUE, Long.MAX_VALUE};
+            String[] values = {name, surname};
+            for (int field = 0; field < 2; field++) {
+                if (values[field] == null) {
+                    continue;
+                }
+                String token = TextMatch.fold(values[field]);
+                Terms fieldTerms = terms[field];
+                accepted[field] = new boolean[fieldTerms.capacity()];
+                rowCounts[field] = 0;
+                for (int term : fieldTerms.matching(token, prefix)) {
+                    String text = fieldTerms.values.get(term);
+                    if (prefix ? text.startsWith(token) : text.contains(token)) {
+                        accepted[field][term] = true;
+                        rowCounts[field] += fieldTerms.rows.get(term).size;
+                    }
+                }
+            }
+
+            int driver = rowCounts[0] <= rowCounts[1] ? 0 : 1;
+            int other = 1 - driver;
+            int[] result = new int[(int) Math.min(rowCounts[driver], limit + 1L)];
+            int count = 0;
+            Terms driverTerms = terms[driver];
+            for (int term = 0; term < accepted[driver].length; term++) {
+                if (!accepted[driver][term]) {
+                    continue;
+                }
+                Postings rows = driverTerms.rows.get(term);
+                for (int i = 0; i < rows.size; i++) {
+                    int id = rows.ids[i];
+                    if (accepted[other] != null) {
+                        int otherTerm = rowTerms[other][id] - 1;
+                        if (otherTerm < 0 || !accepted[other][otherTerm]) {
+                            continue;
+                        }
+                    }
+                    if (count == limit) {
+                        return null;
+                    }
+                    result[count++] = id;
+                }
+            }
+            int[] ids = Arrays.copyOf(result, count);
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Typeahead lookup. Every whitespace-separated word must match the name or surname: words shorter
+     * than three characters as a prefix, longer ones anywhere. Results are ranked by how well the words
+     * match (exact, then prefix, then substring), then by shorter full name, then by id.
+     */
+    public List<Integer> search(String query, int limit) {
+        String[] tokens = Arrays.stream(TextMatch.fold(query).trim().split("\\s+"))
+            .filter(token -> !token.isEmpty())
+            .limit(MAX_TOKENS)
+            .toArray(String[]::new);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Per term, 2 bits per token holding the best score that term gives the token
+            short[][] scores = {new short[terms[0].capacity()], new short[terms[1].capacity()]};
+            long[] rowsPerToken = new long[tokens.length];
+            int driver = 0;
+            for (int t = 0; t < tokens.length; t++) {
+                String token = tokens[t];
+                boolean prefixOnly = token.length() < 3;
+                for (int field = 0; field < 2; field++) {
+                    Terms fieldTerms = terms[field];
+                    for (int term : fieldTerms.matching(token, prefixOnly)) {
+                        int score = score(fieldTerms.values.get(term), token);
+                        if (score == 0 || (prefixOnly && score == CONTAINS)) {
+                            continue;
+                        }
+                        scores[field][term] |= (short) (score << (2 * t));
+                        rowsPerToken[t] += fieldTerms.rows.get(term).size;
+                    }
+                }
+                if (rowsPerToken[t] == 0) {
+                    return List.of();
+                }
+                if (rowsPerToken[t] < rowsPerToken[driver]) {
+                    driver = t;
+                }
+            }
+
+            TopK top = new TopK(limit);
+            int driverShift = 2 * driver;
+            for (int field = 0; field < 2; field++) {
+                Terms fieldTerms = terms[field];
+                short[] fieldScores = scores[field];
+                for (int term = 0; term < fieldScores.length; term++) {
+                    if (((fieldScores[term] >> driverShift) & 3) == 0) {
+                        continue;
+                    }
+                    Postings rows = fieldTerms.rows.get(term);
+                    for (int i = 0; i < rows.size; i++) {
+                        int id = rows.ids[i];
+                        int nameTerm = rowTerms[0][id] - 1;
+                        // Rows matched through both fields are visited from the name side only
+                        if (field == 1 && nameTerm >= 0 && ((scores[0][nameTerm] >> driverShift) & 3) != 0) {
+                            continue;
+                        }
+                        int surnameTerm = rowTerms[1][id] - 1;
+                        int nameBits = nameTerm >= 0 ? scores[0][nameTerm] : 0;
+                        int surnameBits = surnameTerm >= 0 ? scores[1][surnameTerm] : 0;
+                        int total = 0;
+                        boolean all = true;
+                        for (int t = 0; t < tokens.length && all; t++) {
+                            int best = Math.max((nameBits >> (2 * t)) & 3, (surnameBits >> (2 * t)) & 3);
+                            all = best != 0;
+                            total += best;
+                        }
+                        if (all) {
+                            int length = (nameTerm >= 0 ? terms[0].lengths[nameTerm] : 0)
+                                + (surnameTerm >= 0 ? terms[1].lengths[surnameTerm] : 0);
+                            top.offer(rankKey(total, length, id));
+                        }
+                    }
+                }
+            }
+            return top.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Smaller keys rank first: higher score, then shorter name, then lower id
+    private static long rankKey(int score, int length, int id) {
+        return ((long) (EXACT * MAX_TOKENS - score) << 40) | ((long) Math.min(length, 255) << 32) | id;
+    }
+
+    private static int score(String value, String token) {
+        if (value.equals(token)) {
+            return EXACT;
+        }
+        if (value.startsWith(token)) {
+            return PREFIX;
+        }
+        return value.contains(token) ? CONTAINS : 0;
+    }
+
+    private void set(Field field, int id, String value) {
+        if (value != null) {
+            rowTerms[field.ordinal()][id] = terms[field.ordinal()].add(TextMatch.fold(value), id) + 1;
+        }
+    }
+
+    private void removeLocked(int id) {
+        if (id >= rowTerms[0].length) {
+            return;
+        }
+        boolean present = false;
+        for (int field = 0; field < 2; field++) {
+            int term = rowTerms[field][id] - 1;
+            if (term >= 0) {
+                terms[field].release(term, id);
+                rowTerms[field][id] = 0;
+                present = true;
+            }
+        }
+        if (present) {
+            size--;
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < rowTerms[0].length) {
+            return;
+        }
+        int capacity = Math.max(id + 1, rowTerms[0].length + (rowTerms[0].length >> 1));
+        for (int field = 0; field < 2; field++) {
+            rowTerms[field] = Arrays.copyOf(rowTerms[field], capacity);
+        }
+    }
+
+    /**
+     * Distinct values of one field, with a trigram index over them and the rows carrying each.
+     */
+    private static final class Terms {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<Postings> rows = new ArrayList<>();
+        private final Map<Long, Postings> grams = new HashMap<>();
+        private final Deque<Integer> free = new ArrayDeque<>();
+        private int[] lengths = new int[256];
+
+        int capacity() {
+            return values.size();
+        }
+
+        int add(String value, int row) {
+            Integer term = ids.get(value);
+            if (term == null) {
+                term = free.isEmpty() ? values.size() : free.pop();
+                if (term == values.size()) {
+                    values.add(value);
+                    rows.add(new Postings());
+                    if (term == lengths.length) {
+                        lengths = Arrays.copyOf(lengths, term + (term >> 1));
+                    }
+                } else {
+                    values.set(term, value);
+                }
+                lengths[term] = value.length();
+                ids.put(value, term);
+                String padded = pad(value);
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    grams.computeIfAbsent(gram(padded, i), key -> new Postings()).add(term);
+                }
+            }
+            rows.get(term).add(row);
+            return term;
+        }
+
+        void release(int term, int row) {
+            Postings termRows = rows.get(term);
+            termRows.remove(row);
+            if (termRows.size > 0) {
+                return;
+            }
+            String value = values.get(term);
+            String padded = pad(value);
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                long gram = gram(padded, i);
+                Postings list = grams.get(gram);
+                if (list != null && list.remove(term) && list.size == 0) {
+                    grams.remove(gram);
+                }
+            }
+            ids.remove(value);
+            values.set(term, null);
+            free.push(term);
+        }
+
+        /**
+         * Candidate terms whose trigrams cover {@code token}; callers verify the text.
+         */
+        int[] matching(String token, boolean prefix) {
+            String text = prefix ? pad(token) : token;
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                Postings list = grams.get(gram(text, i));
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            if (lists.isEmpty()) {
+                return new int[0];
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings smallest = lists.get(0);
+            int[] result = new int[smallest.size];
+            int count = 0;
+            outer:
+            for (int i = 0; i < smallest.size; i++) {
+                int term = smallest.ids[i];
+                for (int l = 1; l < lists.size(); l++) {
+                    if (!lists.get(l).contains(term)) {
+                        continue outer;
+                    }
+                }
+                result[count++] = term;
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static String pad(String value) {
+            return "" + BOUNDARY + BOUNDARY + value;
+        }
+
+        private static long gram(String text, int offset) {
+            return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+        }
+    }
+
+    /**
+     * Keeps the {@code k} smallest rank keys in a bounded max-heap.
+     */
+    private static final class TopK {
+
+        private final long[] heap;
+        private int size;
+
+        TopK(int k) {
+            heap = new long[k];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        List<Integer> ids() {
+            long[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            List<Integer> ids = new ArrayList<>(size);
+            for (long key : sorted) {
+                ids.add((int) (key & 0xffffffffL));
+            }
+            return ids;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent] >= heap[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left] > heap[largest]) {
+                    largest = left;
+                }
+                if (right < size && heap[right] > heap[largest]) {
+                    largest = right;
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(largest, index);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+
+    /**
+     * Sorted, growable list of ids. Ids mostly arrive in ascending order, so adds are usually appends.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void insert(int position, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+    }
+}
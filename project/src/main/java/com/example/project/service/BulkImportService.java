@@ -0,0 +1,332 @@
+package com.example.project.service;
+
+import com.example.project.dto.BulkDto;
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.ChangeType;
+import com.example.project.event.EntityType;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Player;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.specification.TextMatch;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bulk insert/upsert of players and coaches keyed by personal code.
+ *
+ * <p>The entities use IDENTITY ids, which stop Hibernate from batching inserts, so this path
+ * bypasses the persistence context and issues JDBC batches directly; players are written through the
+ * {@link PlayerStore}, which batches them per database. Input is consumed as a stream
+ * (JSON array or NDJSON) and written one batch per transaction. A batch that fails is retried row by row,
+ * so only the rows that actually fail are rejected. If the database stops accepting writes altogether,
+ * the import stops there and the summary reports what earlier batches committed.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private static final String COACH_INSERT_SQL =
+        "INSERT INTO coach (name, surname, coaching_from, license_id, personal_code) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String COACH_UPDATE_SQL =
+        "UPDATE coach SET name = ?, surname = ?, coaching_from = ?, license_id = ?, personal_code = ?, version = version + 1, modified_at = CURRENT_TIMESTAMP(6) WHERE id = ?";
+
+    private static final Binder<CoachDto.Request> COACH_BINDER = (ps, row) -> {
+        ps.setString(1, row.getName());
+        ps.setString(2, row.getSurname());
+        ps.setDate(3, Date.valueOf(row.getCoachingFrom()));
+        ps.setString(4, row.getLicenseId());
+        ps.setString(5, row.getPersonalCode());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+    private final Target<PlayerDto.Request> players;
+    private final Target<CoachDto.Request> coaches;
+
+    public BulkImportService(JdbcTemplate jdbcTemplate, PlayerStore playerStore, EntityMapper mapper,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             ApplicationEventPublisher events, @Value("${app.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.events = events;
+        this.batchSize = batchSize;
+        this.players = new Target<>(
+            "player",
+            EntityType.PLAYER,
+            RequestValidation::isValid,
+            PlayerDto.Request::getPersonalCode,
+            playerStore::findIdsByPersonalCode,
+            rows -> playerStore.insertAll(rows.stream().map(mapper::toEntity).toList()),
+            (rows, ids) -> {
+                List<Player> updated = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    Player player = mapper.toEntity(rows.get(i));
+                    player.setId(ids.get(i));
+                    updated.add(player);
+                }
+                playerStore.updateAll(updated);
+            });
+        this.coaches = new Target<>(
+            "coach",
+            EntityType.COACH,
+            RequestValidation::isValid,
+            CoachDto.Request::getPersonalCode,
+            codes -> findIdsByPersonalCode("coach", codes),
+            rows -> insert(COACH_INSERT_SQL, COACH_BINDER, rows),
+            (rows, ids) -> update(COACH_UPDATE_SQL, 5, COACH_BINDER, rows, ids));
+    }
+
+    public BulkDto.Response importPlayers(InputStream body, BulkDto.Mode mode) throws IOException {
+        return importRows(players, objectMapper.readerFor(PlayerDto.Request.class).readValues(body), mode);
+    }
+
+    public BulkDto.Response importCoaches(InputStream body, BulkDto.Mode mode) throws IOException {
+        return importRows(coaches, objectMapper.readerFor(CoachDto.Request.class).readValues(body), mode);
+    }
+
+    private <T> BulkDto.Response importRows(Target<T> target, MappingIterator<T> rows, BulkDto.Mode mode) {
+        BulkDto.Response response = new BulkDto.Response();
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        Set<String> batchCodes = new HashSet<>();
+        int index = 0;
+        while (true) {
+            T row;
+            try {
+                if (!rows.hasNextValue()) {
+                    break;
+                }
+                row = rows.nextValue();
+            } catch (IOException | RuntimeException e) {
+                // The parser cannot resynchronise after malformed input, so stop at the broken row
+                response.getResults().add(result(index, BulkDto.Status.INVALID, null, "Malformed row: " + e.getMessage()));
+                break;
+            }
+
+            if (!target.validator().test(row)) {
+                response.getResults().add(result(index, BulkDto.Status.INVALID, null, "Missing required fields"));
+            } else {
+                // A repeated personal code must see the row written by its earlier occurrence
+                String code = TextMatch.fold(target.code().apply(row));
+                if (!batchCodes.add(code)) {
+                    flush(target, batch, mode, response);
+                    if (stopped(response)) {
+                        break;
+                    }
+                    batchCodes.clear();
+                    batchCodes.add(code);
+                }
+                batch.add(new Pending<>(index, row));
+                if (batch.size() >= batchSize) {
+                    flush(target, batch, mode, response);
+                    batchCodes.clear();
+                }
+            }
+            index++;
+            if (stopped(response)) {
+                break;
+            }
+        }
+        flush(target, batch, mode, response);
+
+        response.getResults().sort(Comparator.comparingInt(BulkDto.RowResult::getIndex));
+        for (BulkDto.RowResult result : response.getResults()) {
+            switch (result.getStatus()) {
+                case CREATED -> response.setCreated(response.getCreated() + 1);
+                case UPDATED -> response.setUpdated(response.getUpdated() + 1);
+                default -> response.setRejected(response.getRejected() + 1);
+            }
+        }
+        log.info("Bulk import into {} finished - created: {}, updated: {}, rejected: {}",
+                target.table(), response.getCreated(), response.getUpdated(), response.getRejected());
+        return response;
+    }
+
+    private <T> void flush(Target<T> target, List<Pending<T>> batch, BulkDto.Mode mode, BulkDto.Response response) {
+        if (batch.isEmpty() || stopped(response)) {
+            batch.clear();
+            return;
+        }
+        try {
+            response.getResults().addAll(write(target, batch, mode));
+        } catch (DataAccessException e) {
+            log.warn("Bulk batch into {} failed, retrying its {} rows one by one: {}", target.table(), batch.size(),
+                e.getMessage());
+            retryRows(target, batch, mode, response);
+        } catch (RuntimeException e) {
+            stop(target, batch, response, e);
+        }
+        batch.clear();
+    }
+
+    // Each row in a transaction of its own; a connection or transaction failure stops the import
+    private <T> void retryRows(Target<T> target, List<Pending<T>> batch, BulkDto.Mode mode, BulkDto.Response response) {
+        for (int i = 0; i < batch.size(); i++) {
+            Pending<T> pending = batch.get(i);
+            try {
+                response.getResults().addAll(write(target, List.of(pending), mode));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Bulk row {} into {} rejected: {}", pending.index(), target.table(), e.getMessage());
+                response.getResults().add(result(pending.index(), BulkDto.Status.FAILED, null,
+                    "Rejected by a database constraint"));
+            } catch (RuntimeException e) {
+                stop(target, batch.subList(i, batch.size()), response, e);
+                return;
+            }
+        }
+    }
+
+    private <T> List<BulkDto.RowResult> write(Target<T> target, List<Pending<T>> rows, BulkDto.Mode mode) {
+        return transactionTemplate.execute(status -> writeBatch(target, rows, mode));
+    }
+
+    private <T> void stop(Target<T> target, List<Pending<T>> rows, BulkDto.Response response, RuntimeException e) {
+        log.error("Bulk import into {} stopped at row {}: {}", target.table(), rows.get(0).index(), e.getMessage(), e);
+        for (Pending<T> pending : rows) {
+            response.getResults().add(result(pending.index(), BulkDto.Status.FAILED, null, "Import stopped"));
+        }
+        response.setStoppedAt(rows.get(0).index());
+    }
+
+    private static boolean stopped(BulkDto.Response response) {
+        return response.getStoppedAt() != null;
+    }
+
+    private <T> List<BulkDto.RowResult> writeBatch(Target<T> target, List<Pending<T>> batch, BulkDto.Mode mode) {
+        Map<String, Integer> existing = target.findIds()
+            .apply(batch.stream().map(pending -> target.code().apply(pending.row())).toList());
+        List<BulkDto.RowResult> results = new ArrayList<>(batch.size());
+        List<Pending<T>> inserts = new ArrayList<>();
+        List<Pending<T>> updates = new ArrayList<>();
+        List<Integer> updateIds = new ArrayList<>();
+        for (Pending<T> pending : batch) {
+            Integer id = existing.get(TextMatch.fold(target.code().apply(pending.row())));
+            if (id == null) {
+                inserts.add(pending);
+            } else if (mode == BulkDto.Mode.INSERT) {
+                results.add(result(pending.index(), BulkDto.Status.DUPLICATE, id, "Personal code already exists"));
+            } else {
+                updates.add(pending);
+                updateIds.add(id);
+                results.add(result(pending.index(), BulkDto.Status.UPDATED, id, null));
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            target.update().accept(updates.stream().map(Pending::row).toList(), updateIds);
+            events.publishEvent(ChangeEvent.of(target.entity(), ChangeType.UPDATED, updateIds));
+        }
+
+        if (!inserts.isEmpty()) {
+            List<Integer> createdIds = target.insert().apply(inserts.stream().map(Pending::row).toList());
+            for (int i = 0; i < inserts.size(); i++) {
+                results.add(result(inserts.get(i).index(), BulkDto.Status.CREATED, createdIds.get(i), null));
+            }
+            events.publishEvent(ChangeEvent.of(target.entity(), ChangeType.CREATED, createdIds));
+        }
+        return results;
+    }
+
+    // Keyed by the folded code: the collation matches codes that differ in case or accents only
+    private Map<String, Integer> findIdsByPersonalCode(String table, List<String> codes) {
+        String placeholders = String.join(", ", Collections.nCopies(codes.size(), "?"));
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, personal_code FROM " + table + " WHERE personal_code IN (" + placeholders
+                + ") ORDER BY id",
+            rs -> {
+                ids.putIfAbsent(TextMatch.fold(rs.getString(2)), rs.getInt(1));
+            }, codes.toArray());
+        return ids;
+    }
+
+    private <T> List<Integer> insert(String sql, Binder<T> binder, List<T> rows) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    binder.bind(ps, rows.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            }, keys);
+        return keys.getKeyList().stream().map(key -> ((Number) key.values().iterator().next()).intValue()).toList();
+    }
+
+    private <T> void update(String sql, int columns, Binder<T> binder, List<T> rows, List<Integer> ids) {
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, rows.get(i));
+                ps.setInt(columns + 1, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static BulkDto.RowResult result(int index, BulkDto.Status status, Integer id, String error) {
+        BulkDto.RowResult result = new BulkDto.RowResult();
+        result.setIndex(index);
+        result.setStatus(status);
+        result.setId(id);
+        result.setError(error);
+        return result;
+    }
+
+    private record Pending<T>(int index, T row) {
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    /**
+     * Where rows of one kind are written: {@code findIds} is given the batch's personal codes and keys the
+     * ids it finds by folded code, {@code insert} returns the new ids in row order.
+     */
+    private record Target<T>(String table, EntityType entity, Predicate<T> validator, Function<T, String> code,
+                             Function<List<String>, Map<String, Integer>> findIds,
+                             Function<List<T>, List<Integer>> insert, BiConsumer<List<T>, List<Integer>> update) {
+    }
+}
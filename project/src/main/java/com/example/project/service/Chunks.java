@@ -0,0 +1,26 @@
+package com.example.project.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Splits id sets into IN-list sized chunks.
+ */
+public final class Chunks {
+
+    public static final int SIZE = 1000;
+
+    private Chunks() {
+    }
+
+    public static List<List<Integer>> of(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+}
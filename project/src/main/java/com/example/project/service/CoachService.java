@@ -0,0 +1,143 @@
+package com.example.project.service;
+
+import com.example.project.cache.ReadThroughCache;
+import com.example.project.dto.CoachDto;
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.ChangeType;
+import com.example.project.event.EntityType;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Coach;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.TeamRepository;
+import com.example.project.repository.specification.CoachSpecifications;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.search.NameSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoachService {
+
+    private final CoachRepository coachRepository;
+    private final TeamRepository teamRepository;
+    private final EntityMapper mapper;
+    private final ReadThroughCache<Integer, CoachDto.Response> coachCache;
+    private final ApplicationEventPublisher events;
+    private final NameSearchIndex coachSearchIndex;
+
+    public Optional<CoachDto.Response> findById(Integer id) {
+        return Optional.ofNullable(coachCache.get(id,
+            key -> coachRepository.findById(key).map(mapper::toDto).orElse(null)));
+    }
+
+    /**
+     * List filter for the given parameters. Name filters the search index can answer are turned into an
+     * id list first, so the database does not scan for {@code LIKE '%...%'} matches.
+     */
+    public Specification<Coach> filter(String name, String surname, String licenseId, String personalCode,
+                                    TextMatch match) {
+        return CoachSpecifications.filter(name, surname, licenseId, personalCode, match,
+            coachSearchIndex.filter(name, surname, match).orElse(null));
+    }
+
+    /**
+     * Typeahead search over name and surname, best matches first.
+     */
+    public List<CoachDto.Response> search(String query, int limit) {
+        List<Coach> coaches = coachSearchIndex.search(query, limit)
+            .map(ids -> inOrder(coachRepository.findAllById(ids), ids))
+            .orElseGet(() -> coachRepository.findBy(CoachSpecifications.search(query),
+                q -> q.sortBy(Sort.by("id")).limit(limit).all()));
+        return coaches.stream().map(mapper::toDto).toList();
+    }
+
+    @Transactional
+    public CoachDto.Response create(CoachDto.Request request) {
+        Coach coach = coachRepository.save(mapper.toEntity(request));
+        events.publishEvent(ChangeEvent.of(EntityType.COACH, ChangeType.CREATED, coach.getId()));
+        return mapper.toDto(coach);
+    }
+
+    /**
+     * Overwrites the coach with a single conditional {@code UPDATE}; the response is built from the
+     * request rather than read back.
+     *
+     * @param expectedVersion version the client last saw, or null to overwrite whatever is stored
+     * @return the updated coach, or empty if it does not exist
+     * @throws VersionConflictException if the stored version is not {@code expectedVersion}
+     */
+    @Transactional
+    public Optional<CoachDto.Response> update(Integer id, CoachDto.Request request, Long expectedVersion) {
+        Instant now = Instant.now();
+        int updated = coachRepository.update(id, expectedVersion, request.getName(), request.getSurname(),
+            request.getCoachingFrom(), request.getLicenseId(), request.getPersonalCode(), now);
+        if (updated == 0) {
+            return conflictOrMissing(id);
+        }
+        Coach coach = mapper.toEntity(request);
+        coach.setId(id);
+        coach.setVersion(expectedVersion != null ? expectedVersion + 1 : coachRepository.findVersion(id).orElseThrow());
+        coach.setModifiedAt(now);
+        events.publishEvent(ChangeEvent.of(EntityType.COACH, ChangeType.UPDATED, id));
+        return Optional.of(mapper.toDto(coach));
+    }
+
+    /**
+     * Deletes the given coaches and detaches them from their teams in one transaction.
+     *
+     * @return ids that existed and were deleted
+     */
+    @Transactional
+    public List<Integer> delete(Collection<Integer> ids) {
+        List<Integer> deleted = new ArrayList<>();
+        List<Integer> teams = new ArrayList<>();
+        for (List<Integer> chunk : Chunks.of(ids)) {
+            List<Integer> existing = coachRepository.findExistingIds(chunk);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            List<Integer> detached = teamRepository.findTeamIdsWithCoaches(existing);
+            teamRepository.clearCoach(existing, Instant.now());
+            coachRepository.deleteByIds(existing);
+            log.info("Deleted {} coaches and detached them from {} teams", existing.size(), detached.size());
+            deleted.addAll(existing);
+            teams.addAll(detached);
+        }
+        // The teams lost their coach and moved to a new version; published first so their views are
+        // reloaded before the coach is patched out of them
+        if (!teams.isEmpty()) {
+            events.publishEvent(ChangeEvent.of(EntityType.TEAM, ChangeType.UPDATED, teams));
+        }
+        if (!deleted.isEmpty()) {
+            events.publishEvent(ChangeEvent.of(EntityType.COACH, ChangeType.DELETED, deleted));
+        }
+        return deleted;
+    }
+
+    private <T> Optional<T> conflictOrMissing(Integer id) {
+        return coachRepository.findVersion(id).map(current -> {
+            throw new VersionConflictException("Coach", id, current);
+        });
+    }
+
+    private static List<Coach> inOrder(List<Coach> coaches, List<Integer> ids) {
+        Map<Integer, Coach> byId = new HashMap<>();
+        coaches.forEach(coach -> byId.put(coach.getId(), coach));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.project.service;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.model.Player;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.projection.RosterEntry;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Streams whole tables as newline-delimited JSON. Rows are read through a forward-only cursor with a
+ * bounded fetch size and written as soon as they are mapped, so heap use does not grow with table size.
+ * Players are read through the {@link PlayerStore}, so they are exported whether or not they are sharded.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final String COACH_SQL =
+        "SELECT id, name, surname, coaching_from, license_id, personal_code, version FROM coach ORDER BY id";
+
+    private static final String TEAM_SQL =
+        "SELECT t.team_id, t.team_name, t.year_created, t.version, "
+        + "c.id, c.name, c.surname, c.coaching_from, c.license_id, c.personal_code, c.version "
+        + "FROM team t "
+        + "LEFT JOIN coach c ON c.id = t.coach_id "
+        + "ORDER BY t.team_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlayerStore playerStore;
+    private final ObjectMapper objectMapper;
+    // The mapper would otherwise flush after every row, whatever flush-every says
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+    private final int flushEvery;
+
+    public ExportService(DataSource dataSource, PlayerStore playerStore, ObjectMapper objectMapper,
+                         @Value("${app.export.fetch-size:1000}") int fetchSize,
+                         @Value("${app.export.flush-every:1000}") int flushEvery) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.playerStore = playerStore;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+        this.flushEvery = flushEvery;
+    }
+
+    public long exportPlayers(OutputStream out) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            playerStore.scanPlayers(fetchSize, player -> writer.write(toResponse(player)));
+            log.info("Exported {} players", writer.count);
+            return writer.count;
+        }
+    }
+
+    public long exportCoaches(OutputStream out) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            jdbcTemplate.query(COACH_SQL, rs -> {
+                writer.write(readCoach(rs, 1));
+            });
+            log.info("Exported {} coaches", writer.count);
+            return writer.count;
+        }
+    }
+
+    /**
+     * Teams are read in batches of {@link Chunks#SIZE}, and each batch's rosters with one
+     * {@link PlayerStore#findRosters} call before the batch is written.
+     */
+    public long exportTeams(OutputStream out) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            Map<Integer, TeamDto.Response> batch = new LinkedHashMap<>();
+            jdbcTemplate.query(TEAM_SQL, rs -> {
+                TeamDto.Response team = readTeam(rs);
+                batch.put(team.getTeamId(), team);
+                if (batch.size() >= Chunks.SIZE) {
+                    writeTeams(batch, writer);
+                }
+            });
+            writeTeams(batch, writer);
+            log.info("Exported {} teams", writer.count);
+            return writer.count;
+        }
+    }
+
+    private void writeTeams(Map<Integer, TeamDto.Response> batch, NdjsonWriter writer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        playerStore.findRosters(batch.keySet()).stream()
+            .sorted(Comparator.comparing(RosterEntry::playerId))
+            .forEach(entry -> batch.get(entry.teamId()).getPlayers().add(toResponse(entry)));
+        batch.values().forEach(writer::write);
+        batch.clear();
+    }
+
+    private static TeamDto.Response readTeam(ResultSet rs) throws SQLException {
+        TeamDto.Response team = new TeamDto.Response();
+        team.setTeamId(rs.getInt(1));
+        team.setTeamName(rs.getString(2));
+        team.setYearCreated(rs.getObject(3, Integer.class));
+        team.setVersion(rs.getLong(4));
+        if (rs.getObject(5) != null) {
+            team.setCoach(readCoach(rs, 5));
+        }
+        team.setPlayers(new LinkedHashSet<>());
+        return team;
+    }
+
+    private static PlayerDto.Response toResponse(Player player) {
+        PlayerDto.Response response = new PlayerDto.Response();
+        response.setId(player.getId());
+        response.setName(player.getName());
+        response.setSurname(player.getSurname());
+        response.setDateOfBirth(player.getDateOfBirth());
+        response.setPersonalCode(player.getPersonalCode());
+        response.setVersion(player.getVersion());
+        return response;
+    }
+
+    private static PlayerDto.Response toResponse(RosterEntry entry) {
+        PlayerDto.Response response = new PlayerDto.Response();
+        response.setId(entry.playerId());
+        response.setName(entry.name());
+        response.setSurname(entry.surname());
+        response.setDateOfBirth(entry.dateOfBirth());
+        response.setPersonalCode(entry.personalCode());
+        response.setVersion(entry.version());
+        return response;
+    }
+
+    private static CoachDto.Response readCoach(ResultSet rs, int offset) throws SQLException {
+        CoachDto.Response coach = new CoachDto.Response();
+        coach.setId(rs.getInt(offset));
+        coach.setName(rs.getString(offset + 1));
+        coach.setSurname(rs.getString(offset + 2));
+        coach.setCoachingFrom(rs.getObject(offset + 3, LocalDate.class));
+        coach.setLicenseId(rs.getString(offset + 4));
+        coach.setPersonalCode(rs.getString(offset + 5));
+        coach.setVersion(rs.getLong(offset + 6));
+        return coach;
+    }
+
+    private final class NdjsonWriter implements AutoCloseable {
+        private final JsonGenerator generator;
+        private long count;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        void write(Object row) {
+            try {
+                rowWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+                if (++count % flushEvery == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                // Client went away: abort the query instead of reading the rest of the table
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+}
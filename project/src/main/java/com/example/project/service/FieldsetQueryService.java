@@ -0,0 +1,123 @@
+package com.example.project.service;
+
+import com.example.project.fieldset.Fieldset;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.pagination.KeysetPaginator;
+import com.example.project.repository.PlayerStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read path for {@code fields=} requests. Only the selected columns are queried, and the cache, the team
+ * view store and the mapper are bypassed, since they hold whole resources. A team's coach comes from a
+ * left join in the team query; its roster from one query per page, and only if players were selected.
+ */
+@Service
+@RequiredArgsConstructor
+public class FieldsetQueryService {
+
+    private final KeysetPaginator paginator;
+    private final PlayerStore playerStore;
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> findPlayers(Specification<Player> filter, Fieldset fields,
+                                                       Set<String> sortKeys, Integer limit, String cursor, String sort) {
+        return playerStore.findColumns(filter, sortKeys, fields.properties(), limit, cursor, sort)
+            .map(row -> toMap(row.toArray(), "id", 0, fields.properties(), 2));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findPlayer(Integer id, Fieldset fields) {
+        return first(findPlayers(byId("id", id), fields, Set.of(), 1, null, null));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> findCoaches(Specification<Coach> filter, Fieldset fields,
+                                                       Set<String> sortKeys, Integer limit, String cursor, String sort) {
+        return paginator.fetchColumns(Coach.class, filter, "id", sortKeys, fields.properties(), limit, cursor, sort)
+            .map(row -> toMap(row.toArray(), "id", 0, fields.properties(), 2));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findCoach(Integer id, Fieldset fields) {
+        return first(findCoaches(byId("id", id), fields, Set.of(), 1, null, null));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> findTeams(Specification<Team> filter, Fieldset fields,
+                                                     Integer limit, String cursor, String sort) {
+        List<String> columns = new ArrayList<>(fields.properties());
+        Fieldset coach = fields.embedded().get("coach");
+        if (coach != null) {
+            columns.add("coach.id");
+            coach.properties().forEach(property -> columns.add("coach." + property));
+        }
+        KeysetPage<Map<String, Object>> page = paginator.fetchColumns(Team.class, filter, "teamId",
+                TeamQueryService.TEAM_SORT_KEYS, columns, limit, cursor, sort)
+            .map(tuple -> {
+                Object[] row = tuple.toArray();
+                Map<String, Object> team = toMap(row, "teamId", 0, fields.properties(), 2);
+                if (coach != null) {
+                    int coachId = 2 + fields.properties().size();
+                    team.put("coach", row[coachId] == null ? null
+                        : toMap(row, "id", coachId, coach.properties(), coachId + 1));
+                }
+                return team;
+            });
+
+        Fieldset players = fields.embedded().get("players");
+        if (players != null) {
+            Map<Integer, List<Map<String, Object>>> rosters =
+                loadRosters(page.items().stream().map(team -> (Integer) team.get("teamId")).toList(), players);
+            page.items().forEach(team -> team.put("players", rosters.getOrDefault((Integer) team.get("teamId"), List.of())));
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findTeam(Integer id, Fieldset fields) {
+        return first(findTeams(byId("teamId", id), fields, 1, null, null));
+    }
+
+    private Map<Integer, List<Map<String, Object>>> loadRosters(List<Integer> teamIds, Fieldset fields) {
+        Map<Integer, List<Map<String, Object>>> rosters = new HashMap<>();
+        for (List<Integer> chunk : Chunks.of(teamIds)) {
+            for (Object[] row : playerStore.findRosterColumns(chunk, fields.properties())) {
+                rosters.computeIfAbsent((Integer) row[0], id -> new ArrayList<>())
+                    .add(toMap(row, "id", 1, fields.properties(), 2));
+            }
+        }
+        return rosters;
+    }
+
+    // Rows are positional: the id at idIndex, the properties in order from firstIndex
+    private static Map<String, Object> toMap(Object[] row, String idProperty, int idIndex, List<String> properties,
+                                             int firstIndex) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(idProperty, row[idIndex]);
+        for (int i = 0; i < properties.size(); i++) {
+            values.put(properties.get(i), row[firstIndex + i]);
+        }
+        return values;
+    }
+
+    private static <T> Specification<T> byId(String idProperty, Integer id) {
+        return (root, query, cb) -> cb.equal(root.get(idProperty), id);
+    }
+
+    private static Optional<Map<String, Object>> first(KeysetPage<Map<String, Object>> page) {
+        return page.items().stream().findFirst();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.project.service;
+
+import com.example.project.cache.ReadThroughCache;
+import com.example.project.dto.PlayerDto;
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.ChangeType;
+import com.example.project.event.EntityType;
+import com.example.project.event.MembershipsRemovedEvent;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Player;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.TeamRepository;
+import com.example.project.repository.specification.PlayerSpecifications;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.search.NameSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlayerService {
+
+    private final PlayerStore playerStore;
+    private final TeamRepository teamRepository;
+    private final EntityMapper mapper;
+    private final ReadThroughCache<Integer, PlayerDto.Response> playerCache;
+    private final ApplicationEventPublisher events;
+    private final NameSearchIndex playerSearchIndex;
+
+    public Optional<PlayerDto.Response> findById(Integer id) {
+        return Optional.ofNullable(playerCache.get(id,
+            key -> playerStore.findById(key).map(mapper::toDto).orElse(null)));
+    }
+
+    /**
+     * List filter for the given parameters. Name filters the search index can answer are turned into an
+     * id list first, so the database does not scan for {@code LIKE '%...%'} matches.
+     */
+    public Specification<Player> filter(String name, String surname, String personalCode, TextMatch match) {
+        return PlayerSpecifications.filter(name, surname, personalCode, match,
+            playerSearchIndex.filter(name, surname, match).orElse(null));
+    }
+
+    /**
+     * Typeahead search over name and surname, best matches first.
+     */
+    public List<PlayerDto.Response> search(String query, int limit) {
+        List<Player> players = playerSearchIndex.search(query, limit)
+            .map(ids -> inOrder(playerStore.findAllById(ids), ids))
+            .orElseGet(() -> playerStore.findFirst(PlayerSpecifications.search(query), limit));
+        return players.stream().map(mapper::toDto).toList();
+    }
+
+    @Transactional
+    public PlayerDto.Response create(PlayerDto.Request request) {
+        Player player = playerStore.insert(mapper.toEntity(request));
+        events.publishEvent(ChangeEvent.of(EntityType.PLAYER, ChangeType.CREATED, player.getId()));
+        return mapper.toDto(player);
+    }
+
+    /**
+     * Overwrites the player with a single conditional {@code UPDATE}; the response is built from the
+     * request rather than read back.
+     *
+     * @param expectedVersion version the client last saw, or null to overwrite whatever is stored
+     * @return the updated player, or empty if it does not exist
+     * @throws VersionConflictException if the stored version is not {@code expectedVersion}
+     */
+    @Transactional
+    public Optional<PlayerDto.Response> update(Integer id, PlayerDto.Request request, Long expectedVersion) {
+        Instant now = Instant.now();
+        int updated = playerStore.update(id, expectedVersion, request.getName(), request.getSurname(),
+            request.getDateOfBirth(), request.getPersonalCode(), now);
+        if (updated == 0) {
+            return conflictOrMissing(id);
+        }
+        Player player = mapper.toEntity(request);
+        player.setId(id);
+        player.setVersion(expectedVersion != null ? expectedVersion + 1 : playerStore.findVersion(id).orElseThrow());
+        player.setModifiedAt(now);
+        events.publishEvent(ChangeEvent.of(EntityType.PLAYER, ChangeType.UPDATED, id));
+        return Optional.of(mapper.toDto(player));
+    }
+
+    /**
+     * Deletes the given players and their roster memberships in one transaction, using set-based
+     * statements whose cost does not depend on the number of teams.
+     *
+     * @return ids that existed and were deleted
+     */
+    @Transactional
+    public List<Integer> delete(Collection<Integer> ids) {
+        List<Integer> deleted = new ArrayList<>();
+        Set<Integer> teams = new HashSet<>();
+        for (List<Integer> chunk : Chunks.of(ids)) {
+            List<Integer> existing = playerStore.findExistingIds(chunk);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            teams.addAll(teamRepository.findTeamIdsWithPlayers(existing));
+            teamRepository.touchTeamsWithPlayers(existing, Instant.now());
+            int memberships = teamRepository.removePlayersFromAllTeams(existing);
+            playerStore.deleteByIds(existing);
+            log.info("Deleted {} players and {} roster memberships", existing.size(), memberships);
+            deleted.addAll(existing);
+        }
+        if (!teams.isEmpty()) {
+            events.publishEvent(new MembershipsRemovedEvent(teams));
+        }
+        if (!deleted.isEmpty()) {
+            events.publishEvent(ChangeEvent.of(EntityType.PLAYER, ChangeType.DELETED, deleted));
+        }
+        return deleted;
+    }
+
+    private <T> Optional<T> conflictOrMissing(Integer id) {
+        return playerStore.findVersion(id).map(current -> {
+            throw new VersionConflictException("Player", id, current);
+        });
+    }
+
+    private static List<Player> inOrder(List<Player> players, List<Integer> ids) {
+        Map<Integer, Player> byId = new HashMap<>();
+        players.forEach(player -> byId.put(player.getId(), player));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.project.service;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+
+/**
+ * Required-field checks shared by the single-row and bulk write paths.
+ */
+public final class RequestValidation {
+
+    private RequestValidation() {
+    }
+
+    public static boolean isValid(PlayerDto.Request request) {
+        return request != null && request.getName() != null && request.getSurname() != null
+            && request.getDateOfBirth() != null && request.getPersonalCode() != null;
+    }
+
+    public static boolean isValid(CoachDto.Request request) {
+        return request != null && request.getName() != null && request.getSurname() != null
+            && request.getCoachingFrom() != null && request.getLicenseId() != null
+            && request.getPersonalCode() != null;
+    }
+}
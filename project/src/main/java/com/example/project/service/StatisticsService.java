@@ -0,0 +1,102 @@
+package com.example.project.service;
+
+import com.example.project.dto.StatisticsDto;
+import com.example.project.repository.PlayerStore;
+import com.example.project.sharding.ShardProperties;
+import com.example.project.summary.SummaryMetric;
+import com.example.project.summary.SummaryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Year;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Aggregates over players, coaches and teams, read from the summary tables rather than from the
+ * tables they describe. Ages and tenures are whole years as of the current calendar year.
+ *
+ * <p>Sharded players are not in this database for the summary tables to count, so with
+ * {@code app.sharding.enabled} player ages are counted on the shards instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatisticsService {
+
+    private final SummaryStore store;
+    private final PlayerStore playerStore;
+    private final ShardProperties shardProperties;
+
+    public StatisticsDto.Distribution teamSizes() {
+        return distribution(store.buckets(SummaryMetric.TEAM_SIZE), size -> size);
+    }
+
+    public StatisticsDto.Distribution teamsPerYear() {
+        return distribution(store.buckets(SummaryMetric.TEAM_YEAR_CREATED), year -> year);
+    }
+
+    public StatisticsDto.Distribution playerAges() {
+        int now = Year.now().getValue();
+        SortedMap<Integer, Long> birthYears = shardProperties.isEnabled()
+            ? playerStore.countByBirthYear()
+            : store.buckets(SummaryMetric.PLAYER_BIRTH_YEAR);
+        return distribution(birthYears, birthYear -> now - birthYear);
+    }
+
+    public StatisticsDto.Distribution coachTenure() {
+        int now = Year.now().getValue();
+        return distribution(store.buckets(SummaryMetric.COACH_START_YEAR), startYear -> now - startYear);
+    }
+
+    /**
+     * Recounts every metric from its table and reports the buckets whose stored count differs. Reads
+     * one snapshot, so writes committed meanwhile do not show up as differences.
+     */
+    @Transactional(readOnly = true)
+    public StatisticsDto.Consistency check() {
+        StatisticsDto.Consistency consistency = new StatisticsDto.Consistency();
+        for (SummaryMetric metric : SummaryMetric.values()) {
+            SortedMap<Integer, Long> stored = store.buckets(metric);
+            SortedMap<Integer, Long> recounted = store.recount(metric);
+            Set<Integer> buckets = new HashSet<>(stored.keySet());
+            buckets.addAll(recounted.keySet());
+            buckets.stream().sorted().forEach(bucket -> {
+                long expected = recounted.getOrDefault(bucket, 0L);
+                long actual = stored.getOrDefault(bucket, 0L);
+                if (expected != actual) {
+                    StatisticsDto.Difference difference = new StatisticsDto.Difference();
+                    difference.setMetric(metric.name());
+                    difference.setBucket(bucket);
+                    difference.setStored(actual);
+                    difference.setRecounted(expected);
+                    consistency.getDifferences().add(difference);
+                }
+            });
+        }
+        consistency.setConsistent(consistency.getDifferences().isEmpty());
+        return consistency;
+    }
+
+    /**
+     * Replaces the stored counts with a recount.
+     */
+    public void rebuild() {
+        store.rebuild();
+    }
+
+    private static StatisticsDto.Distribution distribution(Map<Integer, Long> buckets, IntUnaryOperator value) {
+        StatisticsDto.Distribution distribution = new StatisticsDto.Distribution();
+        long sum = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            int key = value.applyAsInt(bucket.getKey());
+            distribution.getCounts().merge(key, bucket.getValue(), Long::sum);
+            distribution.setTotal(distribution.getTotal() + bucket.getValue());
+            sum += (long) key * bucket.getValue();
+        }
+        distribution.setMean(distribution.getTotal() == 0 ? null : (double) sum / distribution.getTotal());
+        return distribution;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.project.service;
+
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Team;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.pagination.KeysetPaginator;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.TeamRepository;
+import com.example.project.repository.projection.RosterEntry;
+import com.example.project.repository.projection.TeamRevision;
+import com.example.project.repository.specification.TeamSpecifications;
+import com.example.project.view.TeamView;
+import com.example.project.view.TeamViewStore;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read path for teams. Teams and their coaches come from one statement and the rosters of the whole
+ * page from one projection query, so listing N teams costs a fixed number of statements instead of
+ * one roster select per team.
+ */
+@Service
+public class TeamQueryService {
+
+    static final Set<String> TEAM_SORT_KEYS = Set.of("teamName", "yearCreated");
+
+    private final TeamRepository teamRepository;
+    private final PlayerStore playerStore;
+    private final KeysetPaginator paginator;
+    private final EntityMapper mapper;
+    private final TeamViewStore teamViews;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TeamQueryService(TeamRepository teamRepository, PlayerStore playerStore, KeysetPaginator paginator,
+                            EntityMapper mapper, TeamViewStore teamViews, PlatformTransactionManager transactionManager) {
+        this.teamRepository = teamRepository;
+        this.playerStore = playerStore;
+        this.paginator = paginator;
+        this.mapper = mapper;
+        this.teamViews = teamViews;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TeamDto.Response> findAll(Specification<Team> filter, Integer limit, String cursor, String sort) {
+        KeysetPage<Team> page = paginator.fetch(teamRepository, filter.and(TeamSpecifications.fetchCoach()),
+                "teamId", TEAM_SORT_KEYS, limit, cursor, sort);
+        Map<Integer, Set<PlayerDto.Response>> rosters = loadRosters(page.items().stream().map(Team::getTeamId).toList());
+        return page.map(team -> mapper.toDto(team, rosters.getOrDefault(team.getTeamId(), new HashSet<>())));
+    }
+
+    /**
+     * Validators of the teams on the page {@link #findAll} would return, read with one id query and one
+     * aggregate statement instead of loading the teams.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TeamRevision> findRevisions(Specification<Team> filter, Integer limit, String cursor, String sort) {
+        KeysetPage<Integer> page = paginator.fetchIds(Team.class, filter, "teamId", TEAM_SORT_KEYS, limit, cursor, sort);
+        Map<Integer, TeamRevision> revisions = new HashMap<>();
+        for (List<Integer> chunk : Chunks.of(page.items())) {
+            playerStore.findTeamRevisions(chunk).forEach(revision -> revisions.put(revision.teamId(), revision));
+        }
+        return new KeysetPage<>(page.items().stream().map(revisions::get).filter(Objects::nonNull).toList(),
+            page.nextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TeamRevision> findRevision(Integer id) {
+        return playerStore.findTeamRevisions(List.of(id)).stream().findFirst();
+    }
+
+    public boolean isMaterialized(Integer id) {
+        return teamViews.contains(id);
+    }
+
+    /**
+     * Returns the materialized team, including its serialized JSON, loading it on first access.
+     */
+    public Optional<TeamView> findView(Integer id) {
+        return teamViews.get(id, this::load);
+    }
+
+    public Optional<TeamDto.Response> findById(Integer id) {
+        return findView(id).map(TeamView::response);
+    }
+
+    /**
+     * Reads a team straight from the database, joining the caller's transaction if there is one.
+     *
+     * @return the team, or {@code null} if it does not exist
+     */
+    public TeamDto.Response load(Integer id) {
+        // Team row and roster must come from the same snapshot before they are cached together
+        return readOnlyTransaction.execute(status -> teamRepository.findWithCoachByTeamId(id)
+            .map(team -> mapper.toDto(team, loadRosters(List.of(id)).getOrDefault(id, new HashSet<>())))
+            .orElse(null));
+    }
+
+    private Map<Integer, Set<PlayerDto.Response>> loadRosters(List<Integer> teamIds) {
+        Map<Integer, Set<PlayerDto.Response>> rosters = new HashMap<>();
+        for (List<Integer> chunk : Chunks.of(teamIds)) {
+            for (RosterEntry entry : playerStore.findRosters(chunk)) {
+                rosters.computeIfAbsent(entry.teamId(), teamId -> new HashSet<>()).add(mapper.toDto(entry));
+            }
+        }
+        return rosters;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.project.service;
+
+import com.example.project.dto.RosterDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.ChangeType;
+import com.example.project.event.EntityType;
+import com.example.project.event.RosterChangeEvent;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Write side for teams and rosters. Reads go through {@link TeamQueryService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamService {
+
+    private final TeamRepository teamRepository;
+    private final PlayerStore playerStore;
+    private final CoachRepository coachRepository;
+    private final EntityMapper mapper;
+    private final ApplicationEventPublisher events;
+    private final TeamQueryService teamQueryService;
+
+    /**
+     * @throws IllegalArgumentException if the coach or a player does not exist
+     */
+    @Transactional
+    public TeamDto.Response create(TeamDto.Request request) {
+        Team team = mapper.toEntity(request);
+        team.setCoach(resolveCoach(request.getCoachId()));
+        Set<Player> players = resolvePlayers(request.getPlayerIds());
+
+        team = teamRepository.save(team);
+        replaceRoster(team.getTeamId(), Set.of(), request.getPlayerIds());
+        events.publishEvent(ChangeEvent.of(EntityType.TEAM, ChangeType.CREATED, team.getTeamId()));
+        return toDto(team, players);
+    }
+
+    /**
+     * Replaces the team's details, coach and roster. The roster is written as a diff against the
+     * current one; an omitted coach or player list clears it. The team row itself is written with one
+     * conditional {@code UPDATE}, which also locks it for the roster diff.
+     *
+     * @param expectedVersion version the client last saw, or null to overwrite whatever is stored
+     * @throws IllegalArgumentException if the coach or a player does not exist
+     * @throws VersionConflictException if the stored version is not {@code expectedVersion}
+     */
+    @Transactional
+    public Optional<TeamDto.Response> update(Integer id, TeamDto.Request request, Long expectedVersion) {
+        Coach coach = resolveCoach(request.getCoachId());
+        Set<Player> players = resolvePlayers(request.getPlayerIds());
+        Instant now = Instant.now();
+        int updated = teamRepository.update(id, expectedVersion, request.getTeamName(), request.getYearCreated(),
+            coach, now);
+        if (updated == 0) {
+            return teamRepository.findVersion(id).map(current -> {
+                throw new VersionConflictException("Team", id, current);
+            });
+        }
+
+        replaceRoster(id, new HashSet<>(teamRepository.findAllMemberIds(id)), request.getPlayerIds());
+        Team team = mapper.toEntity(request);
+        team.setTeamId(id);
+        team.setCoach(coach);
+        team.setVersion(expectedVersion != null ? expectedVersion + 1 : teamRepository.findVersion(id).orElseThrow());
+        team.setModifiedAt(now);
+        events.publishEvent(ChangeEvent.of(EntityType.TEAM, ChangeType.UPDATED, id));
+        return Optional.of(toDto(team, players));
+    }
+
+    @Transactional
+    public boolean delete(Integer id) {
+        if (!teamRepository.existsById(id)) {
+            return false;
+        }
+        teamRepository.deleteById(id);
+        events.publishEvent(ChangeEvent.of(EntityType.TEAM, ChangeType.DELETED, id));
+        return true;
+    }
+
+    /**
+     * Adds and removes players as a diff on {@code team_players}, using a fixed number of statements
+     * however many ids are given. Ids that are not players are reported, not applied. The team row is
+     * locked first and its version bumped if the roster changed, so concurrent edits of one roster
+     * serialize and a client holding the old version sees its next conditional write rejected.
+     *
+     * @param expectedVersion version the client last saw, or null to apply to whatever is stored
+     * @return the outcome, or empty if the team does not exist
+     * @throws IllegalArgumentException if an id is both added and removed
+     * @throws VersionConflictException if the stored version is not {@code expectedVersion}
+     */
+    @Transactional
+    public Optional<RosterDto.Response> patchRoster(Integer teamId, Set<Integer> add, Set<Integer> remove,
+                                                    Long expectedVersion) {
+        Set<Integer> toAdd = add == null ? Set.of() : add;
+        Set<Integer> toRemove = remove == null ? Set.of() : remove;
+        if (toAdd.stream().anyMatch(toRemove::contains)) {
+            throw new IllegalArgumentException("Players cannot be both added and removed");
+        }
+        Optional<Long> version = teamRepository.lockVersion(teamId);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        long current = version.get();
+        if (expectedVersion != null && expectedVersion != current) {
+            throw new VersionConflictException("Team", teamId, current);
+        }
+
+        Set<Integer> requested = new LinkedHashSet<>(toAdd);
+        requested.addAll(toRemove);
+        Set<Integer> existing = new HashSet<>();
+        Set<Integer> members = new HashSet<>();
+        for (List<Integer> chunk : Chunks.of(requested)) {
+            existing.addAll(playerStore.findExistingIds(chunk));
+            members.addAll(teamRepository.findMemberIds(teamId, chunk));
+        }
+
+        RosterDto.Response response = new RosterDto.Response();
+        response.setTeamId(teamId);
+        for (Integer id : requested) {
+            if (!existing.contains(id)) {
+                response.getNotFound().add(id);
+            } else if (toAdd.contains(id) && !members.contains(id)) {
+                response.getAdded().add(id);
+            } else if (toRemove.contains(id) && members.contains(id)) {
+                response.getRemoved().add(id);
+            } else {
+                response.getUnchanged().add(id);
+            }
+        }
+        for (List<Integer> chunk : Chunks.of(response.getAdded())) {
+            playerStore.addToTeam(teamId, chunk);
+        }
+        for (List<Integer> chunk : Chunks.of(response.getRemoved())) {
+            teamRepository.removePlayers(teamId, chunk);
+        }
+
+        if (!response.getAdded().isEmpty() || !response.getRemoved().isEmpty()) {
+            Instant now = Instant.now();
+            teamRepository.incrementVersion(teamId, now);
+            current++;
+            events.publishEvent(new RosterChangeEvent(teamId, Set.copyOf(response.getAdded()),
+                Set.copyOf(response.getRemoved()), current, now));
+        }
+        response.setVersion(current);
+        return Optional.of(response);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the team or player does not exist
+     */
+    @Transactional
+    public TeamDto.Response addPlayer(Integer teamId, Integer playerId) {
+        return changeOne(teamId, playerId, Set.of(playerId), Set.of());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the team or player does not exist
+     */
+    @Transactional
+    public TeamDto.Response removePlayer(Integer teamId, Integer playerId) {
+        return changeOne(teamId, playerId, Set.of(), Set.of(playerId));
+    }
+
+    private TeamDto.Response changeOne(Integer teamId, Integer playerId, Set<Integer> add, Set<Integer> remove) {
+        RosterDto.Response result = patchRoster(teamId, add, remove, null)
+            .orElseThrow(() -> new IllegalArgumentException("Team not found"));
+        if (result.getNotFound().contains(playerId)) {
+            throw new IllegalArgumentException("Player not found");
+        }
+        return teamQueryService.load(teamId);
+    }
+
+    private Coach resolveCoach(Integer coachId) {
+        if (coachId == null) {
+            return null;
+        }
+        return coachRepository.findById(coachId)
+            .orElseThrow(() -> new IllegalArgumentException("Coach not found with id: " + coachId));
+    }
+
+    /**
+     * Loads the players for a roster in one query per {@link Chunks#SIZE} ids.
+     *
+     * @throws IllegalArgumentException naming the first id that is not a player
+     */
+    private Set<Player> resolvePlayers(Set<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Player> players = new HashSet<>();
+        for (List<Integer> chunk : Chunks.of(ids)) {
+            players.addAll(playerStore.findAllById(chunk));
+        }
+        if (players.size() < ids.size()) {
+            Set<Integer> found = players.stream().map(Player::getId).collect(Collectors.toSet());
+            Integer missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new IllegalArgumentException("Player not found with id: " + missing);
+        }
+        return players;
+    }
+
+    // Set-based writes to team_players; they also clear the persistence context, so managed teams are detached
+    private void replaceRoster(Integer teamId, Set<Integer> current, Set<Integer> target) {
+        Set<Integer> wanted = target == null ? Set.of() : target;
+        List<Integer> removed = current.stream().filter(id -> !wanted.contains(id)).toList();
+        List<Integer> added = wanted.stream().filter(id -> !current.contains(id)).toList();
+        for (List<Integer> chunk : Chunks.of(removed)) {
+            teamRepository.removePlayers(teamId, chunk);
+        }
+        for (List<Integer> chunk : Chunks.of(added)) {
+            playerStore.addToTeam(teamId, chunk);
+        }
+    }
+
+    private TeamDto.Response toDto(Team team, Set<Player> players) {
+        return mapper.toDto(team, players.stream().map(mapper::toDto).collect(Collectors.toSet()));
+    }
+}
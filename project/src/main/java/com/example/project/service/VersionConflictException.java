@@ -0,0 +1,21 @@
+package com.example.project.service;
+
+/**
+ * Raised when a conditional write names a version other than the stored one. Nothing has been written.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionConflictException(String entity, Integer id, long currentVersion) {
+        super(entity + " " + id + " is at version " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * The stored version, for the client to re-read or retry against.
+     */
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.project.sharding;
+
+import com.example.project.model.IdBlock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collections;
+
+/**
+ * Hands out player ids when players are sharded, since no single table can number them. Ids are taken
+ * from the application database in blocks of {@code app.sharding.id-block-size}, so most inserts reserve
+ * nothing, and every instance sharing the database gets distinct ids. Ids left in a block when the
+ * application stops are never used.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class PlayerIdAllocator {
+
+    static final String SEQUENCE = "player";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlayerShards shards;
+    private final int blockSize;
+    private final TransactionTemplate reservation;
+
+    private long next;
+    private long end;
+
+    public PlayerIdAllocator(EntityManager entityManager, JdbcTemplate jdbcTemplate, PlayerShards shards,
+                             ShardProperties properties, PlatformTransactionManager transactionManager) {
+        if (properties.getIdBlockSize() < 1) {
+            throw new IllegalStateException("app.sharding.id-block-size must be positive");
+        }
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        this.blockSize = properties.getIdBlockSize();
+        // Committed on its own, so a block is not handed out twice if the insert that needed it rolls back
+        this.reservation = new TransactionTemplate(transactionManager);
+        this.reservation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public synchronized int next() {
+        if (next == end) {
+            next = reserve();
+            end = next + blockSize;
+        }
+        return Math.toIntExact(next++);
+    }
+
+    private long reserve() {
+        try {
+            return reservation.execute(status -> take());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first; take the block after its one
+            return reservation.execute(status -> take());
+        }
+    }
+
+    private long take() {
+        IdBlock block = entityManager.find(IdBlock.class, SEQUENCE, LockModeType.PESSIMISTIC_WRITE);
+        if (block == null) {
+            block = new IdBlock();
+            block.setName(SEQUENCE);
+            block.setNextValue(highestId() + 1);
+            entityManager.persist(block);
+            entityManager.flush();
+        }
+        long first = block.getNextValue();
+        block.setNextValue(first + blockSize);
+        log.info("Reserved player ids {} to {}", first, first + blockSize - 1);
+        return first;
+    }
+
+    // Numbering starts after any players the shards already hold
+    private long highestId() {
+        return Collections.max(shards.readAll(() ->
+            jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM player", Long.class)));
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.project.sharding;
+
+import com.example.project.service.Chunks;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Places players on shards and runs work against them. Each piece of work runs on a thread of its own,
+ * in a transaction on the shard's connection, so the repositories and queries written for a single
+ * database run unchanged against any shard, and a list request queries all shards at once.
+ *
+ * <p>Writes made inside a transaction on the application database join it: the first write to a shard
+ * opens a shard transaction that stays open until the caller's transaction completes, and later reads
+ * and writes of that shard run in it. The shards commit just before the caller does and roll back with
+ * it. If the caller's commit then fails, the undo actions registered by the writes ({@link #undoWith})
+ * take the committed shard changes back. Work outside a transaction commits on its own.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class PlayerShards implements DisposableBean {
+
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<>();
+
+    private final int count;
+    private final ExecutorService executor;
+    // Each open shard transaction holds a thread until its caller completes, so they do not share the pool
+    private final ExecutorService sessionExecutor;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final EntityManager entityManager;
+
+    public PlayerShards(ShardRoutingDataSource dataSource, ShardProperties properties,
+                        PlatformTransactionManager transactionManager, EntityManager entityManager) {
+        this.count = dataSource.shardCount();
+        this.executor = Executors.newFixedThreadPool(properties.getQueryThreads(), threads("player-shard-"));
+        this.sessionExecutor = Executors.newCachedThreadPool(threads("player-shard-session-"));
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * The shard a player id lives on. The id is mixed first (the MurmurHash3 finalizer), so ids that
+     * share a stride still spread evenly.
+     */
+    public int shardOf(int id) {
+        int hash = id;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, count);
+    }
+
+    /**
+     * The given ids grouped by shard, in shard order.
+     */
+    public Map<Integer, List<Integer>> byShard(Collection<Integer> ids) {
+        Map<Integer, List<Integer>> shards = new TreeMap<>();
+        for (Integer id : ids) {
+            shards.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        return shards;
+    }
+
+    public <T> T read(int shard, Supplier<T> work) {
+        return join(submit(shard, false, work));
+    }
+
+    public <T> T write(int shard, Supplier<T> work) {
+        return join(submit(shard, true, work));
+    }
+
+    /**
+     * Runs the work on every shard in parallel, returning the results in shard order.
+     */
+    public <T> List<T> readAll(Supplier<T> work) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int shard = 0; shard < count; shard++) {
+            futures.add(submit(shard, false, work));
+        }
+        return futures.stream().map(PlayerShards::join).toList();
+    }
+
+    /**
+     * Runs the work in parallel on each shard holding some of the ids, once per {@link Chunks#SIZE} of
+     * that shard's ids, and concatenates the results.
+     */
+    public <T> List<T> readEach(Collection<Integer> ids, Function<List<Integer>, List<T>> work) {
+        return each(ids, false, work);
+    }
+
+    /**
+     * As {@link #readEach}, in the write transaction of each shard.
+     */
+    public <T> List<T> writeEach(Collection<Integer> ids, Function<List<Integer>, List<T>> work) {
+        return each(ids, true, work);
+    }
+
+    /**
+     * Called by write work to say how to take its change back. The undo runs in a transaction of its own
+     * on the same shard, and only if the shard committed but the caller's transaction did not. It should
+     * leave rows alone that were changed again since.
+     */
+    public void undoWith(Runnable undo) {
+        Session session = SESSION.get();
+        if (session != null) {
+            session.undo.add(undo);
+        }
+    }
+
+    private <T> List<T> each(Collection<Integer> ids, boolean write, Function<List<Integer>, List<T>> work) {
+        List<Future<List<T>>> futures = new ArrayList<>();
+        byShard(ids).forEach((shard, shardIds) -> futures.add(submit(shard, write, () -> {
+            List<T> results = new ArrayList<>();
+            for (List<Integer> chunk : Chunks.of(shardIds)) {
+                results.addAll(work.apply(chunk));
+            }
+            return results;
+        })));
+        List<T> results = new ArrayList<>();
+        futures.forEach(future -> results.addAll(join(future)));
+        return results;
+    }
+
+    private <T> Future<T> submit(int shard, boolean write, Supplier<T> work) {
+        Sessions sessions = sessions(write);
+        Session session = sessions == null ? null : sessions.get(shard, write);
+        if (session != null) {
+            return session.submit(work);
+        }
+        return executor.submit(() -> runOn(shard, write ? writeTransaction : readTransaction, work));
+    }
+
+    private static <T> T runOn(int shard, TransactionTemplate transaction, Supplier<T> work) {
+        // Chosen before the transaction starts, which is when its connection is taken
+        ShardRoutingDataSource.route(shard);
+        try {
+            return transaction.execute(status -> work.get());
+        } finally {
+            ShardRoutingDataSource.clear();
+        }
+    }
+
+    /**
+     * The shard transactions of the caller's transaction, registering them with it on the first write.
+     * Null outside a transaction.
+     */
+    private Sessions sessions(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        // Looked up among the synchronizations, so a suspended outer transaction's shards are not joined
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Sessions sessions && sessions.owner() == this) {
+                return sessions;
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        Sessions sessions = new Sessions();
+        TransactionSynchronizationManager.registerSynchronization(sessions);
+        return sessions;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a shard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        sessionExecutor.shutdownNow();
+    }
+
+    /**
+     * The shard transactions opened by one transaction on the application database, committed in
+     * shard order just before it commits.
+     */
+    private final class Sessions implements TransactionSynchronization {
+
+        private final Map<Integer, Session> open = new TreeMap<>();
+        private final List<Session> committed = new ArrayList<>();
+
+        PlayerShards owner() {
+            return PlayerShards.this;
+        }
+
+        synchronized Session get(int shard, boolean create) {
+            Session session = open.get(shard);
+            if (session == null && create) {
+                session = new Session(shard);
+                open.put(shard, session);
+            }
+            return session;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (open.isEmpty()) {
+                return;
+            }
+            // Surfaces the caller's own constraint violations while the shards can still roll back
+            if (!readOnly) {
+                entityManager.flush();
+            }
+            // A failing shard throws, which rolls the caller back; afterCompletion then handles the rest
+            for (var iterator = open.values().iterator(); iterator.hasNext(); ) {
+                Session session = iterator.next();
+                iterator.remove();
+                session.commit();
+                committed.add(session);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            open.values().forEach(Session::rollback);
+            open.clear();
+            if (status == STATUS_ROLLED_BACK) {
+                committed.forEach(Session::undo);
+            } else if (status == STATUS_UNKNOWN && !committed.isEmpty()) {
+                log.error("Outcome of a transaction unknown after its player shards committed; shards {} left as committed",
+                    committed.stream().map(session -> session.shard).toList());
+            }
+        }
+    }
+
+    /**
+     * A write transaction on one shard, open on a thread of its own while the caller's transaction runs.
+     * Work is handed to that thread in order.
+     */
+    private final class Session {
+
+        private static final Runnable END = () -> { };
+
+        private final int shard;
+        private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        private final List<CompletableFuture<?>> pending = new ArrayList<>();
+        private final List<Runnable> undo = new ArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile boolean rollback;
+
+        Session(int shard) {
+            this.shard = shard;
+            sessionExecutor.execute(this::run);
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<T> work) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            synchronized (pending) {
+                if (completion.isDone()) {
+                    result.completeExceptionally(new IllegalStateException("Transaction on shard " + shard + " has ended"));
+                    return result;
+                }
+                pending.add(result);
+            }
+            tasks.add(() -> {
+                try {
+                    result.complete(work.get());
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return result;
+        }
+
+        void commit() {
+            tasks.add(END);
+            join(completion);
+        }
+
+        void rollback() {
+            rollback = true;
+            tasks.add(END);
+            try {
+                join(completion);
+            } catch (RuntimeException e) {
+                log.warn("Rolling back shard {} failed: {}", shard, e.getMessage());
+            }
+        }
+
+        // Newest change first, each in a transaction of its own so that one failure does not stop the rest
+        void undo() {
+            log.warn("Taking back {} committed changes on shard {}", undo.size(), shard);
+            for (int i = undo.size() - 1; i >= 0; i--) {
+                Runnable action = undo.get(i);
+                try {
+                    join(executor.submit(() -> runOn(shard, writeTransaction, () -> {
+                        action.run();
+                        return null;
+                    })));
+                } catch (RuntimeException e) {
+                    log.error("Could not take back a change on shard {}: {}", shard, e.getMessage(), e);
+                }
+            }
+        }
+
+        private void run() {
+            ShardRoutingDataSource.route(shard);
+            SESSION.set(this);
+            try {
+                writeTransaction.executeWithoutResult(status -> {
+                    for (Runnable task = take(); task != END; task = take()) {
+                        task.run();
+                    }
+                    if (rollback) {
+                        status.setRollbackOnly();
+                    }
+                });
+                completion.complete(null);
+            } catch (RuntimeException | Error e) {
+                completion.completeExceptionally(e);
+            } finally {
+                SESSION.remove();
+                ShardRoutingDataSource.clear();
+                // Work handed over after the transaction failed to start, or after it ended, fails too
+                synchronized (pending) {
+                    pending.forEach(result -> result.completeExceptionally(
+                        new IllegalStateException("Transaction on shard " + shard + " has ended")));
+                }
+            }
+        }
+
+        private Runnable take() {
+            try {
+                return tasks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rollback = true;
+                return END;
+            }
+        }
+    }
+}
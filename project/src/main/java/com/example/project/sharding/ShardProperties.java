@@ -0,0 +1,44 @@
+package com.example.project.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardProperties {
+
+    /** Keep players in the databases below, placed by a hash of their id, instead of in spring.datasource. */
+    private boolean enabled = false;
+
+    /** Player databases. Their number decides where every player lives, so it cannot change once players are stored. */
+    private List<Node> nodes = new ArrayList<>();
+
+    /** Bring each shard's player table up to date at startup by running the migrations in {@code db/shard}. */
+    private boolean initializeSchema = true;
+
+    /** Player ids reserved from the application database at a time. */
+    private int idBlockSize = 100;
+
+    /** Threads running shard queries; a list request uses one per shard at once. */
+    private int queryThreads = 16;
+
+    @Data
+    public static class Node {
+
+        /** JDBC URL of the shard. */
+        private String url;
+
+        /** Defaults to spring.datasource.username. */
+        private String username;
+
+        /** Defaults to spring.datasource.password. */
+        private String password;
+
+        /** Maximum connections held to this shard. */
+        private int maximumPoolSize = 10;
+    }
+}
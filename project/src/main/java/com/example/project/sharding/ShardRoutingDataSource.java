@@ -0,0 +1,68 @@
+package com.example.project.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out shard connections to work that {@link PlayerShards} runs on a shard and primary connections
+ * to everything else. The shard is chosen per thread before its transaction starts, so one persistence
+ * unit serves the application database and every shard with the same entity mappings and queries.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final int shards;
+
+    public ShardRoutingDataSource(DataSource primary, List<DataSource> shards) {
+        this.shards = shards.size();
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(key(i), shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // An unknown key would otherwise fall back to the primary and read an empty player table
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public int shardCount() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = CURRENT.get();
+        return shard == null ? PRIMARY : shard;
+    }
+
+    static void route(int shard) {
+        CURRENT.set(key(shard));
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    static String key(int shard) {
+        return "shard-" + shard;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Object target : getResolvedDataSources().values()) {
+            if (target instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.project.sharding;
+
+import com.example.project.model.Player;
+import com.example.project.pagination.KeysetPage;
+import com.example.project.pagination.KeysetPaginator;
+import com.example.project.repository.JpaPlayerStore;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.TeamRepository;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.repository.projection.NameEntry;
+import com.example.project.repository.projection.RosterEntry;
+import com.example.project.repository.projection.TeamRevision;
+import com.example.project.repository.specification.TextMatch;
+import com.example.project.search.NameSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Players spread over the {@code app.sharding.nodes} databases by a hash of their id. A lookup by id
+ * reads one shard; lists query every shard in parallel with the same keyset page query and merge the
+ * pages. Rosters stay in the application database: memberships are read there and their players
+ * fetched by id from the shards holding them.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardedPlayerStore implements PlayerStore {
+
+    private static final List<String> REVISION_COLUMNS = List.of("version", "modifiedAt");
+
+    private final PlayerShards shards;
+    private final PlayerIdAllocator ids;
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final KeysetPaginator paginator;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Player> findById(Integer id) {
+        return shards.read(shards.shardOf(id), () -> playerRepository.findById(id));
+    }
+
+    @Override
+    public List<Player> findAllById(Collection<Integer> ids) {
+        return shards.readEach(ids, playerRepository::findAllById);
+    }
+
+    @Override
+    public List<Integer> findExistingIds(Collection<Integer> ids) {
+        return shards.readEach(ids, playerRepository::findExistingIds);
+    }
+
+    @Override
+    public List<NameEntry> findNames(Collection<Integer> ids) {
+        return shards.readEach(ids, playerRepository::findNames);
+    }
+
+    // One shard after another, so the action is never called concurrently
+    @Override
+    public void scanNames(int fetchSize, Consumer<NameEntry> action) {
+        NameSearchIndex.Scan scan = NameSearchIndex.table(jdbcTemplate, "player");
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.read(shard, () -> {
+                scan.scan(fetchSize, action);
+                return null;
+            });
+        }
+    }
+
+    // Also one shard after another: a merge into id order would hold a cursor open on every shard
+    @Override
+    public void scanPlayers(int fetchSize, Consumer<Player> action) {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.read(shard, () -> {
+                JpaPlayerStore.scan(jdbcTemplate, fetchSize, action);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Long> countByBirthYear() {
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        shards.readAll(playerRepository::countByBirthYear).forEach(rows -> rows.forEach(row ->
+            counts.merge(((Number) row[0]).intValue(), ((Number) row[1]).longValue(), Long::sum)));
+        return counts;
+    }
+
+    @Override
+    public Optional<Long> findVersion(Integer id) {
+        return shards.read(shards.shardOf(id), () -> playerRepository.findVersion(id));
+    }
+
+    // A code says nothing about the shard, so every shard is asked; codes are only unique within one
+    @Override
+    public Map<String, Integer> findIdsByPersonalCode(Collection<String> codes) {
+        Map<String, Integer> ids = new HashMap<>();
+        shards.readAll(() -> playerRepository.findIdsByPersonalCode(codes)).forEach(rows -> rows.forEach(row ->
+            ids.merge(TextMatch.fold((String) row[1]), ((Number) row[0]).intValue(), Math::min)));
+        return ids;
+    }
+
+    @Override
+    public List<Player> findFirst(Specification<Player> filter, int limit) {
+        return shards.readAll(() -> playerRepository.findBy(filter, q -> q.sortBy(Sort.by("id")).limit(limit).all()))
+            .stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparing(Player::getId))
+            .limit(limit)
+            .toList();
+    }
+
+    @Override
+    public KeysetPage<Player> findAll(Specification<Player> filter, Set<String> sortKeys, Integer limit,
+                                      String cursor, String sort) {
+        List<KeysetPage<Player>> pages = shards.readAll(() ->
+            paginator.fetch(playerRepository, filter, "id", sortKeys, limit, cursor, sort));
+        return paginator.mergeEntities(pages, "id", sortKeys, limit, cursor, sort);
+    }
+
+    @Override
+    public KeysetPage<Tuple> findColumns(Specification<Player> filter, Set<String> sortKeys, List<String> properties,
+                                         Integer limit, String cursor, String sort) {
+        List<KeysetPage<Tuple>> pages = shards.readAll(() ->
+            paginator.fetchColumns(Player.class, filter, "id", sortKeys, properties, limit, cursor, sort));
+        return paginator.mergeColumns(pages, "id", sortKeys, limit, cursor, sort);
+    }
+
+    // The versions come with the page query, rather than from a second statement per shard
+    @Override
+    public KeysetPage<EntityRevision> findRevisions(Specification<Player> filter, Set<String> sortKeys,
+                                                    Integer limit, String cursor, String sort) {
+        return findColumns(filter, sortKeys, REVISION_COLUMNS, limit, cursor, sort)
+            .map(row -> new EntityRevision(row.get(0, Integer.class), row.get(2, Long.class), row.get(3, Instant.class)));
+    }
+
+    @Override
+    public Player insert(Player player) {
+        int id = ids.next();
+        Instant now = Instant.now();
+        shards.write(shards.shardOf(id), () -> {
+            playerRepository.insert(id, player.getName(), player.getSurname(), player.getDateOfBirth(),
+                player.getPersonalCode(), now);
+            shards.undoWith(() -> jdbcTemplate.update("DELETE FROM player WHERE id = ? AND version = 0", id));
+            return null;
+        });
+        player.setId(id);
+        player.setVersion(0L);
+        player.setModifiedAt(now);
+        return player;
+    }
+
+    @Override
+    public List<Integer> insertAll(List<Player> players) {
+        Instant now = Instant.now();
+        Map<Integer, Player> rows = new HashMap<>();
+        List<Integer> created = new ArrayList<>(players.size());
+        for (Player player : players) {
+            Player row = copy(player);
+            row.setId(ids.next());
+            row.setVersion(0L);
+            row.setModifiedAt(now);
+            rows.put(row.getId(), row);
+            created.add(row.getId());
+        }
+        shards.writeEach(created, chunk -> {
+            insertRows(chunk.stream().map(rows::get).toList());
+            shards.undoWith(() -> jdbcTemplate.batchUpdate("DELETE FROM player WHERE id = ? AND version = 0", chunk,
+                chunk.size(), (statement, id) -> statement.setInt(1, id)));
+            return List.of();
+        });
+        return created;
+    }
+
+    @Override
+    public void updateAll(List<Player> players) {
+        Instant now = Instant.now();
+        Map<Integer, Player> rows = new HashMap<>();
+        players.forEach(player -> rows.put(player.getId(), player));
+        shards.writeEach(rows.keySet(), chunk -> {
+            List<Player> before = playerRepository.findAllById(chunk);
+            jdbcTemplate.batchUpdate("UPDATE player SET name = ?, surname = ?, date_of_birth = ?, personal_code = ?, "
+                    + "version = version + 1, modified_at = ? WHERE id = ?", chunk, chunk.size(),
+                (statement, id) -> {
+                    Player player = rows.get(id);
+                    statement.setString(1, player.getName());
+                    statement.setString(2, player.getSurname());
+                    statement.setObject(3, player.getDateOfBirth());
+                    statement.setString(4, player.getPersonalCode());
+                    statement.setTimestamp(5, Timestamp.from(now));
+                    statement.setInt(6, id);
+                });
+            if (!before.isEmpty()) {
+                shards.undoWith(() -> before.forEach(this::restore));
+            }
+            return List.of();
+        });
+    }
+
+    @Override
+    public int update(Integer id, Long expectedVersion, String name, String surname, LocalDate dateOfBirth,
+                      String personalCode, Instant modifiedAt) {
+        return shards.write(shards.shardOf(id), () -> {
+            Optional<Player> before = playerRepository.findById(id);
+            int updated = playerRepository.update(id, expectedVersion, name, surname, dateOfBirth, personalCode,
+                modifiedAt);
+            if (updated > 0) {
+                before.ifPresent(player -> shards.undoWith(() -> restore(player)));
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public int deleteByIds(Collection<Integer> ids) {
+        return shards.writeEach(ids, chunk -> {
+                List<Player> deleted = playerRepository.findAllById(chunk);
+                int count = playerRepository.deleteByIds(chunk);
+                // Ids come from blocks and are never handed out again, so a deleted id is still free
+                if (!deleted.isEmpty()) {
+                    shards.undoWith(() -> insertRows(deleted));
+                }
+                return List.of(count);
+            }).stream()
+            .mapToInt(Integer::intValue)
+            .sum();
+    }
+
+    @Override
+    public List<RosterEntry> findRosters(Collection<Integer> teamIds) {
+        List<Object[]> memberships = teamRepository.findMemberships(teamIds);
+        Map<Integer, Player> players = new HashMap<>();
+        findAllById(playerIds(memberships)).forEach(player -> players.put(player.getId(), player));
+        List<RosterEntry> entries = new ArrayList<>();
+        for (Object[] membership : memberships) {
+            Player player = players.get(((Number) membership[1]).intValue());
+            if (player != null) {
+                entries.add(new RosterEntry(((Number) membership[0]).intValue(), player.getId(), player.getName(),
+                    player.getSurname(), player.getDateOfBirth(), player.getPersonalCode(), player.getVersion(),
+                    player.getModifiedAt()));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public List<Object[]> findRosterColumns(Collection<Integer> teamIds, List<String> properties) {
+        List<Object[]> memberships = teamRepository.findMemberships(teamIds);
+        Map<Integer, Tuple> players = new HashMap<>();
+        shards.readEach(playerIds(memberships), chunk -> findColumns(chunk, properties))
+            .forEach(row -> players.put(row.get(0, Integer.class), row));
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] membership : memberships) {
+            Tuple player = players.get(((Number) membership[1]).intValue());
+            if (player != null) {
+                Object[] row = new Object[properties.size() + 2];
+                row[0] = ((Number) membership[0]).intValue();
+                System.arraycopy(player.toArray(), 0, row, 1, properties.size() + 1);
+                rows.add(row);
+            }
+        }
+        rows.sort(Comparator.comparing(row -> (Integer) row[1]));
+        return rows;
+    }
+
+    /**
+     * Team and coach columns come from the application database, where the roster aggregates find no
+     * players; those are computed here from the players' versions on the shards.
+     */
+    @Override
+    public List<TeamRevision> findTeamRevisions(Collection<Integer> teamIds) {
+        List<Object[]> memberships = teamRepository.findMemberships(teamIds);
+        Map<Integer, EntityRevision> players = new HashMap<>();
+        shards.readEach(playerIds(memberships), playerRepository::findRevisions)
+            .forEach(revision -> players.put(revision.id(), revision));
+        Map<Integer, Long> versions = new HashMap<>();
+        Map<Integer, Instant> modified = new HashMap<>();
+        for (Object[] membership : memberships) {
+            EntityRevision player = players.get(((Number) membership[1]).intValue());
+            if (player != null) {
+                Integer teamId = ((Number) membership[0]).intValue();
+                versions.merge(teamId, player.version(), Long::sum);
+                modified.merge(teamId, player.modifiedAt(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        return teamRepository.findRevisions(teamIds).stream()
+            .map(team -> new TeamRevision(team.teamId(), team.version(), team.modifiedAt(), team.coachVersion(),
+                team.coachModifiedAt(), versions.getOrDefault(team.teamId(), 0L), modified.get(team.teamId())))
+            .toList();
+    }
+
+    // There is no player row to check against in this database, so the ids are checked on the shards
+    @Override
+    public int addToTeam(Integer teamId, Collection<Integer> playerIds) {
+        Set<Integer> skipped = new HashSet<>(teamRepository.findMemberIds(teamId, playerIds));
+        Set<Integer> existing = new HashSet<>(findExistingIds(playerIds));
+        List<Integer> added = playerIds.stream().filter(id -> existing.contains(id) && !skipped.contains(id)).toList();
+        if (added.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO team_players (team_id, player_id) VALUES (?, ?)", added, added.size(),
+            (statement, playerId) -> {
+                statement.setInt(1, teamId);
+                statement.setInt(2, playerId);
+            });
+        return added.size();
+    }
+
+    // Only while the row is still at the version the update gave it
+    private void restore(Player player) {
+        jdbcTemplate.update("UPDATE player SET name = ?, surname = ?, date_of_birth = ?, personal_code = ?, "
+                + "version = ?, modified_at = ? WHERE id = ? AND version = ?",
+            player.getName(), player.getSurname(), player.getDateOfBirth(), player.getPersonalCode(),
+            player.getVersion(), Timestamp.from(player.getModifiedAt()), player.getId(), player.getVersion() + 1);
+    }
+
+    private void insertRows(List<Player> players) {
+        jdbcTemplate.batchUpdate("INSERT INTO player (id, name, surname, date_of_birth, personal_code, version, "
+                + "modified_at) VALUES (?, ?, ?, ?, ?, ?, ?)", players, players.size(),
+            (statement, player) -> {
+                statement.setInt(1, player.getId());
+                statement.setString(2, player.getName());
+                statement.setString(3, player.getSurname());
+                statement.setObject(4, player.getDateOfBirth());
+                statement.setString(5, player.getPersonalCode());
+                statement.setLong(6, player.getVersion());
+                statement.setTimestamp(7, Timestamp.from(player.getModifiedAt()));
+            });
+    }
+
+    private static Player copy(Player player) {
+        Player copy = new Player();
+        copy.setName(player.getName());
+        copy.setSurname(player.getSurname());
+        copy.setDateOfBirth(player.getDateOfBirth());
+        copy.setPersonalCode(player.getPersonalCode());
+        return copy;
+    }
+
+    private List<Tuple> findColumns(List<Integer> ids, List<String> properties) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Player> player = query.from(Player.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(player.get("id"));
+        properties.forEach(property -> selections.add(player.get(property)));
+        query.multiselect(selections).where(player.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Set<Integer> playerIds(List<Object[]> memberships) {
+        Set<Integer> ids = new HashSet<>();
+        memberships.forEach(membership -> ids.add(((Number) membership[1]).intValue()));
+        return ids;
+    }
+}
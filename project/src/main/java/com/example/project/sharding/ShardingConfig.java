@@ -0,0 +1,91 @@
+package com.example.project.sharding;
+
+import com.example.project.reactive.ReactiveApiProperties;
+import com.example.project.routing.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the auto-configured pool with a pool for {@code spring.datasource.*}, which keeps everything
+ * but players, plus one pool per player shard, all behind a {@link ShardRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /** The shards hold the player table only, so they have migrations of their own. */
+    static final String SHARD_MIGRATIONS = "classpath:db/shard";
+
+    /**
+     * Changes to the main database that only hold once players are sharded. They are repeatable migrations,
+     * so they also run when sharding is turned on for a database that is already migrated.
+     */
+    static final String SHARDED_MAIN_MIGRATIONS = "classpath:db/migration-sharded";
+
+    @Bean
+    public FlywayConfigurationCustomizer shardedMainMigrations() {
+        return configuration -> configuration.locations(Stream.concat(
+                Arrays.stream(configuration.getLocations()), Stream.of(new Location(SHARDED_MAIN_MIGRATIONS)))
+            .toArray(Location[]::new));
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties, ShardProperties properties,
+                                             ReplicaProperties replicas, ReactiveApiProperties reactive,
+                                             Environment environment, MeterRegistry registry) {
+        // Both read the player table of spring.datasource, which stays empty once players are sharded
+        if (replicas.isEnabled() || reactive.isEnabled()) {
+            throw new IllegalStateException("app.sharding cannot be combined with app.replicas or app.reactive");
+        }
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("app.sharding.nodes must list at least one database");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> shards = new ArrayList<>();
+        List<ShardProperties.Node> nodes = properties.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            ShardProperties.Node node = nodes.get(i);
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName(ShardRoutingDataSource.key(i));
+            shard.setJdbcUrl(node.getUrl());
+            shard.setUsername(Objects.requireNonNullElse(node.getUsername(), dataSourceProperties.determineUsername()));
+            shard.setPassword(Objects.requireNonNullElse(node.getPassword(), dataSourceProperties.determinePassword()));
+            shard.setMaximumPoolSize(node.getMaximumPoolSize());
+            shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            if (properties.isInitializeSchema()) {
+                Flyway.configure()
+                    .dataSource(shard)
+                    .locations(SHARD_MIGRATIONS)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+            }
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(primary, shards);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.project.summary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A counted property of players, coaches or teams. Each row falls in at most one bucket, computed by
+ * SQL so that a whole table can be recounted in one statement; rows whose value is null are not
+ * counted.
+ */
+public enum SummaryMetric {
+    PLAYER_BIRTH_YEAR("player", "id", "YEAR(date_of_birth)", "date_of_birth IS NOT NULL"),
+    COACH_START_YEAR("coach", "id", "YEAR(coaching_from)", "coaching_from IS NOT NULL"),
+    TEAM_YEAR_CREATED("team", "team_id", "year_created", "year_created IS NOT NULL"),
+    // Counted through the (team_id, player_id) key of team_players, one team at a time
+    TEAM_SIZE("team t", "t.team_id", "(SELECT COUNT(*) FROM team_players tp WHERE tp.team_id = t.team_id)", null);
+
+    private final String table;
+    private final String idColumn;
+    private final String bucket;
+    private final String condition;
+
+    SummaryMetric(String table, String idColumn, String bucket, String condition) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.bucket = bucket;
+        this.condition = condition;
+    }
+
+    /**
+     * Selects {@code entity_id} and {@code bucket} of every counted row, or only of the rows whose ids
+     * are bound to {@code :ids}.
+     */
+    String select(boolean byIds) {
+        List<String> conditions = new ArrayList<>();
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        if (byIds) {
+            conditions.add(idColumn + " IN (:ids)");
+        }
+        return "SELECT " + idColumn + " AS entity_id, " + bucket + " AS bucket FROM " + table
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+    }
+}
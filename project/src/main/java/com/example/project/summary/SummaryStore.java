@@ -0,0 +1,119 @@
+package com.example.project.summary;
+
+import com.example.project.event.ChangeType;
+import com.example.project.service.Chunks;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Counts of players, coaches and teams per bucket of each {@link SummaryMetric}, kept in
+ * {@code summary_bucket}. {@code summary_entry} records which bucket each row is counted in, so a write
+ * only touches the counts of the rows it changed. All statements are set-based and run in the writing
+ * transaction, so the counts commit or roll back with the data.
+ */
+@Component
+@RequiredArgsConstructor
+public class SummaryStore {
+
+    private static final String TAKE_OUT = "UPDATE summary_bucket b SET entries = entries - "
+        + "(SELECT COUNT(*) FROM summary_entry e WHERE e.metric = b.metric AND e.bucket = b.bucket AND e.entity_id IN (:ids)) "
+        + "WHERE b.metric = :metric AND b.bucket IN (SELECT bucket FROM summary_entry WHERE metric = :metric AND entity_id IN (:ids))";
+    private static final String DROP_ENTRIES = "DELETE FROM summary_entry WHERE metric = :metric AND entity_id IN (:ids)";
+    private static final String ADD_ENTRIES = "INSERT INTO summary_entry (metric, entity_id, bucket) "
+        + "SELECT :metric, s.entity_id, s.bucket FROM (%s) s";
+    private static final String PUT_IN = "INSERT INTO summary_bucket (metric, bucket, entries) "
+        + "SELECT d.metric, d.bucket, d.entries FROM (SELECT metric, bucket, COUNT(*) AS entries FROM summary_entry "
+        + "WHERE metric = :metric AND entity_id IN (:ids) GROUP BY metric, bucket) d "
+        + "ON DUPLICATE KEY UPDATE entries = summary_bucket.entries + VALUES(entries)";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Moves the given rows to the buckets their current values fall in, with up to four statements per
+     * {@link Chunks#SIZE} ids: created rows are only added and deleted rows only taken out. Rows that
+     * no longer exist, or whose value is null, end up in no bucket.
+     */
+    @Transactional
+    public void refresh(SummaryMetric metric, ChangeType change, Collection<Integer> ids) {
+        for (List<Integer> chunk : Chunks.of(ids)) {
+            if (change != ChangeType.CREATED) {
+                update(TAKE_OUT, metric, chunk);
+                update(DROP_ENTRIES, metric, chunk);
+            }
+            if (change != ChangeType.DELETED) {
+                update(ADD_ENTRIES.formatted(metric.select(true)), metric, chunk);
+                update(PUT_IN, metric, chunk);
+            }
+        }
+    }
+
+    /**
+     * The stored counts of a metric by bucket; buckets that have emptied are left out.
+     */
+    @Transactional(readOnly = true)
+    public SortedMap<Integer, Long> buckets(SummaryMetric metric) {
+        return toMap(entityManager.createNativeQuery(
+                "SELECT bucket, entries FROM summary_bucket WHERE metric = :metric AND entries <> 0", Object[].class)
+            .setParameter("metric", metric.name())
+            .getResultList());
+    }
+
+    /**
+     * Counts a metric from scratch over the whole table, ignoring the stored counts.
+     */
+    @Transactional(readOnly = true)
+    public SortedMap<Integer, Long> recount(SummaryMetric metric) {
+        return toMap(entityManager.createNativeQuery(
+                "SELECT s.bucket, COUNT(*) FROM (" + metric.select(false) + ") s GROUP BY s.bucket", Object[].class)
+            .getResultList());
+    }
+
+    // Asked on the primary: a lagging replica must not cause a rebuild
+    @Transactional
+    public boolean isEmpty() {
+        return entityManager.createNativeQuery("SELECT 1 FROM summary_entry", Integer.class)
+            .setMaxResults(1)
+            .getResultList()
+            .isEmpty();
+    }
+
+    /**
+     * Replaces all counts with a full recount, in one transaction. On MySQL the recount reads lock the
+     * rows they count, so writes that arrive meanwhile wait and are then applied on top.
+     */
+    @Transactional
+    public void rebuild() {
+        entityManager.createNativeQuery("DELETE FROM summary_entry").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM summary_bucket").executeUpdate();
+        for (SummaryMetric metric : SummaryMetric.values()) {
+            entityManager.createNativeQuery(ADD_ENTRIES.formatted(metric.select(false)))
+                .setParameter("metric", metric.name())
+                .executeUpdate();
+        }
+        entityManager.createNativeQuery("INSERT INTO summary_bucket (metric, bucket, entries) "
+            + "SELECT metric, bucket, COUNT(*) FROM summary_entry GROUP BY metric, bucket").executeUpdate();
+    }
+
+    private void update(String sql, SummaryMetric metric, List<Integer> ids) {
+        entityManager.createNativeQuery(sql)
+            .setParameter("metric", metric.name())
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+
+    // Query.getResultList() is untyped, so each row is cast here rather than the whole list
+    private static SortedMap<Integer, Long> toMap(List<?> rows) {
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            counts.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
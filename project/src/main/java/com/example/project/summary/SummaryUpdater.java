@@ -0,0 +1,62 @@
+package com.example.project.summary;
+
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.ChangeType;
+import com.example.project.event.MembershipsRemovedEvent;
+import com.example.project.event.RosterChangeEvent;
+import com.example.project.sharding.ShardProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.Set;
+
+/**
+ * Applies write events to the {@link SummaryStore} inside the writing transaction, and counts existing
+ * data once if the summary tables start out empty.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryUpdater {
+
+    private final SummaryStore store;
+    private final ShardProperties shardProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (store.isEmpty()) {
+            long start = System.currentTimeMillis();
+            store.rebuild();
+            log.info("Built summary tables in {} ms", System.currentTimeMillis() - start);
+        }
+    }
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        switch (event.entity()) {
+            case PLAYER -> {
+                // Sharded players are not in this database for the metric to count
+                if (!shardProperties.isEnabled()) {
+                    store.refresh(SummaryMetric.PLAYER_BIRTH_YEAR, event.change(), event.ids());
+                }
+            }
+            case COACH -> store.refresh(SummaryMetric.COACH_START_YEAR, event.change(), event.ids());
+            case TEAM -> {
+                store.refresh(SummaryMetric.TEAM_YEAR_CREATED, event.change(), event.ids());
+                store.refresh(SummaryMetric.TEAM_SIZE, event.change(), event.ids());
+            }
+        }
+    }
+
+    @EventListener
+    public void onRosterChange(RosterChangeEvent event) {
+        store.refresh(SummaryMetric.TEAM_SIZE, ChangeType.UPDATED, Set.of(event.teamId()));
+    }
+
+    @EventListener
+    public void onMembershipsRemoved(MembershipsRemovedEvent event) {
+        store.refresh(SummaryMetric.TEAM_SIZE, ChangeType.UPDATED, event.teamIds());
+    }
+}
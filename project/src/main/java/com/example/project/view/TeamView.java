@@ -0,0 +1,10 @@
+package com.example.project.view;
+
+import com.example.project.dto.TeamDto;
+
+/**
+ * Ready-to-serve team: the response object and its JSON encoding. Never mutated once stored;
+ * patches build a new view.
+ */
+public record TeamView(TeamDto.Response response, byte[] json) {
+}
@@ -0,0 +1,17 @@
+package com.example.project.view;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.team-views")
+public class TeamViewProperties {
+
+    /** Serve GET /api/teams/{id} from the materialized store; false loads every request from the database. */
+    private boolean enabled = true;
+
+    /** Teams beyond this count are served from the database instead of being materialized. */
+    private int maximumSize = 100_000;
+}
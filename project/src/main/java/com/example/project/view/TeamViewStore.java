@@ -0,0 +1,389 @@
+package com.example.project.view;
+
+import com.example.project.cache.CacheStatistics;
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.routing.ReadYourWrites;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Materialized {@link TeamView}s keyed by team id, with reverse player→teams and coach→teams indexes so a
+ * change to one player or coach patches only the teams that embed it.
+ *
+ * <p>Changes made inside a transaction are applied when it commits. From the moment a change is
+ * registered until it is applied, reads of the affected teams go to the loader, and no team loaded
+ * concurrently with a change is stored, so a committed write is never followed by a stale view.
+ *
+ * <p>Patches run after their transactions complete, not necessarily in commit order, so each one compares
+ * versions with what is stored: a player or coach older than the stored copy is skipped, and a team
+ * patch that is not newer than the stored team evicts it instead.
+ */
+@Component
+public class TeamViewStore {
+
+    private final ObjectMapper objectMapper;
+    private final TeamViewProperties properties;
+    private final Map<Integer, TeamView> views = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> teamsByPlayer = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> teamsByCoach = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> pendingTeams = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+    // Stores take the read lock, changes the write lock, so index lookups see every stored view
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TeamViewStore(ObjectMapper objectMapper, TeamViewProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the stored view, or loads, materializes and stores it. Empty if the loader finds no team.
+     */
+    public Optional<TeamView> get(Integer teamId, Function<Integer, TeamDto.Response> loader) {
+        if (!properties.isEnabled() || pendingTeams.containsKey(teamId)) {
+            bypasses.increment();
+            return Optional.ofNullable(loader.apply(teamId)).map(this::materialize);
+        }
+        TeamView view = views.get(teamId);
+        if (view != null) {
+            hits.increment();
+            return Optional.of(view);
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        // Stored views outlive the replication lag, so they are read from the primary
+        TeamDto.Response loaded = ReadYourWrites.onPrimary(() -> loader.apply(teamId));
+        if (loaded == null) {
+            return Optional.empty();
+        }
+        TeamView materialized = materialize(loaded);
+        lock.readLock().lock();
+        try {
+            if (pendingChanges.get() == 0 && generation.get() == loadedAt && views.size() < properties.getMaximumSize()) {
+                store(materialized);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(materialized);
+    }
+
+    public boolean contains(Integer teamId) {
+        return views.containsKey(teamId);
+    }
+
+    public Set<Integer> teamsWithPlayers(Collection<Integer> playerIds) {
+        Set<Integer> teams = new HashSet<>();
+        playerIds.forEach(id -> teams.addAll(teamsByPlayer.getOrDefault(id, Set.of())));
+        return teams;
+    }
+
+    public Set<Integer> teamsWithCoaches(Collection<Integer> coachIds) {
+        Set<Integer> teams = new HashSet<>();
+        coachIds.forEach(id -> teams.addAll(teamsByCoach.getOrDefault(id, Set.of())));
+        return teams;
+    }
+
+    /**
+     * Registers a change to the teams selected by {@code affectedTeams}. {@code prepare} runs immediately,
+     * inside the writing transaction, and returns the patch to apply once that transaction commits (or
+     * straight away outside a transaction). Reads of the affected teams bypass the store until then, and
+     * no team loaded meanwhile is stored, so the patch sees every view it may need to touch.
+     */
+    public void change(Supplier<Set<Integer>> affectedTeams, Function<Set<Integer>, Runnable> prepare) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(prepare.apply(affectedTeams.get()));
+            return;
+        }
+        Set<Integer> affected;
+        lock.writeLock().lock();
+        try {
+            affected = affectedTeams.get();
+            pendingChanges.incrementAndGet();
+            affected.forEach(id -> pendingTeams.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Runnable patch;
+        try {
+            patch = prepare.apply(affected);
+        } catch (RuntimeException e) {
+            release(affected);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(patch);
+                    }
+                } finally {
+                    release(affected);
+                }
+            }
+        });
+    }
+
+    // The methods below are only called from patches, which run under the write lock
+
+    void replaceTeam(Integer teamId, TeamDto.Response team) {
+        TeamView current = views.get(teamId);
+        if (current == null) {
+            return;
+        }
+        if (team == null || !isNewer(team.getVersion(), current.response().getVersion())) {
+            evict(teamId);
+            return;
+        }
+        // Players and coach were read with the team and may predate a patch applied since
+        if (team.getPlayers() != null) {
+            Set<PlayerDto.Response> roster = new HashSet<>();
+            team.getPlayers().forEach(player -> roster.add(newestPlayer(player)));
+            team.setPlayers(roster);
+        }
+        if (team.getCoach() != null) {
+            team.setCoach(newestCoach(team.getCoach()));
+        }
+        remove(teamId);
+        store(materialize(team));
+    }
+
+    void updatePlayers(Map<Integer, PlayerDto.Response> players) {
+        for (Integer teamId : teamsWithPlayers(players.keySet())) {
+            patchTeam(teamId, team -> {
+                Set<PlayerDto.Response> roster = new HashSet<>();
+                for (PlayerDto.Response player : team.getPlayers()) {
+                    PlayerDto.Response changed = players.get(player.getId());
+                    roster.add(changed != null && isNewer(changed.getVersion(), player.getVersion()) ? changed : player);
+                }
+                team.setPlayers(roster);
+            });
+        }
+    }
+
+    void removePlayers(Set<Integer> playerIds, Map<Integer, EntityRevision> teamRevisions) {
+        for (Integer teamId : teamsWithPlayers(playerIds)) {
+            patchTeam(teamId, team -> {
+                team.getPlayers().removeIf(player -> playerIds.contains(player.getId()));
+                setRevision(team, teamRevisions.get(teamId));
+            });
+        }
+        playerIds.forEach(teamsByPlayer::remove);
+    }
+
+    void updateCoaches(Map<Integer, CoachDto.Response> coaches) {
+        for (Integer teamId : teamsWithCoaches(coaches.keySet())) {
+            patchTeam(teamId, team -> {
+                CoachDto.Response changed = coaches.get(team.getCoach().getId());
+                if (changed != null && isNewer(changed.getVersion(), team.getCoach().getVersion())) {
+                    team.setCoach(changed);
+                }
+            });
+        }
+    }
+
+    void removeCoaches(Set<Integer> coachIds, Map<Integer, EntityRevision> teamRevisions) {
+        for (Integer teamId : teamsWithCoaches(coachIds)) {
+            patchTeam(teamId, team -> {
+                team.setCoach(null);
+                setRevision(team, teamRevisions.get(teamId));
+            });
+        }
+        coachIds.forEach(teamsByCoach::remove);
+    }
+
+    // A roster patch is a delta, so one older than the stored team cannot be skipped and evicts it
+    void changeRoster(Integer teamId, Set<Integer> removed, Collection<PlayerDto.Response> added, Long version,
+                      Instant modifiedAt) {
+        TeamView current = views.get(teamId);
+        if (current == null) {
+            return;
+        }
+        if (!isNewer(version, current.response().getVersion())) {
+            evict(teamId);
+            return;
+        }
+        patchTeam(teamId, team -> {
+            Set<Integer> ids = new HashSet<>(removed);
+            added.forEach(player -> ids.add(player.getId()));
+            team.getPlayers().removeIf(player -> ids.contains(player.getId()));
+            added.forEach(player -> team.getPlayers().add(newestPlayer(player)));
+            team.setVersion(version);
+            team.setModifiedAt(modifiedAt);
+        });
+    }
+
+    /**
+     * Drops every view. Used when a change cannot be expressed as a patch.
+     */
+    public void clear() {
+        apply(() -> {
+            views.clear();
+            teamsByPlayer.clear();
+            teamsByCoach.clear();
+        });
+    }
+
+    public CacheStatistics statistics() {
+        return new CacheStatistics("teams", views.size(), hits.sum(), misses.sum(), bypasses.sum(), evictions.sum());
+    }
+
+    private void apply(Runnable patch) {
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            patch.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void release(Set<Integer> affected) {
+        generation.incrementAndGet();
+        affected.forEach(id -> pendingTeams.computeIfPresent(id, (key, count) -> count.decrementAndGet() == 0 ? null : count));
+        pendingChanges.decrementAndGet();
+    }
+
+    private void patchTeam(Integer teamId, Consumer<TeamDto.Response> patch) {
+        TeamView current = views.get(teamId);
+        if (current == null) {
+            return;
+        }
+        TeamDto.Response copy = copy(current.response());
+        patch.accept(copy);
+        remove(teamId);
+        store(materialize(copy));
+    }
+
+    private void evict(Integer teamId) {
+        if (views.containsKey(teamId)) {
+            evictions.increment();
+        }
+        remove(teamId);
+    }
+
+    // The newest of the given player and the copies embedded in stored views
+    private PlayerDto.Response newestPlayer(PlayerDto.Response player) {
+        PlayerDto.Response newest = player;
+        for (Integer teamId : teamsByPlayer.getOrDefault(player.getId(), Set.of())) {
+            TeamView view = views.get(teamId);
+            if (view == null) {
+                continue;
+            }
+            for (PlayerDto.Response stored : view.response().getPlayers()) {
+                if (stored.getId().equals(player.getId()) && isNewer(stored.getVersion(), newest.getVersion())) {
+                    newest = stored;
+                }
+            }
+        }
+        return newest;
+    }
+
+    private CoachDto.Response newestCoach(CoachDto.Response coach) {
+        CoachDto.Response newest = coach;
+        for (Integer teamId : teamsByCoach.getOrDefault(coach.getId(), Set.of())) {
+            TeamView view = views.get(teamId);
+            CoachDto.Response stored = view == null ? null : view.response().getCoach();
+            if (stored != null && stored.getId().equals(coach.getId()) && isNewer(stored.getVersion(), newest.getVersion())) {
+                newest = stored;
+            }
+        }
+        return newest;
+    }
+
+    private static boolean isNewer(Long incoming, Long stored) {
+        return stored == null || incoming != null && incoming > stored;
+    }
+
+    private void store(TeamView view) {
+        TeamDto.Response team = view.response();
+        views.put(team.getTeamId(), view);
+        if (team.getCoach() != null) {
+            teamsByCoach.computeIfAbsent(team.getCoach().getId(), id -> ConcurrentHashMap.newKeySet()).add(team.getTeamId());
+        }
+        for (PlayerDto.Response player : team.getPlayers()) {
+            teamsByPlayer.computeIfAbsent(player.getId(), id -> ConcurrentHashMap.newKeySet()).add(team.getTeamId());
+        }
+    }
+
+    private void remove(Integer teamId) {
+        TeamView removed = views.remove(teamId);
+        if (removed == null) {
+            return;
+        }
+        TeamDto.Response team = removed.response();
+        if (team.getCoach() != null) {
+            unindex(teamsByCoach, team.getCoach().getId(), teamId);
+        }
+        for (PlayerDto.Response player : team.getPlayers()) {
+            unindex(teamsByPlayer, player.getId(), teamId);
+        }
+    }
+
+    private static void unindex(Map<Integer, Set<Integer>> index, Integer key, Integer teamId) {
+        index.computeIfPresent(key, (id, teams) -> {
+            teams.remove(teamId);
+            return teams.isEmpty() ? null : teams;
+        });
+    }
+
+    private TeamView materialize(TeamDto.Response team) {
+        if (team.getPlayers() == null) {
+            team.setPlayers(new HashSet<>());
+        }
+        try {
+            return new TeamView(team, objectMapper.writeValueAsBytes(team));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize team " + team.getTeamId(), e);
+        }
+    }
+
+    private static TeamDto.Response copy(TeamDto.Response team) {
+        TeamDto.Response copy = new TeamDto.Response();
+        copy.setTeamId(team.getTeamId());
+        copy.setTeamName(team.getTeamName());
+        copy.setYearCreated(team.getYearCreated());
+        copy.setCoach(team.getCoach());
+        copy.setPlayers(new HashSet<>(team.getPlayers()));
+        copy.setVersion(team.getVersion());
+        copy.setModifiedAt(team.getModifiedAt());
+        return copy;
+    }
+
+    // Deletions bump the version of the teams they touch; a team deleted meanwhile has no revision
+    private static void setRevision(TeamDto.Response team, EntityRevision revision) {
+        if (revision != null && isNewer(revision.version(), team.getVersion())) {
+            team.setVersion(revision.version());
+            team.setModifiedAt(revision.modifiedAt());
+        }
+    }
+}
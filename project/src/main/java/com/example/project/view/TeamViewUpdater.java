@@ -0,0 +1,128 @@
+package com.example.project.view;
+
+import com.example.project.dto.CoachDto;
+import com.example.project.dto.PlayerDto;
+import com.example.project.dto.TeamDto;
+import com.example.project.event.ChangeEvent;
+import com.example.project.event.RosterChangeEvent;
+import com.example.project.mapper.EntityMapper;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.TeamRepository;
+import com.example.project.repository.projection.EntityRevision;
+import com.example.project.service.Chunks;
+import com.example.project.service.TeamQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns write events into incremental {@link TeamViewStore} patches. Replacement rows are read inside the
+ * writing transaction, and only when a materialized team actually embeds the changed player or coach.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamViewUpdater {
+
+    private static final Runnable NOTHING = () -> { };
+
+    private final TeamViewStore store;
+    private final PlayerStore playerStore;
+    private final CoachRepository coachRepository;
+    private final TeamRepository teamRepository;
+    private final TeamQueryService teamQueryService;
+    private final EntityMapper mapper;
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        Set<Integer> ids = event.ids();
+        switch (event.entity()) {
+            case PLAYER -> onPlayerChange(event, ids);
+            case COACH -> onCoachChange(event, ids);
+            case TEAM -> onTeamChange(event, ids);
+        }
+    }
+
+    @EventListener
+    public void onRosterChange(RosterChangeEvent event) {
+        Integer teamId = event.teamId();
+        store.change(() -> Set.of(teamId), affected -> {
+            if (!store.contains(teamId)) {
+                return NOTHING;
+            }
+            List<PlayerDto.Response> added = playerStore.findAllById(event.addedPlayerIds()).stream()
+                .map(mapper::toDto)
+                .toList();
+            return () -> store.changeRoster(teamId, event.removedPlayerIds(), added, event.teamVersion(),
+                event.teamModifiedAt());
+        });
+    }
+
+    private void onPlayerChange(ChangeEvent event, Set<Integer> ids) {
+        switch (event.change()) {
+            case CREATED -> {
+            }
+            case UPDATED -> store.change(() -> store.teamsWithPlayers(ids), affected -> {
+                if (affected.isEmpty()) {
+                    return NOTHING;
+                }
+                Map<Integer, PlayerDto.Response> players = new HashMap<>();
+                playerStore.findAllById(ids).forEach(player -> players.put(player.getId(), mapper.toDto(player)));
+                return () -> store.updatePlayers(players);
+            });
+            case DELETED -> store.change(() -> store.teamsWithPlayers(ids), affected -> {
+                Map<Integer, EntityRevision> teams = teamRevisions(affected);
+                return () -> store.removePlayers(ids, teams);
+            });
+        }
+    }
+
+    private void onCoachChange(ChangeEvent event, Set<Integer> ids) {
+        switch (event.change()) {
+            case CREATED -> {
+            }
+            case UPDATED -> store.change(() -> store.teamsWithCoaches(ids), affected -> {
+                if (affected.isEmpty()) {
+                    return NOTHING;
+                }
+                Map<Integer, CoachDto.Response> coaches = new HashMap<>();
+                coachRepository.findAllById(ids).forEach(coach -> coaches.put(coach.getId(), mapper.toDto(coach)));
+                return () -> store.updateCoaches(coaches);
+            });
+            case DELETED -> store.change(() -> store.teamsWithCoaches(ids), affected -> {
+                Map<Integer, EntityRevision> teams = teamRevisions(affected);
+                return () -> store.removeCoaches(ids, teams);
+            });
+        }
+    }
+
+    // The deleting service has already bumped these teams' versions
+    private Map<Integer, EntityRevision> teamRevisions(Set<Integer> teamIds) {
+        Map<Integer, EntityRevision> revisions = new HashMap<>();
+        for (List<Integer> chunk : Chunks.of(teamIds)) {
+            teamRepository.findVersions(chunk).forEach(revision -> revisions.put(revision.id(), revision));
+        }
+        return revisions;
+    }
+
+    private void onTeamChange(ChangeEvent event, Set<Integer> ids) {
+        switch (event.change()) {
+            case CREATED -> {
+            }
+            case UPDATED -> store.change(() -> ids, affected -> {
+                Map<Integer, TeamDto.Response> teams = new HashMap<>();
+                for (Integer id : ids) {
+                    if (store.contains(id)) {
+                        teams.put(id, teamQueryService.load(id));
+                    }
+                }
+                return () -> teams.forEach(store::replaceTeam);
+            });
+            case DELETED -> store.change(() -> ids, affected -> () -> ids.forEach(id -> store.replaceTeam(id, null)));
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- Applied with app.sharding only: the players live in other databases, so memberships cannot reference the player table
+ALTER TABLE team_players DROP FOREIGN KEY FK3mmudt6u8a3oodc5uycfbnic4;
@@ -0,0 +1,40 @@
+-- The schema as Hibernate's ddl-auto=update created it before migrations were introduced. Existing
+-- databases are baselined at this version (spring.flyway.baseline-on-migrate) and only run what follows.
+
+CREATE TABLE coach (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    surname VARCHAR(255),
+    coaching_from DATE,
+    license_id VARCHAR(255),
+    personal_code VARCHAR(255),
+    email VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE player (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    surname VARCHAR(255),
+    date_of_birth DATE,
+    personal_code VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE team (
+    team_id INT NOT NULL AUTO_INCREMENT,
+    team_name VARCHAR(255),
+    year_created INT,
+    coach_id INT,
+    PRIMARY KEY (team_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE team_players (
+    player_id INT NOT NULL,
+    team_id INT NOT NULL,
+    PRIMARY KEY (player_id, team_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE team ADD CONSTRAINT FK3kq9y3up07so7lqkt4cpe6xb0 FOREIGN KEY (coach_id) REFERENCES coach (id);
+ALTER TABLE team_players ADD CONSTRAINT FK3mmudt6u8a3oodc5uycfbnic4 FOREIGN KEY (player_id) REFERENCES player (id);
+ALTER TABLE team_players ADD CONSTRAINT FKc9igy2kys82rwa80px3q0usqa FOREIGN KEY (team_id) REFERENCES team (team_id);
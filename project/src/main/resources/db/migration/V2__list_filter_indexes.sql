@@ -0,0 +1,7 @@
+-- Indexes behind the list filters, which are now evaluated by the database
+CREATE INDEX idx_coach_license_id ON coach (license_id);
+CREATE INDEX idx_coach_personal_code ON coach (personal_code);
+CREATE INDEX idx_player_personal_code ON player (personal_code);
+CREATE INDEX idx_team_coach_id ON team (coach_id);
+CREATE INDEX idx_team_year_created ON team (year_created);
+CREATE INDEX idx_team_players_player_id ON team_players (player_id);
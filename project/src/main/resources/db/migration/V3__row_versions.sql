@@ -0,0 +1,4 @@
+-- Optimistic-locking versions for the conditional updates; existing rows start at 0
+ALTER TABLE coach ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE player ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE team ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+-- Sent as Last-Modified; existing rows are stamped with the time of the upgrade
+ALTER TABLE coach ADD COLUMN modified_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+ALTER TABLE player ADD COLUMN modified_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+ALTER TABLE team ADD COLUMN modified_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
@@ -0,0 +1,14 @@
+-- Counts behind the statistics endpoints; filled from the entity tables when the application starts
+CREATE TABLE summary_entry (
+    entity_id INT NOT NULL,
+    metric VARCHAR(32) NOT NULL,
+    bucket INT NOT NULL,
+    PRIMARY KEY (entity_id, metric)
+) ENGINE=InnoDB;
+
+CREATE TABLE summary_bucket (
+    metric VARCHAR(32) NOT NULL,
+    bucket INT NOT NULL,
+    entries BIGINT NOT NULL,
+    PRIMARY KEY (bucket, metric)
+) ENGINE=InnoDB;
@@ -0,0 +1,13 @@
+-- Committed changes waiting for, and kept after, publication on the change feed
+CREATE TABLE change_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    feed_position BIGINT,
+    entity VARCHAR(16) NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    payload TEXT NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_change_outbox_recorded_at ON change_outbox (recorded_at);
+ALTER TABLE change_outbox ADD CONSTRAINT idx_change_outbox_feed_position UNIQUE (feed_position);
@@ -0,0 +1,6 @@
+-- Player ids reserved in blocks for the shards, which have no identity column of their own
+CREATE TABLE id_block (
+    name VARCHAR(32) NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
@@ -0,0 +1,13 @@
+-- Personal codes and licence ids identify one person each. The lookups by them now seek a unique index,
+-- and a duplicate is refused instead of silently matching two rows. Clear any duplicates before upgrading.
+ALTER TABLE player DROP INDEX idx_player_personal_code;
+ALTER TABLE player ADD CONSTRAINT uk_player_personal_code UNIQUE (personal_code);
+ALTER TABLE coach DROP INDEX idx_coach_personal_code;
+ALTER TABLE coach ADD CONSTRAINT uk_coach_personal_code UNIQUE (personal_code);
+ALTER TABLE coach DROP INDEX idx_coach_license_id;
+ALTER TABLE coach ADD CONSTRAINT uk_coach_license_id UNIQUE (license_id);
+
+-- Rosters are read by team, so the primary key leads with team_id; idx_team_players_player_id serves
+-- the teams-by-player filter.
+ALTER TABLE team_players DROP PRIMARY KEY;
+ALTER TABLE team_players ADD PRIMARY KEY (team_id, player_id);
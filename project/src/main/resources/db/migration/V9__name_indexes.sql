@@ -0,0 +1,7 @@
+-- Indexes behind the name filters, which compare the columns as stored and rely on the case-insensitive
+-- collation, so PREFIX filters are served by a range scan
+CREATE INDEX idx_player_name ON player (name);
+CREATE INDEX idx_player_surname ON player (surname);
+CREATE INDEX idx_coach_name ON coach (name);
+CREATE INDEX idx_coach_surname ON coach (surname);
+CREATE INDEX idx_team_team_name ON team (team_name);
@@ -0,0 +1,11 @@
+-- Player table of each shard. Ids are allocated by the application, so there is no identity column.
+CREATE TABLE IF NOT EXISTS player (
+    id INT NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    surname VARCHAR(255),
+    date_of_birth DATE,
+    personal_code VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL,
+    modified_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,
+    INDEX idx_player_personal_code (personal_code)
+);
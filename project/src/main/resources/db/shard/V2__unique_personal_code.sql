@@ -0,0 +1,3 @@
+-- As on the primary database; each shard can only enforce the codes of the players it holds
+ALTER TABLE player DROP INDEX idx_player_personal_code;
+ALTER TABLE player ADD CONSTRAINT uk_player_personal_code UNIQUE (personal_code);
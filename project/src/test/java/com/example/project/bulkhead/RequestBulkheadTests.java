@@ -0,0 +1,124 @@
+package com.example.project.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestBulkheadTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void requestOverTheLimitIsRejectedAfterWaiting() throws Exception {
+		RequestBulkhead bulkhead = bulkhead(1, Duration.ofMillis(50));
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() ->
+			perform(bulkhead, "/api/players", () -> {
+				running.countDown();
+				await(release);
+			}));
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse rejected = perform(bulkhead, "/api/players", () -> { });
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(registry.get("app.bulkhead.rejections").counter().count()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(perform(bulkhead, "/api/players", () -> { }).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void waitingRequestRunsOnceASlotFrees() throws Exception {
+		RequestBulkhead bulkhead = bulkhead(1, Duration.ofSeconds(5));
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() ->
+			perform(bulkhead, "/api/teams", () -> {
+				running.countDown();
+				await(release);
+			}));
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<MockHttpServletResponse> second =
+			CompletableFuture.supplyAsync(() -> perform(bulkhead, "/api/teams", () -> { }));
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(second.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void nonApiRequestsAreNotLimited() {
+		RequestBulkhead bulkhead = bulkhead(1, Duration.ZERO);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture.runAsync(() -> perform(bulkhead, "/api/players", () -> await(release)));
+
+		assertThat(perform(bulkhead, "/actuator/health", () -> { }).getStatus()).isEqualTo(200);
+		release.countDown();
+	}
+
+	@Test
+	void offByDefault() {
+		BulkheadProperties properties = new BulkheadProperties();
+		properties.setMaxConcurrent(1);
+		properties.setMaxWait(Duration.ZERO);
+		RequestBulkhead bulkhead = new RequestBulkhead(properties, null, registry);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture.runAsync(() -> perform(bulkhead, "/api/players", () -> await(release)));
+
+		assertThat(perform(bulkhead, "/api/players", () -> { }).getStatus()).isEqualTo(200);
+		assertThat(registry.get("app.bulkhead.rejections").counter().count()).isZero();
+		release.countDown();
+	}
+
+	@Test
+	void limitDefaultsToConnectionPoolSize() {
+		try (HikariDataSource dataSource = new HikariDataSource()) {
+			dataSource.setMaximumPoolSize(7);
+			assertThat(new RequestBulkhead(new BulkheadProperties(), dataSource, registry).limit()).isEqualTo(7);
+		}
+		try (HikariDataSource unconfigured = new HikariDataSource()) {
+			assertThat(new RequestBulkhead(new BulkheadProperties(), unconfigured, registry).limit()).isEqualTo(10);
+		}
+	}
+
+	private RequestBulkhead bulkhead(int maxConcurrent, Duration maxWait) {
+		BulkheadProperties properties = new BulkheadProperties();
+		properties.setEnabled(true);
+		properties.setMaxConcurrent(maxConcurrent);
+		properties.setMaxWait(maxWait);
+		return new RequestBulkhead(properties, null, registry);
+	}
+
+	private static MockHttpServletResponse perform(RequestBulkhead bulkhead, String uri, Runnable handler) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			bulkhead.doFilter(request, response, (req, res) -> handler.run());
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.example.project.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineReadThroughCacheTests {
+
+	private final CaffeineReadThroughCache<Integer, String> cache =
+		new CaffeineReadThroughCache<>("test", 100, Duration.ofMinutes(1));
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void secondReadIsServedFromCache() {
+		AtomicInteger loads = new AtomicInteger();
+		assertThat(cache.get(1, key -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+		assertThat(cache.get(1, key -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+
+		CacheStatistics stats = cache.statistics();
+		assertThat(stats.hits()).isEqualTo(1);
+		assertThat(stats.misses()).isEqualTo(1);
+		assertThat(stats.size()).isEqualTo(1);
+	}
+
+	@Test
+	void missingValuesAreNotCached() {
+		AtomicInteger loads = new AtomicInteger();
+		cache.get(1, key -> { loads.incrementAndGet(); return null; });
+		cache.get(1, key -> { loads.incrementAndGet(); return null; });
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void loadRacingWithInvalidationIsNotStored() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> cache.get(1, key -> {
+			loading.countDown();
+			await(release);
+			return "stale";
+		}));
+
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		cache.invalidate(1);
+		release.countDown();
+
+		assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+		assertThat(cache.get(1, key -> "fresh")).isEqualTo("fresh");
+	}
+
+	@Test
+	void readsBypassCacheUntilTransactionCompletes() {
+		cache.get(1, key -> "old");
+
+		TransactionSynchronizationManager.initSynchronization();
+		cache.invalidate(1);
+		assertThat(cache.get(1, key -> "uncommitted")).isEqualTo("uncommitted");
+		assertThat(cache.get(1, key -> "still-bypassed")).isEqualTo("still-bypassed");
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThat(cache.get(1, key -> "committed")).isEqualTo("committed");
+		assertThat(cache.get(1, key -> "unused")).isEqualTo("committed");
+		assertThat(cache.statistics().bypasses()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidateMatchingDropsOnlyMatchingEntries() {
+		cache.get(1, key -> "keep");
+		cache.get(2, key -> "drop");
+
+		cache.invalidateMatching("drop"::equals);
+
+		assertThat(cache.get(1, key -> "reloaded")).isEqualTo("keep");
+		assertThat(cache.get(2, key -> "reloaded")).isEqualTo("reloaded");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
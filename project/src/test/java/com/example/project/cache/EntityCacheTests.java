@@ -0,0 +1,234 @@
+package com.example.project.cache;
+
+import com.example.project.dto.PlayerDto;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.example.project.service.PlayerService;
+import com.example.project.view.TeamViewStore;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EntityCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private List<ReadThroughCache<?, ?>> caches;
+
+	@Autowired
+	private TeamViewStore teamViews;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		caches.forEach(ReadThroughCache::invalidateAll);
+		teamViews.clear();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void repeatedReadsDoNotHitTheDatabase() throws Exception {
+		Team team = seedTeam();
+		Integer playerId = playerRepository.findAll().stream()
+			.filter(p -> "PC0".equals(p.getPersonalCode())).findFirst().orElseThrow().getId();
+
+		mockMvc.perform(get("/api/teams/" + team.getTeamId())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/" + playerId)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/coaches/" + team.getCoach().getId())).andExpect(status().isOk());
+
+		statistics.clear();
+		mockMvc.perform(get("/api/teams/" + team.getTeamId()))
+			.andExpect(jsonPath("$.players.length()").value(2));
+		mockMvc.perform(get("/api/players/" + playerId)).andExpect(jsonPath("$.name").value("Player0"));
+		mockMvc.perform(get("/api/coaches/" + team.getCoach().getId())).andExpect(jsonPath("$.name").value("Coach"));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void writesEvictCachedTeams() throws Exception {
+		Team team = seedTeam();
+		String teamUrl = "/api/teams/" + team.getTeamId();
+		Integer playerId = playerRepository.findAll().stream()
+			.filter(p -> "PC0".equals(p.getPersonalCode())).findFirst().orElseThrow().getId();
+		Player extra = playerRepository.save(player(9));
+
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.teamName").value("Eagles"));
+		mockMvc.perform(post(teamUrl + "/players/" + extra.getId())).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.players.length()").value(3));
+
+		mockMvc.perform(delete(teamUrl + "/players/" + extra.getId())).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.players.length()").value(2));
+
+		mockMvc.perform(put("/api/players/" + playerId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Renamed\",\"surname\":\"S\",\"dateOfBirth\":\"1995-05-15\",\"personalCode\":\"PC0\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.players[?(@.id == " + playerId + ")].name").value("Renamed"));
+		mockMvc.perform(get("/api/players/" + playerId)).andExpect(jsonPath("$.name").value("Renamed"));
+
+		mockMvc.perform(put("/api/coaches/" + team.getCoach().getId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"NewCoach\",\"surname\":\"Brown\",\"coachingFrom\":\"2015-01-01\",\"licenseId\":\"LIC\",\"personalCode\":\"CPC\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.coach.name").value("NewCoach"));
+
+		mockMvc.perform(put(teamUrl).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Hawks\",\"yearCreated\":2025,\"playerIds\":[]}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl))
+			.andExpect(jsonPath("$.teamName").value("Hawks"))
+			.andExpect(jsonPath("$.players.length()").value(0));
+
+		mockMvc.perform(delete("/api/players/" + playerId)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/" + playerId)).andExpect(status().isNotFound());
+
+		mockMvc.perform(delete(teamUrl)).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void bulkUpsertEvictsUpdatedPlayers() throws Exception {
+		Player player = playerRepository.save(player(0));
+		mockMvc.perform(get("/api/players/" + player.getId())).andExpect(jsonPath("$.name").value("Player0"));
+
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"name\":\"Bulk\",\"surname\":\"S\",\"dateOfBirth\":\"1995-05-15\",\"personalCode\":\"PC0\"}]"))
+			.andExpect(jsonPath("$.updated").value(1));
+		mockMvc.perform(get("/api/players/" + player.getId())).andExpect(jsonPath("$.name").value("Bulk"));
+	}
+
+	@Test
+	void concurrentReadersNeverSeeStaleValueAfterCommit() throws Exception {
+		Player player = playerRepository.save(player(0));
+		Integer id = player.getId();
+		AtomicBoolean stop = new AtomicBoolean();
+		ExecutorService readers = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int r = 0; r < 4; r++) {
+			futures.add(readers.submit(() -> {
+				while (!stop.get()) {
+					playerService.findById(id);
+				}
+			}));
+		}
+
+		try {
+			for (int version = 1; version <= 200; version++) {
+				PlayerDto.Request request = request("V" + version);
+				playerService.update(id, request, null);
+				// Once update() has returned the change is committed; every later read must see it
+				assertThat(playerService.findById(id)).get()
+					.extracting(PlayerDto.Response::getName).isEqualTo("V" + version);
+			}
+		} finally {
+			stop.set(true);
+			readers.shutdown();
+			assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+	}
+
+	@Test
+	void statisticsEndpointReportsEachCache() throws Exception {
+		Player player = playerRepository.save(player(0));
+		mockMvc.perform(get("/api/players/" + player.getId()));
+		mockMvc.perform(get("/api/players/" + player.getId()));
+
+		String body = mockMvc.perform(get("/api/cache/stats"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(3))
+			.andReturn().getResponse().getContentAsString();
+		List<Integer> hits = JsonPath.read(body, "$[?(@.name == 'players')].hits");
+		assertThat(hits.get(0)).isPositive();
+	}
+
+	private Team seedTeam() {
+		Team team = new Team();
+		team.setTeamName("Eagles");
+		team.setYearCreated(2024);
+		team.setCoach(coachRepository.save(coach()));
+		team.addPlayer(playerRepository.save(player(0)));
+		team.addPlayer(playerRepository.save(player(1)));
+		return teamRepository.save(team);
+	}
+
+	private static PlayerDto.Request request(String name) {
+		PlayerDto.Request request = new PlayerDto.Request();
+		request.setName(name);
+		request.setSurname("S");
+		request.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		request.setPersonalCode("PC0");
+		return request;
+	}
+
+	private static Player player(int i) {
+		Player player = new Player();
+		player.setName("Player" + i);
+		player.setSurname("Surname" + i);
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode("PC" + i);
+		return player;
+	}
+
+	private static Coach coach() {
+		Coach coach = new Coach();
+		coach.setName("Coach");
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2015, 1, 1));
+		coach.setLicenseId("LIC");
+		coach.setPersonalCode("CPC");
+		return coach;
+	}
+}
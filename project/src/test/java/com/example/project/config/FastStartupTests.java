@@ -0,0 +1,51 @@
+package com.example.project.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class FastStartupTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	// One scenario, in order: generating the documentation instantiates every controller
+	@Test
+	void beansWaitForTheirFirstRequest() throws Exception {
+		assertThat(beanFactory.containsSingleton("dataSource")).isTrue();
+		assertThat(beanFactory.containsSingleton("entityManagerFactory")).isTrue();
+		assertThat(beanFactory.containsSingleton("databaseViewController")).isFalse();
+		assertThat(beanFactory.containsSingleton("openApiResource")).isFalse();
+		assertThat(beanFactory.containsSingleton("customOpenAPI")).isFalse();
+
+		mockMvc.perform(get("/api/players").param("limit", "1"))
+			.andExpect(status().isOk());
+
+		assertThat(beanFactory.containsSingleton("databaseViewController")).isTrue();
+		assertThat(beanFactory.containsSingleton("statisticsController")).isFalse();
+		assertThat(beanFactory.containsSingleton("openApiResource")).isFalse();
+
+		mockMvc.perform(get("/v3/api-docs"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.info.title").value("Sports Team Management API"))
+			.andExpect(jsonPath("$.paths['/api/players']").exists());
+
+		assertThat(beanFactory.containsSingleton("openApiResource")).isTrue();
+		assertThat(beanFactory.containsSingleton("customOpenAPI")).isTrue();
+	}
+}
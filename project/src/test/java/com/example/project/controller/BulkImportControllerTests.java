@@ -0,0 +1,159 @@
+package com.example.project.controller;
+
+import com.example.project.model.Player;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.bulk.batch-size=3")
+@AutoConfigureMockMvc
+class BulkImportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+	}
+
+	@Test
+	void createsPlayersFromJsonArrayAndReportsInvalidRows() throws Exception {
+		String body = "[" + player("A", "PC1") + "," + player("B", "PC2") + ","
+			+ "{\"name\":\"NoCode\",\"surname\":\"X\",\"dateOfBirth\":\"1995-05-15\"}," + player("C", "PC3") + ","
+			+ player("D", "PC4") + "]";
+
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.created").value(4))
+			.andExpect(jsonPath("$.rejected").value(1))
+			.andExpect(jsonPath("$.results[2].status").value("INVALID"))
+			.andExpect(jsonPath("$.results[4].status").value("CREATED"))
+			.andExpect(jsonPath("$.results[4].id").isNumber());
+
+		assertThat(playerRepository.count()).isEqualTo(4);
+	}
+
+	@Test
+	void upsertsNdjsonByPersonalCode() throws Exception {
+		Player existing = new Player();
+		existing.setName("Old");
+		existing.setSurname("Name");
+		existing.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		existing.setPersonalCode("PC1");
+		existing = playerRepository.save(existing);
+
+		String body = player("New", "PC1") + "\n" + player("Fresh", "PC2") + "\n" + player("Again", "PC2") + "\n";
+
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.created").value(1))
+			.andExpect(jsonPath("$.updated").value(2))
+			.andExpect(jsonPath("$.results[0].id").value(existing.getId()))
+			.andExpect(jsonPath("$.results[2].status").value("UPDATED"));
+
+		assertThat(playerRepository.findById(existing.getId()).orElseThrow().getName()).isEqualTo("New");
+		assertThat(playerRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void personalCodesDifferingOnlyInCaseMatchTheStoredRow() throws Exception {
+		Player existing = new Player();
+		existing.setName("Old");
+		existing.setSurname("Name");
+		existing.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		existing.setPersonalCode("pc-case");
+		existing = playerRepository.save(existing);
+
+		String body = player("Upper", "PC-CASE") + "\n" + player("Fresh", "PC-NEW") + "\n" + player("Lower", "pc-new") + "\n";
+
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.created").value(1))
+			.andExpect(jsonPath("$.updated").value(2))
+			.andExpect(jsonPath("$.rejected").value(0))
+			.andExpect(jsonPath("$.results[0].id").value(existing.getId()))
+			.andExpect(jsonPath("$.results[2].status").value("UPDATED"));
+
+		assertThat(playerRepository.findById(existing.getId()).orElseThrow().getName()).isEqualTo("Upper");
+		assertThat(playerRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void insertModeReportsDuplicatesWithoutWriting() throws Exception {
+		mockMvc.perform(post("/api/coaches/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + coach("LIC1", "PC1") + "]"))
+			.andExpect(jsonPath("$.created").value(1));
+
+		mockMvc.perform(post("/api/coaches/bulk?mode=INSERT").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + coach("LIC9", "PC1") + "," + coach("LIC2", "PC2") + "]"))
+			.andExpect(jsonPath("$.created").value(1))
+			.andExpect(jsonPath("$.results[0].status").value("DUPLICATE"));
+
+		assertThat(coachRepository.findAll()).extracting("licenseId").containsExactlyInAnyOrder("LIC1", "LIC2");
+	}
+
+	@Test
+	void stopsAtMalformedRowAndKeepsEarlierBatches() throws Exception {
+		String body = player("A", "PC1") + "\n" + player("B", "PC2") + "\n" + player("C", "PC3") + "\n{broken\n";
+
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+			.andExpect(jsonPath("$.created").value(3))
+			.andExpect(jsonPath("$.results[3].status").value("INVALID"));
+	}
+
+	@Test
+	void constraintFailureRejectsOnlyTheOffendingRowsOfItsBatch() throws Exception {
+		mockMvc.perform(post("/api/coaches/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + coach("LIC1", "PC1") + "]"))
+			.andExpect(jsonPath("$.created").value(1));
+
+		// The second row reuses a licence id, which only the database's unique constraint catches
+		mockMvc.perform(post("/api/coaches/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + coach("LIC2", "PC2") + "," + coach("LIC1", "PC3") + "," + coach("LIC4", "PC4") + "]"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.created").value(2))
+			.andExpect(jsonPath("$.rejected").value(1))
+			.andExpect(jsonPath("$.stoppedAt").doesNotExist())
+			.andExpect(jsonPath("$.results[0].status").value("CREATED"))
+			.andExpect(jsonPath("$.results[1].status").value("FAILED"))
+			.andExpect(jsonPath("$.results[2].status").value("CREATED"));
+
+		assertThat(coachRepository.findAll()).extracting("licenseId").containsExactlyInAnyOrder("LIC1", "LIC2", "LIC4");
+	}
+
+	private static String player(String name, String personalCode) {
+		return "{\"name\":\"" + name + "\",\"surname\":\"Wilson\",\"dateOfBirth\":\"1995-05-15\",\"personalCode\":\""
+			+ personalCode + "\"}";
+	}
+
+	private static String coach(String licenseId, String personalCode) {
+		return "{\"name\":\"David\",\"surname\":\"Brown\",\"coachingFrom\":\"2015-01-01\",\"licenseId\":\"" + licenseId
+			+ "\",\"personalCode\":\"" + personalCode + "\"}";
+	}
+}
@@ -0,0 +1,201 @@
+package com.example.project.controller;
+
+import com.example.project.changefeed.OutboxRelay;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeFeedTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private OutboxRelay relay;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final ObjectMapper json = new ObjectMapper();
+	private long start;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		start = awaitPublished();
+	}
+
+	@Test
+	void committedWritesAppearInOrderWithConsecutiveOffsets() throws Exception {
+		int anna = create("/api/players", player("Anna"), "id");
+		int eagles = create("/api/teams", "{\"teamName\":\"Eagles\",\"yearCreated\":2020}", "teamId");
+		mockMvc.perform(post("/api/teams/" + eagles + "/players/" + anna)).andExpect(status().isOk());
+		mockMvc.perform(delete("/api/players/" + anna)).andExpect(status().isOk());
+		assertThat(awaitPublished()).isEqualTo(start + 5);
+
+		JsonNode changes = read("/api/changes?after=" + start, start + 5);
+		assertThat(changes.size()).isEqualTo(5);
+		for (int i = 0; i < changes.size(); i++) {
+			assertThat(changes.get(i).get("offset").asLong()).isEqualTo(start + 1 + i);
+		}
+		assertChange(changes.get(0), "PLAYER", "CREATED", anna);
+		assertChange(changes.get(1), "TEAM", "CREATED", eagles);
+		assertChange(changes.get(2), "TEAM", "ROSTER_CHANGED", eagles);
+		assertThat(changes.get(2).get("added").get(0).asInt()).isEqualTo(anna);
+		assertThat(changes.get(2).get("version").asLong()).isEqualTo(1);
+		// Deleting a player takes it off its rosters first
+		assertChange(changes.get(3), "TEAM", "ROSTER_CHANGED", eagles);
+		assertChange(changes.get(4), "PLAYER", "DELETED", anna);
+
+		JsonNode teams = read("/api/changes?after=" + start + "&entities=TEAM&limit=2", start + 3);
+		assertThat(teams.size()).isEqualTo(2);
+		assertThat(teams.get(1).get("offset").asLong()).isEqualTo(start + 3);
+		assertThat(read("/api/changes?after=" + (start + 3) + "&entities=TEAM", start + 5).size()).isEqualTo(1);
+		assertThat(read("/api/changes?after=" + (start + 5), start + 5).size()).isZero();
+	}
+
+	@Test
+	void deletingACoachUpdatesTheTeamsItLeft() throws Exception {
+		int coach = create("/api/coaches", "{\"name\":\"Carl\",\"surname\":\"Smith\",\"coachingFrom\":\"2015-01-01\","
+			+ "\"licenseId\":\"LIC-CF\",\"personalCode\":\"CPC-CF\"}", "id");
+		int eagles = create("/api/teams", "{\"teamName\":\"Eagles\",\"yearCreated\":2020,\"coachId\":" + coach + "}",
+			"teamId");
+		mockMvc.perform(delete("/api/coaches/" + coach)).andExpect(status().isOk());
+		assertThat(awaitPublished()).isEqualTo(start + 4);
+
+		JsonNode changes = read("/api/changes?after=" + (start + 2), start + 4);
+		// The team lost its coach and moved to a new version, so it is reported before the coach goes
+		assertChange(changes.get(0), "TEAM", "UPDATED", eagles);
+		assertChange(changes.get(1), "COACH", "DELETED", coach);
+	}
+
+	@Test
+	void streamsChangesAndResumesFromTheLastEventId() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/api/changes/stream").param("after", String.valueOf(start)))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		int anna = create("/api/players", player("Anna"), "id");
+
+		String events = awaitContent(stream.getResponse(), "id:" + (start + 1));
+		assertThat(events).contains("event:changes", "\"ids\":[" + anna + "]", "\"type\":\"CREATED\"");
+		stream.getRequest().getAsyncContext().complete();
+
+		int ben = create("/api/players", player("Ben"), "id");
+		MvcResult resumed = mockMvc.perform(get("/api/changes/stream").header("Last-Event-ID", start + 1))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		events = awaitContent(resumed.getResponse(), "id:" + (start + 2));
+		assertThat(events).contains("\"ids\":[" + ben + "]").doesNotContain("\"ids\":[" + anna + "]");
+		resumed.getRequest().getAsyncContext().complete();
+	}
+
+	@Test
+	void prunedOffsetsAreGone() throws Exception {
+		create("/api/players", player("Anna"), "id");
+		create("/api/players", player("Ben"), "id");
+		awaitPublished();
+		jdbcTemplate.update("DELETE FROM change_outbox WHERE feed_position <= ?", start + 1);
+
+		mockMvc.perform(get("/api/changes").param("after", String.valueOf(start)))
+			.andExpect(status().isGone());
+		mockMvc.perform(get("/api/changes/stream").param("after", String.valueOf(start)))
+			.andExpect(status().isGone());
+		mockMvc.perform(get("/api/changes").param("after", String.valueOf(start + 1)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1));
+
+		mockMvc.perform(get("/api/changes").param("after", "-1")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/changes").param("limit", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/changes").param("entities", "LEAGUE")).andExpect(status().isBadRequest());
+	}
+
+	private void assertChange(JsonNode change, String entity, String type, int id) {
+		assertThat(change.get("entity").asText()).isEqualTo(entity);
+		assertThat(change.get("type").asText()).isEqualTo(type);
+		List<Integer> ids = new ArrayList<>();
+		change.get("ids").forEach(node -> ids.add(node.asInt()));
+		assertThat(ids).containsExactly(id);
+		assertThat(change.get("recordedAt")).isNotNull();
+	}
+
+	// Offsets are handed out by the relay on its own thread, shortly after the write commits
+	private long awaitPublished() throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!published() && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(published()).isTrue();
+		return relay.head();
+	}
+
+	private boolean published() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_outbox WHERE feed_position IS NULL", Long.class) == 0
+			&& jdbcTemplate.queryForObject("SELECT COALESCE(MAX(feed_position), 0) FROM change_outbox", Long.class) == relay.head();
+	}
+
+	private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!response.getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(response.getContentAsString()).contains(expected);
+		return response.getContentAsString();
+	}
+
+	private JsonNode read(String url, long next) throws Exception {
+		return json.readTree(mockMvc.perform(get(url))
+			.andExpect(status().isOk())
+			.andExpect(header().string("X-Next-Offset", String.valueOf(next)))
+			.andReturn().getResponse().getContentAsString());
+	}
+
+	private int create(String url, String body, String idField) throws Exception {
+		String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(body))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return json.readTree(response).get(idField).asInt();
+	}
+
+	private static String player(String name) {
+		return "{\"name\":\"" + name + "\",\"surname\":\"Smith\",\"dateOfBirth\":\"1990-01-01\",\"personalCode\":\"PC-CF-"
+			+ name + "\"}";
+	}
+}
@@ -0,0 +1,202 @@
+package com.example.project.controller;
+
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.example.project.view.TeamViewStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private TeamViewStore teamViews;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		teamViews.clear();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void unchangedPlayerIsNotSentAgain() throws Exception {
+		Player player = seedPlayer("PC-304");
+		String url = "/api/players/" + player.getId();
+		MvcResult first = mockMvc.perform(get(url))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+			.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+			.andReturn();
+
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+			.andExpect(content().string(""));
+		mockMvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE,
+				first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+			.andExpect(status().isNotModified());
+
+		mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Anna\",\"surname\":\"Smith\",\"dateOfBirth\":\"1990-01-01\",\"personalCode\":\"PC-304\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+	}
+
+	@Test
+	void unloadedTeamIsCheckedWithoutLoadingIt() throws Exception {
+		Team team = seedTeam(List.of(seedPlayer("PC-T1"), seedPlayer("PC-T2")));
+		String url = "/api/teams/" + team.getTeamId();
+
+		statistics.clear();
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0.-.0\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0.-.0\""))
+			.andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+
+		// One aggregate over the team's rows; the team, its coach and its players are never loaded
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(teamViews.contains(team.getTeamId())).isFalse();
+
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0.-.1\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0.-.0\""));
+		// Now answered from the stored view
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0.-.0\""))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void teamTagFollowsItsPlayers() throws Exception {
+		Player player = seedPlayer("PC-EMB");
+		Team team = seedTeam(List.of(player, seedPlayer("PC-OTHER")));
+		String url = "/api/teams/" + team.getTeamId();
+		mockMvc.perform(get(url)).andExpect(header().string(HttpHeaders.ETAG, "\"0.-.0\""));
+
+		mockMvc.perform(put("/api/players/" + player.getId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Anna\",\"surname\":\"Smith\",\"dateOfBirth\":\"1990-01-01\",\"personalCode\":\"PC-EMB\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0.-.0\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0.-.1\""));
+
+		// Deleting a player lowers the sum, so the team's own version moves instead
+		mockMvc.perform(delete("/api/players/" + player.getId())).andExpect(status().isOk());
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0.-.1\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1.-.0\""));
+		teamViews.clear();
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"1.-.0\""))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void unchangedListPageIsCheckedFromVersionsOnly() throws Exception {
+		Player first = seedPlayer("PC-L1");
+		seedPlayer("PC-L2");
+		String eTag = mockMvc.perform(get("/api/players").param("limit", "10"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+
+		statistics.clear();
+		mockMvc.perform(get("/api/players").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, eTag));
+		// The page's ids, then their versions
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		mockMvc.perform(put("/api/players/" + first.getId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Anna\",\"surname\":\"Smith\",\"dateOfBirth\":\"1990-01-01\",\"personalCode\":\"PC-L1\"}"))
+			.andExpect(status().isOk());
+		String changed = mockMvc.perform(get("/api/players").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(changed).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void unchangedTeamListIsNotSentAgain() throws Exception {
+		Player player = seedPlayer("PC-TL");
+		Team team = seedTeam(List.of(player));
+		String eTag = mockMvc.perform(get("/api/teams"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/teams").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified());
+
+		mockMvc.perform(patch("/api/teams/" + team.getTeamId() + "/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"remove\":[" + player.getId() + "]}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/api/teams").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk());
+	}
+
+	private Player seedPlayer(String personalCode) {
+		Player player = new Player();
+		player.setName("Original");
+		player.setSurname("Jones");
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode(personalCode);
+		return playerRepository.save(player);
+	}
+
+	private Team seedTeam(List<Player> players) {
+		Team team = new Team();
+		team.setTeamName("Eagles");
+		team.setYearCreated(2024);
+		team.setPlayers(new HashSet<>(players));
+		return teamRepository.save(team);
+	}
+}
@@ -0,0 +1,137 @@
+package com.example.project.controller;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	private Coach coach;
+
+	private final List<Player> players = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		players.clear();
+
+		coach = new Coach();
+		coach.setName("David");
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2015, 1, 1));
+		coach.setLicenseId("LIC456");
+		coach.setPersonalCode("PC456");
+		coach = coachRepository.save(coach);
+
+		for (int i = 0; i < 5; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			player.setSurname("Surname" + i);
+			player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+			player.setPersonalCode("PC" + i);
+			players.add(playerRepository.save(player));
+		}
+
+		Team eagles = new Team();
+		eagles.setTeamName("Eagles");
+		eagles.setYearCreated(2024);
+		eagles.setCoach(coach);
+		players.subList(0, 3).forEach(eagles::addPlayer);
+		teamRepository.save(eagles);
+
+		Team empty = new Team();
+		empty.setTeamName("Empty");
+		empty.setYearCreated(2020);
+		teamRepository.save(empty);
+	}
+
+	@Test
+	void exportsPlayersAsNdjson() throws Exception {
+		List<JsonNode> lines = export("/api/export/players");
+
+		assertThat(lines).hasSize(5);
+		assertThat(lines.get(0).get("id").asInt()).isEqualTo(players.get(0).getId());
+		assertThat(lines.get(0).get("dateOfBirth").asText()).isEqualTo("1995-05-15");
+	}
+
+	@Test
+	void exportsCoachesAsNdjson() throws Exception {
+		List<JsonNode> lines = export("/api/export/coaches");
+
+		assertThat(lines).hasSize(1);
+		assertThat(lines.get(0).get("licenseId").asText()).isEqualTo("LIC456");
+	}
+
+	@Test
+	void exportsEachTeamOnceWithItsRoster() throws Exception {
+		List<JsonNode> lines = export("/api/export/teams");
+
+		assertThat(lines).hasSize(2);
+		JsonNode eagles = lines.get(0);
+		assertThat(eagles.get("teamName").asText()).isEqualTo("Eagles");
+		assertThat(eagles.get("coach").get("id").asInt()).isEqualTo(coach.getId());
+		assertThat(eagles.get("players")).hasSize(3);
+		JsonNode empty = lines.get(1);
+		assertThat(empty.get("coach").isNull()).isTrue();
+		assertThat(empty.get("players")).isEmpty();
+	}
+
+	private List<JsonNode> export(String url) throws Exception {
+		MvcResult started = mockMvc.perform(get(url))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+			.andReturn().getResponse().getContentAsString();
+
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			lines.add(objectMapper.readTree(line));
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.project.controller;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The test resources replace application.properties, so the compression settings are repeated here
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+	"server.compression.enabled=true",
+	"server.compression.mime-types=application/json,application/x-ndjson,application/cbor,application/x-jackson-smile",
+	"server.compression.min-response-size=2KB"
+})
+@AutoConfigureMockMvc
+class ResponseFormatTests {
+
+	private static final String CBOR = "application/cbor";
+	private static final String SMILE = "application/x-jackson-smile";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@LocalServerPort
+	private int port;
+
+	private final ObjectMapper json = new ObjectMapper();
+	private Team team;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			player.setSurname("Surname" + i);
+			player.setDateOfBirth(LocalDate.of(2000, 1, 1).plusDays(i));
+			player.setPersonalCode("PC-FMT-" + i);
+			players.add(player);
+		}
+		players = playerRepository.saveAll(players);
+		Coach coach = new Coach();
+		coach.setName("Carl");
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2010, 1, 1));
+		coach.setLicenseId("LIC-FMT");
+		coach.setPersonalCode("PC-FMT-C");
+		coach = coachRepository.save(coach);
+		for (int t = 0; t < 3; t++) {
+			Team created = new Team();
+			created.setTeamName("Team" + t);
+			created.setYearCreated(2020 + t);
+			created.setCoach(coach);
+			for (int i = 0; i < 20; i++) {
+				created.addPlayer(players.get(t * 20 + i));
+			}
+			team = teamRepository.save(created);
+		}
+	}
+
+	@Test
+	void listsAreEncodedAsCborOrSmileOnRequest() throws Exception {
+		byte[] asJson = body(get("/api/teams"), "application/json");
+		byte[] asCbor = body(get("/api/teams").header(HttpHeaders.ACCEPT, CBOR), CBOR);
+		byte[] asSmile = body(get("/api/teams").header(HttpHeaders.ACCEPT, SMILE), SMILE);
+
+		JsonNode expected = json.readTree(asJson);
+		assertThat(expected.size()).isEqualTo(3);
+		assertThat(new CBORMapper().readTree(asCbor)).isEqualTo(expected);
+		assertThat(new SmileMapper().readTree(asSmile)).isEqualTo(expected);
+		assertThat(asCbor.length).isLessThan(asJson.length);
+		assertThat(asSmile.length).isLessThan(asJson.length);
+	}
+
+	@Test
+	void storedTeamViewIsEncodedOnTheWayOut() throws Exception {
+		String url = "/api/teams/" + team.getTeamId();
+		MvcResult asJson = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+		MvcResult asSmile = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT, SMILE))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(SMILE))
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+			.andReturn();
+
+		assertThat(new SmileMapper().readTree(asSmile.getResponse().getContentAsByteArray()))
+			.isEqualTo(json.readTree(asJson.getResponse().getContentAsByteArray()));
+		assertThat(asSmile.getResponse().getHeader(HttpHeaders.ETAG))
+			.isEqualTo(asJson.getResponse().getHeader(HttpHeaders.ETAG));
+		mockMvc.perform(get(url).header(HttpHeaders.ACCEPT, CBOR)
+				.header(HttpHeaders.IF_NONE_MATCH, asJson.getResponse().getHeader(HttpHeaders.ETAG)))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void jsonRemainsTheDefault() throws Exception {
+		body(get("/api/teams/" + team.getTeamId()).header(HttpHeaders.ACCEPT, "*/*"), "application/json");
+		body(get("/api/teams/" + team.getTeamId()).header(HttpHeaders.ACCEPT, CBOR + ";q=0.5, application/json"),
+			"application/json");
+		body(get("/api/players").header(HttpHeaders.ACCEPT, "application/*"), "application/json");
+	}
+
+	@Test
+	void largeListsAreGzippedWhileStreaming() throws Exception {
+		HttpClient client = HttpClient.newHttpClient();
+		for (String type : List.of("application/json", CBOR)) {
+			HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/players?limit=300"))
+					.header(HttpHeaders.ACCEPT, type)
+					.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+					.build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+
+			assertThat(response.statusCode()).isEqualTo(200);
+			assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+			// Sent in chunks as it is encoded, so the length is never known up front
+			assertThat(response.headers().firstValue(HttpHeaders.CONTENT_LENGTH)).isEmpty();
+			try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+				ObjectMapper reader = type.equals(CBOR) ? new CBORMapper() : json;
+				assertThat(reader.readTree(body).size()).isEqualTo(300);
+			}
+		}
+	}
+
+	private byte[] body(MockHttpServletRequestBuilder request,
+	                    String expectedType) throws Exception {
+		return mockMvc.perform(request)
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(expectedType))
+			.andReturn().getResponse().getContentAsByteArray();
+	}
+}
@@ -0,0 +1,189 @@
+package com.example.project.controller;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SparseFieldsetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private Team coached;
+	private Team uncoached;
+	private List<Player> players;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		players = List.of(player("PC-F1"), player("PC-F2"), player("PC-F3"));
+		Coach coach = new Coach();
+		coach.setName("Carl");
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2010, 1, 1));
+		coach.setLicenseId("LIC-F");
+		coach.setPersonalCode("PC-FC");
+		coach = coachRepository.save(coach);
+		coached = team("Eagles", coach, Set.copyOf(players));
+		uncoached = team("Hawks", null, Set.of(players.get(0)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+	}
+
+	@Test
+	void teamNamesAloneDoNotReadRosters() throws Exception {
+		// Switching the statistics on starts them afresh
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+		jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+		statistics.clear();
+
+		mockMvc.perform(get("/api/teams").param("fields", "teamName").param("sort", "teamName"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].teamId").value(coached.getTeamId()))
+			.andExpect(jsonPath("$[0].teamName").value("Eagles"))
+			.andExpect(jsonPath("$[0].players").doesNotExist())
+			.andExpect(jsonPath("$[0].coach").doesNotExist())
+			.andExpect(jsonPath("$[0].yearCreated").doesNotExist());
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		List<String> sql = jdbcTemplate.queryForList(
+			"SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS WHERE SQL_STATEMENT LIKE '%team%'", String.class);
+		assertThat(sql).isNotEmpty().noneMatch(statement -> statement.toLowerCase().contains("team_players"));
+	}
+
+	@Test
+	void rosterCanBeReducedToPlayerIds() throws Exception {
+		statistics.clear();
+		mockMvc.perform(get("/api/teams/" + coached.getTeamId()).param("fields", "teamName,players.id"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.teamName").value("Eagles"))
+			.andExpect(jsonPath("$.players.length()").value(3))
+			.andExpect(jsonPath("$.players[0].id").value(players.get(0).getId()))
+			.andExpect(jsonPath("$.players[0].name").doesNotExist());
+
+		// The team's columns, then the roster's ids; nothing is loaded as an entity
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void embeddedResourcesCanBeNarrowedOrTakenWhole() throws Exception {
+		mockMvc.perform(get("/api/teams").param("fields", "coach.surname,players").param("sort", "teamName"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].coach.id").isNumber())
+			.andExpect(jsonPath("$[0].coach.surname").value("Brown"))
+			.andExpect(jsonPath("$[0].coach.licenseId").doesNotExist())
+			.andExpect(jsonPath("$[0].players[0].personalCode").value("PC-F1"))
+			.andExpect(jsonPath("$[0].players[0].dateOfBirth").value("1995-05-15"))
+			.andExpect(jsonPath("$[1].teamName").doesNotExist())
+			.andExpect(jsonPath("$[1].coach").isEmpty())
+			.andExpect(jsonPath("$[1].players.length()").value(1));
+	}
+
+	@Test
+	void playersAndCoachesReturnOnlyTheSelectedColumns() throws Exception {
+		mockMvc.perform(get("/api/players/" + players.get(1).getId()).param("fields", "surname,version"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.id").value(players.get(1).getId()))
+			.andExpect(jsonPath("$.surname").value("Jones"))
+			.andExpect(jsonPath("$.version").value(0))
+			.andExpect(jsonPath("$.name").doesNotExist());
+		mockMvc.perform(get("/api/coaches").param("fields", "licenseId"))
+			.andExpect(jsonPath("$[0].licenseId").value("LIC-F"))
+			.andExpect(jsonPath("$[0].surname").doesNotExist());
+
+		mockMvc.perform(get("/api/players/" + players.get(1).getId()).param("fields", "salary"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/teams").param("fields", "players.team"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/teams/999999").param("fields", "teamName"))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void selectedFieldsArePaged() throws Exception {
+		String cursor = mockMvc.perform(get("/api/players").param("fields", "personalCode")
+				.param("limit", "2").param("sort", "personalCode,desc"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].personalCode").value("PC-F3"))
+			.andExpect(jsonPath("$[1].personalCode").value("PC-F2"))
+			.andExpect(header().exists("X-Next-Cursor"))
+			.andReturn().getResponse().getHeader("X-Next-Cursor");
+
+		mockMvc.perform(get("/api/players").param("fields", "personalCode")
+				.param("limit", "2").param("sort", "personalCode,desc").param("cursor", cursor))
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].personalCode").value("PC-F1"))
+			.andExpect(header().doesNotExist("X-Next-Cursor"));
+	}
+
+	private Player player(String personalCode) {
+		Player player = new Player();
+		player.setName("Original");
+		player.setSurname("Jones");
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode(personalCode);
+		return playerRepository.save(player);
+	}
+
+	private Team team(String name, Coach coach, Set<Player> roster) {
+		Team team = new Team();
+		team.setTeamName(name);
+		team.setYearCreated(2024);
+		team.setCoach(coach);
+		team.setPlayers(new HashSet<>(roster));
+		return teamRepository.save(team);
+	}
+}
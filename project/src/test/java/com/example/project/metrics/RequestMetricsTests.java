@@ -0,0 +1,103 @@
+package com.example.project.metrics;
+
+import com.example.project.model.Player;
+import com.example.project.repository.PlayerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.metrics.statement-budget=1", "management.endpoints.web.exposure.include=prometheus",
+	"management.metrics.distribution.percentiles-histogram.http.server.requests=true"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class RequestMetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void recordsStatementsAndEntityLoadsPerEndpoint() throws Exception {
+		Player player = playerRepository.save(player("M-1"));
+
+		mockMvc.perform(get("/api/players/" + player.getId())).andExpect(status().isOk());
+
+		assertThat(registry.get("app.request.statements").tag("uri", "/api/players/{id}").summary().max())
+			.isEqualTo(1);
+		assertThat(registry.get("app.request.entities.loaded").tag("uri", "/api/players/{id}").summary().max())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void requestOverTheStatementBudgetFails() {
+		Player player = playerRepository.save(player("M-2"));
+
+		// Load and update
+		assertThatThrownBy(() -> mockMvc.perform(put("/api/players/" + player.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Jon\",\"surname\":\"Doe\",\"dateOfBirth\":\"2000-01-01\",\"personalCode\":\"M-2\"}")))
+			.isInstanceOf(StatementBudgetExceededException.class)
+			.hasMessageContaining("PUT /api/players/{id}");
+	}
+
+	@Test
+	void mostRepeatedStatementIsReported() {
+		RequestStatistics statistics = RequestStatistics.start();
+		try {
+			RequestStatistics.statementPrepared("select a");
+			RequestStatistics.statementPrepared("select b");
+			RequestStatistics.statementPrepared("select b");
+			assertThat(statistics.statements()).isEqualTo(3);
+			assertThat(statistics.mostRepeated()).isEqualTo(Map.entry("select b", 2));
+		} finally {
+			statistics.stop();
+		}
+	}
+
+	@Test
+	void scrapeEndpointExposesRequestPoolAndCacheMetrics() throws Exception {
+		Player player = playerRepository.save(player("M-3"));
+		mockMvc.perform(get("/api/players/" + player.getId())).andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(allOf(
+				containsString("http_server_requests_seconds_bucket"),
+				containsString("app_request_statements_count"),
+				containsString("app_request_entities_loaded_count"),
+				containsString("hikaricp_connections_acquire_seconds"),
+				containsString("app_cache_hit_ratio{cache=\"players\""),
+				containsString("hibernate_query_executions"))));
+	}
+
+	private static Player player(String personalCode) {
+		Player player = new Player();
+		player.setName("Jon");
+		player.setSurname("Doe");
+		player.setDateOfBirth(LocalDate.of(2000, 1, 1));
+		player.setPersonalCode(personalCode);
+		return player;
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.project.pagination;
+
+import com.example.project.model.Player;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.pagination.max-page-size=20")
+@AutoConfigureMockMvc
+class KeysetPaginationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private List<Player> players;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		players = new ArrayList<>();
+		for (int i = 0; i < 53; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			// duplicate and missing sort values exercise the id tie-breaker and NULL handling
+			player.setSurname(i % 9 == 0 ? null : "Surname" + (i % 5));
+			player.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(i));
+			player.setPersonalCode("PC" + i);
+			players.add(player);
+		}
+		players = playerRepository.saveAll(players);
+	}
+
+	@Test
+	void pagesCoverEveryRowExactlyOnceInSortOrder() throws Exception {
+		List<Integer> expected = players.stream()
+			.sorted(Comparator.comparing(Player::getSurname, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+				.thenComparing(Player::getId)
+				.reversed())
+			.map(Player::getId)
+			.toList();
+
+		assertThat(walk("/api/players?limit=7&sort=surname,desc")).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void ascendingPagesIncludeNullsFirst() throws Exception {
+		List<Integer> expected = players.stream()
+			.sorted(Comparator.comparing(Player::getSurname, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+				.thenComparing(Player::getId))
+			.map(Player::getId)
+			.toList();
+
+		assertThat(walk("/api/players?limit=4&sort=surname")).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void deepPageReadsNoMoreRowsThanTheFirstPage() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		String cursor = null;
+		long firstPageLoads = -1;
+		for (int page = 0; page < 5; page++) {
+			statistics.clear();
+			MvcResult result = mockMvc.perform(get("/api/players?limit=10" + (cursor == null ? "" : "&cursor=" + cursor)))
+				.andExpect(status().isOk())
+				.andReturn();
+			cursor = result.getResponse().getHeader(KeysetPaginator.NEXT_CURSOR_HEADER);
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+			if (firstPageLoads < 0) {
+				firstPageLoads = statistics.getEntityLoadCount();
+			}
+			assertThat(statistics.getEntityLoadCount()).isEqualTo(firstPageLoads);
+		}
+	}
+
+	@Test
+	void limitIsCappedAndUnpagedListRemainsAvailable() throws Exception {
+		mockMvc.perform(get("/api/players?limit=1000"))
+			.andExpect(jsonPath("$.length()").value(20))
+			.andExpect(header().exists(KeysetPaginator.NEXT_CURSOR_HEADER))
+			.andExpect(header().exists("Link"));
+		mockMvc.perform(get("/api/players"))
+			.andExpect(jsonPath("$.length()").value(53))
+			.andExpect(header().doesNotExist(KeysetPaginator.NEXT_CURSOR_HEADER));
+	}
+
+	@Test
+	void invalidPagingParametersAreRejected() throws Exception {
+		String cursor = mockMvc.perform(get("/api/players?limit=5&sort=name"))
+			.andReturn().getResponse().getHeader(KeysetPaginator.NEXT_CURSOR_HEADER);
+
+		mockMvc.perform(get("/api/players?cursor=" + cursor + "&sort=surname")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/players?cursor=garbage")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/players?sort=password")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/players?limit=0")).andExpect(status().isBadRequest());
+	}
+
+	private List<Integer> walk(String firstPage) throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		String url = firstPage;
+		while (url != null) {
+			MvcResult result = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+			ids.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+			String next = result.getResponse().getHeader(KeysetPaginator.NEXT_CURSOR_HEADER);
+			url = next == null ? null : firstPage + "&cursor=" + next;
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,182 @@
+package com.example.project.reactive;
+
+import com.example.project.dto.PlayerDto;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.example.project.search.NameSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.reactive.enabled=true")
+class ReactiveReadApiTests {
+
+	@Autowired
+	private ReactiveApiServer server;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private NameSearchIndex playerSearchIndex;
+
+	@Autowired
+	private NameSearchIndex coachSearchIndex;
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.port()).build();
+	}
+
+	@Test
+	void playerListAppliesFiltersAndLimit() {
+		playerRepository.save(player("Anna", "Smith", "PC-1"));
+		playerRepository.save(player("Hanna", "Smith", "PC-2"));
+		playerRepository.save(player("Bob", "Jones", "PC-3"));
+
+		client.get().uri("/api/players?name=AN&match=PREFIX").exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.length()").isEqualTo(1)
+			.jsonPath("$[0].name").isEqualTo("Anna");
+		client.get().uri("/api/players?surname=smith").exchange()
+			.expectBody().jsonPath("$.length()").isEqualTo(2);
+		client.get().uri("/api/players?limit=2").exchange()
+			.expectBody().jsonPath("$.length()").isEqualTo(2);
+		client.get().uri("/api/players?limit=0").exchange()
+			.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void listsStreamAsNdjsonWhenRequested() {
+		for (int i = 0; i < 5; i++) {
+			playerRepository.save(player("Player" + i, "Surname", "PC-" + i));
+		}
+
+		List<PlayerDto.Response> players = client.get().uri("/api/players")
+			.accept(MediaType.APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+			.returnResult(PlayerDto.Response.class)
+			.getResponseBody()
+			.collectList()
+			.block();
+
+		assertThat(players).extracting(PlayerDto.Response::getName)
+			.containsExactly("Player0", "Player1", "Player2", "Player3", "Player4");
+	}
+
+	@Test
+	void singleResourcesAreFoundById() {
+		Player player = playerRepository.save(player("Anna", "Smith", "PC-1"));
+		Coach coach = coachRepository.save(coach("Carl", "LIC1"));
+
+		client.get().uri("/api/players/{id}", player.getId()).exchange()
+			.expectStatus().isOk()
+			.expectBody().jsonPath("$.personalCode").isEqualTo("PC-1");
+		client.get().uri("/api/coaches/{id}", coach.getId()).exchange()
+			.expectStatus().isOk()
+			.expectBody().jsonPath("$.licenseId").isEqualTo("LIC1");
+		client.get().uri("/api/players/999999").exchange().expectStatus().isNotFound();
+		client.get().uri("/api/teams/999999").exchange().expectStatus().isNotFound();
+		client.get().uri("/api/coaches/abc").exchange().expectStatus().isBadRequest();
+	}
+
+	@Test
+	void teamsCarryTheirCoachAndRoster() {
+		Coach coach = coachRepository.save(coach("Carl", "LIC1"));
+		Player anna = playerRepository.save(player("Anna", "Smith", "PC-1"));
+		Player bob = playerRepository.save(player("Bob", "Jones", "PC-2"));
+		Team team = new Team();
+		team.setTeamName("Tigers");
+		team.setYearCreated(2001);
+		team.setCoach(coach);
+		team.addPlayer(anna);
+		team.addPlayer(bob);
+		team = teamRepository.save(team);
+		Team empty = new Team();
+		empty.setTeamName("Lions");
+		empty.setYearCreated(2002);
+		teamRepository.save(empty);
+
+		client.get().uri("/api/teams/{id}", team.getTeamId()).exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.teamName").isEqualTo("Tigers")
+			.jsonPath("$.coach.name").isEqualTo("Carl")
+			.jsonPath("$.players.length()").isEqualTo(2);
+		client.get().uri("/api/teams?playerId={id}", bob.getId()).exchange()
+			.expectBody()
+			.jsonPath("$.length()").isEqualTo(1)
+			.jsonPath("$[0].teamName").isEqualTo("Tigers");
+		client.get().uri("/api/teams?yearCreated=2002").exchange()
+			.expectBody()
+			.jsonPath("$.length()").isEqualTo(1)
+			.jsonPath("$[0].coach").doesNotExist()
+			.jsonPath("$[0].players.length()").isEqualTo(0);
+	}
+
+	@Test
+	void searchUsesTheNameIndex() {
+		playerRepository.save(player("Anna", "Smith", "PC-1"));
+		playerRepository.save(player("Bob", "Jones", "PC-2"));
+		coachRepository.save(coach("Carl", "LIC1"));
+		// Seeding goes through the repositories, which do not publish the events that maintain the name indexes
+		playerSearchIndex.rebuild();
+		coachSearchIndex.rebuild();
+
+		client.get().uri("/api/players/search?q=smith").exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.length()").isEqualTo(1)
+			.jsonPath("$[0].name").isEqualTo("Anna");
+		client.get().uri("/api/coaches/search?q=carl").exchange()
+			.expectBody().jsonPath("$[0].licenseId").isEqualTo("LIC1");
+		client.get().uri("/api/players/search?q=").exchange().expectStatus().isBadRequest();
+		client.get().uri("/api/players/search?q=anna&limit=1000").exchange().expectStatus().isBadRequest();
+	}
+
+	private static Player player(String name, String surname, String personalCode) {
+		Player player = new Player();
+		player.setName(name);
+		player.setSurname(surname);
+		player.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		player.setPersonalCode(personalCode);
+		return player;
+	}
+
+	private static Coach coach(String name, String licenseId) {
+		Coach coach = new Coach();
+		coach.setName(name);
+		coach.setSurname("Coachman");
+		coach.setCoachingFrom(LocalDate.of(2010, 1, 1));
+		coach.setLicenseId(licenseId);
+		coach.setPersonalCode("PC-" + licenseId);
+		coach.setEmail(name.toLowerCase() + "@example.com");
+		return coach;
+	}
+}
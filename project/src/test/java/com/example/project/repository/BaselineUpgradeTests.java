@@ -0,0 +1,109 @@
+package com.example.project.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A database as the application left it before migrations: the V1 schema with rows in it and no Flyway
+ * history. The first start must baseline it, run every later migration and serve the old rows.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:baseline-upgrade;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+	"spring.flyway.enabled=true",
+	"spring.flyway.baseline-on-migrate=true",
+	"spring.flyway.baseline-version=1",
+	"spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureMockMvc
+class BaselineUpgradeTests {
+
+	@TestConfiguration
+	static class LegacyDatabase {
+
+		// Runs instead of the plain migrate, on the same connection settings
+		@Bean
+		FlywayMigrationStrategy fromLegacySchema() {
+			return flyway -> {
+				JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+				new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql"))
+					.execute(flyway.getConfiguration().getDataSource());
+				jdbc.update("INSERT INTO coach (id, name, surname, coaching_from, license_id, personal_code) "
+					+ "VALUES (1, 'Old', 'Coach', DATE '2015-03-01', 'LIC-OLD', 'PC-OLD-C')");
+				jdbc.update("INSERT INTO player (id, name, surname, date_of_birth, personal_code) "
+					+ "VALUES (1, 'Old', 'Player', DATE '1990-06-01', 'PC-OLD-1'), (2, 'Older', 'Player', DATE '1985-06-01', 'PC-OLD-2')");
+				jdbc.update("INSERT INTO team (team_id, team_name, year_created, coach_id) VALUES (1, 'Veterans', 2010, 1)");
+				jdbc.update("INSERT INTO team_players (team_id, player_id) VALUES (1, 1), (1, 2)");
+				flyway.migrate();
+			};
+		}
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void legacyDatabaseIsBaselinedAndUpgraded() throws Exception {
+		List<Map<String, Object>> history = jdbcTemplate.queryForList(
+			"SELECT \"version\", \"type\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"");
+		assertThat(history).extracting(row -> row.get("version"))
+			.containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+		assertThat(history.get(0).get("type")).isEqualTo("BASELINE");
+		assertThat(history.subList(1, history.size())).extracting(row -> row.get("type")).containsOnly("SQL");
+
+		// Columns added to tables that already had rows take their defaults
+		assertThat(jdbcTemplate.queryForObject("SELECT version FROM player WHERE id = 2", Long.class)).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM team WHERE modified_at IS NULL", Long.class)).isZero();
+		// Without app.sharding memberships keep both legacy foreign keys
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+					+ "WHERE TABLE_NAME = 'team_players' AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class))
+			.map(String::toUpperCase)
+			.containsExactlyInAnyOrder("FKC9IGY2KYS82RWA80PX3Q0USQA", "FK3MMUDT6U8A3OODC5UYCFBNIC4");
+	}
+
+	@Test
+	void legacyRowsAreServedAndUpdated() throws Exception {
+		mockMvc.perform(get("/api/teams/1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.teamName").value("Veterans"))
+			.andExpect(jsonPath("$.coach.licenseId").value("LIC-OLD"))
+			.andExpect(jsonPath("$.players.length()").value(2));
+		// The summary tables are filled from the legacy rows at startup
+		mockMvc.perform(get("/api/statistics/team-sizes"))
+			.andExpect(jsonPath("$.counts.2").value(1));
+
+		String eTag = mockMvc.perform(get("/api/players/1"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(put("/api/players/1").header(HttpHeaders.IF_MATCH, eTag).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Old\",\"surname\":\"Player\",\"dateOfBirth\":\"1990-06-01\",\"personalCode\":\"PC-OLD-1B\"}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.version").value(1))
+			.andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_outbox", Long.class)).isPositive();
+	}
+}
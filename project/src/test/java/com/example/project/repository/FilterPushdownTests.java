@@ -0,0 +1,170 @@
+package com.example.project.repository;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.search.NameSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FilterPushdownTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private NameSearchIndex playerSearchIndex;
+
+	@Autowired
+	private NameSearchIndex coachSearchIndex;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void playerFiltersReadOnlyMatchingRows() throws Exception {
+		seedPlayers(0, 200);
+		playerRepository.save(player("Zelda", "Quinn", "PC-ZQ"));
+
+		long small = entitiesLoaded("/api/players?name=zel");
+		seedPlayers(200, 2000);
+		long large = entitiesLoaded("/api/players?name=zel");
+
+		assertThat(small).isEqualTo(1);
+		assertThat(large).isEqualTo(small);
+		assertThat(entitiesLoaded("/api/players?personalCode=PC-ZQ")).isEqualTo(1);
+	}
+
+	@Test
+	void prefixMatchIsCaseInsensitiveAndAnchored() throws Exception {
+		playerRepository.save(player("Anna", "Smith", "PC-1"));
+		playerRepository.save(player("Hanna", "Smith", "PC-2"));
+		rebuildSearchIndexes();
+
+		mockMvc.perform(get("/api/players?name=AN&match=PREFIX"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].name").value("Anna"));
+		mockMvc.perform(get("/api/players?name=an"))
+			.andExpect(jsonPath("$.length()").value(2));
+	}
+
+	@Test
+	void wildcardCharactersAreMatchedLiterally() throws Exception {
+		playerRepository.save(player("Ann", "Smith", "PC-1"));
+		playerRepository.save(player("A%n", "Smith", "PC-2"));
+		rebuildSearchIndexes();
+
+		mockMvc.perform(get("/api/players").param("name", "%"))
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].name").value("A%n"));
+	}
+
+	@Test
+	void coachFiltersReadOnlyMatchingRows() throws Exception {
+		for (int i = 0; i < 300; i++) {
+			coachRepository.save(coach("Coach" + i, "LIC" + i));
+		}
+
+		assertThat(entitiesLoaded("/api/coaches?licenseId=LIC42")).isEqualTo(1);
+		assertThat(entitiesLoaded("/api/coaches?name=coach29&match=PREFIX")).isEqualTo(11);
+	}
+
+	@Test
+	void teamFiltersReadOnlyMatchingTeamsAndTheirRosters() throws Exception {
+		Coach coach = coachRepository.save(coach("Carl", "LIC1"));
+		Player star = playerRepository.save(player("Star", "Player", "PC-STAR"));
+		for (int i = 0; i < 100; i++) {
+			Team team = new Team();
+			team.setTeamName("Team" + i);
+			team.setYearCreated(2000 + i % 10);
+			if (i == 7) {
+				team.setCoach(coach);
+				team.addPlayer(star);
+			}
+			teamRepository.save(team);
+		}
+
+		// one team and its coach; roster players are read as projections, not entities
+		assertThat(entitiesLoaded("/api/teams?playerId=" + star.getId())).isEqualTo(2);
+		assertThat(entitiesLoaded("/api/teams?coachId=" + coach.getId())).isEqualTo(2);
+		assertThat(entitiesLoaded("/api/teams?yearCreated=2003")).isEqualTo(10);
+	}
+
+	private long entitiesLoaded(String url) throws Exception {
+		rebuildSearchIndexes();
+		statistics.clear();
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+		return statistics.getEntityLoadCount();
+	}
+
+	// Seeding goes through the repositories, which do not publish the events that maintain the name indexes
+	private void rebuildSearchIndexes() {
+		playerSearchIndex.rebuild();
+		coachSearchIndex.rebuild();
+	}
+
+	private void seedPlayers(int from, int to) {
+		List<Player> players = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			players.add(player("Player" + i, "Surname" + i, "PC" + i));
+		}
+		playerRepository.saveAll(players);
+	}
+
+	private static Player player(String name, String surname, String personalCode) {
+		Player player = new Player();
+		player.setName(name);
+		player.setSurname(surname);
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode(personalCode);
+		return player;
+	}
+
+	private static Coach coach(String name, String licenseId) {
+		Coach coach = new Coach();
+		coach.setName(name);
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2015, 1, 1));
+		coach.setLicenseId(licenseId);
+		coach.setPersonalCode("PC-" + licenseId);
+		return coach;
+	}
+}
@@ -0,0 +1,195 @@
+package com.example.project.repository;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Builds the schema with the Flyway migrations, as in production, on a database of its own. Hibernate only
+ * validates it, so a mapping that drifts from the migrations fails the context.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+	"spring.flyway.enabled=true",
+	"spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureMockMvc
+class SchemaMigrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Player> players = new ArrayList<>();
+	private final List<Coach> coaches = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		players.clear();
+		coaches.clear();
+
+		for (int i = 0; i < 200; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			player.setSurname("Surname" + i);
+			player.setDateOfBirth(LocalDate.of(2000, 1, 1).plusDays(i));
+			player.setPersonalCode("PC-MG-" + i);
+			players.add(player);
+		}
+		players.replaceAll(playerRepository::save);
+		for (int i = 0; i < 20; i++) {
+			Coach coach = new Coach();
+			coach.setName("Coach" + i);
+			coach.setSurname("Surname" + i);
+			coach.setCoachingFrom(LocalDate.of(2010, 1, 1));
+			coach.setLicenseId("LIC-MG-" + i);
+			coach.setPersonalCode("PC-MG-C" + i);
+			coaches.add(coachRepository.save(coach));
+		}
+		// Enough teams that reading all of them costs more than the index lookups
+		List<Team> teams = new ArrayList<>();
+		for (int t = 0; t < 100; t++) {
+			Team team = new Team();
+			team.setTeamName("Team" + t);
+			team.setYearCreated(2000 + t % 20);
+			team.setCoach(coaches.get(t % 20));
+			team.addPlayer(players.get(t * 2));
+			team.addPlayer(players.get(t * 2 + 1));
+			teams.add(team);
+		}
+		teamRepository.saveAll(teams);
+		// InnoDB keeps index statistics by itself; H2 only collects them when asked
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+	}
+
+	@Test
+	void everyMigrationIsApplied() {
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class))
+			.containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE CONSTRAINT_TYPE = 'UNIQUE'", String.class))
+			.contains("uk_player_personal_code", "uk_coach_personal_code", "uk_coach_license_id");
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES", String.class))
+			.contains("idx_team_players_player_id", "idx_team_coach_id", "idx_player_name", "idx_coach_surname")
+			.doesNotContain("idx_player_personal_code", "idx_coach_personal_code", "idx_coach_license_id");
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT k.COLUMN_NAME FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE k "
+					+ "JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS c ON c.CONSTRAINT_NAME = k.CONSTRAINT_NAME "
+					+ "WHERE c.TABLE_NAME = 'team_players' AND c.CONSTRAINT_TYPE = 'PRIMARY KEY' ORDER BY k.ORDINAL_POSITION",
+				String.class))
+			.containsExactly("team_id", "player_id");
+	}
+
+	@Test
+	void lookupsSeekTheirIndexes() throws Exception {
+		Player player = players.get(57);
+		Coach coach = coaches.get(7);
+		// Switching the statistics on starts them afresh
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+		jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+
+		mockMvc.perform(get("/api/teams").param("playerId", String.valueOf(player.getId())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].teamName").value("Team28"));
+		mockMvc.perform(get("/api/teams").param("coachId", String.valueOf(coach.getId())))
+			.andExpect(jsonPath("$.length()").value(5))
+			.andExpect(jsonPath("$[0].teamName").value("Team7"));
+		mockMvc.perform(get("/api/players").param("personalCode", "PC-MG-57"))
+			.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/api/coaches").param("personalCode", "PC-MG-C7"))
+			.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/api/coaches").param("licenseId", "LIC-MG-7"))
+			.andExpect(jsonPath("$.length()").value(1));
+		// Case is left to the collation, which lets MySQL serve the prefix from idx_team_team_name; H2 does
+		// not turn a bound LIKE pattern into an index range, so only the match itself is checked here
+		mockMvc.perform(get("/api/teams").param("teamName", "team9").param("match", "PREFIX"))
+			.andExpect(jsonPath("$.length()").value(11));
+
+		// H2 gives the foreign key to player an index of its own; MySQL lets it use idx_team_players_player_id
+		assertThat(plan("join team_players", "player_id=?"))
+			.containsPattern(seek("(idx_team_players_player_id|fk3mmudt6u8a3oodc5uycfbnic4)", "player_id"));
+		assertThat(plan("from team ", "coach_id=?")).containsPattern(seek("idx_team_coach_id", "coach_id"));
+		assertThat(plan("from player", "personal_code=?")).containsPattern(seek("uk_player_personal_code", "personal_code"));
+		assertThat(plan("from coach", "personal_code=?")).containsPattern(seek("uk_coach_personal_code", "personal_code"));
+		assertThat(plan("from coach", "license_id=?")).containsPattern(seek("uk_coach_license_id", "license_id"));
+	}
+
+	@Test
+	void duplicateCodesAreRefused() throws Exception {
+		mockMvc.perform(post("/api/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Copy\",\"surname\":\"Cat\",\"dateOfBirth\":\"2001-02-03\",\"personalCode\":\"PC-MG-3\"}"))
+			.andExpect(status().isConflict());
+		mockMvc.perform(put("/api/players/" + players.get(4).getId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Copy\",\"surname\":\"Cat\",\"dateOfBirth\":\"2001-02-03\",\"personalCode\":\"PC-MG-3\"}"))
+			.andExpect(status().isConflict());
+		mockMvc.perform(post("/api/coaches").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Copy\",\"surname\":\"Cat\",\"coachingFrom\":\"2011-02-03\",\"licenseId\":\"LIC-MG-3\","
+					+ "\"personalCode\":\"PC-MG-NEW\"}"))
+			.andExpect(status().isConflict());
+
+		assertThat(playerRepository.count()).isEqualTo(200);
+		assertThat(coachRepository.count()).isEqualTo(20);
+	}
+
+	// H2 names the index behind a unique constraint after the constraint, with a suffix
+	private static String seek(String index, String column) {
+		return "public\\." + index + "\\w*: " + column + " = \\?";
+	}
+
+	/**
+	 * The plan of the one captured statement containing both fragments, which must not scan its tables.
+	 */
+	private String plan(String from, String predicate) {
+		List<String> statements = jdbcTemplate.queryForList(
+				"SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class).stream()
+			.filter(sql -> sql.toLowerCase().replace(" ", "").contains(from.replace(" ", ""))
+				&& sql.toLowerCase().replace(" ", "").contains(predicate))
+			.toList();
+		assertThat(statements).as("statements with %s and %s", from, predicate).hasSize(1);
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class);
+		assertThat(plan).doesNotContain("tableScan");
+		return plan;
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.project.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private static final String PRIMARY = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+	private static final String REPLICA_A = "jdbc:h2:mem:routing-replica-a;DB_CLOSE_DELAY=-1";
+	private static final String REPLICA_B = "jdbc:h2:mem:routing-replica-b;DB_CLOSE_DELAY=-1";
+	// Nothing listens on port 1, so connecting fails straight away
+	private static final String UNREACHABLE = "jdbc:h2:tcp://localhost:1/mem:unreachable";
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void readOnlyTransactionsUseTheReplicasInTurn() throws SQLException {
+		ReadWriteRoutingDataSource routing = routing(REPLICA_A, REPLICA_B);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		List<String> urls = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			urls.add(url(routing));
+		}
+
+		assertThat(urls).containsExactly(REPLICA_A, REPLICA_B, REPLICA_A, REPLICA_B);
+		assertThat(registry.get("app.datasource.connections").tag("target", "replica").counter().count()).isEqualTo(4);
+	}
+
+	@Test
+	void writesAndPinnedReadsUseThePrimary() throws SQLException {
+		ReadWriteRoutingDataSource routing = routing(REPLICA_A);
+
+		assertThat(url(routing)).isEqualTo(PRIMARY);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(ReadYourWrites.onPrimary(() -> url(routing))).isEqualTo(PRIMARY);
+		assertThat(url(routing)).isEqualTo(REPLICA_A);
+	}
+
+	@Test
+	void unavailableReplicaFallsBackToThePrimaryAndIsSkipped() throws SQLException {
+		ReadWriteRoutingDataSource routing = routing(UNREACHABLE);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(url(routing)).isEqualTo(PRIMARY);
+		assertThat(routing.availableReplicas()).isZero();
+		assertThat(url(routing)).isEqualTo(PRIMARY);
+		assertThat(registry.get("app.datasource.replica.failovers").counter().count()).isEqualTo(1);
+	}
+
+	private ReadWriteRoutingDataSource routing(String... replicaUrls) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (int i = 0; i < replicaUrls.length; i++) {
+			replicas.put("replica-" + i, new DriverManagerDataSource(replicaUrls[i], "sa", ""));
+		}
+		return new ReadWriteRoutingDataSource(new DriverManagerDataSource(PRIMARY, "sa", ""), replicas,
+			Duration.ofMinutes(1), registry);
+	}
+
+	private static String url(DataSource dataSource) {
+		try (Connection connection = dataSource.getConnection()) {
+			return connection.getMetaData().getURL() + ";DB_CLOSE_DELAY=-1";
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
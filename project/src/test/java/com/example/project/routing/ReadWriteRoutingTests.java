@@ -0,0 +1,122 @@
+package com.example.project.routing;
+
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica. Replication is simulated by
+ * copying the primary into the replica, so until {@link #replicate()} runs the replica lags behind.
+ */
+@SpringBootTest(properties = {
+	"app.replicas.enabled=true",
+	"app.replicas.nodes[0].url=" + ReadWriteRoutingTests.REPLICA_URL,
+	"app.replicas.nodes[0].username=sa",
+	"app.replicas.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		replicate();
+	}
+
+	@Test
+	void readsGoToTheReplicaUntilTheWriteIsReplicated() throws Exception {
+		create("PC-LAG");
+
+		mockMvc.perform(get("/api/players").param("personalCode", "PC-LAG"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(0));
+
+		replicate();
+		mockMvc.perform(get("/api/players").param("personalCode", "PC-LAG"))
+			.andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void writerReadsItsOwnWritesFromThePrimary() throws Exception {
+		Cookie pin = create("PC-OWN").getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+		assertThat(pin).isNotNull();
+
+		mockMvc.perform(get("/api/players").param("personalCode", "PC-OWN").cookie(pin))
+			.andExpect(jsonPath("$.length()").value(1));
+
+		Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1));
+		mockMvc.perform(get("/api/players").param("personalCode", "PC-OWN").cookie(expired))
+			.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void cacheIsFilledFromThePrimary() throws Exception {
+		MvcResult created = create("PC-CACHE");
+		Integer id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+		// A stale replica read would otherwise be cached as "not found" or as the old value
+		mockMvc.perform(get("/api/players/{id}", id))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.personalCode").value("PC-CACHE"));
+	}
+
+	private MvcResult create(String personalCode) throws Exception {
+		return mockMvc.perform(post("/api/players")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Anna\",\"surname\":\"Smith\",\"dateOfBirth\":\"1990-01-01\",\"personalCode\":\""
+					+ personalCode + "\"}"))
+			.andExpect(status().isOk())
+			.andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+			.andReturn();
+	}
+
+	private void replicate() {
+		String script = Path.of("target", "replica.sql").toAbsolutePath().toString().replace('\\', '/');
+		new JdbcTemplate(dataSource).execute("SCRIPT TO '" + script + "'");
+		replica.execute("DROP ALL OBJECTS");
+		replica.execute("RUNSCRIPT FROM '" + script + "'");
+	}
+}
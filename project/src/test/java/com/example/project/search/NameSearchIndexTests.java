@@ -0,0 +1,178 @@
+package com.example.project.search;
+
+import com.example.project.event.ChangeType;
+import com.example.project.model.Player;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.example.project.repository.projection.NameEntry;
+import com.example.project.repository.specification.TextMatch;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NameSearchIndexTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private NameSearchIndex playerSearchIndex;
+
+	@Autowired
+	private NameSearchIndex coachSearchIndex;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		playerSearchIndex.rebuild();
+		coachSearchIndex.rebuild();
+	}
+
+	@Test
+	void rebuildIndexesExistingRows() throws Exception {
+		Player player = new Player();
+		player.setName("Zelda");
+		player.setSurname("Quinn");
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode("PC-ZQ");
+		playerRepository.save(player);
+		playerSearchIndex.rebuild();
+
+		assertThat(playerSearchIndex.filter("eld", null, TextMatch.CONTAINS))
+			.hasValueSatisfying(ids -> assertThat(ids).containsExactly(player.getId()));
+		mockMvc.perform(get("/api/players/search").param("q", "zel qu"))
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].personalCode").value("PC-ZQ"));
+	}
+
+	@Test
+	void writesKeepIndexInSync() throws Exception {
+		Integer id = createPlayer("Annika", "Lind", "PC-1");
+		createPlayer("Anna", "Berg", "PC-2");
+
+		mockMvc.perform(get("/api/players/search").param("q", "ann"))
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].name").value("Anna"));
+		mockMvc.perform(get("/api/players").param("name", "nik"))
+			.andExpect(jsonPath("$.length()").value(1));
+
+		mockMvc.perform(put("/api/players/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content(player("Greta", "Lind", "PC-1")))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/api/players").param("name", "nik")).andExpect(jsonPath("$.length()").value(0));
+		mockMvc.perform(get("/api/players/search").param("q", "greta"))
+			.andExpect(jsonPath("$[0].id").value(id));
+
+		mockMvc.perform(delete("/api/players/" + id)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/search").param("q", "greta")).andExpect(jsonPath("$.length()").value(0));
+
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + player("Bulky", "Row", "PC-3") + "," + player("Anna", "Renamed", "PC-2") + "]"))
+			.andExpect(jsonPath("$.created").value(1))
+			.andExpect(jsonPath("$.updated").value(1));
+		mockMvc.perform(get("/api/players/search").param("q", "bulk")).andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/api/players/search").param("q", "anna renamed")).andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void coachSearchRanksExactMatchesFirst() throws Exception {
+		for (String name : new String[] {"Joanna", "Jo", "Jonas"}) {
+			mockMvc.perform(post("/api/coaches").contentType(MediaType.APPLICATION_JSON)
+					.content("{\"name\":\"" + name + "\",\"surname\":\"Brown\",\"coachingFrom\":\"2015-01-01\","
+						+ "\"licenseId\":\"LIC-" + name + "\",\"personalCode\":\"CPC-" + name + "\"}"))
+				.andExpect(status().isOk());
+		}
+
+		mockMvc.perform(get("/api/coaches/search").param("q", "jo").param("limit", "2"))
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].name").value("Jo"))
+			.andExpect(jsonPath("$[1].name").value("Jonas"));
+		mockMvc.perform(get("/api/coaches/search").param("q", " ")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/coaches/search").param("q", "jo").param("limit", "0")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void shortOrBroadFiltersFallBackToDatabase() throws Exception {
+		createPlayer("Anna", "Berg", "PC-1");
+
+		assertThat(playerSearchIndex.filter("an", null, TextMatch.CONTAINS)).isEmpty();
+		mockMvc.perform(get("/api/players").param("name", "an")).andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void commitsAppliedInReverseOrderLeaveTheLatestName() {
+		Map<Integer, NameEntry> table = new HashMap<>(Map.of(1, new NameEntry(1, "First", "Row")));
+		NameSearchIndex index = new NameSearchIndex("test", (fetchSize, action) -> table.values().forEach(action),
+			ids -> ids.stream().map(table::get).filter(Objects::nonNull).toList(), new SearchProperties());
+		index.rebuild();
+
+		// The first transaction renames the row, but its commit callback runs only after a second rename
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			table.put(1, new NameEntry(1, "Second", "Row"));
+			index.changed(ChangeType.UPDATED, Set.of(1));
+			List<TransactionSynchronization> first = TransactionSynchronizationManager.getSynchronizations();
+			TransactionSynchronizationManager.clearSynchronization();
+
+			table.put(1, new NameEntry(1, "Third", "Row"));
+			index.changed(ChangeType.UPDATED, Set.of(1));
+			first.forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+		}
+
+		assertThat(index.filter("thi", null, TextMatch.CONTAINS)).hasValue(List.of(1));
+		assertThat(index.filter("sec", null, TextMatch.CONTAINS)).hasValue(List.of());
+	}
+
+	private Integer createPlayer(String name, String surname, String personalCode) throws Exception {
+		String body = mockMvc.perform(post("/api/players").contentType(MediaType.APPLICATION_JSON)
+				.content(player(name, surname, personalCode)))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return JsonPath.read(body, "$.id");
+	}
+
+	private static String player(String name, String surname, String personalCode) {
+		return "{\"name\":\"" + name + "\",\"surname\":\"" + surname + "\",\"dateOfBirth\":\"1995-05-15\","
+			+ "\"personalCode\":\"" + personalCode + "\"}";
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.project.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrigramIndexTests {
+
+	@Test
+	void matchesSubstringsAndPrefixesCaseInsensitively() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Anna", "Smith");
+		index.put(2, "Hanna", "Smithson");
+		index.put(3, "Johan", "Annas");
+
+		assertThat(index.filter("ANN", null, false, 10)).containsExactly(1, 2);
+		assertThat(index.filter("a", null, true, 10)).containsExactly(1);
+		assertThat(index.filter(null, "smiths", true, 10)).containsExactly(2);
+		assertThat(index.filter("ann", "son", false, 10)).containsExactly(2);
+		assertThat(index.filter(null, "xyz", false, 10)).isEmpty();
+		assertThat(index.filter("ann", null, false, 1)).isNull();
+		assertThatThrownBy(() -> index.filter("an", null, false, 10))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void updatesAndRemovalsReplacePostings() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(5, "Anna", "Smith");
+		index.put(5, "Greta", "Smith");
+		index.put(2000, "Annabel", "Lee");
+
+		assertThat(index.filter("ann", null, false, 10)).containsExactly(2000);
+		assertThat(index.filter("gre", null, true, 10)).containsExactly(5);
+
+		index.remove(5);
+		assertThat(index.filter(null, "smi", false, 10)).isEmpty();
+		assertThat(index.search("greta", 10)).isEmpty();
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void searchRanksExactThenPrefixThenSubstringMatches() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Joanna", "Berg");
+		index.put(2, "Anna", "Berg");
+		index.put(3, "Annika", "Lind");
+		index.put(4, "Anna", "Lindqvist");
+
+		assertThat(index.search("anna", 10)).containsExactly(2, 4, 1);
+		assertThat(index.search("ann lind", 10)).containsExactly(3, 4);
+		assertThat(index.search("an", 2)).containsExactly(2, 3);
+		assertThat(index.search("  ", 10)).isEmpty();
+	}
+
+	@Test
+	void ignoresAccentsLikeTheDatabaseCollation() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Ūla", "Žukauskienė");
+		index.put(2, "Zoe", "Renée");
+
+		assertThat(index.filter(null, "zuk", true, 10)).containsExactly(1);
+		assertThat(index.filter(null, "ŽUKAUSKIENE", true, 10)).containsExactly(1);
+		assertThat(index.filter(null, "kien", false, 10)).containsExactly(1);
+		assertThat(index.filter(null, "renée", false, 10)).containsExactly(2);
+		assertThat(index.search("ula", 10)).containsExactly(1);
+		assertThat(index.search("zoe rene", 10)).containsExactly(2);
+	}
+}
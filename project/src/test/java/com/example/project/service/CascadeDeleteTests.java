@@ -0,0 +1,163 @@
+package com.example.project.service;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CascadeDeleteTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private final List<Player> players = new ArrayList<>();
+
+	private Coach coach;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		players.clear();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		coach = new Coach();
+		coach.setName("David");
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2015, 1, 1));
+		coach.setLicenseId("LIC1");
+		coach.setPersonalCode("CPC1");
+		coach = coachRepository.save(coach);
+		for (int i = 0; i < 3; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			player.setSurname("Surname" + i);
+			player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+			player.setPersonalCode("PC" + i);
+			players.add(playerRepository.save(player));
+		}
+	}
+
+	@Test
+	void deletingPlayerRemovesOnlyItsMemberships() throws Exception {
+		seedTeams(5);
+
+		mockMvc.perform(delete("/api/players/" + players.get(0).getId())).andExpect(status().isOk());
+
+		assertThat(membershipsOf(players.get(0))).isZero();
+		assertThat(membershipsOf(players.get(1))).isEqualTo(5);
+		assertThat(playerRepository.existsById(players.get(0).getId())).isFalse();
+		mockMvc.perform(delete("/api/players/" + players.get(0).getId())).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void deletingCoachDetachesItFromTeams() throws Exception {
+		seedTeams(5);
+
+		mockMvc.perform(delete("/api/coaches/" + coach.getId())).andExpect(status().isOk());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM team WHERE coach_id IS NOT NULL", Integer.class)).isZero();
+		assertThat(teamRepository.count()).isEqualTo(5);
+	}
+
+	@Test
+	void deleteCostDoesNotGrowWithTeamCount() throws Exception {
+		seedTeams(5);
+		long small = statementsFor("/api/players/" + players.get(0).getId());
+		long smallCoach = statementsFor("/api/coaches/" + coach.getId());
+
+		setUp();
+		seedTeams(150);
+		long large = statementsFor("/api/players/" + players.get(0).getId());
+		long largeCoach = statementsFor("/api/coaches/" + coach.getId());
+
+		// A player delete also bumps its teams' versions, so cached team tags stop matching. Both take the
+		// deleted row out of the summary tables (2) and record it in the change outbox (1); a player delete also
+		// finds its teams, recounts their sizes (5) and records their roster change (1); a coach delete finds its
+		// teams (1), refreshes their two summary metrics (8) and records their update (1)
+		assertThat(small).isEqualTo(13);
+		assertThat(large).isEqualTo(small);
+		assertThat(smallCoach).isEqualTo(16);
+		assertThat(largeCoach).isEqualTo(smallCoach);
+	}
+
+	@Test
+	void bulkDeleteReportsMissingIds() throws Exception {
+		seedTeams(2);
+		int missing = players.get(2).getId() + 1000;
+
+		mockMvc.perform(delete("/api/players").param("ids", players.get(0).getId() + "," + players.get(1).getId() + "," + missing))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.deleted.length()").value(2))
+			.andExpect(jsonPath("$.notFound[0]").value(missing));
+
+		assertThat(playerRepository.count()).isEqualTo(1);
+		assertThat(membershipsOf(players.get(2))).isEqualTo(2);
+
+		mockMvc.perform(delete("/api/coaches").param("ids", String.valueOf(coach.getId())))
+			.andExpect(jsonPath("$.deleted[0]").value(coach.getId()));
+	}
+
+	private long statementsFor(String url) throws Exception {
+		statistics.clear();
+		mockMvc.perform(delete(url)).andExpect(status().isOk());
+		return statistics.getPrepareStatementCount();
+	}
+
+	private int membershipsOf(Player player) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM team_players WHERE player_id = ?", Integer.class,
+			player.getId());
+	}
+
+	private void seedTeams(int count) {
+		for (int i = 0; i < count; i++) {
+			Team team = new Team();
+			team.setTeamName("Team" + i);
+			team.setYearCreated(2020);
+			team.setCoach(coach);
+			players.forEach(team::addPlayer);
+			teamRepository.save(team);
+		}
+	}
+}
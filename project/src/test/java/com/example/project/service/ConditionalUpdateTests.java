@@ -0,0 +1,155 @@
+package com.example.project.service;
+
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalUpdateTests {
+
+	private static final String PLAYER = "{\"name\":\"Anna\",\"surname\":\"Smith\",\"dateOfBirth\":\"1990-01-01\",\"personalCode\":\"PC-IF\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void matchingIfMatchUpdatesInOneStatement() throws Exception {
+		Player player = seedPlayer();
+		mockMvc.perform(get("/api/players/" + player.getId()))
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+		statistics.clear();
+		mockMvc.perform(put("/api/players/" + player.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).content(PLAYER))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+			.andExpect(jsonPath("$.version").value(1))
+			.andExpect(jsonPath("$.name").value("Anna"));
+
+		// The conditional UPDATE, four statements moving the player between summary buckets, the change
+		// outbox row, then the search index re-reading the names after commit; nothing is loaded first
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(playerRepository.findById(player.getId()).orElseThrow().getName()).isEqualTo("Anna");
+	}
+
+	@Test
+	void staleIfMatchIsRejectedWithoutWriting() throws Exception {
+		Player player = seedPlayer();
+
+		mockMvc.perform(put("/api/players/" + player.getId()).header(HttpHeaders.IF_MATCH, "\"7\"")
+				.contentType(MediaType.APPLICATION_JSON).content(PLAYER))
+			.andExpect(status().isPreconditionFailed())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+		mockMvc.perform(put("/api/players/" + player.getId()).header(HttpHeaders.IF_MATCH, "W/\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).content(PLAYER))
+			.andExpect(status().isPreconditionFailed());
+
+		Player stored = playerRepository.findById(player.getId()).orElseThrow();
+		assertThat(stored.getName()).isEqualTo("Original");
+		assertThat(stored.getVersion()).isZero();
+	}
+
+	@Test
+	void updatesWithoutIfMatchStillApply() throws Exception {
+		Player player = seedPlayer();
+
+		mockMvc.perform(put("/api/players/" + player.getId()).contentType(MediaType.APPLICATION_JSON).content(PLAYER))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		mockMvc.perform(put("/api/players/" + player.getId()).header(HttpHeaders.IF_MATCH, "*")
+				.contentType(MediaType.APPLICATION_JSON).content(PLAYER))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+		mockMvc.perform(put("/api/players/999999").header(HttpHeaders.IF_MATCH, "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).content(PLAYER))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void rosterChangesBumpTheTeamVersion() throws Exception {
+		Player player = seedPlayer();
+		Team team = new Team();
+		team.setTeamName("Eagles");
+		team.setYearCreated(2024);
+		team = teamRepository.save(team);
+		String url = "/api/teams/" + team.getTeamId();
+
+		mockMvc.perform(get(url)).andExpect(header().string(HttpHeaders.ETAG, "\"0.-.0\""));
+		mockMvc.perform(patch(url + "/players").header(HttpHeaders.IF_MATCH, "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"add\":[" + player.getId() + "]}"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		mockMvc.perform(get(url))
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1.-.0\""))
+			.andExpect(jsonPath("$.players.length()").value(1));
+
+		mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, "\"0\"").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Hawks\",\"yearCreated\":2025}"))
+			.andExpect(status().isPreconditionFailed())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, "\"1\"").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Hawks\",\"yearCreated\":2025}"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"2.-.0\""))
+			.andExpect(jsonPath("$.players.length()").value(0));
+		mockMvc.perform(get(url))
+			.andExpect(jsonPath("$.teamName").value("Hawks"))
+			.andExpect(jsonPath("$.version").value(2));
+	}
+
+	private Player seedPlayer() {
+		Player player = new Player();
+		player.setName("Original");
+		player.setSurname("Jones");
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode("PC-IF");
+		return playerRepository.save(player);
+	}
+}
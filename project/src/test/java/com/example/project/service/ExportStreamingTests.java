@@ -0,0 +1,98 @@
+package com.example.project.service;
+
+import com.example.project.model.Player;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.PlayerStore;
+import com.example.project.repository.TeamRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the export hands rows to the output as it goes rather than after reading the table.
+ * Heap and throughput at volume are measured by {@code ExportBenchmark} in the load profile.
+ */
+@SpringBootTest
+class ExportStreamingTests {
+
+	private static final int ROWS = 25;
+
+	private static final int FLUSH_EVERY = 10;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlayerStore playerStore;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		for (int i = 0; i < ROWS; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			player.setSurname("Surname" + i);
+			player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+			player.setPersonalCode("PC" + i);
+			playerRepository.save(player);
+		}
+	}
+
+	@Test
+	void flushesRowsToTheOutputWhileExporting() throws Exception {
+		ExportService exportService = new ExportService(dataSource, playerStore, objectMapper, 5, FLUSH_EVERY);
+		FlushRecordingStream out = new FlushRecordingStream();
+
+		long exported = exportService.exportPlayers(out);
+
+		assertThat(exported).isEqualTo(ROWS);
+		assertThat(out.lines).isEqualTo(ROWS);
+		// One flush per FLUSH_EVERY rows, each carrying exactly the rows written so far, then the final one
+		assertThat(out.linesAtFlush).containsExactly(10L, 20L, 25L);
+	}
+
+	/**
+	 * Discards the export, recording how many complete lines had arrived at each flush.
+	 */
+	private static final class FlushRecordingStream extends OutputStream {
+		private final List<Long> linesAtFlush = new ArrayList<>();
+		private long lines;
+
+		@Override
+		public void write(int b) {
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void flush() {
+			linesAtFlush.add(lines);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.example.project.service;
+
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RosterPatchTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void patchAppliesDiffAndReportsEachId() throws Exception {
+		List<Integer> players = seedPlayers(4);
+		Team team = emptyTeam();
+		team.addPlayer(playerRepository.findById(players.get(0)).orElseThrow());
+		team.addPlayer(playerRepository.findById(players.get(1)).orElseThrow());
+		team = teamRepository.save(team);
+		String url = "/api/teams/" + team.getTeamId() + "/players";
+
+		mockMvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"add\":[" + players.get(1) + "," + players.get(2) + ",999999],\"remove\":["
+					+ players.get(0) + "," + players.get(3) + "]}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.teamId").value(team.getTeamId()))
+			.andExpect(jsonPath("$.added").value(org.hamcrest.Matchers.contains(players.get(2))))
+			.andExpect(jsonPath("$.removed").value(org.hamcrest.Matchers.contains(players.get(0))))
+			.andExpect(jsonPath("$.unchanged").value(org.hamcrest.Matchers.containsInAnyOrder(players.get(1), players.get(3))))
+			.andExpect(jsonPath("$.notFound").value(org.hamcrest.Matchers.contains(999999)));
+
+		mockMvc.perform(get("/api/teams/" + team.getTeamId()))
+			.andExpect(jsonPath("$.players.length()").value(2))
+			.andExpect(jsonPath("$.players[*].id").value(org.hamcrest.Matchers.containsInAnyOrder(players.get(1), players.get(2))));
+	}
+
+	@Test
+	void patchRejectsConflictsAndUnknownTeams() throws Exception {
+		List<Integer> players = seedPlayers(1);
+		Team team = teamRepository.save(emptyTeam());
+
+		mockMvc.perform(patch("/api/teams/" + team.getTeamId() + "/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"add\":[" + players.get(0) + "],\"remove\":[" + players.get(0) + "]}"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(patch("/api/teams/" + (team.getTeamId() + 1000) + "/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"add\":[" + players.get(0) + "]}"))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void patchCostDoesNotGrowWithRosterSize() throws Exception {
+		List<Integer> players = seedPlayers(80);
+		Team small = teamRepository.save(emptyTeam());
+		Team large = teamRepository.save(emptyTeam());
+
+		long smallCost = patchCost(small, players.subList(0, 4));
+		long largeCost = patchCost(large, players.subList(0, 80));
+
+		assertThat(largeCost).isEqualTo(smallCost);
+		assertThat(teamRepository.findRosters(List.of(large.getTeamId()))).hasSize(80);
+	}
+
+	@Test
+	void createAndUpdateCostDoesNotGrowWithRosterSize() throws Exception {
+		List<Integer> players = seedPlayers(40);
+
+		long fourPlayers = createCost(players.subList(0, 4));
+		long fortyPlayers = createCost(players);
+		assertThat(fortyPlayers).isEqualTo(fourPlayers);
+
+		mockMvc.perform(post("/api/teams").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Eagles\",\"yearCreated\":2024,\"playerIds\":[" + players.get(0) + ",999999]}"))
+			.andExpect(status().isBadRequest());
+
+		Team team = teamRepository.save(emptyTeam());
+		updateCost(team, players.subList(0, 10));
+		// Both remove five members and add others; only the number of ids differs
+		long smallDiff = updateCost(team, players.subList(5, 15));
+		long largeDiff = updateCost(team, players.subList(10, 40));
+		assertThat(largeDiff).isEqualTo(smallDiff);
+		assertThat(teamRepository.findAllMemberIds(team.getTeamId())).hasSize(30);
+		mockMvc.perform(get("/api/teams/" + team.getTeamId()))
+			.andExpect(jsonPath("$.teamName").value("Hawks"))
+			.andExpect(jsonPath("$.players.length()").value(30));
+	}
+
+	@Test
+	void singlePlayerEndpointsKeepTheirContract() throws Exception {
+		List<Integer> players = seedPlayers(1);
+		Team team = teamRepository.save(emptyTeam());
+		String url = "/api/teams/" + team.getTeamId() + "/players/";
+
+		mockMvc.perform(post(url + players.get(0)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.players.length()").value(1));
+		mockMvc.perform(post(url + 999999)).andExpect(status().isNotFound());
+		mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete(url + players.get(0)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.players.length()").value(0));
+	}
+
+	private long patchCost(Team team, List<Integer> add) throws Exception {
+		statistics.clear();
+		mockMvc.perform(patch("/api/teams/" + team.getTeamId() + "/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"add\":" + ids(add) + "}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.added.length()").value(add.size()));
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long createCost(List<Integer> players) throws Exception {
+		statistics.clear();
+		mockMvc.perform(post("/api/teams").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Eagles\",\"yearCreated\":2024,\"playerIds\":" + ids(players) + "}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.players.length()").value(players.size()));
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long updateCost(Team team, List<Integer> players) throws Exception {
+		statistics.clear();
+		mockMvc.perform(put("/api/teams/" + team.getTeamId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Hawks\",\"yearCreated\":2025,\"playerIds\":" + ids(players) + "}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.players.length()").value(players.size()));
+		return statistics.getPrepareStatementCount();
+	}
+
+	private List<Integer> seedPlayers(int count) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Player player = new Player();
+			player.setName("Player" + i);
+			player.setSurname("Surname" + i);
+			player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+			player.setPersonalCode("PC" + i);
+			players.add(player);
+		}
+		return playerRepository.saveAll(players).stream().map(Player::getId).toList();
+	}
+
+	private static Team emptyTeam() {
+		Team team = new Team();
+		team.setTeamName("Eagles");
+		team.setYearCreated(2024);
+		return team;
+	}
+
+	private static String ids(List<Integer> ids) {
+		return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+	}
+}
@@ -0,0 +1,156 @@
+package com.example.project.service;
+
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TeamQueryServiceTests {
+
+	private static final int ROSTER_SIZE = 4;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 10, 60})
+	void listingTeamsIssuesConstantNumberOfStatements(int teams) throws Exception {
+		seedTeams(teams);
+
+		statistics.clear();
+		mockMvc.perform(get("/api/teams"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(teams))
+			.andExpect(jsonPath("$[0].coach.name").value("Coach0"))
+			.andExpect(jsonPath("$[0].players.length()").value(ROSTER_SIZE));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		statistics.clear();
+		mockMvc.perform(get("/api/teams?limit=5&sort=teamName,desc")).andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void gettingOneTeamIssuesTwoStatements() throws Exception {
+		Team team = seedTeams(1).get(0);
+
+		statistics.clear();
+		mockMvc.perform(get("/api/teams/" + team.getTeamId()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.players.length()").value(ROSTER_SIZE));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		mockMvc.perform(get("/api/teams/" + (team.getTeamId() + 1000))).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void writePathStillReturnsFullTeam() throws Exception {
+		Coach coach = coachRepository.save(coach(0));
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			players.add(playerRepository.save(player(i)));
+		}
+
+		String created = mockMvc.perform(post("/api/teams").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Eagles\",\"yearCreated\":2024,\"coachId\":" + coach.getId()
+					+ ",\"playerIds\":[" + players.get(0).getId() + "," + players.get(1).getId() + "]}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.coach.id").value(coach.getId()))
+			.andExpect(jsonPath("$.players.length()").value(2))
+			.andReturn().getResponse().getContentAsString();
+		Integer teamId = com.jayway.jsonpath.JsonPath.read(created, "$.teamId");
+
+		mockMvc.perform(post("/api/teams/" + teamId + "/players/" + players.get(2).getId()))
+			.andExpect(jsonPath("$.players.length()").value(3));
+		mockMvc.perform(delete("/api/teams/" + teamId + "/players/" + players.get(0).getId()))
+			.andExpect(jsonPath("$.players.length()").value(2));
+		mockMvc.perform(put("/api/teams/" + teamId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Hawks\",\"yearCreated\":2025,\"playerIds\":[]}"))
+			.andExpect(jsonPath("$.teamName").value("Hawks"))
+			.andExpect(jsonPath("$.players.length()").value(0));
+	}
+
+	private List<Team> seedTeams(int count) {
+		List<Team> teams = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Team team = new Team();
+			team.setTeamName("Team" + i);
+			team.setYearCreated(2000 + i);
+			team.setCoach(coachRepository.save(coach(i)));
+			for (int p = 0; p < ROSTER_SIZE; p++) {
+				team.addPlayer(playerRepository.save(player(i * ROSTER_SIZE + p)));
+			}
+			teams.add(teamRepository.save(team));
+		}
+		return teams;
+	}
+
+	private static Player player(int i) {
+		Player player = new Player();
+		player.setName("Player" + i);
+		player.setSurname("Surname" + i);
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode("PC" + i);
+		return player;
+	}
+
+	private static Coach coach(int i) {
+		Coach coach = new Coach();
+		coach.setName("Coach" + i);
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2015, 1, 1));
+		coach.setLicenseId("LIC" + i);
+		coach.setPersonalCode("CPC" + i);
+		return coach;
+	}
+}
@@ -0,0 +1,445 @@
+package com.example.project.sharding;
+
+import com.example.project.model.Player;
+import com.example.project.search.NameSearchIndex;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Three in-memory H2 databases hold the players; a fourth keeps everything else, migrated by Flyway as in
+ * production so that the sharding-only migrations are applied.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:sharded-main" + ShardingTests.SHARD_OPTIONS,
+	"spring.flyway.enabled=true",
+	"spring.jpa.hibernate.ddl-auto=validate",
+	"app.sharding.enabled=true",
+	"app.sharding.nodes[0].url=" + ShardingTests.SHARD_URL + "0" + ShardingTests.SHARD_OPTIONS,
+	"app.sharding.nodes[0].username=sa",
+	"app.sharding.nodes[1].url=" + ShardingTests.SHARD_URL + "1" + ShardingTests.SHARD_OPTIONS,
+	"app.sharding.nodes[1].username=sa",
+	"app.sharding.nodes[2].url=" + ShardingTests.SHARD_URL + "2" + ShardingTests.SHARD_OPTIONS,
+	"app.sharding.nodes[2].username=sa",
+	"app.sharding.id-block-size=5"
+})
+@AutoConfigureMockMvc
+class ShardingTests {
+
+	static final String SHARD_URL = "jdbc:h2:mem:shard";
+	static final String SHARD_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerShards shards;
+
+	@Autowired
+	private JdbcTemplate primary;
+
+	@Autowired
+	private NameSearchIndex playerSearchIndex;
+
+	@Autowired
+	private ShardedPlayerStore playerStore;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final List<JdbcTemplate> shardDatabases = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		shardDatabases.clear();
+		for (int i = 0; i < 3; i++) {
+			shardDatabases.add(new JdbcTemplate(new DriverManagerDataSource(SHARD_URL + i + SHARD_OPTIONS, "sa", "")));
+		}
+		primary.update("DELETE FROM team_players");
+		primary.update("DELETE FROM team");
+		shardDatabases.forEach(shard -> shard.update("DELETE FROM player"));
+	}
+
+	@Test
+	void membershipsHaveNoForeignKeyToThePlayerTable() {
+		assertThat(primary.queryForList(
+				"SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+					+ "WHERE TABLE_NAME = 'team_players' AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class))
+			.singleElement().asString().isEqualToIgnoringCase("FKc9igy2kys82rwa80px3q0usqa");
+	}
+
+	@Test
+	void playersAreStoredOnTheirShardOnly() throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			ids.add(create("Name" + i, "Surname" + i, "PC-SH-" + i));
+		}
+
+		Set<Integer> used = new HashSet<>();
+		for (Integer id : ids) {
+			int shard = shards.shardOf(id);
+			used.add(shard);
+			assertThat(countOn(shard, id)).isEqualTo(1);
+		}
+		assertThat(used).hasSizeGreaterThan(1);
+		assertThat(shardDatabases.stream().mapToInt(shard -> shard.queryForObject("SELECT COUNT(*) FROM player", Integer.class)).sum())
+			.isEqualTo(12);
+		assertThat(primary.queryForObject("SELECT COUNT(*) FROM player", Integer.class)).isZero();
+
+		Integer id = ids.get(3);
+		mockMvc.perform(get("/api/players/" + id))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.personalCode").value("PC-SH-3"))
+			.andExpect(jsonPath("$.version").value(0));
+		mockMvc.perform(put("/api/players/" + id).header(HttpHeaders.IF_MATCH, "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body("Renamed", "Surname3", "PC-SH-3")))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		mockMvc.perform(put("/api/players/" + id).header(HttpHeaders.IF_MATCH, "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body("Again", "Surname3", "PC-SH-3")))
+			.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(get("/api/players/" + id))
+			.andExpect(jsonPath("$.name").value("Renamed"));
+
+		mockMvc.perform(delete("/api/players/" + id)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/" + id)).andExpect(status().isNotFound());
+		assertThat(countOn(shards.shardOf(id), id)).isZero();
+	}
+
+	@Test
+	void listsArePagedAcrossShardsInSortOrder() throws Exception {
+		List<String> surnames = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			// Surnames out of id order, so the merge has to interleave the shards
+			String surname = "S" + (char) ('a' + (i * 7) % 12);
+			surnames.add(surname);
+			create("N" + i, surname, "PC-PG-" + i);
+		}
+		surnames.sort(Comparator.reverseOrder());
+
+		List<String> read = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			var request = get("/api/players").param("limit", "5").param("sort", "surname,desc");
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+			read.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].surname"));
+			cursor = result.getResponse().getHeader("X-Next-Cursor");
+			pages++;
+		} while (cursor != null);
+		assertThat(read).isEqualTo(surnames);
+		assertThat(pages).isEqualTo(3);
+
+		mockMvc.perform(get("/api/players").param("fields", "surname").param("limit", "2").param("sort", "surname"))
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].surname").value("Sa"))
+			.andExpect(jsonPath("$[1].surname").value("Sb"))
+			.andExpect(jsonPath("$[0].name").doesNotExist());
+		mockMvc.perform(get("/api/players").param("personalCode", "PC-PG-4"))
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].name").value("N4"));
+
+		String eTag = mockMvc.perform(get("/api/players").param("limit", "5"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/players").param("limit", "5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void mixedCaseSortKeysArePagedInCollationOrder() throws Exception {
+		List<String> surnames = List.of("bravo", "ALPHA", "Charlie", "alpha", "BRAVO", "delta", "Bravo", "charlie",
+			"ECHO", "Delta", "echo", "Alpha");
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < surnames.size(); i++) {
+			ids.add(create("M" + i, surnames.get(i), "PC-MC-" + i));
+		}
+		// The shards compare surnames without case, so equal ones come in id order
+		List<Integer> expected = new ArrayList<>(ids);
+		expected.sort(Comparator.comparing((Integer id) -> surnames.get(ids.indexOf(id)).toLowerCase())
+			.thenComparing(Comparator.naturalOrder()));
+
+		List<Integer> read = new ArrayList<>();
+		String cursor = null;
+		do {
+			var request = get("/api/players").param("limit", "4").param("sort", "surname");
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+			read.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+			cursor = result.getResponse().getHeader("X-Next-Cursor");
+		} while (cursor != null);
+		assertThat(read).isEqualTo(expected);
+	}
+
+	@Test
+	void rostersHoldPlayersFromEveryShard() throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			ids.add(create("Roster" + i, "Player" + i, "PC-RS-" + i));
+		}
+		Integer teamId = JsonPath.read(mockMvc.perform(post("/api/teams").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Spread\",\"yearCreated\":2024,\"playerIds\":" + ids.subList(0, 4) + "}"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString(), "$.teamId");
+
+		String eTag = mockMvc.perform(get("/api/teams/" + teamId))
+			.andExpect(jsonPath("$.players.length()").value(4))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(put("/api/players/" + ids.get(0)).contentType(MediaType.APPLICATION_JSON)
+				.content(body("Changed", "Player0", "PC-RS-0")))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/api/teams/" + teamId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.players[?(@.id == " + ids.get(0) + ")].name").value("Changed"));
+
+		mockMvc.perform(patch("/api/teams/" + teamId + "/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"add\":[" + ids.get(4) + ", 999999],\"remove\":[" + ids.get(1) + "]}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.added[0]").value(ids.get(4)))
+			.andExpect(jsonPath("$.removed[0]").value(ids.get(1)))
+			.andExpect(jsonPath("$.notFound[0]").value(999999));
+		mockMvc.perform(get("/api/teams").param("playerId", String.valueOf(ids.get(4))))
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].players.length()").value(4));
+		mockMvc.perform(get("/api/teams/" + teamId).param("fields", "players.surname"))
+			.andExpect(jsonPath("$.players.length()").value(4))
+			.andExpect(jsonPath("$.players[0].id").value(ids.get(0)))
+			.andExpect(jsonPath("$.players[0].surname").value("Player0"));
+
+		mockMvc.perform(delete("/api/players/" + ids.get(2))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/teams/" + teamId))
+			.andExpect(jsonPath("$.players.length()").value(3));
+	}
+
+	@Test
+	void searchReadsEveryShard() throws Exception {
+		create("Zebedee", "Quill", "PC-SR-1");
+		playerSearchIndex.rebuild();
+		create("Zebulon", "Quarry", "PC-SR-2");
+
+		mockMvc.perform(get("/api/players/search").param("q", "zeb"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2));
+		mockMvc.perform(get("/api/players").param("name", "Zebulon"))
+			.andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void exportsAndPlayerAgesReadEveryShard() throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			ids.add(create("Export" + i, "Player" + i, "PC-EX-" + i));
+		}
+		Integer teamId = JsonPath.read(mockMvc.perform(post("/api/teams").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Exported\",\"yearCreated\":2024,\"playerIds\":" + ids.subList(0, 4) + "}"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString(), "$.teamId");
+
+		List<String> players = export("/api/export/players");
+		assertThat(players).hasSize(6);
+		assertThat(players).extracting(line -> (Integer) JsonPath.read(line, "$.id")).containsExactlyInAnyOrderElementsOf(ids);
+		List<String> teams = export("/api/export/teams");
+		assertThat(teams).singleElement().satisfies(line -> {
+			assertThat((Integer) JsonPath.read(line, "$.teamId")).isEqualTo(teamId);
+			assertThat(JsonPath.<List<Integer>>read(line, "$.players[*].id")).containsExactlyElementsOf(ids.subList(0, 4));
+		});
+
+		mockMvc.perform(get("/api/statistics/player-ages"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(6))
+			.andExpect(jsonPath("$.counts." + (LocalDate.now().getYear() - 1999)).value(6));
+	}
+
+	@Test
+	void bulkImportWritesPlayersToTheirShards() throws Exception {
+		Integer existing = create("Old", "Name", "pc-bk-1");
+		String body = body("Upper", "Name", "PC-BK-1") + "\n" + body("Fresh", "Name", "PC-BK-2") + "\n"
+			+ body("Other", "Name", "PC-BK-3") + "\n";
+
+		MvcResult result = mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.created").value(2))
+			.andExpect(jsonPath("$.updated").value(1))
+			.andExpect(jsonPath("$.results[0].id").value(existing))
+			.andReturn();
+
+		mockMvc.perform(get("/api/players/" + existing))
+			.andExpect(jsonPath("$.name").value("Upper"))
+			.andExpect(jsonPath("$.version").value(1));
+		for (Integer id : JsonPath.<List<Integer>>read(result.getResponse().getContentAsString(), "$.results[1:].id")) {
+			assertThat(countOn(shards.shardOf(id), id)).isEqualTo(1);
+		}
+		assertThat(primary.queryForObject("SELECT COUNT(*) FROM player", Integer.class)).isZero();
+	}
+
+	@Test
+	void shardWritesRollBackWithTheCallersTransaction() {
+		AtomicReference<Player> inserted = new AtomicReference<>();
+
+		assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			inserted.set(playerStore.insert(player("PC-TX-1")));
+			throw new IllegalStateException("caller fails");
+		})).isInstanceOf(IllegalStateException.class);
+
+		Integer id = inserted.get().getId();
+		assertThat(countOn(shards.shardOf(id), id)).isZero();
+	}
+
+	@Test
+	void readsInsideTheTransactionSeeItsUncommittedShardWrites() {
+		AtomicReference<Player> inserted = new AtomicReference<>();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Player player = playerStore.insert(player("PC-TX-2"));
+			inserted.set(player);
+			assertThat(playerStore.findById(player.getId())).hasValueSatisfying(found ->
+				assertThat(found.getPersonalCode()).isEqualTo("PC-TX-2"));
+			assertThat(countOn(shards.shardOf(player.getId()), player.getId())).isZero();
+		});
+
+		Integer id = inserted.get().getId();
+		assertThat(countOn(shards.shardOf(id), id)).isEqualTo(1);
+	}
+
+	@Test
+	void shardsCommittedBeforeALaterShardFailsAreUndone() {
+		AtomicReference<Player> inserted = new AtomicReference<>();
+
+		assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Player player = insertBelowLastShard("PC-TX-3");
+			inserted.set(player);
+			failCommitOf(shards.count() - 1);
+		})).isInstanceOf(UnexpectedRollbackException.class);
+
+		Integer id = inserted.get().getId();
+		assertThat(countOn(shards.shardOf(id), id)).isZero();
+	}
+
+	@Test
+	void undoLeavesRowsChangedSinceAlone() {
+		AtomicReference<Player> inserted = new AtomicReference<>();
+
+		assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Player player = insertBelowLastShard("PC-TX-4");
+			inserted.set(player);
+			int shard = shards.shardOf(player.getId());
+			// Ordered ahead of the shard sessions, so this runs after the shard commit and before its undo
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public int getOrder() {
+					return Ordered.HIGHEST_PRECEDENCE;
+				}
+
+				@Override
+				public void afterCompletion(int completion) {
+					shardDatabases.get(shard).update("UPDATE player SET name = 'Changed', version = version + 1 WHERE id = ?",
+						player.getId());
+				}
+			});
+			failCommitOf(shards.count() - 1);
+		})).isInstanceOf(UnexpectedRollbackException.class);
+
+		Integer id = inserted.get().getId();
+		assertThat(shardDatabases.get(shards.shardOf(id))
+			.queryForObject("SELECT name FROM player WHERE id = ?", String.class, id)).isEqualTo("Changed");
+	}
+
+	// Players are placed by id, so insert until one lands on a shard that commits before the last
+	private Player insertBelowLastShard(String personalCode) {
+		for (int attempt = 0; ; attempt++) {
+			Player player = playerStore.insert(player(personalCode + "-" + attempt));
+			if (shards.shardOf(player.getId()) < shards.count() - 1) {
+				return player;
+			}
+		}
+	}
+
+	// A participating transaction that fails marks the shard transaction rollback-only, so its commit throws
+	private void failCommitOf(int shard) {
+		shards.write(shard, () -> {
+			try {
+				new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+					throw new IllegalStateException("shard work fails");
+				});
+			} catch (IllegalStateException expected) {
+				// Swallowed, as a caller that carries on after a failed step would
+			}
+			return null;
+		});
+	}
+
+	private static Player player(String personalCode) {
+		Player player = new Player();
+		player.setName("Tx");
+		player.setSurname("Player");
+		player.setDateOfBirth(LocalDate.of(1999, 4, 1));
+		player.setPersonalCode(personalCode);
+		return player;
+	}
+
+	private int countOn(int shard, Integer id) {
+		return shardDatabases.get(shard).queryForObject("SELECT COUNT(*) FROM player WHERE id = ?", Integer.class, id);
+	}
+
+	private Integer create(String name, String surname, String personalCode) throws Exception {
+		return JsonPath.read(mockMvc.perform(post("/api/players").contentType(MediaType.APPLICATION_JSON)
+				.content(body(name, surname, personalCode)))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString(), "$.id");
+	}
+
+	private List<String> export(String url) throws Exception {
+		MvcResult started = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return body.lines().toList();
+	}
+
+	private static String body(String name, String surname, String personalCode) {
+		return "{\"name\":\"" + name + "\",\"surname\":\"" + surname + "\",\"dateOfBirth\":\"1999-04-01\","
+			+ "\"personalCode\":\"" + personalCode + "\"}";
+	}
+}
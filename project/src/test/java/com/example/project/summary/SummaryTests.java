@@ -0,0 +1,176 @@
+package com.example.project.summary;
+
+import com.example.project.model.Player;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SummaryTests {
+
+	private static final int NOW = Year.now().getValue();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final ObjectMapper json = new ObjectMapper();
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		// Other tests seed through the repositories, which the summaries do not see
+		mockMvc.perform(post("/api/statistics/rebuild")).andExpect(status().isNoContent());
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void everyWritePathKeepsTheAggregatesInStep() throws Exception {
+		int anna = create("/api/players", player("Anna", "1990-03-01"), "id");
+		int ben = create("/api/players", player("Ben", "1990-07-01"), "id");
+		int cara = create("/api/players", player("Cara", "1995-01-01"), "id");
+		int coach = create("/api/coaches", "{\"name\":\"Carl\",\"surname\":\"Brown\",\"coachingFrom\":\"2015-06-01\","
+			+ "\"licenseId\":\"LIC-S\",\"personalCode\":\"PC-S-C\"}", "id");
+		int eagles = create("/api/teams", "{\"teamName\":\"Eagles\",\"yearCreated\":2020,\"coachId\":" + coach
+			+ ",\"playerIds\":[" + anna + "," + ben + "]}", "teamId");
+		int hawks = create("/api/teams", "{\"teamName\":\"Hawks\",\"yearCreated\":2020,\"playerIds\":[" + ben + "]}", "teamId");
+
+		JsonNode sizes = read("/api/statistics/team-sizes");
+		assertThat(sizes.get("total").asLong()).isEqualTo(2);
+		assertThat(sizes.get("counts").get("2").asLong()).isEqualTo(1);
+		assertThat(sizes.get("counts").get("1").asLong()).isEqualTo(1);
+		assertThat(sizes.get("mean").asDouble()).isEqualTo(1.5);
+		assertThat(read("/api/statistics/player-ages").get("counts").get(String.valueOf(NOW - 1990)).asLong()).isEqualTo(2);
+		assertThat(read("/api/statistics/coach-tenure").get("counts").get(String.valueOf(NOW - 2015)).asLong()).isEqualTo(1);
+
+		// Roster patch, player and team updates, deletes that cascade to rosters, and a bulk import
+		mockMvc.perform(patch("/api/teams/" + hawks + "/players").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"add\":[" + cara + "]}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(put("/api/players/" + cara).contentType(MediaType.APPLICATION_JSON)
+				.content(player("Cara", "2000-01-01")))
+			.andExpect(status().isOk());
+		mockMvc.perform(put("/api/teams/" + eagles).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Eagles\",\"yearCreated\":2021,\"playerIds\":[" + anna + "," + ben + "," + cara + "]}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/players/" + ben)).andExpect(status().isOk());
+		mockMvc.perform(delete("/api/coaches/" + coach)).andExpect(status().isOk());
+		mockMvc.perform(post("/api/players/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + player("Dan", "2000-05-05") + "," + player("Eve", "1990-12-12") + "]"))
+			.andExpect(status().isOk());
+
+		sizes = read("/api/statistics/team-sizes");
+		// Eagles: Anna and Cara; Hawks: Cara
+		assertThat(sizes.get("counts").get("2").asLong()).isEqualTo(1);
+		assertThat(sizes.get("counts").get("1").asLong()).isEqualTo(1);
+		JsonNode years = read("/api/statistics/teams-per-year").get("counts");
+		assertThat(years.get("2020").asLong()).isEqualTo(1);
+		assertThat(years.get("2021").asLong()).isEqualTo(1);
+		JsonNode ages = read("/api/statistics/player-ages");
+		assertThat(ages.get("total").asLong()).isEqualTo(4);
+		assertThat(ages.get("counts").get(String.valueOf(NOW - 1990)).asLong()).isEqualTo(2);
+		assertThat(ages.get("counts").get(String.valueOf(NOW - 2000)).asLong()).isEqualTo(2);
+		assertThat(ages.get("counts").has(String.valueOf(NOW - 1995))).isFalse();
+		assertThat(read("/api/statistics/coach-tenure").get("total").asLong()).isZero();
+
+		mockMvc.perform(delete("/api/teams/" + hawks)).andExpect(status().isOk());
+		assertThat(read("/api/statistics/team-sizes").get("counts").has("1")).isFalse();
+
+		mockMvc.perform(get("/api/statistics/consistency"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.consistent").value(true))
+			.andExpect(jsonPath("$.differences.length()").value(0));
+	}
+
+	@Test
+	void aggregatesAreReadWithoutScanningTheTables() throws Exception {
+		create("/api/teams", "{\"teamName\":\"Eagles\",\"yearCreated\":2020}", "teamId");
+
+		statistics.clear();
+		mockMvc.perform(get("/api/statistics/team-sizes"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.counts.0").value(1));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void checkReportsRowsWrittenPastTheSummariesUntilRebuilt() throws Exception {
+		create("/api/players", player("Anna", "1990-03-01"), "id");
+		Player unseen = new Player();
+		unseen.setName("Zed");
+		unseen.setSurname("Jones");
+		unseen.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		unseen.setPersonalCode("PC-S-Z");
+		playerRepository.save(unseen);
+
+		mockMvc.perform(get("/api/statistics/consistency"))
+			.andExpect(jsonPath("$.consistent").value(false))
+			.andExpect(jsonPath("$.differences.length()").value(1))
+			.andExpect(jsonPath("$.differences[0].metric").value("PLAYER_BIRTH_YEAR"))
+			.andExpect(jsonPath("$.differences[0].bucket").value(1990))
+			.andExpect(jsonPath("$.differences[0].stored").value(1))
+			.andExpect(jsonPath("$.differences[0].recounted").value(2));
+
+		mockMvc.perform(post("/api/statistics/rebuild")).andExpect(status().isNoContent());
+		mockMvc.perform(get("/api/statistics/consistency")).andExpect(jsonPath("$.consistent").value(true));
+		assertThat(read("/api/statistics/player-ages").get("counts").get(String.valueOf(NOW - 1990)).asLong()).isEqualTo(2);
+	}
+
+	private static String player(String name, String dateOfBirth) {
+		return "{\"name\":\"" + name + "\",\"surname\":\"Smith\",\"dateOfBirth\":\"" + dateOfBirth
+			+ "\",\"personalCode\":\"PC-S-" + name + "\"}";
+	}
+
+	private int create(String url, String body, String idField) throws Exception {
+		String response = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(body))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return json.readTree(response).get(idField).asInt();
+	}
+
+	private JsonNode read(String url) throws Exception {
+		return json.readTree(mockMvc.perform(get(url))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString());
+	}
+}
@@ -0,0 +1,280 @@
+package com.example.project.view;
+
+import com.example.project.dto.PlayerDto;
+import com.example.project.model.Coach;
+import com.example.project.model.Player;
+import com.example.project.model.Team;
+import com.example.project.repository.CoachRepository;
+import com.example.project.repository.PlayerRepository;
+import com.example.project.repository.TeamRepository;
+import com.example.project.service.PlayerService;
+import com.example.project.service.TeamQueryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TeamViewStoreTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private CoachRepository coachRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private TeamQueryService teamQueryService;
+
+	@Autowired
+	private TeamViewStore store;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		teamRepository.deleteAll();
+		playerRepository.deleteAll();
+		coachRepository.deleteAll();
+		store.clear();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void servesPreSerializedJson() throws Exception {
+		Team team = seedTeam("Eagles", 0, 3);
+
+		mockMvc.perform(get("/api/teams/" + team.getTeamId())).andExpect(status().isOk());
+		TeamView view = store.get(team.getTeamId(), id -> null).orElseThrow();
+
+		statistics.clear();
+		mockMvc.perform(get("/api/teams/" + team.getTeamId()))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+			.andExpect(content().bytes(view.json()))
+			.andExpect(jsonPath("$.teamName").value("Eagles"))
+			.andExpect(jsonPath("$.coach.name").value("Coach0"))
+			.andExpect(jsonPath("$.players.length()").value(3));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void playerUpdatePatchesOnlyTeamsContainingThePlayer() throws Exception {
+		Team eagles = seedTeam("Eagles", 0, 2);
+		Team hawks = seedTeam("Hawks", 10, 2);
+		Player player = playerRepository.findAll().stream()
+			.filter(p -> "PC0".equals(p.getPersonalCode())).findFirst().orElseThrow();
+		teamQueryService.findView(eagles.getTeamId());
+		TeamView hawksBefore = teamQueryService.findView(hawks.getTeamId()).orElseThrow();
+
+		playerService.update(player.getId(), request("Renamed", "PC0"), null);
+
+		statistics.clear();
+		mockMvc.perform(get("/api/teams/" + eagles.getTeamId()))
+			.andExpect(jsonPath("$.players[?(@.id == " + player.getId() + ")].name").value("Renamed"));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(teamQueryService.findView(hawks.getTeamId()).orElseThrow()).isSameAs(hawksBefore);
+	}
+
+	@Test
+	void rosterCoachAndTeamChangesAreApplied() throws Exception {
+		Team team = seedTeam("Eagles", 0, 2);
+		String teamUrl = "/api/teams/" + team.getTeamId();
+		Player extra = playerRepository.save(player(9));
+		mockMvc.perform(get(teamUrl)).andExpect(status().isOk());
+
+		mockMvc.perform(post(teamUrl + "/players/" + extra.getId())).andExpect(status().isOk());
+		statistics.clear();
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.players.length()").value(3));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		mockMvc.perform(delete(teamUrl + "/players/" + extra.getId())).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.players.length()").value(2));
+
+		mockMvc.perform(put("/api/coaches/" + team.getCoach().getId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"NewCoach\",\"surname\":\"Brown\",\"coachingFrom\":\"2015-01-01\",\"licenseId\":\"LIC0\",\"personalCode\":\"CPC0\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.coach.name").value("NewCoach"));
+
+		mockMvc.perform(delete("/api/coaches/" + team.getCoach().getId())).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.coach").doesNotExist());
+
+		Integer playerId = playerRepository.findAll().stream()
+			.filter(p -> "PC1".equals(p.getPersonalCode())).findFirst().orElseThrow().getId();
+		mockMvc.perform(delete("/api/players/" + playerId)).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(jsonPath("$.players.length()").value(1));
+
+		mockMvc.perform(put(teamUrl).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"teamName\":\"Hawks\",\"yearCreated\":2025,\"playerIds\":[" + extra.getId() + "]}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl))
+			.andExpect(jsonPath("$.teamName").value("Hawks"))
+			.andExpect(jsonPath("$.players.length()").value(1))
+			.andExpect(jsonPath("$.players[0].id").value(extra.getId()));
+
+		mockMvc.perform(delete(teamUrl)).andExpect(status().isOk());
+		mockMvc.perform(get(teamUrl)).andExpect(status().isNotFound());
+		assertThat(store.contains(team.getTeamId())).isFalse();
+	}
+
+	@Test
+	void concurrentReadersNeverSeeStaleRosterAfterCommit() throws Exception {
+		Team team = seedTeam("Eagles", 0, 1);
+		Integer teamId = team.getTeamId();
+		Integer playerId = playerRepository.findAll().get(0).getId();
+		AtomicBoolean stop = new AtomicBoolean();
+		ExecutorService readers = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int r = 0; r < 4; r++) {
+			futures.add(readers.submit(() -> {
+				while (!stop.get()) {
+					teamQueryService.findView(teamId);
+				}
+			}));
+		}
+
+		try {
+			for (int version = 1; version <= 200; version++) {
+				playerService.update(playerId, request("V" + version, "PC0"), null);
+				PlayerDto.Response seen = teamQueryService.findView(teamId).orElseThrow()
+					.response().getPlayers().iterator().next();
+				assertThat(seen.getName()).isEqualTo("V" + version);
+			}
+		} finally {
+			stop.set(true);
+			readers.shutdown();
+			assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+	}
+
+	@Test
+	void playerPatchesAppliedOutOfCommitOrderKeepTheNewerVersion() {
+		Team team = seedTeam("Eagles", 0, 1);
+		Integer teamId = team.getTeamId();
+		PlayerDto.Response stored = teamQueryService.findView(teamId).orElseThrow()
+			.response().getPlayers().iterator().next();
+		PlayerDto.Response second = renamed(stored, "Second", stored.getVersion() + 1);
+		PlayerDto.Response third = renamed(stored, "Third", stored.getVersion() + 2);
+
+		applyPlayerPatch(third);
+		applyPlayerPatch(second);
+
+		PlayerDto.Response seen = teamQueryService.findView(teamId).orElseThrow()
+			.response().getPlayers().iterator().next();
+		assertThat(seen.getName()).isEqualTo("Third");
+		assertThat(seen.getVersion()).isEqualTo(third.getVersion());
+	}
+
+	@Test
+	void rosterPatchOlderThanTheStoredTeamEvictsIt() {
+		Team team = seedTeam("Eagles", 0, 1);
+		Integer teamId = team.getTeamId();
+		Long version = teamQueryService.findView(teamId).orElseThrow().response().getVersion();
+
+		store.change(() -> Set.of(teamId), affected -> () -> store.changeRoster(teamId, Set.of(), List.of(),
+			version + 2, Instant.now()));
+		store.change(() -> Set.of(teamId), affected -> () -> store.changeRoster(teamId, Set.of(), List.of(),
+			version + 1, Instant.now()));
+
+		assertThat(store.contains(teamId)).isFalse();
+	}
+
+	private void applyPlayerPatch(PlayerDto.Response player) {
+		Set<Integer> ids = Set.of(player.getId());
+		store.change(() -> store.teamsWithPlayers(ids), affected -> () -> store.updatePlayers(Map.of(player.getId(), player)));
+	}
+
+	private static PlayerDto.Response renamed(PlayerDto.Response player, String name, Long version) {
+		PlayerDto.Response copy = new PlayerDto.Response();
+		copy.setId(player.getId());
+		copy.setName(name);
+		copy.setSurname(player.getSurname());
+		copy.setDateOfBirth(player.getDateOfBirth());
+		copy.setPersonalCode(player.getPersonalCode());
+		copy.setVersion(version);
+		copy.setModifiedAt(player.getModifiedAt());
+		return copy;
+	}
+
+	private Team seedTeam(String name, int firstPlayer, int players) {
+		Team team = new Team();
+		team.setTeamName(name);
+		team.setYearCreated(2024);
+		team.setCoach(coachRepository.save(coach(firstPlayer)));
+		for (int p = 0; p < players; p++) {
+			team.addPlayer(playerRepository.save(player(firstPlayer + p)));
+		}
+		return teamRepository.save(team);
+	}
+
+	private static PlayerDto.Request request(String name, String personalCode) {
+		PlayerDto.Request request = new PlayerDto.Request();
+		request.setName(name);
+		request.setSurname("S");
+		request.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		request.setPersonalCode(personalCode);
+		return request;
+	}
+
+	private static Player player(int i) {
+		Player player = new Player();
+		player.setName("Player" + i);
+		player.setSurname("Surname" + i);
+		player.setDateOfBirth(LocalDate.of(1995, 5, 15));
+		player.setPersonalCode("PC" + i);
+		return player;
+	}
+
+	private static Coach coach(int i) {
+		Coach coach = new Coach();
+		coach.setName("Coach" + i);
+		coach.setSurname("Brown");
+		coach.setCoachingFrom(LocalDate.of(2015, 1, 1));
+		coach.setLicenseId("LIC" + i);
+		coach.setPersonalCode("CPC" + i);
+		return coach;
+	}
+}